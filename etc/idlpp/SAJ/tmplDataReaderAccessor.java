@@ -0,0 +1,294 @@
+public final class $(type-name)DataReaderAccessor implements org.opensplice.dds.dcps.FooDataReaderAccessor
+{
+    public $(type-name)DataReaderAccessor()
+    {
+    }
+
+    @Override
+    public java.lang.Object newSampleHolder()
+    {
+        return new $(scoped-actual-type-name)Holder();
+    }
+
+    @Override
+    public java.lang.Object newSampleSeqHolder()
+    {
+        return new $(scoped-type-name)SeqHolder();
+    }
+
+    @Override
+    public java.lang.Object[] newSampleSeq(
+            int length)
+    {
+        return new $(scoped-actual-type-name)[length];
+    }
+
+    @Override
+    public java.lang.Object[] getSampleSeq(
+            java.lang.Object sampleSeqHolder)
+    {
+        return (($(scoped-type-name)SeqHolder)sampleSeqHolder).value;
+    }
+
+    @Override
+    public void setSampleSeq(
+            java.lang.Object sampleSeqHolder,
+            java.lang.Object[] samples)
+    {
+        (($(scoped-type-name)SeqHolder)sampleSeqHolder).value = ($(scoped-actual-type-name)[])samples;
+    }
+
+    @Override
+    public java.lang.Object getSample(
+            java.lang.Object sampleHolder)
+    {
+        return (($(scoped-actual-type-name)Holder)sampleHolder).value;
+    }
+
+    @Override
+    public void setSample(
+            java.lang.Object sampleHolder,
+            java.lang.Object sample)
+    {
+        (($(scoped-actual-type-name)Holder)sampleHolder).value = ($(scoped-actual-type-name))sample;
+    }
+
+    @Override
+    public int read(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).read(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int take(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).take(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int read_w_condition(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            DDS.ReadCondition a_condition)
+    {
+        return (($(scoped-type-name)DataReader)reader).read_w_condition(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_condition);
+    }
+
+    @Override
+    public int take_w_condition(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            DDS.ReadCondition a_condition)
+    {
+        return (($(scoped-type-name)DataReader)reader).take_w_condition(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_condition);
+    }
+
+    @Override
+    public int read_next_sample(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoHolder sample_info)
+    {
+        return (($(scoped-type-name)DataReader)reader).read_next_sample(
+                ($(scoped-actual-type-name)Holder)received_data,
+                sample_info);
+    }
+
+    @Override
+    public int take_next_sample(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoHolder sample_info)
+    {
+        return (($(scoped-type-name)DataReader)reader).take_next_sample(
+                ($(scoped-actual-type-name)Holder)received_data,
+                sample_info);
+    }
+
+    @Override
+    public int read_instance(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).read_instance(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int take_instance(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).take_instance(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int read_next_instance(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).read_next_instance(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int take_next_instance(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            int sample_states,
+            int view_states,
+            int instance_states)
+    {
+        return (($(scoped-type-name)DataReader)reader).take_next_instance(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                sample_states,
+                view_states,
+                instance_states);
+    }
+
+    @Override
+    public int read_next_instance_w_condition(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            DDS.ReadCondition a_condition)
+    {
+        return (($(scoped-type-name)DataReader)reader).read_next_instance_w_condition(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                a_condition);
+    }
+
+    @Override
+    public int take_next_instance_w_condition(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq,
+            int max_samples,
+            long a_handle,
+            DDS.ReadCondition a_condition)
+    {
+        return (($(scoped-type-name)DataReader)reader).take_next_instance_w_condition(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq,
+                max_samples,
+                a_handle,
+                a_condition);
+    }
+
+    @Override
+    public int return_loan(
+            DDS.DataReader reader,
+            java.lang.Object received_data,
+            DDS.SampleInfoSeqHolder info_seq)
+    {
+        return (($(scoped-type-name)DataReader)reader).return_loan(
+                ($(scoped-type-name)SeqHolder)received_data,
+                info_seq);
+    }
+
+    @Override
+    public int get_key_value(
+            DDS.DataReader reader,
+            java.lang.Object key_holder,
+            long handle)
+    {
+        return (($(scoped-type-name)DataReader)reader).get_key_value(
+                ($(scoped-actual-type-name)Holder)key_holder,
+                handle);
+    }
+
+    @Override
+    public long lookup_instance(
+            DDS.DataReader reader,
+            java.lang.Object instance)
+    {
+        return (($(scoped-type-name)DataReader)reader).lookup_instance(
+                ($(scoped-actual-type-name))instance);
+    }
+}
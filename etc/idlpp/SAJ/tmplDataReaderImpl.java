@@ -2,8 +2,12 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
 {
     private static final long serialVersionUID = 1L;
 
-    private long copyCache;
-    private $(type-name)TypeSupport typeSupport;
+    /* The read/take operations are deliberately not synchronized. Both fields
+     * are immutable and every native call works on its own copy-out context,
+     * so threads sharing this reader do not have to serialize on its monitor.
+     */
+    private final long copyCache;
+    private final $(type-name)TypeSupport typeSupport;
 
     public $(type-name)DataReaderImpl($(scoped-type-name)TypeSupport ts)
     {
@@ -12,7 +16,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int read(
+    public int read(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -20,49 +24,59 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
             int view_states,
             int instance_states)
     {
-        long uReader = 0;
-        int result = DDS.RETCODE_OK.value;
-        org.opensplice.dds.dcps.ReportStack.start();
+        long uReader = this.peek_user_object();
+        int result = DDS.RETCODE_ALREADY_DELETED.value;
 
-        uReader = this.get_user_object();
-        if (uReader != 0) {
-            if (received_data == null) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "received_data 'null' is invalid.");
-            } else if (info_seq == null) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "info_seq 'null' is invalid.");
-            } else if (max_samples < -1) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "max_samples is invalid.");
-            } else {
-                result = org.opensplice.dds.dcps.FooDataReaderImpl.jniRead(
-                        this,
-                        uReader,
-                        copyCache,
-                        received_data,
-                        info_seq,
-                        max_samples,
-                        sample_states,
-                        view_states,
-                        instance_states);
+        if (uReader != 0 && received_data != null && info_seq != null &&
+            max_samples >= -1)
+        {
+            /* The native read opens its own ReportStack and only leaves it
+               open when there is something to flush. */
+            result = org.opensplice.dds.dcps.FooDataReaderImpl.jniRead(
+                    this,
+                    uReader,
+                    copyCache,
+                    received_data,
+                    info_seq,
+                    max_samples,
+                    sample_states,
+                    view_states,
+                    instance_states);
+            if ((result & org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING) != 0) {
+                result &= ~org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING;
+                org.opensplice.dds.dcps.ReportStack.flushPending(
+                    this,
+                    result != DDS.RETCODE_OK.value &&
+                    result != DDS.RETCODE_NO_DATA.value);
             }
         } else {
-            result = DDS.RETCODE_ALREADY_DELETED.value;
-        }
+            org.opensplice.dds.dcps.ReportStack.start();
 
-        org.opensplice.dds.dcps.ReportStack.flush(
-            this,
-            result != DDS.RETCODE_OK.value &&
-            result != DDS.RETCODE_NO_DATA.value);
+            uReader = this.get_user_object();
+            if (uReader != 0) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                if (received_data == null) {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "received_data 'null' is invalid.");
+                } else if (info_seq == null) {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "info_seq 'null' is invalid.");
+                } else {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "max_samples is invalid.");
+                }
+            }
+
+            org.opensplice.dds.dcps.ReportStack.flush(
+                this,
+                result != DDS.RETCODE_OK.value &&
+                result != DDS.RETCODE_NO_DATA.value);
+        }
         return result;
     }
 
     @Override
-    synchronized public int take(
+    public int take(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -70,47 +84,59 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
             int view_states,
             int instance_states)
     {
-        long uReader = 0;
+        long uReader = this.peek_user_object();
         int result = DDS.RETCODE_ALREADY_DELETED.value;
-        org.opensplice.dds.dcps.ReportStack.start();
 
-        uReader = this.get_user_object();
-        if (uReader != 0) {
-            if (received_data == null) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "received_data 'null' is invalid.");
-            } else if (info_seq == null) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "info_seq 'null' is invalid.");
-            } else if (max_samples < -1) {
+        if (uReader != 0 && received_data != null && info_seq != null &&
+            max_samples >= -1)
+        {
+            /* The native take opens its own ReportStack and only leaves it
+               open when there is something to flush. */
+            result = org.opensplice.dds.dcps.FooDataReaderImpl.jniTake(
+                    this,
+                    uReader,
+                    copyCache,
+                    received_data,
+                    info_seq,
+                    max_samples,
+                    sample_states,
+                    view_states,
+                    instance_states);
+            if ((result & org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING) != 0) {
+                result &= ~org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING;
+                org.opensplice.dds.dcps.ReportStack.flushPending(
+                    this,
+                    result != DDS.RETCODE_OK.value &&
+                    result != DDS.RETCODE_NO_DATA.value);
+            }
+        } else {
+            org.opensplice.dds.dcps.ReportStack.start();
+
+            uReader = this.get_user_object();
+            if (uReader != 0) {
                 result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "max_samples is invalid.");
-            } else {
-                result = org.opensplice.dds.dcps.FooDataReaderImpl.jniTake(
-                        this,
-                        uReader,
-                        copyCache,
-                        received_data,
-                        info_seq,
-                        max_samples,
-                        sample_states,
-                        view_states,
-                        instance_states);
+                if (received_data == null) {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "received_data 'null' is invalid.");
+                } else if (info_seq == null) {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "info_seq 'null' is invalid.");
+                } else {
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "max_samples is invalid.");
+                }
             }
-        }
 
-        org.opensplice.dds.dcps.ReportStack.flush(
-            this,
-            result != DDS.RETCODE_OK.value &&
-            result != DDS.RETCODE_NO_DATA.value);
+            org.opensplice.dds.dcps.ReportStack.flush(
+                this,
+                result != DDS.RETCODE_OK.value &&
+                result != DDS.RETCODE_NO_DATA.value);
+        }
         return result;
     }
 
     @Override
-    synchronized public int read_w_condition(
+    public int read_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -134,7 +160,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int take_w_condition(
+    public int take_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -158,7 +184,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int read_next_sample(
+    public int read_next_sample(
             $(scoped-actual-type-name)Holder received_data,
             DDS.SampleInfoHolder sample_info)
     {
@@ -195,7 +221,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int take_next_sample(
+    public int take_next_sample(
             $(scoped-actual-type-name)Holder received_data,
             DDS.SampleInfoHolder sample_info)
     {
@@ -232,7 +258,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int read_instance(
+    public int read_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -296,7 +322,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int take_instance(
+    public int take_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -360,7 +386,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int read_next_instance(
+    public int read_next_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -418,7 +444,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int take_next_instance(
+    public int take_next_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -475,7 +501,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int read_next_instance_w_condition(
+    public int read_next_instance_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -509,7 +535,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int take_next_instance_w_condition(
+    public int take_next_instance_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -543,7 +569,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int return_loan(
+    public int return_loan(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq)
     {
@@ -596,7 +622,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public int get_key_value(
+    public int get_key_value(
             $(scoped-actual-type-name)Holder key_holder,
             long handle)
     {
@@ -627,7 +653,7 @@ public class $(type-name)DataReaderImpl extends org.opensplice.dds.dcps.FooDataR
     }
 
     @Override
-    synchronized public long lookup_instance(
+    public long lookup_instance(
         $(scoped-actual-type-name) instance)
     {
         long uReader = 0;
@@ -2,8 +2,12 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
 {
     private static final long serialVersionUID = 1L;
 
-    private long copyCache;
-    private $(type-name)TypeSupport typeSupport;
+    /* The read/take operations are deliberately not synchronized. Both fields
+     * are immutable and every native call works on its own copy-out context,
+     * so threads sharing this reader do not have to serialize on its monitor.
+     */
+    private final long copyCache;
+    private final $(type-name)TypeSupport typeSupport;
 
     public $(type-name)DataReaderViewImpl($(scoped-type-name)TypeSupport ts)
     {
@@ -12,7 +16,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read(
+    public int read(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -60,7 +64,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take(
+    public int take(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -108,7 +112,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read_w_condition(
+    public int read_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -132,7 +136,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take_w_condition(
+    public int take_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -156,7 +160,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read_next_sample(
+    public int read_next_sample(
             $(scoped-actual-type-name)Holder received_data,
             DDS.SampleInfoHolder sample_info)
     {
@@ -192,7 +196,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take_next_sample(
+    public int take_next_sample(
             $(scoped-actual-type-name)Holder received_data,
             DDS.SampleInfoHolder sample_info)
     {
@@ -228,7 +232,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read_instance(
+    public int read_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -286,7 +290,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take_instance(
+    public int take_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -344,7 +348,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read_next_instance(
+    public int read_next_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -401,7 +405,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take_next_instance(
+    public int take_next_instance(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -458,7 +462,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int read_next_instance_w_condition(
+    public int read_next_instance_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -491,7 +495,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int take_next_instance_w_condition(
+    public int take_next_instance_w_condition(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq,
             int max_samples,
@@ -524,7 +528,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int return_loan(
+    public int return_loan(
             $(scoped-type-name)SeqHolder received_data,
             DDS.SampleInfoSeqHolder info_seq)
     {
@@ -576,7 +580,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public int get_key_value(
+    public int get_key_value(
             $(scoped-actual-type-name)Holder key_holder,
             long handle)
     {
@@ -606,7 +610,7 @@ public class $(type-name)DataReaderViewImpl extends org.opensplice.dds.dcps.FooD
     }
 
     @Override
-    synchronized public long lookup_instance(
+    public long lookup_instance(
 	$(scoped-actual-type-name) instance)
     {
         long uView = 0;
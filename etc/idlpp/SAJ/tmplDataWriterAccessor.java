@@ -0,0 +1,171 @@
+public final class $(type-name)DataWriterAccessor implements org.opensplice.dds.dcps.FooDataWriterAccessor
+{
+    public $(type-name)DataWriterAccessor()
+    {
+    }
+
+    @Override
+    public java.lang.Object newSampleHolder()
+    {
+        return new $(scoped-actual-type-name)Holder();
+    }
+
+    @Override
+    public java.lang.Object getSample(
+            java.lang.Object sampleHolder)
+    {
+        return (($(scoped-actual-type-name)Holder)sampleHolder).value;
+    }
+
+    @Override
+    public void setSample(
+            java.lang.Object sampleHolder,
+            java.lang.Object sample)
+    {
+        (($(scoped-actual-type-name)Holder)sampleHolder).value = ($(scoped-actual-type-name))sample;
+    }
+
+    @Override
+    public long register_instance(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data)
+    {
+        return (($(scoped-type-name)DataWriter)writer).register_instance(
+                ($(scoped-actual-type-name))instance_data);
+    }
+
+    @Override
+    public long register_instance_w_timestamp(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            DDS.Time_t source_timestamp)
+    {
+        return (($(scoped-type-name)DataWriter)writer).register_instance_w_timestamp(
+                ($(scoped-actual-type-name))instance_data,
+                source_timestamp);
+    }
+
+    @Override
+    public int unregister_instance(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long handle)
+    {
+        return (($(scoped-type-name)DataWriter)writer).unregister_instance(
+                ($(scoped-actual-type-name))instance_data,
+                handle);
+    }
+
+    @Override
+    public int unregister_instance_w_timestamp(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long handle,
+            DDS.Time_t source_timestamp)
+    {
+        return (($(scoped-type-name)DataWriter)writer).unregister_instance_w_timestamp(
+                ($(scoped-actual-type-name))instance_data,
+                handle,
+                source_timestamp);
+    }
+
+    @Override
+    public int write(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long handle)
+    {
+        return (($(scoped-type-name)DataWriter)writer).write(
+                ($(scoped-actual-type-name))instance_data,
+                handle);
+    }
+
+    @Override
+    public int write_w_timestamp(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long handle,
+            DDS.Time_t source_timestamp)
+    {
+        return (($(scoped-type-name)DataWriter)writer).write_w_timestamp(
+                ($(scoped-actual-type-name))instance_data,
+                handle,
+                source_timestamp);
+    }
+
+    @Override
+    public int dispose(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long instance_handle)
+    {
+        return (($(scoped-type-name)DataWriter)writer).dispose(
+                ($(scoped-actual-type-name))instance_data,
+                instance_handle);
+    }
+
+    @Override
+    public int dispose_w_timestamp(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long instance_handle,
+            DDS.Time_t source_timestamp)
+    {
+        return (($(scoped-type-name)DataWriter)writer).dispose_w_timestamp(
+                ($(scoped-actual-type-name))instance_data,
+                instance_handle,
+                source_timestamp);
+    }
+
+    @Override
+    public int writedispose(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long instance_handle)
+    {
+        return (($(scoped-type-name)DataWriter)writer).writedispose(
+                ($(scoped-actual-type-name))instance_data,
+                instance_handle);
+    }
+
+    @Override
+    public int writedispose_w_timestamp(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data,
+            long instance_handle,
+            DDS.Time_t source_timestamp)
+    {
+        return (($(scoped-type-name)DataWriter)writer).writedispose_w_timestamp(
+                ($(scoped-actual-type-name))instance_data,
+                instance_handle,
+                source_timestamp);
+    }
+
+    @Override
+    public int get_key_value(
+            DDS.DataWriter writer,
+            java.lang.Object key_holder,
+            long handle)
+    {
+        return (($(scoped-type-name)DataWriter)writer).get_key_value(
+                ($(scoped-actual-type-name)Holder)key_holder,
+                handle);
+    }
+
+    @Override
+    public long lookup_instance(
+            DDS.DataWriter writer,
+            java.lang.Object instance_data)
+    {
+        return (($(scoped-type-name)DataWriter)writer).lookup_instance(
+                ($(scoped-actual-type-name))instance_data);
+    }
+
+    @Override
+    public java.lang.Object get_key(
+            java.lang.Object instance_data)
+    {
+        $(scoped-actual-type-name) sample = ($(scoped-actual-type-name))instance_data;
+        return $(key-values);
+    }
+}
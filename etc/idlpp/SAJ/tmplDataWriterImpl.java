@@ -131,27 +131,35 @@ public class $(type-name)DataWriterImpl extends org.opensplice.dds.dcps.DataWrit
             long handle)
     {
         int result = DDS.RETCODE_ALREADY_DELETED.value;
-        long uWriter = 0;
-        org.opensplice.dds.dcps.ReportStack.start();
+        long uWriter = this.peek_user_object();
 
-        uWriter = this.get_user_object();
-        if (uWriter != 0) {
-            if (instance_data == null) {
+        if (uWriter != 0 && instance_data != null) {
+            /* The native write opens its own ReportStack and only leaves it
+               open when there is something to flush. */
+            result = org.opensplice.dds.dcps.FooDataWriterImpl.jniWrite(
+                    uWriter,
+                    copyCache,
+                    instance_data,
+                    handle,
+                    org.opensplice.dds.dcps.Utilities.DDS_TIMESTAMP_CURRENT);
+            if ((result & org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING) != 0) {
+                result &= ~org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING;
+                org.opensplice.dds.dcps.ReportStack.flushPending(
+                    this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
+            }
+        } else {
+            org.opensplice.dds.dcps.ReportStack.start();
+
+            uWriter = this.get_user_object();
+            if (uWriter != 0) {
                 result = DDS.RETCODE_BAD_PARAMETER.value;
                 org.opensplice.dds.dcps.ReportStack.report(
                     result, "instance_data 'null' is invalid.");
-            } else {
-                result = org.opensplice.dds.dcps.FooDataWriterImpl.jniWrite(
-                        uWriter,
-                        copyCache,
-                        instance_data,
-                        handle,
-                        org.opensplice.dds.dcps.Utilities.DDS_TIMESTAMP_CURRENT);
             }
-        }
 
-        org.opensplice.dds.dcps.ReportStack.flush(
-            this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
+            org.opensplice.dds.dcps.ReportStack.flush(
+                this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
+        }
         return result;
     }
 
@@ -162,31 +170,51 @@ public class $(type-name)DataWriterImpl extends org.opensplice.dds.dcps.DataWrit
             DDS.Time_t source_timestamp)
     {
         int result = DDS.RETCODE_ALREADY_DELETED.value;
-        long uWriter = 0;
-        org.opensplice.dds.dcps.ReportStack.start();
-
-        uWriter = this.get_user_object();
-        if (uWriter != 0) {
-            if (instance_data == null) {
-                result = DDS.RETCODE_BAD_PARAMETER.value;
-                org.opensplice.dds.dcps.ReportStack.report(
-                    result, "instance_data 'null' is invalid.");
-            } else {
-                result = org.opensplice.dds.dcps.Utilities.checkTime(source_timestamp);
+        long uWriter = this.peek_user_object();
+
+        if (uWriter != 0 && instance_data != null &&
+            source_timestamp != null &&
+            source_timestamp.sec < Integer.MAX_VALUE &&
+            source_timestamp.nanosec < 1000000000)
+        {
+            /* Arguments that checkTime() would accept anyway, see write(). */
+            result = org.opensplice.dds.dcps.FooDataWriterImpl.jniWrite(
+                    uWriter,
+                    copyCache,
+                    instance_data,
+                    handle,
+                    source_timestamp);
+            if ((result & org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING) != 0) {
+                result &= ~org.opensplice.dds.dcps.ReportStack.FLUSH_PENDING;
+                org.opensplice.dds.dcps.ReportStack.flushPending(
+                    this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
             }
-
-            if (result == DDS.RETCODE_OK.value) {
-                result = org.opensplice.dds.dcps.FooDataWriterImpl.jniWrite(
-                        uWriter,
-                        copyCache,
-                        instance_data,
-                        handle,
-                        source_timestamp);
+        } else {
+            org.opensplice.dds.dcps.ReportStack.start();
+
+            uWriter = this.get_user_object();
+            if (uWriter != 0) {
+                if (instance_data == null) {
+                    result = DDS.RETCODE_BAD_PARAMETER.value;
+                    org.opensplice.dds.dcps.ReportStack.report(
+                        result, "instance_data 'null' is invalid.");
+                } else {
+                    result = org.opensplice.dds.dcps.Utilities.checkTime(source_timestamp);
+                }
+
+                if (result == DDS.RETCODE_OK.value) {
+                    result = org.opensplice.dds.dcps.FooDataWriterImpl.jniWrite(
+                            uWriter,
+                            copyCache,
+                            instance_data,
+                            handle,
+                            source_timestamp);
+                }
             }
-        }
 
-        org.opensplice.dds.dcps.ReportStack.flush(
-            this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
+            org.opensplice.dds.dcps.ReportStack.flush(
+                this, (result != DDS.RETCODE_OK.value) && (result != DDS.RETCODE_TIMEOUT.value));
+        }
         return result;
     }
 
@@ -93,7 +93,8 @@ public class JniCommunicator implements Communicator {
     private final UserDataSerializer userDataSerializer;
     private final QoSDeserializer qosDeserializer;
     private final QoSSerializer qosSerializer;
-    private final StatisticsDeserializer statisticsDeserializer;
+    private StatisticsDeserializer statisticsDeserializer;
+    private int statisticsKind;
     private boolean initialized;
     // This static boolean variable may be accessed and set from native code in
     // cmj_factory.c
@@ -145,6 +146,7 @@ public class JniCommunicator implements Communicator {
                 .getQoSSerializer(DataTransformerFactory.XML_TIME_64);
         statisticsDeserializer = DataTransformerFactory
                 .getStatisticsDeserializer(DataTransformerFactory.XML);
+        statisticsKind = DataTransformerFactory.XML;
         this.initialise(uri);
     }
 
@@ -156,6 +158,33 @@ public class JniCommunicator implements Communicator {
         }
         initialized = true;
         connectionAlive = true;
+        this.negotiateTransformers();
+    }
+
+    /**
+     * Switches to the compact binary representation for statistics when it
+     * has been requested by means of the
+     * org.opensplice.cm.com.jni.transformer property and the JNI library
+     * supports it. XML remains the default.
+     */
+    private void negotiateTransformers() {
+        int supported;
+
+        if(!("binary".equalsIgnoreCase(System.getProperty(
+                "org.opensplice.cm.com.jni.transformer", "xml")))){
+            return;
+        }
+        try {
+            supported = this.jniGetTransformerKinds();
+        } catch (UnsatisfiedLinkError er) {
+            /* JNI library predates the binary transformers. */
+            supported = 1 << DataTransformerFactory.XML;
+        }
+        if((supported & (1 << DataTransformerFactory.BINARY)) != 0){
+            statisticsDeserializer = DataTransformerFactory
+                    .getStatisticsDeserializer(DataTransformerFactory.BINARY);
+            statisticsKind = DataTransformerFactory.BINARY;
+        }
     }
 
     @Override
@@ -931,7 +960,13 @@ public class JniCommunicator implements Communicator {
 
         try {
             String xmlEntity = entitySerializer.serializeEntity(entity);
-            String result = this.jniEntityGetStatistics(xmlEntity);
+            Object result;
+
+            if(statisticsKind == DataTransformerFactory.BINARY){
+                result = this.jniEntityGetStatisticsBinary(xmlEntity);
+            } else {
+                result = this.jniEntityGetStatistics(xmlEntity);
+            }
             this.checkConnection();
 
             if(result != null){
@@ -950,7 +985,13 @@ public class JniCommunicator implements Communicator {
 
         try {
             String xmlEntities = entitySerializer.serializeEntities(entities);
-            String result = this.jniEntitiesGetStatistics(xmlEntities);
+            Object result;
+
+            if(statisticsKind == DataTransformerFactory.BINARY){
+                result = this.jniEntitiesGetStatisticsBinary(xmlEntities);
+            } else {
+                result = this.jniEntitiesGetStatistics(xmlEntities);
+            }
             this.checkConnection();
 
             if(result != null){
@@ -1356,6 +1397,7 @@ public class JniCommunicator implements Communicator {
     private native String   jniDetach();
 
     private native String    jniGetVersion();
+    private native int       jniGetTransformerKinds();
 
     /*Entity functions.*/
     private native void     jniEntityFree(String xmlEntity);
@@ -1368,6 +1410,8 @@ public class JniCommunicator implements Communicator {
     private native String   jniEntityResetStatistics(String xmlEntity, String fieldName);
     private native String   jniEntityGetStatistics(String xmlEntity);
     private native String   jniEntitiesGetStatistics(String xmlEntities);
+    private native byte[]   jniEntityGetStatisticsBinary(String xmlEntity);
+    private native byte[]   jniEntitiesGetStatisticsBinary(String xmlEntities);
     private native String   jniEntityEnable(String xmlEntity);
 
     /*Participant functions.*/
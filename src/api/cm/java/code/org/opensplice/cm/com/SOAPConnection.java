@@ -20,60 +20,128 @@
  */
 package org.opensplice.cm.com;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.OutputStreamWriter;
+import java.io.OutputStream;
 import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
 import java.net.MalformedURLException;
+import java.net.Socket;
 import java.net.SocketTimeoutException;
 import java.net.URL;
 
-import javax.xml.parsers.DocumentBuilder;
-import javax.xml.parsers.DocumentBuilderFactory;
-import javax.xml.parsers.ParserConfigurationException;
-
-import org.w3c.dom.Document;
-import org.w3c.dom.Element;
-import org.w3c.dom.NodeList;
-import org.xml.sax.SAXException;
+import javax.xml.stream.XMLInputFactory;
 
 /**
  * Represents a SOAP connection. It is an clientside HTTP connection, which can
  * send SOAPRequest messages and receives answers as SOAPResponse objects.
  *
+ * The connection keeps its socket open between calls (HTTP keep-alive) so
+ * that consecutive calls do not have to set up a new TCP connection. This can
+ * be disabled by setting the org.opensplice.cm.com.soap.keepAlive property to
+ * false, in which case every call uses a new HttpURLConnection.
+ *
+ * When the org.opensplice.cm.com.soap.pipelining property is set to true,
+ * concurrent callers that share a connection write their requests without
+ * waiting for the responses of the requests before them (HTTP pipelining).
+ * The responses are read in order, by the thread that sent the request.
+ * Pipelining requires a SOAP service that supports it and is disabled by
+ * default.
+ *
  * @date Feb 16, 2005
  */
 public class SOAPConnection {
     /**
-     * The HTTP connection.
+     * The HTTP connection, when keep-alive is disabled.
      */
     private HttpURLConnection connection = null;
 
     /**
-     * The output writer that writes data 'over' the connection.
+     * Factory that creates the streaming parsers of the responses.
+     */
+    private final XMLInputFactory factory;
+
+    private final boolean keepAlive;
+    private final boolean pipelining;
+    private final int connectionTimeout;
+    private final int readTimeout;
+
+    /**
+     * The persistent socket and its streams, when keep-alive is enabled.
+     */
+    private Socket socket = null;
+    private InputStream in = null;
+    private OutputStream out = null;
+    private String address = null;
+    private boolean reused = false;
+
+    /**
+     * Requests are numbered in the order in which they are written, the
+     * responses are read in the same order. Guarded by writeLock and readLock
+     * respectively.
      */
-    private OutputStreamWriter writer = null;
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+    private long nextTicket = 0;
+    private long servingTicket = 0;
     /**
-     * Builder that is able to create a DOM tree from an XML document.
+     * Incremented every time the socket is replaced, so that callers that
+     * wrote their request to a socket that has failed in the meantime can
+     * detect that.
      */
-    private DocumentBuilder builder = null;
+    private long generation = 0;
+    /**
+     * The last generation that was closed by the service after it answered a
+     * request, which means that the requests after it were not served.
+     */
+    private long closedGeneration = -1;
 
     /**
      * Constructs a new SOAPConnection.
      *
      *
      * @throws SOAPException
-     *             Thrown when the DocumentBuilder could not be initialized.
+     *             Thrown when the XML parser could not be initialized.
      */
     public SOAPConnection() throws SOAPException{
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setValidating(false);
-        factory.setNamespaceAware(false);
         try {
-            builder = factory.newDocumentBuilder();
-        } catch (ParserConfigurationException e) {
+            factory = XMLInputFactory.newInstance();
+            factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+            factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+            factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        } catch (IllegalArgumentException e) {
             throw new SOAPException(e.getMessage());
         }
+        keepAlive = Boolean.parseBoolean(System.getProperty(
+                "org.opensplice.cm.com.soap.keepAlive", "true"));
+        pipelining = keepAlive && Boolean.getBoolean(
+                "org.opensplice.cm.com.soap.pipelining");
+        connectionTimeout = getIntProperty(
+                "org.opensplice.cm.com.soap.connectionTimeout", 5000);
+        readTimeout = getIntProperty(
+                "org.opensplice.cm.com.soap.readTimeout", 10000);
+    }
+
+    private static int getIntProperty(String name, int defaultValue){
+        try {
+            return Integer.parseInt(System.getProperty(name,
+                    Integer.toString(defaultValue)));
+        } catch (NumberFormatException nfe) {
+            return defaultValue;
+        }
+    }
+
+    /**
+     * @return true if concurrent callers can share this connection and
+     *         pipeline their requests over it.
+     */
+    public boolean isPipelining() {
+        return pipelining;
     }
 
     /**
@@ -90,53 +158,420 @@ public class SOAPConnection {
      *             Thrown when: - Supplied URL is malformed. - Supplied message
      *             is invalid. - Connection to supplied URL could not be
      *             established. - Response could not be parsed.
-     * @throws NoSuchMethodException
      * @todo TODO: Change 'SOAPMessage message' argument into 'SOAPRequest
      *       message' and change return type into 'SOAPResponse'.
      */
-    public synchronized SOAPMessage call(SOAPMessage message, String url) throws SOAPException {
-        SOAPResponse response = null;
-        int status = 0;
+    public SOAPMessage call(SOAPMessage message, String url) throws SOAPException {
+        URL u;
+        byte[] request;
 
         try {
-            URL u = new URL(url);
-            connection = (HttpURLConnection) u.openConnection();
-            connection.setDoOutput(true);
+            u = new URL(url);
+            request = ((SOAPRequest) message).getString().getBytes("UTF-8");
+        } catch (MalformedURLException me) {
+            throw new SOAPException("Malformed URL: " + me.getMessage());
+        } catch (IOException ie) {
+            throw new SOAPException("IOException: " + ie.getMessage());
+        } catch(ClassCastException ce){
+            throw new SOAPException("Malformed URL.");
+        }
+        if (keepAlive && "http".equalsIgnoreCase(u.getProtocol())) {
+            if (pipelining) {
+                return this.callPipelined(request, u);
+            }
+            synchronized (writeLock) {
+                synchronized (readLock) {
+                    return this.callKeepAlive(request, u);
+                }
+            }
+        }
+        synchronized (this) {
+            return this.callOnce(request, u);
+        }
+    }
+
+    /**
+     * Sends the request over the persistent socket and waits for its
+     * response before the next request is sent. Must be called with both
+     * locks held.
+     */
+    private SOAPMessage callKeepAlive(byte[] request, URL u) throws SOAPException {
+        boolean retry = true;
 
-            int connectionTimeout = 5000;
-            int readTimeout = 10000;
+        while (true) {
+            boolean wasReused;
 
             try {
-                connectionTimeout = Integer.parseInt(System.getProperty(
-                                "org.opensplice.cm.com.soap.connectionTimeout",
-                                "5000"));
-            } catch (NumberFormatException nfe) {
+                this.connect(u);
+                wasReused = reused;
+                this.write(out, request, u);
+            } catch (IOException ie) {
+                this.disconnect();
+                throw this.ioException(ie);
+            }
+            try {
+                return this.read();
+            } catch (IOException ie) {
+                this.disconnect();
+                /*
+                 * A keep-alive connection may have been closed by the service
+                 * while it was idle. In that case the service has not seen the
+                 * request, so it is safe to send it once more.
+                 */
+                if (retry && wasReused && ie instanceof EOFException) {
+                    retry = false;
+                } else {
+                    throw this.ioException(ie);
+                }
+            }
+        }
+    }
+
+    /**
+     * Sends the request over the persistent socket without waiting for the
+     * responses of earlier requests and then waits for its turn to read its
+     * response.
+     */
+    private SOAPMessage callPipelined(byte[] request, URL u) throws SOAPException {
+        while (true) {
+            long ticket;
+            long gen;
+            boolean wasReused;
+
+            synchronized (writeLock) {
+                OutputStream os;
+
+                synchronized (readLock) {
+                    try {
+                        this.connect(u);
+                    } catch (IOException ie) {
+                        this.disconnect();
+                        throw this.ioException(ie);
+                    }
+                    gen = generation;
+                    wasReused = reused;
+                    os = out;
+                }
+                try {
+                    this.write(os, request, u);
+                } catch (IOException ie) {
+                    synchronized (readLock) {
+                        /*
+                         * The service may have closed the connection after
+                         * answering an earlier request. The callers before
+                         * this one read their responses first, so that those
+                         * are not lost when the socket is closed.
+                         */
+                        while (servingTicket != nextTicket) {
+                            try {
+                                readLock.wait();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        if (gen == generation) {
+                            this.disconnect();
+
+                            if (!wasReused) {
+                                throw this.ioException(ie);
+                            }
+                        }
+                    }
+                    /*
+                     * The request could not be written, so the service has
+                     * not received it. Send it again.
+                     */
+                    continue;
+                }
+                ticket = nextTicket++;
             }
+            synchronized (readLock) {
+                while (servingTicket != ticket) {
+                    try {
+                        readLock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                try {
+                    if (gen == generation) {
+                        return this.read();
+                    } else if (gen != closedGeneration) {
+                        throw new SOAPException("Connection lost before response was received.");
+                    }
+                    /*
+                     * The service closed the connection after answering an
+                     * earlier request, so this request has not been served.
+                     * Send it again.
+                     */
+                } catch (IOException ie) {
+                    /*
+                     * The request was written, so the service may have
+                     * executed it before the connection was lost. It is not
+                     * safe to send it again.
+                     */
+                    this.disconnect();
+                    throw this.ioException(ie);
+                } finally {
+                    servingTicket++;
+                    readLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    private SOAPException ioException(IOException ie){
+        if (ie instanceof SocketTimeoutException) {
+            return new SOAPException("Opening connection timed-out: "
+                    + ie.getMessage());
+        }
+        return new SOAPException("IOException: " + ie.getMessage());
+    }
+
+    /**
+     * Makes sure the persistent socket is connected to the host of the
+     * supplied URL. Must be called with readLock held.
+     */
+    private void connect(URL u) throws IOException {
+        int port = (u.getPort() == -1) ? u.getDefaultPort() : u.getPort();
+        String target = u.getHost() + ":" + port;
+
+        if (socket != null && target.equals(address) && !socket.isClosed()) {
+            reused = true;
+            return;
+        }
+        this.disconnect();
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.setKeepAlive(true);
+        socket.connect(new InetSocketAddress(u.getHost(), port), connectionTimeout);
+        socket.setSoTimeout(readTimeout);
+        in = new BufferedInputStream(socket.getInputStream());
+        out = new BufferedOutputStream(socket.getOutputStream());
+        address = target;
+        reused = false;
+    }
+
+    /**
+     * Closes the persistent socket, if there is one. Must be called with
+     * readLock held.
+     */
+    private void disconnect(){
+        if (socket != null) {
             try {
-                readTimeout = Integer.parseInt(System.getProperty(
-                        "org.opensplice.cm.com.soap.readTimeout", "10000"));
+                socket.close();
+            } catch (IOException e) {
+                /* Closing anyway. */
+            }
+            socket = null;
+            in = null;
+            out = null;
+            address = null;
+            generation++;
+        }
+    }
+
+    private void write(OutputStream os, byte[] request, URL u) throws IOException {
+        String path = u.getFile();
+        StringBuilder header = new StringBuilder(256);
+
+        if (path.length() == 0) {
+            path = "/";
+        }
+        header.append("POST ").append(path).append(" HTTP/1.1\r\n");
+        header.append("Host: ").append(u.getHost());
+        if (u.getPort() != -1) {
+            header.append(':').append(u.getPort());
+        }
+        header.append("\r\n");
+        header.append("Content-Type: text/xml; charset=utf-8\r\n");
+        header.append("Content-Length: ").append(request.length).append("\r\n");
+        header.append("Connection: keep-alive\r\n");
+        header.append("SOAPAction: \"\"\r\n\r\n");
+
+        os.write(header.toString().getBytes("ISO-8859-1"));
+        os.write(request);
+        os.flush();
+    }
+
+    /**
+     * Reads the next HTTP response from the persistent socket and parses it.
+     * Must be called with readLock held.
+     */
+    private SOAPMessage read() throws IOException, SOAPException {
+        String line = this.readLine();
+        int status;
+        int contentLength = -1;
+        boolean chunked = false;
+        boolean close = false;
+        byte[] body;
+
+        if (line == null) {
+            throw new EOFException("Connection closed by peer.");
+        }
+        if (!line.startsWith("HTTP/") || line.indexOf(' ') < 0) {
+            throw new IOException("Malformed HTTP response: " + line);
+        }
+        close = line.startsWith("HTTP/1.0");
+        try {
+            int start = line.indexOf(' ') + 1;
+            int end = line.indexOf(' ', start);
+
+            status = Integer.parseInt(line.substring(start, (end < 0) ? line.length() : end));
+        } catch (NumberFormatException nfe) {
+            throw new IOException("Malformed HTTP response: " + line);
+        }
+        while ((line = this.readLine()) != null && line.length() > 0) {
+            int colon = line.indexOf(':');
+
+            if (colon > 0) {
+                String name = line.substring(0, colon).trim();
+                String value = line.substring(colon + 1).trim();
+
+                if ("Content-Length".equalsIgnoreCase(name)) {
+                    try {
+                        contentLength = Integer.parseInt(value);
+                    } catch (NumberFormatException nfe) {
+                        throw new IOException("Malformed Content-Length: " + value);
+                    }
+                } else if ("Transfer-Encoding".equalsIgnoreCase(name)) {
+                    chunked = "chunked".equalsIgnoreCase(value);
+                } else if ("Connection".equalsIgnoreCase(name)) {
+                    if ("close".equalsIgnoreCase(value)) {
+                        close = true;
+                    } else if ("keep-alive".equalsIgnoreCase(value)) {
+                        close = false;
+                    }
+                }
+            }
+        }
+        if (line == null) {
+            throw new IOException("Connection closed while reading HTTP header.");
+        }
+        if (chunked) {
+            body = this.readChunked();
+        } else if (contentLength >= 0) {
+            body = this.readFully(contentLength);
+        } else {
+            body = this.readToEnd();
+            close = true;
+        }
+        if (close) {
+            closedGeneration = generation;
+            this.disconnect();
+        }
+        if (status == HttpURLConnection.HTTP_OK) {
+            return new SOAPResponse(factory, new ByteArrayInputStream(body));
+        } else if (status == HttpURLConnection.HTTP_INTERNAL_ERROR && body.length > 0) {
+            throw SOAPResponse.getFault(factory, new ByteArrayInputStream(body),
+                    "IOException: Server returned HTTP response code: " + status);
+        }
+        throw new SOAPException("IOException: Server returned HTTP response code: " + status);
+    }
+
+    private String readLine() throws IOException {
+        StringBuilder line = new StringBuilder(64);
+        int c;
+
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                int length = line.length();
+
+                if (length > 0 && line.charAt(length - 1) == '\r') {
+                    line.setLength(length - 1);
+                }
+                return line.toString();
+            }
+            line.append((char) c);
+        }
+        return (line.length() == 0) ? null : line.toString();
+    }
+
+    private byte[] readFully(int length) throws IOException {
+        byte[] result = new byte[length];
+        int offset = 0;
+
+        while (offset < length) {
+            int n = in.read(result, offset, length - offset);
+
+            if (n < 0) {
+                throw new IOException("Connection closed while reading HTTP body.");
+            }
+            offset += n;
+        }
+        return result;
+    }
+
+    private byte[] readChunked() throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        String line;
+        int size;
+
+        do {
+            line = this.readLine();
+            if (line == null) {
+                throw new IOException("Connection closed while reading HTTP body.");
+            }
+            int extension = line.indexOf(';');
+
+            try {
+                size = Integer.parseInt(((extension < 0) ? line
+                        : line.substring(0, extension)).trim(), 16);
             } catch (NumberFormatException nfe) {
+                throw new IOException("Malformed HTTP chunk size: " + line);
+            }
+            if (size > 0) {
+                result.write(this.readFully(size));
+                this.readLine();
             }
+        } while (size > 0);
+
+        /* Skip trailers. */
+        while ((line = this.readLine()) != null && line.length() > 0) {
+            /* Ignore. */
+        }
+        return result.toByteArray();
+    }
+
+    private byte[] readToEnd() throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[4096];
+        int n;
+
+        while ((n = in.read(buffer)) != -1) {
+            result.write(buffer, 0, n);
+        }
+        return result.toByteArray();
+    }
+
+    /**
+     * Sends the request over a new HttpURLConnection and waits for its
+     * response.
+     */
+    private SOAPMessage callOnce(byte[] request, URL u) throws SOAPException {
+        SOAPResponse response = null;
+        int status = 0;
 
+        try {
+            connection = (HttpURLConnection) u.openConnection();
+            connection.setDoOutput(true);
             connection.setConnectTimeout(connectionTimeout);
             connection.setReadTimeout(readTimeout);
             connection.connect();
 
-            writer = new OutputStreamWriter(connection.getOutputStream(), "UTF-8");
-            writer.write(((SOAPRequest) message).getString());
-            writer.flush();
+            OutputStream os = connection.getOutputStream();
+            os.write(request);
+            os.flush();
 
+            InputStream is = connection.getInputStream();
             try {
-                Document document = builder.parse(connection.getInputStream());
-                response = new SOAPResponse(document);
-            } catch (SAXException e) {
-                throw new SOAPException(e.getMessage());
+                response = new SOAPResponse(factory, is);
+            } finally {
+                is.close();
             }
         } catch (SocketTimeoutException ste) {
             throw new SOAPException("Opening connection timed-out: "
                     + ste.getMessage());
-        } catch (MalformedURLException me) {
-            throw new SOAPException("Malformed URL: " + me.getMessage());
         } catch (IOException ie) {
             try {
                 status = connection.getResponseCode();
@@ -144,40 +579,13 @@ public class SOAPConnection {
                 throw new SOAPException("IOException: " + i.getMessage());
             }
             if (status == HttpURLConnection.HTTP_INTERNAL_ERROR) {
-                Document doc;
-                try {
-                    InputStream errorIs = connection.getErrorStream();
+                InputStream errorIs = connection.getErrorStream();
 
-                    if (errorIs == null) {
-                        throw new SOAPException(
-                                "Connection failed (no further error information available).");
-                    }
-                    doc = builder.parse(errorIs);
-                } catch (SAXException e) {
-                    throw new SOAPException(e.getMessage());
-                } catch (IOException e) {
-                    throw new SOAPException("IOException: " + e.getMessage());
+                if (errorIs == null) {
+                    throw new SOAPException(
+                            "Connection failed (no further error information available).");
                 }
-
-                String faultCode = null;
-                String faultString = null;
-
-                NodeList nodeList = doc.getElementsByTagName("faultcode");
-                if (nodeList != null) {
-                    Element nameElement = (Element) nodeList.item(0);
-                    if (nameElement != null) {
-                        faultCode = nameElement.getFirstChild().getNodeValue().trim();
-                    }
-                }
-
-                nodeList = doc.getElementsByTagName("faultstring");
-                if (nodeList != null) {
-                    Element nameElement = (Element) nodeList.item(0);
-                    if (nameElement != null) {
-                        faultString = nameElement.getFirstChild().getNodeValue().trim();
-                    }
-                }
-                throw new SOAPException("IOException: " + ie.getMessage(), faultCode, faultString);
+                throw SOAPResponse.getFault(factory, errorIs, "IOException: " + ie.getMessage());
             }
             throw new SOAPException("IOException: " + ie.getMessage());
         } catch(ClassCastException ce){
@@ -189,11 +597,15 @@ public class SOAPConnection {
     /**
      * Closes the current connection, if there is one.
      */
-    public synchronized void close() {
-        if(connection != null){
-            connection.disconnect();
-            connection = null;
-            writer = null;
+    public void close() {
+        synchronized (this) {
+            if(connection != null){
+                connection.disconnect();
+                connection = null;
+            }
+        }
+        synchronized (readLock) {
+            this.disconnect();
         }
     }
 }
@@ -26,6 +26,8 @@ import java.util.Iterator;
 public class SOAPConnectionPool {
     private final HashSet<SOAPConnection> availableConnections;
     private final HashSet<SOAPConnection> usedConnections;
+    /* Connection that all callers share when requests are pipelined. */
+    private SOAPConnection sharedConnection;
     private static SOAPConnectionPool instance = null;
 
 
@@ -39,12 +41,16 @@ public class SOAPConnectionPool {
     private SOAPConnectionPool() throws SOAPException{
         availableConnections = new HashSet<SOAPConnection>();
         usedConnections = new HashSet<SOAPConnection>();
+        sharedConnection = null;
     }
 
     public synchronized SOAPConnection acquireConnection() throws SOAPException{
         Iterator<SOAPConnection> iter;
         SOAPConnection connection = null;
 
+        if(sharedConnection != null){
+            return sharedConnection;
+        }
         if(availableConnections.size() > 0){
             iter = availableConnections.iterator();
             connection = iter.next();
@@ -52,7 +58,12 @@ public class SOAPConnectionPool {
             usedConnections.add(connection);
         } else {
             connection = new SOAPConnection();
-            usedConnections.add(connection);
+
+            if(connection.isPipelining()){
+                sharedConnection = connection;
+            } else {
+                usedConnections.add(connection);
+            }
         }
         return connection;
     }
@@ -72,5 +83,10 @@ public class SOAPConnectionPool {
             connection.close();
         }
         availableConnections.clear();
+
+        if(sharedConnection != null){
+            sharedConnection.close();
+            sharedConnection = null;
+        }
     }
 }
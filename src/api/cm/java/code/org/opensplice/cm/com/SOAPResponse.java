@@ -20,13 +20,20 @@
  */
 package org.opensplice.cm.com;
 
-import org.w3c.dom.Document;
-import org.w3c.dom.Node;
+import java.io.InputStream;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
 
 /**
  * Concrete SOAP message, which represents a SOAP response. SOAP responses are 
  * received from a SOAP service when a SOAPRequest was sent.
  * 
+ * The response is parsed as a stream; only the result of the call is kept,
+ * no DOM tree of the response is built.
+ * 
  * @date Feb 17, 2005 
  */
 class SOAPResponse extends SOAPMessage{
@@ -35,17 +42,130 @@ class SOAPResponse extends SOAPMessage{
      * Construts a new SOAPResponse 
      *  
      *
-     * @param dom The XML DOM tree representation of the response.
+     * @param factory The factory to create the XML stream reader with.
+     * @param in The stream that contains the XML representation of the
+     *           response.
+     * @throws SOAPException Thrown when the response could not be parsed.
      */
-    public SOAPResponse(Document dom){
+    public SOAPResponse(XMLInputFactory factory, InputStream in) throws SOAPException{
         super();
-        Node node = dom.getDocumentElement().getFirstChild().getFirstChild().getFirstChild();
+        XMLStreamReader reader = null;
         
-        if(node != null){
-            node = node.getFirstChild();
-            body = node.getNodeValue();
-        } else {
+        try {
+            reader = factory.createXMLStreamReader(in);
             body = null;
+            /* Envelope -> Body -> <method>Response -> result */
+            if (nextChild(reader) && nextChild(reader) && nextChild(reader)
+                    && nextChild(reader)) {
+                String text = getText(reader);
+                
+                if (text.length() > 0) {
+                    body = text;
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new SOAPException(e.getMessage());
+        } finally {
+            close(reader);
+        }
+    }
+    
+    /**
+     * Parses the SOAP fault in the supplied stream and creates an exception
+     * for it.
+     * 
+     * @param factory The factory to create the XML stream reader with.
+     * @param in The stream that contains the XML representation of the fault.
+     * @param message The message of the exception.
+     * @return The exception that represents the fault.
+     */
+    static SOAPException getFault(XMLInputFactory factory, InputStream in, String message){
+        XMLStreamReader reader = null;
+        String faultCode = null;
+        String faultString = null;
+        
+        try {
+            reader = factory.createXMLStreamReader(in);
+            
+            while (reader.hasNext()) {
+                if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+                    if ("faultcode".equals(reader.getLocalName()) && faultCode == null) {
+                        faultCode = getText(reader).trim();
+                    } else if ("faultstring".equals(reader.getLocalName()) && faultString == null) {
+                        faultString = getText(reader).trim();
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            return new SOAPException(e.getMessage());
+        } finally {
+            close(reader);
+        }
+        if (faultCode == null) {
+            return new SOAPException(message);
+        }
+        return new SOAPException(message, faultCode, faultString);
+    }
+    
+    /**
+     * Advances the reader to the start of the first child element of the
+     * current element, or of the document if there is no current element yet.
+     * 
+     * @return true if there is such an element, false otherwise.
+     */
+    private static boolean nextChild(XMLStreamReader reader) throws XMLStreamException{
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                return true;
+            case XMLStreamConstants.END_ELEMENT:
+            case XMLStreamConstants.END_DOCUMENT:
+                return false;
+            default:
+                break;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Reads the text content of the current element. Child elements are
+     * skipped.
+     */
+    private static String getText(XMLStreamReader reader) throws XMLStreamException{
+        StringBuilder text = new StringBuilder();
+        int depth = 1;
+        
+        while (depth > 0 && reader.hasNext()) {
+            switch (reader.next()) {
+            case XMLStreamConstants.START_ELEMENT:
+                depth++;
+                break;
+            case XMLStreamConstants.END_ELEMENT:
+                depth--;
+                break;
+            case XMLStreamConstants.CHARACTERS:
+            case XMLStreamConstants.CDATA:
+            case XMLStreamConstants.SPACE:
+                if (depth == 1) {
+                    text.append(reader.getTextCharacters(),
+                            reader.getTextStart(), reader.getTextLength());
+                }
+                break;
+            default:
+                break;
+            }
+        }
+        return text.toString();
+    }
+    
+    private static void close(XMLStreamReader reader){
+        if (reader != null) {
+            try {
+                reader.close();
+            } catch (XMLStreamException e) {
+                /* Nothing left to release. */
+            }
         }
     }
 }
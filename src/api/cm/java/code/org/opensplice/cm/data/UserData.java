@@ -25,6 +25,8 @@ import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.regex.Pattern;
 
 import org.opensplice.cm.meta.MetaCollection;
 import org.opensplice.cm.meta.MetaField;
@@ -36,6 +38,12 @@ import org.opensplice.cm.meta.MetaUnionCase;
 /**
  * Represents Splice userData
  * 
+ * The fields are stored in the order in which they have been assigned. The
+ * nested field names are shared by all userdata of the same type (see
+ * UserDataLayout); every field only takes a slot index and a primitive
+ * value. Numbers, enumeration labels and booleans are stored without a
+ * String instance whenever the original text can be restored exactly.
+ * 
  * @date May 13, 2004
  */
 public class UserData {
@@ -47,8 +55,16 @@ public class UserData {
      *            The type of the userdata.
      */
     public UserData(MetaType _type){
-        data = new LinkedHashMap<String, String>();
+        int capacity;
+
         type = _type;
+        layout = UserDataLayout.getLayout(_type);
+        data = null;
+        capacity = Math.max(layout.getSize(), 8);
+        entries = new int[capacity];
+        values = new long[capacity];
+        texts = null;
+        count = 0;
     }
 
     /**
@@ -61,15 +77,64 @@ public class UserData {
      *            The value that must be assigned.
      */
     public void setData(String fieldName, String fieldValue){
-        data.put(fieldName, fieldValue);
+        if(data != null){
+            data.put(fieldName, fieldValue);
+            return;
+        }
+        UserDataLayout.Slot slot = layout.addSlot(fieldName, type);
+        int position = this.find(slot);
+
+        if(position == -1){
+            if(count == entries.length){
+                this.grow();
+            }
+            position = count++;
+        }
+        this.store(position, slot, fieldValue);
+    }
+
+    /**
+     * Provides access to the value of the field with the supplied name as it
+     * has been assigned, without resolving collections.
+     * 
+     * @param fieldName
+     *            The nested name of the field.
+     * @return The value of the field or null if it has not been assigned.
+     */
+    public String getData(String fieldName){
+        if(data != null){
+            return data.get(fieldName);
+        }
+        UserDataLayout.Slot slot = layout.getSlot(fieldName);
+
+        if(slot == null){
+            return null;
+        }
+        int position = this.find(slot);
+
+        if(position == -1){
+            return null;
+        }
+        return this.valueAt(position);
+    }
+
+    /**
+     * Provides access to the number of fields in the data.
+     * 
+     * @return The number of assigned fields.
+     */
+    public int getFieldCount(){
+        if(data != null){
+            return data.size();
+        }
+        return count;
     }
 
     public boolean isUnboundedSequence(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
         if (name != null) {
             MetaField f;
-            f = type.getField(name);
+            f = this.getStrippedField(name);
 
             /** Yes it is a collection!! */
             if ((f != null) && (!("c_string".equals(f.getTypeName())))) {
@@ -87,9 +152,8 @@ public class UserData {
     }
 
     public boolean isStringCollection(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
-        MetaField f = type.getField(name);
+        MetaField f = this.getStrippedField(name);
         if (f != null) {
             String typeName = f.getTypeName();
             if (typeName.startsWith("C_SEQUENCE<c_string")) {
@@ -103,11 +167,10 @@ public class UserData {
     }
 
     public boolean isCollection(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
 
         MetaField f;
-        f = type.getField(name);
+        f = this.getStrippedField(name);
 
         /**Yes it is a collection!!*/
         if( (f != null) && (!("c_string".equals(f.getTypeName()))) ){
@@ -127,11 +190,10 @@ public class UserData {
     }
 
     public boolean isUnboundedArray(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
         if (name != null) {
             MetaField f;
-            f = type.getField(name);
+            f = this.getStrippedField(name);
 
             /**Yes it is a collection!!*/
             if( (f != null) && (!("c_string".equals(f.getTypeName()))) ){
@@ -147,11 +209,10 @@ public class UserData {
     }
 
     public boolean isStructure(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
         if (name != null) {
             MetaField f;
-            f = type.getField(name);
+            f = this.getStrippedField(name);
 
             /**Yes it is a collection!!*/
             if( (f != null) && (!("c_string".equals(f.getTypeName()))) ){
@@ -165,11 +226,10 @@ public class UserData {
     }
 
     public boolean isUnion(String name) {
-        name = name.replaceAll("[\\[0-9]*]", "");
         boolean result = false;
         if (name != null) {
             MetaField f;
-            f = type.getField(name);
+            f = this.getStrippedField(name);
             if (f instanceof MetaUnion) {
                 result = true;
             }
@@ -222,7 +282,7 @@ public class UserData {
         if(subType instanceof MetaCollection){
 
             if((size == 0) && (subTypeIsString)){ //unbounded sequence with unbounded strings
-                Iterator<String> iter = data.keySet().iterator();
+                Iterator<String> iter = this.fieldNameIterator();
                 StringBuilder buf = new StringBuilder(value);
                 while(iter.hasNext()){
                     fieldName = iter.next();
@@ -231,11 +291,11 @@ public class UserData {
                             (fieldName.charAt(name.length()) == '['))
                     {
                         if(first){
-                            buf.append(data.get(fieldName));
+                            buf.append(this.getData(fieldName));
                             first = false;
                         }
                         else{
-                            buf.append("," + data.get(fieldName));
+                            buf.append("," + this.getData(fieldName));
                         }
                     }
                 }
@@ -292,7 +352,7 @@ public class UserData {
              * the result.
              */
             /* First, just hope that the given name is actually a full key. */
-            String found = data.get(name);
+            String found = this.getData(name);
             if (found != null) {
                 StringBuilder buf = new StringBuilder(value);
                 buf.append(found);
@@ -300,7 +360,7 @@ public class UserData {
             } else {
                 /* No full key given, do the slow elaborate search for
                  * possibly multiple elements. */
-                Iterator<String> iter = data.keySet().iterator();
+                Iterator<String> iter = this.fieldNameIterator();
                 int index;
                 String fieldNameStripped, nameStripped, fieldNameHooks, nameHooks;
 
@@ -335,12 +395,12 @@ public class UserData {
                                 (fieldNameHooks.endsWith(nameHooks))){
 
                             if(first){
-                                buf.append(data.get(fieldName));
+                                buf.append(this.getData(fieldName));
                                 first = false;
                             }
                             else{
                                 buf.append(",");
-                                buf.append(data.get(fieldName));
+                                buf.append(this.getData(fieldName));
                             }
                         }
                     }
@@ -375,12 +435,17 @@ public class UserData {
         }
 
         int size = 0;
+        Pattern pattern = null;
         // Iterate through the user data to ascertain the actual size of this sequence
-        Iterator<String> iter = data.keySet().iterator();
+        Iterator<String> iter = this.fieldNameIterator();
         while (iter.hasNext()) {
             String field = iter.next();
-            if (field.matches(nameBeforeIndex + "(\\[\\d*\\])*\\[" + size + "\\]" + nameAfterIndex + "(|\\..*)")) {
+            if (pattern == null) {
+                pattern = Pattern.compile(nameBeforeIndex + "(\\[\\d*\\])*\\[" + size + "\\]" + nameAfterIndex + "(|\\..*)");
+            }
+            if (pattern.matcher(field).matches()) {
                 size++;
+                pattern = null;
             }
         }
         return size;
@@ -394,7 +459,7 @@ public class UserData {
      * @return The value of the field.
      */
     public String getFieldValue(String fieldName) {
-        String value = (data.get(fieldName));
+        String value = (this.getData(fieldName));
 
         /**Maybe it is a collection type.*/
         if(value == null){
@@ -413,7 +478,7 @@ public class UserData {
     }
 
     public String getFieldSwitchValue(String fieldName, String switchValue) {
-        String value = (data.get(fieldName));
+        String value = (this.getData(fieldName));
 
         /** Maybe it is a collection type. */
         if (value == null) {
@@ -456,7 +521,15 @@ public class UserData {
      * @return An ordered set of fields in the data.
      */
     public LinkedHashSet<String> getFieldNames() {
-        return new LinkedHashSet<String>(data.keySet());
+        if(data != null){
+            return new LinkedHashSet<String>(data.keySet());
+        }
+        LinkedHashSet<String> result = new LinkedHashSet<String>();
+
+        for(int i=0; i<count; i++){
+            result.add(this.nameAt(i));
+        }
+        return result;
     }
 
     /**
@@ -465,7 +538,15 @@ public class UserData {
      * @return An ordered set of field values.
      */
     public LinkedHashSet<String> getFieldValues() {
-        return new LinkedHashSet<String>(data.values());
+        if(data != null){
+            return new LinkedHashSet<String>(data.values());
+        }
+        LinkedHashSet<String> result = new LinkedHashSet<String>();
+
+        for(int i=0; i<count; i++){
+            result.add(this.valueAt(i));
+        }
+        return result;
     }
 
     @Override
@@ -473,16 +554,45 @@ public class UserData {
         String key, value;
         StringBuffer buf = new StringBuffer("");
 
-        for (Iterator<Entry<String, String>> it = data.entrySet().iterator(); it.hasNext();) {
-            Map.Entry<String, String> entry = it.next();
-            key = entry.getKey();
-            value = entry.getValue();
-            buf.append("" + key + ": " + value + "\n");
+        if(data != null){
+            for (Iterator<Entry<String, String>> it = data.entrySet().iterator(); it.hasNext();) {
+                Map.Entry<String, String> entry = it.next();
+                key = entry.getKey();
+                value = entry.getValue();
+                buf.append("" + key + ": " + value + "\n");
+            }
+        } else {
+            for(int i=0; i<count; i++){
+                buf.append(this.nameAt(i) + ": " + this.valueAt(i) + "\n");
+            }
         }
         return buf.toString();
     }
 
+    /**
+     * Provides access to the fields of the data as a map. The map is the
+     * live representation of the data: from the first call on, the data is
+     * kept in the returned map and changes to the map are visible through
+     * all other accessors. This takes considerably more memory than the
+     * compact representation, so code that only reads the data should use
+     * getData, getFieldNames and getFieldValue instead.
+     * 
+     * @return The map with fields and their values. <String fieldName,
+     *         String fieldValue>
+     */
     public LinkedHashMap<String, String> getUserData() {
+        if(data == null){
+            LinkedHashMap<String, String> map = new LinkedHashMap<String, String>();
+
+            for(int i=0; i<count; i++){
+                map.put(this.nameAt(i), this.valueAt(i));
+            }
+            data = map;
+            entries = null;
+            values = null;
+            texts = null;
+            count = 0;
+        }
         return data;
     }
 
@@ -495,11 +605,230 @@ public class UserData {
         return type;
     }
 
+    private Iterator<String> fieldNameIterator(){
+        if(data != null){
+            return data.keySet().iterator();
+        }
+        return new Iterator<String>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < count;
+            }
+
+            @Override
+            public String next() {
+                if(next >= count){
+                    throw new NoSuchElementException();
+                }
+                return nameAt(next++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    /**
+     * Resolves the type of a nested field after stripping its collection
+     * indices. The type of fields that have been assigned is resolved once
+     * per type instead of for every call.
+     */
+    private MetaField getStrippedField(String name){
+        UserDataLayout.Slot slot = layout.getSlot(name);
+
+        if(slot != null){
+            return slot.field;
+        }
+        return type.getField(UserDataLayout.stripIndices(name));
+    }
+
+    /**
+     * Resolves the position of the slot in this data. Data of the same type
+     * usually has its fields in the same order, so the slot index is tried
+     * first.
+     */
+    private int find(UserDataLayout.Slot slot){
+        int index = slot.index;
+
+        if((index < count) && ((entries[index] >>> TAG_BITS) == index)){
+            return index;
+        }
+        for(int i=0; i<count; i++){
+            if((entries[i] >>> TAG_BITS) == index){
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void grow(){
+        int capacity = entries.length * 2;
+        int[] newEntries = new int[capacity];
+        long[] newValues = new long[capacity];
+
+        System.arraycopy(entries, 0, newEntries, 0, count);
+        System.arraycopy(values, 0, newValues, 0, count);
+        entries = newEntries;
+        values = newValues;
+
+        if(texts != null){
+            String[] newTexts = new String[capacity];
+            System.arraycopy(texts, 0, newTexts, 0, count);
+            texts = newTexts;
+        }
+    }
+
+    private void store(int position, UserDataLayout.Slot slot, String value){
+        int tag = TAG_TEXT;
+
+        if(value != null){
+            if(slot.kind == UserDataLayout.NUMBER){
+                if(isCanonicalLong(value)){
+                    values[position] = Long.parseLong(value);
+                    tag = TAG_LONG;
+                } else if(isDecimal(value)){
+                    try {
+                        double d = Double.parseDouble(value);
+
+                        if(Double.toString(d).equals(value)){
+                            values[position] = Double.doubleToRawLongBits(d);
+                            tag = TAG_DOUBLE;
+                        }
+                    } catch(NumberFormatException e){
+                        /* Stored as text. */
+                    }
+                }
+            } else if(slot.kind == UserDataLayout.SYMBOL){
+                int symbol = slot.getSymbol(value);
+
+                if(symbol != -1){
+                    values[position] = symbol;
+                    tag = TAG_SYMBOL;
+                }
+            }
+        }
+        entries[position] = (slot.index << TAG_BITS) | tag;
+
+        if(tag == TAG_TEXT){
+            if(texts == null){
+                texts = new String[entries.length];
+            }
+            texts[position] = value;
+        } else if(texts != null){
+            texts[position] = null;
+        }
+    }
+
+    private String nameAt(int position){
+        return layout.getSlot(entries[position] >>> TAG_BITS).name;
+    }
+
+    private String valueAt(int position){
+        String result;
+        int entry = entries[position];
+
+        switch(entry & TAG_MASK){
+        case TAG_LONG:
+            result = Long.toString(values[position]);
+            break;
+        case TAG_DOUBLE:
+            result = Double.toString(Double.longBitsToDouble(values[position]));
+            break;
+        case TAG_SYMBOL:
+            result = layout.getSlot(entry >>> TAG_BITS).getSymbolValue((int)values[position]);
+            break;
+        default:
+            result = texts[position];
+            break;
+        }
+        return result;
+    }
+
+    /**
+     * Checks whether the value is a long that Long.toString reproduces
+     * exactly: no sign other than a leading '-', no leading zeros and no
+     * more digits than always fit in a long.
+     */
+    private static boolean isCanonicalLong(String value){
+        int length = value.length();
+        int start = (length > 0 && value.charAt(0) == '-') ? 1 : 0;
+        int digits = length - start;
+
+        if((digits == 0) || (digits > 18)){
+            return false;
+        }
+        if((value.charAt(start) == '0') && ((digits > 1) || (start == 1))){
+            return false;
+        }
+        for(int i=start; i<length; i++){
+            char c = value.charAt(i);
+
+            if((c < '0') || (c > '9')){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isDecimal(String value){
+        int length = value.length();
+
+        if(length == 0){
+            return false;
+        }
+        for(int i=0; i<length; i++){
+            char c = value.charAt(i);
+
+            if(((c < '0') || (c > '9')) && (c != '-') && (c != '.')){
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static final int TAG_BITS   = 2;
+    private static final int TAG_MASK   = (1 << TAG_BITS) - 1;
+    private static final int TAG_TEXT   = 0;
+    private static final int TAG_LONG   = 1;
+    private static final int TAG_DOUBLE = 2;
+    private static final int TAG_SYMBOL = 3;
+
     /**
      * Map with userdata fields and their values. <String fieldName, String
-     * fieldValue>
+     * fieldValue> Only used once getUserData() has been called.
+     */
+    private LinkedHashMap<String, String> data;
+
+    /**
+     * The slots of the fields shared by all userdata of the type.
+     */
+    private final UserDataLayout layout;
+
+    /**
+     * Per field: the slot index shifted by TAG_BITS, combined with the way
+     * the value is stored (one of the TAG_ constants).
+     */
+    private int[] entries;
+
+    /**
+     * Per field: the value of fields that are not stored as text.
+     */
+    private long[] values;
+
+    /**
+     * Per field: the value of fields that are stored as text. Only allocated
+     * when needed.
+     */
+    private String[] texts;
+
+    /**
+     * The number of fields in the data.
      */
-    private final LinkedHashMap<String, String> data;
+    private int count;
 
     /**
      * The type of the userdata.
@@ -0,0 +1,267 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.data;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.opensplice.cm.meta.MetaEnum;
+import org.opensplice.cm.meta.MetaField;
+import org.opensplice.cm.meta.MetaPrimitive;
+import org.opensplice.cm.meta.MetaType;
+
+/**
+ * Describes the fields of all UserData of one type. Every nested field name
+ * that occurs in the data is assigned a slot once; the UserData then only
+ * stores slot indices and primitive values. The field name, the MetaField
+ * and the way values are stored are resolved when a slot is created and
+ * shared by all UserData of the type.
+ * 
+ * Slots are only ever added, because the number of elements of sequences
+ * differs per sample.
+ * 
+ * @date Oct 17, 2026
+ */
+class UserDataLayout {
+    /**
+     * Values are stored as text.
+     */
+    static final int TEXT   = 0;
+
+    /**
+     * Values are stored as a long if they can be restored to exactly the
+     * same text, otherwise as text.
+     */
+    static final int NUMBER = 1;
+
+    /**
+     * Values are stored as an index in the symbol table of the slot. Used
+     * for fields with few possible values like enumerations and booleans.
+     */
+    static final int SYMBOL = 2;
+
+    /**
+     * Maximum number of symbols per slot. Values that do not fit are stored
+     * as text.
+     */
+    private static final int MAX_SYMBOLS = 256;
+
+    /**
+     * Layouts of all types, keyed by the XML representation of the type so
+     * that equal types share one layout.
+     */
+    private static final Map<String, UserDataLayout> layouts =
+        new WeakHashMap<String, UserDataLayout>();
+
+    /**
+     * Provides access to the layout of the supplied type.
+     * 
+     * @param type The type to resolve the layout of.
+     * @return The layout that is shared by all UserData of the type.
+     */
+    static UserDataLayout getLayout(MetaType type){
+        UserDataLayout layout;
+        String key = (type == null) ? null : type.toXML();
+
+        if(key == null){
+            return new UserDataLayout();
+        }
+        synchronized(layouts){
+            layout = layouts.get(key);
+
+            if(layout == null){
+                layout = new UserDataLayout();
+                layouts.put(key, layout);
+            }
+        }
+        return layout;
+    }
+
+    /**
+     * A field in the layout.
+     */
+    static final class Slot {
+        final int index;
+        final String name;
+        final MetaField field;
+        final int kind;
+        private final ArrayList<String> symbols;
+        private final HashMap<String, Integer> symbolIndices;
+
+        private Slot(int index, String name, MetaField field, int kind){
+            this.index = index;
+            this.name = name;
+            this.field = field;
+            this.kind = kind;
+
+            if(kind == SYMBOL){
+                this.symbols = new ArrayList<String>();
+                this.symbolIndices = new HashMap<String, Integer>();
+            } else {
+                this.symbols = null;
+                this.symbolIndices = null;
+            }
+        }
+
+        /**
+         * Resolves the symbol of the supplied value, adding it when it is
+         * not known yet.
+         * 
+         * @return The index of the symbol or -1 if the symbol table is full.
+         */
+        synchronized int getSymbol(String value){
+            Integer symbol = symbolIndices.get(value);
+
+            if(symbol == null){
+                if(symbols.size() >= MAX_SYMBOLS){
+                    return -1;
+                }
+                symbol = Integer.valueOf(symbols.size());
+                symbols.add(value);
+                symbolIndices.put(value, symbol);
+            }
+            return symbol.intValue();
+        }
+
+        synchronized String getSymbolValue(int symbol){
+            return symbols.get(symbol);
+        }
+    }
+
+    private final ConcurrentHashMap<String, Slot> slotsByName;
+    private volatile Slot[] slots;
+    private int size;
+
+    private UserDataLayout(){
+        this.slotsByName = new ConcurrentHashMap<String, Slot>();
+        this.slots = new Slot[16];
+        this.size = 0;
+    }
+
+    /**
+     * Resolves the slot of the supplied nested field name.
+     * 
+     * @return The slot or null if the field has no slot (yet).
+     */
+    Slot getSlot(String name){
+        return slotsByName.get(name);
+    }
+
+    Slot getSlot(int index){
+        return slots[index];
+    }
+
+    /**
+     * @return The number of slots in the layout.
+     */
+    synchronized int getSize(){
+        return size;
+    }
+
+    /**
+     * Resolves the slot of the supplied nested field name, creating it when
+     * it does not exist yet.
+     * 
+     * @param name The nested name of the field.
+     * @param type The type the name is resolved in.
+     * @return The slot of the field.
+     */
+    Slot addSlot(String name, MetaType type){
+        Slot slot = slotsByName.get(name);
+
+        if(slot == null){
+            synchronized(this){
+                slot = slotsByName.get(name);
+
+                if(slot == null){
+                    MetaField field = null;
+                    MetaField element = null;
+
+                    if(type != null){
+                        field = type.getField(stripIndices(name));
+                        element = field;
+
+                        /* The stripped name of a collection element resolves
+                         * to the collection, so the values are stored
+                         * according to the type of the element instead.
+                         */
+                        if(name.indexOf(']') != -1){
+                            element = type.getField(name);
+                        }
+                    }
+                    slot = new Slot(size, name, field, getKind(element));
+
+                    if(size == slots.length){
+                        Slot[] grown = new Slot[size * 2];
+                        System.arraycopy(slots, 0, grown, 0, size);
+                        grown[size] = slot;
+                        slots = grown;
+                    } else {
+                        slots[size] = slot;
+                    }
+                    size++;
+                    slotsByName.put(name, slot);
+                }
+            }
+        }
+        return slot;
+    }
+
+    /**
+     * Strips the collection indices of a nested field name, in the same way
+     * the UserData always did.
+     */
+    static String stripIndices(String name){
+        if(name.indexOf(']') == -1){
+            return name;
+        }
+        return name.replaceAll("[\\[0-9]*]", "");
+    }
+
+    private static int getKind(MetaField field){
+        int kind = TEXT;
+
+        if(field instanceof MetaEnum){
+            kind = SYMBOL;
+        } else if(field instanceof MetaPrimitive){
+            String typeName = field.getTypeName();
+
+            if("c_bool".equals(typeName)){
+                kind = SYMBOL;
+            } else if("c_short".equals(typeName) ||
+                    "c_ushort".equals(typeName) ||
+                    "c_long".equals(typeName) ||
+                    "c_ulong".equals(typeName) ||
+                    "c_longlong".equals(typeName) ||
+                    "c_ulonglong".equals(typeName) ||
+                    "c_octet".equals(typeName) ||
+                    "c_float".equals(typeName) ||
+                    "c_double".equals(typeName))
+            {
+                kind = NUMBER;
+            }
+        }
+        return kind;
+    }
+}
@@ -20,9 +20,15 @@
  */
 package org.opensplice.cm.impl;
 
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.opensplice.cm.CMException;
 import org.opensplice.cm.Entity;
 import org.opensplice.cm.EntityFilter;
+import org.opensplice.cm.Waitset;
 import org.opensplice.cm.com.CommunicationException;
 import org.opensplice.cm.com.Communicator;
 import org.opensplice.cm.qos.QoS;
@@ -273,6 +279,70 @@ public abstract class EntityImpl implements Entity, Comparable<Object> {
         return s;
     }
 
+    /**
+     * Resolves the statistics of the supplied entities. Unlike calling
+     * getStatistics() on every entity, this takes one request per
+     * Communicator for all entities together.
+     *
+     * @param entities
+     *            The entities to resolve the statistics of.
+     * @return The statistics of the entities, in the same order. The
+     *         statistics of entities that have been freed or that have no
+     *         statistics are null.
+     * @throws CMException
+     *             Thrown when the statistics could not be resolved.
+     */
+    public static Statistics[] getBatchedStatistics(Entity[] entities) throws CMException{
+        Statistics[] result = new Statistics[entities.length];
+        IdentityHashMap<Communicator, List<Integer>> batches =
+                new IdentityHashMap<Communicator, List<Integer>>();
+
+        for(int i=0; i<entities.length; i++){
+            if(!(entities[i] instanceof EntityImpl)){
+                throw new CMException("Supplied entity is not valid.");
+            }
+            EntityImpl entity = (EntityImpl)entities[i];
+
+            /* Waitsets have no statistics and are skipped by the service. */
+            if(!entity.freed && !(entity instanceof Waitset)){
+                Communicator communicator = entity.getCommunicator();
+                List<Integer> batch = batches.get(communicator);
+
+                if(batch == null){
+                    batch = new ArrayList<Integer>();
+                    batches.put(communicator, batch);
+                }
+                batch.add(i);
+            }
+        }
+        for(Map.Entry<Communicator, List<Integer>> batch : batches.entrySet()){
+            List<Integer> indices = batch.getValue();
+            Entity[] batchEntities = new Entity[indices.size()];
+            Statistics[] statistics;
+
+            for(int i=0; i<batchEntities.length; i++){
+                batchEntities[i] = entities[indices.get(i)];
+            }
+            try {
+                statistics = batch.getKey().entityGetStatistics(batchEntities);
+            } catch(CommunicationException ce){
+                throw new CMException(ce.getMessage());
+            }
+            if(statistics != null){
+                /* The statistics are matched to the entities by position. */
+                if(statistics.length != batchEntities.length){
+                    throw new CMException("Statistics of " + statistics.length
+                            + " entities received for " + batchEntities.length
+                            + " entities.");
+                }
+                for(int i=0; i<statistics.length; i++){
+                    result[indices.get(i)] = statistics[i];
+                }
+            }
+        }
+        return result;
+    }
+
     /**
      * Resets (a part of) the statistics of this entity.
      *
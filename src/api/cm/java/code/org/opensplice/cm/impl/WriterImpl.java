@@ -154,7 +154,7 @@ public class WriterImpl extends EntityImpl implements Writer{
         if(freed){
             throw new CMException("Writer has already been freed.");
         }
-        if (data.getUserData().isEmpty()) {
+        if (data.getFieldCount() == 0) {
             throw new CMException("No instance to dispose");
         }
         try {
@@ -0,0 +1,214 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.statistics;
+
+import org.opensplice.cm.Entity;
+
+/**
+ * Reusable, primitive-backed holder of the statistics of one Entity in a
+ * StatisticsSubscription. The holder is updated in place on every poll of the
+ * subscription; it keeps the value of every counter and the difference with
+ * the value of the previous poll.
+ * 
+ * Counters are addressed by their index, see getCounterIndex(String).
+ * Numeric counters are supported: for a FullCounter or TimedValue this is
+ * its current value, for an AvgValue its average.
+ * 
+ * @date Oct 17, 2026
+ */
+public class StatisticsHolder {
+    private final Entity entity;
+    private String[] names;
+    private double[] values;
+    private double[] deltas;
+    private boolean[] available;
+    private long lastReset;
+    private boolean valid;
+    private boolean changed;
+
+    StatisticsHolder(Entity entity, String[] names){
+        this.entity = entity;
+        this.lastReset = 0;
+        this.valid = false;
+        this.changed = false;
+        if(names != null){
+            this.setNames(names);
+        }
+    }
+
+    private void setNames(String[] names){
+        this.names = names;
+        this.values = new double[names.length];
+        this.deltas = new double[names.length];
+        this.available = new boolean[names.length];
+    }
+
+    /**
+     * Copies the supplied statistics into this holder.
+     * 
+     * @param statistics The new statistics of the entity, or null if it has
+     *                   none (anymore).
+     * @return true if the statistics differ from the previous update.
+     */
+    boolean update(Statistics statistics){
+        boolean wasValid = valid;
+
+        changed = false;
+
+        if(statistics == null){
+            valid = false;
+            if(names != null){
+                for(int i=0; i<names.length; i++){
+                    deltas[i] = 0;
+                    available[i] = false;
+                }
+            }
+            changed = wasValid;
+            return changed;
+        }
+        if(names == null){
+            this.setNames(getNumericCounterNames(statistics));
+        }
+        valid = true;
+
+        long reset = (statistics.getLastReset() == null) ? 0
+                : statistics.getLastReset().getValue();
+
+        if(reset != lastReset){
+            lastReset = reset;
+            changed = true;
+        }
+        for(int i=0; i<names.length; i++){
+            AbstractValue counter = statistics.getCounter(names[i]);
+            boolean isAvailable = false;
+            double value = 0;
+
+            if(counter instanceof Value){
+                value = ((Value)counter).getValue();
+                isAvailable = true;
+            } else if(counter instanceof AvgValue){
+                value = ((AvgValue)counter).getValue();
+                isAvailable = true;
+            }
+            if(isAvailable && available[i] && wasValid){
+                deltas[i] = value - values[i];
+            } else {
+                deltas[i] = 0;
+            }
+            if(isAvailable != available[i] || deltas[i] != 0 || !wasValid){
+                changed = true;
+            }
+            values[i] = value;
+            available[i] = isAvailable;
+        }
+        return changed;
+    }
+
+    private static String[] getNumericCounterNames(Statistics statistics){
+        AbstractValue[] counters = statistics.getCounters();
+        int count = 0;
+
+        for(AbstractValue counter : counters){
+            if(counter instanceof Value || counter instanceof AvgValue){
+                count++;
+            }
+        }
+        String[] result = new String[count];
+        count = 0;
+
+        for(AbstractValue counter : counters){
+            if(counter instanceof Value || counter instanceof AvgValue){
+                result[count++] = counter.getName();
+            }
+        }
+        return result;
+    }
+
+    public Entity getEntity(){
+        return entity;
+    }
+
+    /**
+     * @return true if the statistics of the entity were available during the
+     *         last poll.
+     */
+    public boolean isValid(){
+        return valid;
+    }
+
+    /**
+     * @return true if the statistics changed during the last poll.
+     */
+    public boolean isChanged(){
+        return changed;
+    }
+
+    /**
+     * @return The number of counters in this holder. Zero until the
+     *         statistics have been available at least once when the
+     *         subscription did not name its counters.
+     */
+    public int getCounterCount(){
+        return (names == null) ? 0 : names.length;
+    }
+
+    public String getCounterName(int index){
+        return names[index];
+    }
+
+    /**
+     * @return The index of the counter with the supplied name or -1 if there
+     *         is no such counter.
+     */
+    public int getCounterIndex(String name){
+        if(names != null){
+            for(int i=0; i<names.length; i++){
+                if(names[i].equals(name)){
+                    return i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public boolean isAvailable(int index){
+        return available[index];
+    }
+
+    public double getValue(int index){
+        return values[index];
+    }
+
+    /**
+     * @return The difference between the value of the counter during the last
+     *         poll and the one before.
+     */
+    public double getDelta(int index){
+        return deltas[index];
+    }
+
+    /**
+     * @return The time of the last reset of the statistics in nanoseconds.
+     */
+    public long getLastReset(){
+        return lastReset;
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.statistics;
+
+/**
+ * Listener that is notified when the statistics of a StatisticsSubscription
+ * are updated.
+ * 
+ * @date Oct 17, 2026
+ */
+public interface StatisticsListener {
+    /**
+     * Called after every poll in which the statistics of at least one entity
+     * changed.
+     * 
+     * @param subscription The subscription that has been polled.
+     * @param changed The holders of the entities whose statistics changed;
+     *                only the first count elements are valid. The array is
+     *                reused for the next poll.
+     * @param count The number of changed holders.
+     */
+    public void statisticsChanged(StatisticsSubscription subscription,
+            StatisticsHolder[] changed, int count);
+
+    /**
+     * Called when a periodic poll failed.
+     * 
+     * @param subscription The subscription that has been polled.
+     * @param message The reason of the failure.
+     */
+    public void statisticsFailed(StatisticsSubscription subscription, String message);
+}
@@ -0,0 +1,165 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.statistics;
+
+import java.util.Timer;
+import java.util.TimerTask;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.opensplice.cm.CMException;
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.impl.EntityImpl;
+
+/**
+ * Collects the statistics of a fixed set of entities. The entities and,
+ * optionally, the counters of interest are registered once; every poll
+ * resolves the statistics of all entities with one request per Communicator
+ * and copies them into a StatisticsHolder per entity that is reused for all
+ * polls.
+ * 
+ * Updates can be pulled by calling poll(), or pushed to StatisticsListener
+ * objects by a background timer that is started with start(long). Listeners
+ * only receive the holders whose statistics changed since the previous poll,
+ * and the holders provide the difference with the previous value of every
+ * counter.
+ * 
+ * @date Oct 17, 2026
+ */
+public class StatisticsSubscription {
+    private final Entity[] entities;
+    private final StatisticsHolder[] holders;
+    private final StatisticsHolder[] changed;
+    private final CopyOnWriteArrayList<StatisticsListener> listeners;
+    private Timer timer;
+
+    /**
+     * Constructs a new StatisticsSubscription.
+     * 
+     * @param entities The entities to collect the statistics of.
+     * @param counterNames The (prefixed) names of the counters to collect, or
+     *                     null to collect all numeric counters of every
+     *                     entity.
+     */
+    public StatisticsSubscription(Entity[] entities, String[] counterNames){
+        if(entities == null){
+            throw new IllegalArgumentException("The entities can not be null.");
+        }
+        this.entities = entities.clone();
+        this.holders = new StatisticsHolder[entities.length];
+        this.changed = new StatisticsHolder[entities.length];
+        this.listeners = new CopyOnWriteArrayList<StatisticsListener>();
+        this.timer = null;
+
+        String[] names = (counterNames == null) ? null : counterNames.clone();
+
+        for(int i=0; i<entities.length; i++){
+            if(entities[i] == null){
+                throw new IllegalArgumentException("The entities can not contain null.");
+            }
+            holders[i] = new StatisticsHolder(entities[i], names);
+        }
+    }
+
+    /**
+     * @return The holders of all entities, in the order in which the entities
+     *         were supplied.
+     */
+    public StatisticsHolder[] getHolders(){
+        return holders.clone();
+    }
+
+    public StatisticsHolder getHolder(int index){
+        return holders[index];
+    }
+
+    public int getEntityCount(){
+        return holders.length;
+    }
+
+    public void addListener(StatisticsListener listener){
+        listeners.addIfAbsent(listener);
+    }
+
+    public void removeListener(StatisticsListener listener){
+        listeners.remove(listener);
+    }
+
+    /**
+     * Resolves the statistics of all entities, updates their holders and
+     * notifies the listeners if any statistics changed.
+     * 
+     * @return The number of entities whose statistics changed.
+     * @throws CMException Thrown when the statistics could not be resolved.
+     */
+    public synchronized int poll() throws CMException{
+        Statistics[] statistics = EntityImpl.getBatchedStatistics(entities);
+        int count = 0;
+
+        for(int i=0; i<holders.length; i++){
+            if(holders[i].update(statistics[i])){
+                changed[count++] = holders[i];
+            }
+        }
+        if(count > 0){
+            for(StatisticsListener listener : listeners){
+                listener.statisticsChanged(this, changed, count);
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Starts polling the statistics periodically in a background thread.
+     * Results are pushed to the listeners. If the subscription is already
+     * started, it is restarted with the new period.
+     * 
+     * @param period The time between two polls in milliseconds.
+     */
+    public synchronized void start(long period){
+        if(period <= 0){
+            throw new IllegalArgumentException("The period must be positive.");
+        }
+        this.stop();
+        timer = new Timer("StatisticsSubscription", true);
+        timer.scheduleAtFixedRate(new TimerTask() {
+            @Override
+            public void run() {
+                try {
+                    poll();
+                } catch (CMException e) {
+                    for(StatisticsListener listener : listeners){
+                        listener.statisticsFailed(StatisticsSubscription.this, e.getMessage());
+                    }
+                }
+            }
+        }, 0, period);
+    }
+
+    /**
+     * Stops polling the statistics periodically.
+     */
+    public synchronized void stop(){
+        if(timer != null){
+            timer.cancel();
+            timer = null;
+        }
+    }
+}
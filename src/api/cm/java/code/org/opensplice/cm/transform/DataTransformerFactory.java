@@ -33,11 +33,13 @@ import javax.xml.parsers.ParserConfigurationException;
 import org.opensplice.cm.com.Communicator;
 import org.xml.sax.SAXException;
 import org.opensplice.cm.meta.*;
+import org.opensplice.cm.transform.binary.StatisticsDeserializerBinary;
 import org.opensplice.cm.transform.xml.*;
 
 /**
  * Factory that supplies facilities to get access to concrete (de)serializers.
- * Currently only XML is supported.
+ * XML is supported for all data; the compact BINARY representation is
+ * currently only supported for Statistics.
  * 
  * @date May 14, 2004
  */
@@ -332,7 +334,9 @@ public class DataTransformerFactory {
     public static StatisticsDeserializer getStatisticsDeserializer(int kind){
         StatisticsDeserializer sd = null;
         
-        if(kind == XML){
+        if(kind == BINARY){
+            sd = new StatisticsDeserializerBinary();
+        } else if(kind == XML){
             try {
                 sd = new StatisticsDeserializerXML();
             } catch (ParserConfigurationException e) {
@@ -355,4 +359,9 @@ public class DataTransformerFactory {
     public static final int XML = 0;
     public static final int XML_PRE_V6_6 = 1;
     public static final int XML_TIME_64 = 2;
+    /**
+     * Transformer kind that specifies that transformation from or to the
+     * compact binary representation is needed.
+     */
+    public static final int BINARY = 3;
 }
@@ -0,0 +1,195 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.transform.binary;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.Time;
+import org.opensplice.cm.statistics.AvgValue;
+import org.opensplice.cm.statistics.FullCounter;
+import org.opensplice.cm.statistics.Statistics;
+import org.opensplice.cm.statistics.StringValue;
+import org.opensplice.cm.statistics.TimedValue;
+import org.opensplice.cm.statistics.Value;
+import org.opensplice.cm.transform.StatisticsDeserializer;
+import org.opensplice.cm.transform.TransformationException;
+
+/**
+ * Deserializes Statistics from the compact binary representation.
+ *
+ * The binary representation is big-endian and contains the counters in the
+ * flattened form in which they are added to a Statistics object, so no tree
+ * has to be built and no numbers have to be parsed:
+ *
+ * <pre>
+ * statistics list := byte version, int count, count x statistics
+ * statistics      := byte present, [long lastReset, int counters,
+ *                    counters x counter]
+ * counter         := string prefix, string name, byte kind, value
+ * value           := VALUE:  long value
+ *                  | AVG:    long count, float value
+ *                  | TIMED:  long value, long lastUpdate
+ *                  | FULL:   long value, TIMED min, TIMED max, AVG avg
+ *                  | STRING: string value
+ * string          := unsigned short length, length x byte (UTF-8)
+ * </pre>
+ *
+ * Times are expressed in nanoseconds. A single statistics object is
+ * serialized as a statistics list with one element.
+ *
+ * @date Oct 17, 2026
+ */
+public class StatisticsDeserializerBinary implements StatisticsDeserializer {
+    public static final byte VERSION = 2;
+
+    public static final byte VALUE  = 1;
+    public static final byte AVG    = 2;
+    public static final byte TIMED  = 3;
+    public static final byte FULL   = 4;
+    public static final byte STRING = 5;
+
+    private final Logger logger;
+
+    public StatisticsDeserializerBinary() {
+        logger = Logger.getLogger("org.opensplice.api.cm.transform.binary");
+    }
+
+    @Override
+    public Statistics deserializeStatistics(Object serialized, Entity entity) throws TransformationException {
+        Statistics[] statistics = this.deserializeStatistics(serialized, new Entity[] { entity });
+
+        return statistics[0];
+    }
+
+    @Override
+    public Statistics[] deserializeStatistics(Object serialized, Entity[] entities) throws TransformationException {
+        Statistics[] statistics;
+        DataInputStream in;
+
+        if(serialized == null){
+            throw new TransformationException("No statistics supplied.");
+        }
+        if(!(serialized instanceof byte[])){
+            throw new TransformationException("Supplied Statistics is not valid.");
+        }
+        in = new DataInputStream(new ByteArrayInputStream((byte[])serialized));
+
+        try {
+            if(in.readByte() != VERSION){
+                throw new TransformationException("Unsupported Statistics version.");
+            }
+            if(in.readInt() != entities.length){
+                throw new TransformationException("Supplied entities not valid");
+            }
+            statistics = new Statistics[entities.length];
+
+            for(int i = 0 ; i < entities.length ; i++){
+                if(entities[i] == null){
+                    throw new TransformationException("Supplied entities not valid");
+                }
+                statistics[i] = this.readStatistics(in, entities[i]);
+            }
+        } catch (IOException ie) {
+            logger.logp(Level.SEVERE,  "StatisticsDeserializerBinary",
+                    "deserializeStatistics",
+                    "IOException occurred, Statistics could not be deserialized");
+            throw new TransformationException(ie.getMessage());
+        }
+        return statistics;
+    }
+
+    private Statistics readStatistics(DataInputStream in, Entity entity) throws IOException, TransformationException {
+        Statistics statistics;
+        String prefix, name;
+        byte kind;
+        int counters;
+
+        if(in.readByte() == 0){
+            /* Entity without statistics. */
+            return new Statistics(entity, new Time(0,0));
+        }
+        statistics = new Statistics(entity, new Time(in.readLong()));
+        counters = in.readInt();
+
+        for(int i = 0 ; i < counters ; i++){
+            prefix = this.readString(in);
+            name = this.readString(in);
+            kind = in.readByte();
+
+            switch(kind){
+            case VALUE:
+                statistics.addCounter(new Value(name, in.readLong()), prefix);
+                break;
+            case AVG:
+                statistics.addCounter(this.readAvgValue(in, name), prefix);
+                break;
+            case TIMED:
+                statistics.addCounter(this.readTimedValue(in, name), prefix);
+                break;
+            case FULL:
+                long value = in.readLong();
+                TimedValue min = this.readTimedValue(in, "min");
+                TimedValue max = this.readTimedValue(in, "max");
+                AvgValue avg = this.readAvgValue(in, "avg");
+
+                statistics.addCounter(new FullCounter(name, value, min, max, avg), prefix);
+                break;
+            case STRING:
+                statistics.addString(new StringValue(name, this.readString(in)), prefix);
+                break;
+            default:
+                logger.logp(Level.SEVERE,  "StatisticsDeserializerBinary",
+                        "readStatistics",
+                        "Unknown counter kind " + kind + ", Statistics could not be deserialized");
+                throw new TransformationException("Unknown counter kind " + kind);
+            }
+        }
+        return statistics;
+    }
+
+    /*
+     * Not DataInput.readUTF(), which reads modified UTF-8 instead of the
+     * standard UTF-8 the strings are written in.
+     */
+    private String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readUnsignedShort()];
+
+        in.readFully(bytes);
+        return new String(bytes, "UTF-8");
+    }
+
+    private TimedValue readTimedValue(DataInputStream in, String name) throws IOException {
+        long value = in.readLong();
+
+        return new TimedValue(name, value, new Time(in.readLong()));
+    }
+
+    private AvgValue readAvgValue(DataInputStream in, String name) throws IOException {
+        long count = in.readLong();
+
+        return new AvgValue(name, count, in.readFloat());
+    }
+}
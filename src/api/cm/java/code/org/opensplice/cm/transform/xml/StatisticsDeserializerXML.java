@@ -145,6 +145,9 @@ public class StatisticsDeserializerXML implements StatisticsDeserializer{
             Element rootElement = document.getDocumentElement();
             NodeList statsXML = rootElement.getElementsByTagName("object");
 
+            if(statsXML.getLength() != entities.length){
+                throw new TransformationException("Supplied entities not valid");
+            }
             statistics = new Statistics[entities.length];
             for(int i = 0 ; i < entities.length ; i++){
                 if(entities[i] == null){
@@ -386,6 +386,120 @@ FUNCTION(jniEntitiesGetStatistics)(
     return jresult;
 }
 
+/* Bits of the transformer kinds, see
+ * org.opensplice.cm.transform.DataTransformerFactory. */
+#define CMJ_TRANSFORMER_XML    (1 << 0)
+#define CMJ_TRANSFORMER_BINARY (1 << 3)
+
+/**
+ * @brief Copies a binary result into a new Java byte array and frees it.
+ */
+static jbyteArray
+cmj_byteArray(
+    JNIEnv *env,
+    c_octet *data,
+    os_size_t length)
+{
+    jbyteArray jresult = NULL;
+
+    if(data != NULL){
+        jresult = (*env)->NewByteArray(env, (jsize)length);
+        if(jresult != NULL){
+            (*env)->SetByteArrayRegion(env, jresult, 0, (jsize)length, (const jbyte *)data);
+        }
+        os_free(data);
+    }
+    return jresult;
+}
+
+/**
+ * @brief Resolves the statistics of the supplied entity in the compact binary
+ * representation.
+ *
+ * - Class:     org_opensplice_api_cm_com_JniCommunicator
+ * - Method:    jniEntityGetStatisticsBinary
+ * - Signature: (Ljava/lang/String;)[B
+ *
+ * @param env The JNI environment.
+ * @param this The Java object that called this function.
+ * @param jentity The entity, which statistics must be resolved.
+ * @return The statistics of the entity or NULL if it has none.
+ */
+JNIEXPORT jbyteArray JNICALL
+FUNCTION(jniEntityGetStatisticsBinary)(
+    JNIEnv *env,
+    jobject this,
+    jstring jentity)
+{
+    const c_char* xmlEntity;
+    c_octet* statistics;
+    os_size_t length = 0;
+
+    OS_UNUSED_ARG(this);
+
+    cmj_checkConnection(env);
+    xmlEntity = (*env)->GetStringUTFChars(env, jentity, 0);
+    statistics = cmx_entityStatisticsBinary(xmlEntity, &length);
+    (*env)->ReleaseStringUTFChars(env, jentity, xmlEntity);
+
+    return cmj_byteArray(env, statistics, length);
+}
+
+/**
+ * @brief Resolves the statistics of the supplied entities in the compact
+ * binary representation.
+ *
+ * - Class:     org_opensplice_api_cm_com_JniCommunicator
+ * - Method:    jniEntitiesGetStatisticsBinary
+ * - Signature: (Ljava/lang/String;)[B
+ *
+ * @param env The JNI environment.
+ * @param this The Java object that called this function.
+ * @param jentities The entities, which statistics must be resolved.
+ * @return The statistics of the entities.
+ */
+JNIEXPORT jbyteArray JNICALL
+FUNCTION(jniEntitiesGetStatisticsBinary)(
+    JNIEnv *env,
+    jobject this,
+    jstring jentities)
+{
+    const c_char* xmlEntities;
+    c_octet* statistics;
+    os_size_t length = 0;
+
+    OS_UNUSED_ARG(this);
+
+    cmj_checkConnection(env);
+    xmlEntities = (*env)->GetStringUTFChars(env, jentities, 0);
+    statistics = cmx_entitiesStatisticsBinary(xmlEntities, &length);
+    (*env)->ReleaseStringUTFChars(env, jentities, xmlEntities);
+
+    return cmj_byteArray(env, statistics, length);
+}
+
+/**
+ * @brief Reports the data representations this library can produce.
+ *
+ * - Class:     org_opensplice_api_cm_com_JniCommunicator
+ * - Method:    jniGetTransformerKinds
+ * - Signature: ()I
+ *
+ * @param env The JNI environment.
+ * @param this The Java object that called this function.
+ * @return A bit per supported DataTransformerFactory kind.
+ */
+JNIEXPORT jint JNICALL
+FUNCTION(jniGetTransformerKinds)(
+    JNIEnv *env,
+    jobject this)
+{
+    OS_UNUSED_ARG(env);
+    OS_UNUSED_ARG(this);
+
+    return CMJ_TRANSFORMER_XML | CMJ_TRANSFORMER_BINARY;
+}
+
 /**
  * @brief Applies the supplied QoS to the supplied entity.
  *
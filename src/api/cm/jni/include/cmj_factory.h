@@ -112,6 +112,30 @@ JNIEXPORT jstring JNICALL Java_org_opensplice_cm_com_JniCommunicator_jniEntityGe
 JNIEXPORT jstring JNICALL Java_org_opensplice_cm_com_JniCommunicator_jniEntitiesGetStatistics
   (JNIEnv *, jobject, jstring);
 
+/*
+ * Class:     org_opensplice_cm_com_JniCommunicator
+ * Method:    jniEntityGetStatisticsBinary
+ * Signature: (Ljava/lang/String;)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_org_opensplice_cm_com_JniCommunicator_jniEntityGetStatisticsBinary
+  (JNIEnv *, jobject, jstring);
+
+/*
+ * Class:     org_opensplice_cm_com_JniCommunicator
+ * Method:    jniEntitiesGetStatisticsBinary
+ * Signature: (Ljava/lang/String;)[B
+ */
+JNIEXPORT jbyteArray JNICALL Java_org_opensplice_cm_com_JniCommunicator_jniEntitiesGetStatisticsBinary
+  (JNIEnv *, jobject, jstring);
+
+/*
+ * Class:     org_opensplice_cm_com_JniCommunicator
+ * Method:    jniGetTransformerKinds
+ * Signature: ()I
+ */
+JNIEXPORT jint JNICALL Java_org_opensplice_cm_com_JniCommunicator_jniGetTransformerKinds
+  (JNIEnv *, jobject);
+
 /*
  * Class:     org_opensplice_cm_com_JniCommunicator
  * Method:    jniEntityEnable
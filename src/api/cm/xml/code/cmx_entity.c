@@ -191,30 +191,21 @@ getXMLEscapedString(
 }
 
 /**
- * Resolves the user entities that match the supplied XML entities. This is done
- * by casting the contents of the pointer tags in the XML entity to user
- * entities.
+ * Splits the supplied XML entity list into the XML entities it contains.
  *
- * @param xmlEntities The XML representation of the user entities to resolve.
- * @return The user entities that match the supplied XML entities.
+ * @param xmlEntities The XML representation of a list of entities.
+ * @return The XML entities, which must be freed by the caller.
  */
 static c_iter
-cmx_entityCmxEntities(
+cmx_entityXmlEntities(
     const c_char* xmlEntities)
 {
     size_t length = 0;
-    c_ulong i = 0;
-    c_ulong nrOfEntities = 0;
     c_char * substring;
     c_char * xmlEntity = NULL;
-    cmx_entity cmEntity;
-    c_iter cmEntities = NULL;
 
     c_iter xmlEntityList = c_iterNew(NULL);
-    if (!xmlEntityList) goto err_iterNewEntityList;
-
-    cmEntities = c_iterNew(NULL);
-    if (!cmEntities) goto err_iterNewEntities;
+    if (!xmlEntityList) return NULL;
 
     xmlEntities+=12;                                            /*<entityList>*/
     substring = strstr(xmlEntities, "</entity>");
@@ -227,21 +218,7 @@ cmx_entityCmxEntities(
         xmlEntities = xmlEntities + length;
         substring = strstr(xmlEntities, "</entity>");
     }
-    nrOfEntities = c_iterLength(xmlEntityList);
-    for(i = 0 ; i<nrOfEntities; i++){
-        xmlEntity = (c_char*)c_iterTakeFirst(xmlEntityList);
-        cmEntity = cmx_entityClaim(xmlEntity);
-
-        if(cmEntity){
-            c_iterAppend(cmEntities, cmEntity);
-        }
-        os_free(xmlEntity);
-    }
-
-err_iterNewEntities:
-    c_iterFree(xmlEntityList);
-err_iterNewEntityList:
-    return cmEntities;
+    return xmlEntityList;
 }
 
 _Ret_z_
@@ -1002,8 +979,9 @@ c_char*
 cmx_entitiesStatistics(
     const c_char* entities)
 {
-    c_iter cmEntityList;
+    c_iter xmlEntityList;
     c_iter cmStatisticsList = c_iterNew(NULL);
+    c_char* xmlEntity;
     cmx_entity cmEntity;
     struct cmx_statisticsArg temp, arg;
     size_t statisticsSize = 0;
@@ -1013,31 +991,38 @@ cmx_entitiesStatistics(
     c_char* cmStatistics = NULL;
     u_result result;
 
-    cmEntityList = cmx_entityCmxEntities(entities);
+    xmlEntityList = cmx_entityXmlEntities(entities);
     arg.result = NULL;
-    temp.result = NULL;
-
-    if(cmEntityList != NULL && c_iterLength(cmEntityList) > 0){
-        cmEntity = (cmx_entity) c_iterTakeFirst(cmEntityList);
-        while(cmEntity){
-            if (u_objectKind(u_object(cmEntity->uentity)) != U_WAITSET) {
-                result = u_observableAction(u_observable(cmEntity->uentity),
-                                            cmx_entityStatisticsAction,
-                                            &temp);
-                if(temp.result != NULL && result == U_RESULT_OK){
-                    statisticsSize += strlen(temp.result);
-                    c_iterAppend(cmStatisticsList, temp.result);
-                    temp.result = NULL;
-                } else {
-                    statisticsSize += strlen(emptyStat);
-                    c_iterAppend(cmStatisticsList, os_strdup(emptyStat));
+
+    /* Entities that cannot be claimed or have no statistics get an empty
+     * object too, so the list stays aligned with the requested entities. */
+    if(xmlEntityList != NULL){
+        xmlEntity = (c_char*) c_iterTakeFirst(xmlEntityList);
+        while(xmlEntity){
+            temp.result = NULL;
+            result = U_RESULT_UNDEFINED;
+            cmEntity = cmx_entityClaim(xmlEntity);
+            if(cmEntity){
+                if (u_objectKind(u_object(cmEntity->uentity)) != U_WAITSET) {
+                    result = u_observableAction(u_observable(cmEntity->uentity),
+                                                cmx_entityStatisticsAction,
+                                                &temp);
                 }
+                cmx_entityRelease(cmEntity);
+            }
+            if(temp.result != NULL && result == U_RESULT_OK){
+                statisticsSize += strlen(temp.result);
+                c_iterAppend(cmStatisticsList, temp.result);
+            } else {
+                os_free(temp.result);
+                statisticsSize += strlen(emptyStat);
+                c_iterAppend(cmStatisticsList, os_strdup(emptyStat));
             }
-            cmx_entityRelease(cmEntity);
-            cmEntity = (cmx_entity) c_iterTakeFirst(cmEntityList);
+            os_free(xmlEntity);
+            xmlEntity = (c_char*) c_iterTakeFirst(xmlEntityList);
         }
     }
-    c_iterFree(cmEntityList);
+    c_iterFree(xmlEntityList);
     arg.result = os_malloc((statisticsSize+strlen(openTag)+strlen(closeTag)+1)*sizeof(c_char));
     *arg.result = '\0';
     os_strcat(arg.result, openTag);
@@ -1054,6 +1039,47 @@ cmx_entitiesStatistics(
     return arg.result;
 }
 
+static v_statistics
+cmx_entityStatisticsObject(
+    v_public object)
+{
+    v_statistics statistics;
+
+    switch(v_objectKind(object)) {
+    case K_WRITER:
+        statistics = v_statistics(v_writer(object)->statistics);
+    break;
+    case K_DATAREADER:
+        statistics = v_statistics(v_dataReader(object)->statistics);
+    break;
+    case K_QUERY:
+    case K_DATAREADERQUERY:
+    case K_DATAVIEWQUERY:
+        statistics = v_statistics(v_query(object)->statistics);
+    break;
+    case K_NETWORKREADER:
+        statistics = v_statistics(v_networkReader(object)->statistics);
+    break;
+    case K_NETWORKING:
+        statistics = v_statistics(v_networking(object)->statistics);
+    break;
+    case K_KERNEL:
+        statistics = v_statistics(v_kernel(object)->statistics);
+    break;
+    case K_DURABILITY:
+        statistics = v_statistics(v_durability(object)->statistics);
+    break;
+    case K_CMSOAP:
+        statistics = v_statistics(v_cmsoap(object)->statistics);
+    break;
+    default:
+        /* Remaining entities don't have specific statistics yet. */
+        statistics = NULL;
+    break;
+    }
+    return statistics;
+}
+
 void
 cmx_entityStatisticsAction(
     v_public object,
@@ -1065,47 +1091,12 @@ cmx_entityStatisticsAction(
     v_statistics statistics;
 
     arg = (struct cmx_statisticsArg *)args;
+    arg->result = NULL;
 
-    if (object == NULL) {
-        /* Somebody actually tries to get statistics of a non-entity.
-         * There are none. */
-        arg->result = NULL;
-
-    } else {
-
-        switch(v_objectKind(object)) {
-        case K_WRITER:
-            statistics = v_statistics(v_writer(object)->statistics);
-        break;
-        case K_DATAREADER:
-            statistics = v_statistics(v_dataReader(object)->statistics);
-        break;
-        case K_QUERY:
-        case K_DATAREADERQUERY:
-        case K_DATAVIEWQUERY:
-            statistics = v_statistics(v_query(object)->statistics);
-        break;
-        case K_NETWORKREADER:
-            statistics = v_statistics(v_networkReader(object)->statistics);
-        break;
-        case K_NETWORKING:
-            statistics = v_statistics(v_networking(object)->statistics);
-        break;
-        case K_KERNEL:
-            statistics = v_statistics(v_kernel(object)->statistics);
-        break;
-        case K_DURABILITY:
-            statistics = v_statistics(v_durability(object)->statistics);
-        break;
-        case K_CMSOAP:
-            statistics = v_statistics(v_cmsoap(object)->statistics);
-        break;
-        default:
-            /* Remaining entities don't have specific statistics yet. */
-            statistics = NULL;
-            arg->result = NULL;
-        break;
-        }
+    /* Somebody may actually try to get statistics of a non-entity.
+     * There are none. */
+    if (object != NULL) {
+        statistics = cmx_entityStatisticsObject(object);
 
         if(statistics != NULL){
             ser = sd_serializerXMLNewTyped(c_getType((c_object)statistics));
@@ -1117,6 +1108,420 @@ cmx_entityStatisticsAction(
     }
 }
 
+/* Binary statistics representation, see
+ * org.opensplice.cm.transform.binary.StatisticsDeserializerBinary. The
+ * counters are flattened into (prefix, name, value) in the same way the XML
+ * deserializer flattens the XML statistics.
+ */
+#define CMX_STATISTICS_BINARY_VERSION (2)
+#define CMX_COUNTER_VALUE             (1)
+#define CMX_COUNTER_AVG               (2)
+#define CMX_COUNTER_TIMED             (3)
+#define CMX_COUNTER_FULL              (4)
+
+struct cmx_binary {
+    c_octet *data;
+    os_size_t length;
+    os_size_t size;
+};
+
+static void
+cmx_binaryReserve(
+    struct cmx_binary *b,
+    os_size_t n)
+{
+    if (b->length + n > b->size) {
+        b->size = 2 * b->size + n + 256;
+        b->data = os_realloc(b->data, b->size);
+    }
+}
+
+static void
+cmx_binaryByte(
+    struct cmx_binary *b,
+    c_octet v)
+{
+    cmx_binaryReserve(b, 1);
+    b->data[b->length++] = v;
+}
+
+/* Numbers are written big-endian, as java.io.DataInput reads them. */
+static void
+cmx_binaryInt(
+    struct cmx_binary *b,
+    c_ulong v)
+{
+    int i;
+
+    cmx_binaryReserve(b, 4);
+    for (i = 3; i >= 0; i--) {
+        b->data[b->length++] = (c_octet)(v >> (8 * i));
+    }
+}
+
+static void
+cmx_binaryLong(
+    struct cmx_binary *b,
+    c_ulonglong v)
+{
+    int i;
+
+    cmx_binaryReserve(b, 8);
+    for (i = 7; i >= 0; i--) {
+        b->data[b->length++] = (c_octet)(v >> (8 * i));
+    }
+}
+
+static void
+cmx_binaryFloat(
+    struct cmx_binary *b,
+    c_float v)
+{
+    union { c_float f; c_ulong u; } bits;
+
+    bits.f = v;
+    cmx_binaryInt(b, bits.u);
+}
+
+/* Strings are written as their UTF-8 bytes, preceded by the number of bytes
+ * as an unsigned short. Longer strings are truncated at the start of a
+ * character, so no multibyte sequence is split.
+ */
+static void
+cmx_binaryString(
+    struct cmx_binary *b,
+    const c_char *s)
+{
+    os_size_t len = strlen(s);
+
+    if (len > 0xffff) {
+        len = 0xffff;
+        while ((len > 0) && ((((c_octet)s[len]) & 0xc0) == 0x80)) {
+            len--;
+        }
+    }
+    cmx_binaryReserve(b, len + 2);
+    b->data[b->length++] = (c_octet)(len >> 8);
+    b->data[b->length++] = (c_octet)len;
+    memcpy(b->data + b->length, s, len);
+    b->length += len;
+}
+
+static void
+cmx_binaryTimed(
+    struct cmx_binary *b,
+    v_timedValue *v)
+{
+    cmx_binaryLong(b, v->value);
+    cmx_binaryLong(b, OS_TIMEW_GET_VALUE(v->lastUpdate));
+}
+
+static void
+cmx_binaryAvg(
+    struct cmx_binary *b,
+    v_avgValue *v)
+{
+    cmx_binaryLong(b, v->count);
+    cmx_binaryFloat(b, v->value);
+}
+
+struct cmx_statisticsBinaryArg {
+    struct cmx_binary *buffer;
+    c_ulong counters;
+};
+
+struct cmx_statisticsBinaryWalkArg {
+    struct cmx_statisticsBinaryArg *arg;
+    c_object object;
+    const c_char *prefix;
+};
+
+static void
+cmx_statisticsBinaryClass(
+    c_class cls,
+    c_object object,
+    const c_char *prefix,
+    struct cmx_statisticsBinaryArg *arg);
+
+static c_bool
+cmx_structureHasMember(
+    c_type type,
+    const c_char *name)
+{
+    c_ulong i, count = c_structureMemberCount(type);
+
+    for (i = 0; i < count; i++) {
+        if (strcmp(c_specifierName(c_structureMember(type, i)), name) == 0) {
+            return TRUE;
+        }
+    }
+    return FALSE;
+}
+
+static void
+cmx_statisticsBinaryCounter(
+    struct cmx_statisticsBinaryArg *arg,
+    const c_char *prefix,
+    const c_char *name,
+    c_octet kind)
+{
+    cmx_binaryString(arg->buffer, prefix);
+    cmx_binaryString(arg->buffer, name);
+    cmx_binaryByte(arg->buffer, kind);
+    arg->counters++;
+}
+
+/* Elements of the channels and queues arrays are identified by their name,
+ * like the XML deserializer does, or by their index if they have none. */
+static void
+cmx_statisticsBinaryElements(
+    c_array elements,
+    const c_char *name,
+    const c_char *prefix,
+    struct cmx_statisticsBinaryArg *arg)
+{
+    c_ulong i, size = c_arraySize(elements);
+    c_object element;
+    c_property nameProperty;
+    const c_char *elementName;
+    c_char *elementPrefix;
+    c_char index[16];
+    os_size_t len;
+
+    for (i = 0; i < size; i++) {
+        element = ((c_object *)elements)[i];
+        if ((element != NULL) && (c_baseObjectKind(c_getType(element)) == M_CLASS)) {
+            elementName = NULL;
+            nameProperty = c_metaResolveProperty(c_getType(element), "name");
+            if (nameProperty != NULL) {
+                if (c_baseObject(nameProperty)->kind == M_ATTRIBUTE) {
+                    elementName = *(c_string *)C_DISPLACE(element, C_ADDRESS(nameProperty->offset));
+                }
+                c_free(nameProperty);
+            }
+            if (elementName == NULL) {
+                (void)snprintf(index, sizeof(index), "%u", i);
+                elementName = index;
+            }
+            len = strlen(prefix) + strlen(name) + strlen(elementName) + 5;
+            elementPrefix = os_malloc(len);
+            (void)snprintf(elementPrefix, len, "%s%s.[%s].", prefix, name, elementName);
+            cmx_statisticsBinaryClass(c_class(c_getType(element)), element, elementPrefix, arg);
+            os_free(elementPrefix);
+        }
+    }
+}
+
+static void
+cmx_statisticsBinaryMember(
+    const c_char *name,
+    c_type type,
+    c_voidp data,
+    const c_char *prefix,
+    struct cmx_statisticsBinaryArg *arg)
+{
+    c_ulonglong value;
+
+    type = c_typeActualType(type);
+    switch (c_baseObjectKind(type)) {
+    case M_PRIMITIVE:
+        switch (c_primitiveKind(type)) {
+        case P_OCTET: value = *(c_octet *)data; break;
+        case P_USHORT: value = *(c_ushort *)data; break;
+        case P_SHORT: value = (c_ulonglong)*(c_short *)data; break;
+        case P_ULONG: value = *(c_ulong *)data; break;
+        case P_LONG: value = (c_ulonglong)*(c_long *)data; break;
+        case P_ULONGLONG: value = *(c_ulonglong *)data; break;
+        case P_LONGLONG: value = (c_ulonglong)*(c_longlong *)data; break;
+        default: return;
+        }
+        cmx_statisticsBinaryCounter(arg, prefix, name, CMX_COUNTER_VALUE);
+        cmx_binaryLong(arg->buffer, value);
+    break;
+    case M_STRUCTURE:
+        if (cmx_structureHasMember(type, "avg")) {
+            v_fullCounter *full = (v_fullCounter *)data;
+
+            cmx_statisticsBinaryCounter(arg, prefix, name, CMX_COUNTER_FULL);
+            cmx_binaryLong(arg->buffer, full->value);
+            cmx_binaryTimed(arg->buffer, &full->min);
+            cmx_binaryTimed(arg->buffer, &full->max);
+            cmx_binaryAvg(arg->buffer, &full->avg);
+        } else if (cmx_structureHasMember(type, "count")) {
+            cmx_statisticsBinaryCounter(arg, prefix, name, CMX_COUNTER_AVG);
+            cmx_binaryAvg(arg->buffer, (v_avgValue *)data);
+        } else if (cmx_structureHasMember(type, "lastUpdate")) {
+            cmx_statisticsBinaryCounter(arg, prefix, name, CMX_COUNTER_TIMED);
+            cmx_binaryTimed(arg->buffer, (v_timedValue *)data);
+        }
+    break;
+    case M_COLLECTION:
+        /* Only the dynamic arrays of per channel and per queue statistics
+         * hold counters; strings, like their name, are not counters. */
+        if (((c_collectionTypeKind(type) == OSPL_C_ARRAY) ||
+             (c_collectionTypeKind(type) == OSPL_C_SEQUENCE)) &&
+            (c_collectionTypeMaxSize(type) == 0) &&
+            c_typeIsRef(c_collectionTypeSubType(type)) &&
+            (*(c_array *)data != NULL)) {
+            cmx_statisticsBinaryElements(*(c_array *)data, name, prefix, arg);
+        }
+    break;
+    default:
+    break;
+    }
+}
+
+static void
+cmx_statisticsBinaryAttribute(
+    c_metaObject object,
+    c_metaWalkActionArg actionArg)
+{
+    struct cmx_statisticsBinaryWalkArg *walkArg = (struct cmx_statisticsBinaryWalkArg *)actionArg;
+    c_property property;
+
+    if (c_baseObject(object)->kind == M_ATTRIBUTE) {
+        property = c_property(object);
+        /* lastReset is part of the statistics header. */
+        if (strcmp(object->name, "lastReset") != 0) {
+            cmx_statisticsBinaryMember(object->name, property->type,
+                    C_DISPLACE(walkArg->object, C_ADDRESS(property->offset)),
+                    walkArg->prefix, walkArg->arg);
+        }
+    }
+}
+
+static void
+cmx_statisticsBinaryClass(
+    c_class cls,
+    c_object object,
+    const c_char *prefix,
+    struct cmx_statisticsBinaryArg *arg)
+{
+    struct cmx_statisticsBinaryWalkArg walkArg;
+
+    if (cls->extends != NULL) {
+        cmx_statisticsBinaryClass(cls->extends, object, prefix, arg);
+    }
+    walkArg.arg = arg;
+    walkArg.object = object;
+    walkArg.prefix = prefix;
+    c_metaWalk(c_metaObject(cls), cmx_statisticsBinaryAttribute, &walkArg);
+}
+
+/* Appends present (1), lastReset, the number of counters and the counters
+ * of the statistics of the entity, or just present (0) if it has none. */
+static void
+cmx_entityStatisticsBinaryAction(
+    v_public object,
+    c_voidp args)
+{
+    struct cmx_statisticsBinaryArg *arg = (struct cmx_statisticsBinaryArg *)args;
+    v_statistics statistics = NULL;
+    os_size_t countersOffset;
+    os_size_t end;
+
+    if (object != NULL) {
+        statistics = cmx_entityStatisticsObject(object);
+    }
+    if ((statistics == NULL) ||
+        (c_baseObjectKind(c_getType(statistics)) != M_CLASS)) {
+        cmx_binaryByte(arg->buffer, 0);
+        return;
+    }
+    cmx_binaryByte(arg->buffer, 1);
+    cmx_binaryLong(arg->buffer, OS_TIMEW_GET_VALUE(statistics->lastReset));
+    countersOffset = arg->buffer->length;
+    cmx_binaryInt(arg->buffer, 0);
+    arg->counters = 0;
+    cmx_statisticsBinaryClass(c_class(c_getType(statistics)), statistics, "", arg);
+
+    end = arg->buffer->length;
+    arg->buffer->length = countersOffset;
+    cmx_binaryInt(arg->buffer, arg->counters);
+    arg->buffer->length = end;
+}
+
+/* Appends the statistics of one entity. Entities that cannot be claimed are
+ * marked as not present too, so the list stays aligned with the requested
+ * entities. */
+static void
+cmx_entityStatisticsBinaryAppend(
+    const c_char* entity,
+    struct cmx_binary *buffer)
+{
+    struct cmx_statisticsBinaryArg arg;
+    os_size_t length = buffer->length;
+    cmx_entity ce;
+    u_result result = U_RESULT_UNDEFINED;
+
+    arg.buffer = buffer;
+    arg.counters = 0;
+    ce = cmx_entityClaim(entity);
+    if (ce != NULL) {
+        if (u_objectKind(u_object(ce->uentity)) != U_WAITSET) {
+            result = u_observableAction(u_observable(ce->uentity),
+                                        cmx_entityStatisticsBinaryAction,
+                                        &arg);
+        }
+        cmx_entityRelease(ce);
+    }
+    if (result != U_RESULT_OK) {
+        buffer->length = length;
+        cmx_binaryByte(buffer, 0);
+    }
+}
+
+c_octet*
+cmx_entityStatisticsBinary(
+    const c_char* entity,
+    os_size_t* length)
+{
+    struct cmx_binary buffer;
+
+    buffer.data = NULL;
+    buffer.length = 0;
+    buffer.size = 0;
+
+    cmx_binaryByte(&buffer, CMX_STATISTICS_BINARY_VERSION);
+    cmx_binaryInt(&buffer, 1);
+    cmx_entityStatisticsBinaryAppend(entity, &buffer);
+
+    /* Like cmx_entityStatistics, return NULL if there are no statistics. */
+    if (buffer.data[5] == 0) {
+        os_free(buffer.data);
+        buffer.data = NULL;
+        buffer.length = 0;
+    }
+    *length = buffer.length;
+    return buffer.data;
+}
+
+c_octet*
+cmx_entitiesStatisticsBinary(
+    const c_char* entities,
+    os_size_t* length)
+{
+    struct cmx_binary buffer;
+    c_iter xmlEntities;
+    c_char *xmlEntity;
+
+    buffer.data = NULL;
+    buffer.length = 0;
+    buffer.size = 0;
+
+    xmlEntities = cmx_entityXmlEntities(entities);
+    cmx_binaryByte(&buffer, CMX_STATISTICS_BINARY_VERSION);
+    cmx_binaryInt(&buffer, c_iterLength(xmlEntities));
+    while ((xmlEntity = (c_char *)c_iterTakeFirst(xmlEntities)) != NULL) {
+        cmx_entityStatisticsBinaryAppend(xmlEntity, &buffer);
+        os_free(xmlEntity);
+    }
+    c_iterFree(xmlEntities);
+
+    *length = buffer.length;
+    return buffer.data;
+}
+
 struct cmx_resetStatisticsArg {
     const c_char* fieldName;
     const c_char* result;
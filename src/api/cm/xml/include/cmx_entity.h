@@ -197,11 +197,42 @@ OS_API c_char*         cmx_entityStatistics            (const c_char* entity);
  * The layout of the statistics depends on the type of the entities.
  *
  * @param entities The entities, which statistics must be resolved.
- * @return The statistics of the supplied entities or NULL if the entities have no
- *         statistics.
+ * @return The statistics of the supplied entities, one object per entity in
+ *         the same order. The object is empty if the entity is not available
+ *         (anymore) or has no statistics.
  */
 OS_API c_char*         cmx_entitiesStatistics            (const c_char* entities);
 
+/**
+ * @brief Resolves the current statistics of the supplied entity in the
+ * compact binary representation.
+ *
+ * The representation is described by
+ * org.opensplice.cm.transform.binary.StatisticsDeserializerBinary.
+ *
+ * @param entity The entity, which statistics must be resolved.
+ * @param length Is set to the number of bytes in the result.
+ * @return The statistics of the supplied entity or NULL if the entity has no
+ *         statistics. Must be freed using os_free.
+ */
+OS_API c_octet*        cmx_entityStatisticsBinary        (const c_char* entity,
+                                                          os_size_t* length);
+
+/**
+ * @brief Resolves the current statistics of the supplied entities in the
+ * compact binary representation.
+ *
+ * Entities without statistics, including the ones that no longer exist, are
+ * marked as such, so the result holds an element for every entity.
+ *
+ * @param entities The entities, which statistics must be resolved.
+ * @param length Is set to the number of bytes in the result.
+ * @return The statistics of the supplied entities. Must be freed using
+ *         os_free.
+ */
+OS_API c_octet*        cmx_entitiesStatisticsBinary      (const c_char* entities,
+                                                          os_size_t* length);
+
 /**
  * @brief Resolves the hierarchical entity path from the specified entity
  * to the entity denoted by the childIndex and childSerial.
@@ -40,6 +40,8 @@ typedef struct {
     cmn_samplesList samplesList;
     sajParDemContext pardemCtx;
     jlong CDRCopy;
+    os_boolean packedInfo; /* fill infoColumns instead of SampleInfo objects */
+    jobject infoColumns;
 } saj_readerContext;
 
 #endif /* SAJ__READERCONTEXT_H */
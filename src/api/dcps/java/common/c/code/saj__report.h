@@ -34,6 +34,14 @@
         code,                       \
         __VA_ARGS__)
 
+/* Or-ed into the result of an operation that closed its own report stack
+   while reports remained that must be flushed by the Java ReportStack,
+   see ReportStack.FLUSH_PENDING. */
+#define SAJ_REPORT_FLUSH_PENDING (0x40000000)
+
+#define SAJ_REPORT_STACK_CLOSE(result,condition) \
+    saj_report_stack_close ((result), (condition))
+
 #define SAJ_REPORT_FLUSH(condition) \
     saj_report_flush (              \
         __FILE__,                   \
@@ -45,6 +53,11 @@ void
 saj_report_stack(
     void);
 
+os_int32
+saj_report_stack_close(
+    os_int32 result,
+    os_int32 flush);
+
 void
 saj_report(
     const os_char *file,
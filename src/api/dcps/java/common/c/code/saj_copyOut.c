@@ -3947,6 +3947,42 @@ saj_cfuoUnionSupported (
 }
 
     /* String types */
+
+/* Strings are immutable in Java, so the String that the destination already
+ * refers to can only be recycled when it holds exactly the source characters.
+ * The comparison is limited to short strings to keep it cheaper than the
+ * allocation that it saves.
+ */
+#define SAJ_RECYCLE_STRING_MAX (256)
+
+STATIC c_bool
+saj_cfooStringRecyclable (
+    jstring current,
+    const c_char *src,
+    saj_context *ctx)
+{
+    JNIEnv *env = ctx->javaEnv;
+    c_char buf[SAJ_RECYCLE_STRING_MAX];
+    size_t srcLen;
+    c_bool result = FALSE;
+
+    if (current != NULL) {
+        srcLen = strlen(src);
+        /* GetStringUTFRegion may append a terminating '\0'. */
+        if ((srcLen < SAJ_RECYCLE_STRING_MAX) &&
+            ((size_t)(*env)->GetStringUTFLength(env, current) == srcLen)) {
+            (*env)->GetStringUTFRegion(env, current, 0,
+                    (*env)->GetStringLength(env, current), buf);
+            if ((*env)->ExceptionCheck(env)) {
+                (*env)->ExceptionClear(env);
+            } else if (memcmp(buf, src, srcLen) == 0) {
+                result = TRUE;
+            }
+        }
+    }
+    return result;
+}
+
 STATIC os_int32
 saj_cfooString (
     sajCopyHeader *ch,
@@ -3964,9 +4000,17 @@ saj_cfooString (
     assert(src);
 
     if (*src == NULL || (*src)[0] == '\0') {
+        if (*stringObject != NULL) {
+            (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, *stringObject);
+        }
         *stringObject = saj_getEmptyStringRef(ctx->javaEnv);
         TRACE(printf ("Copied out empty string = %s @ offset = %d\n", *src, ctx->offset));
+    } else if (saj_cfooStringRecyclable(*stringObject, *src, ctx)) {
+        TRACE(printf ("Recycled string = %s @ offset = %d\n", *src, ctx->offset));
     } else {
+        if (*stringObject != NULL) {
+            (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, *stringObject);
+        }
         *stringObject = (*(ctx->javaEnv))->NewStringUTF (ctx->javaEnv, *src);
         result = saj_copyGetStatus(ctx);
 
@@ -3990,14 +4034,16 @@ saj_cfsoString (
     os_int32 result;
 
     src = (c_string *)((PA_ADDRCAST)ctx->src + ctx->offset);
+    str = (*(ctx->javaEnv))->GetObjectField (ctx->javaEnv, javaObject, javaFID);
+    TRACE(printf ("JNI: GetObjectField (0x%x, %d) = 0x%x\n", javaObject, javaFID, str));
     result = saj_cfooString (ch, &str, src, ctx);
 
     if(result == OS_RETCODE_OK){
         (*(ctx->javaEnv))->SetObjectField (ctx->javaEnv, javaObject, javaFID, str);
         result = saj_copyGetStatus(ctx);
         TRACE(printf ("JNI: SetObjectField (0x%x, %d, \"%s\")\n", javaObject, javaFID, str));
-        (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, str);
     }
+    (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, str);
     return result;
 }
 
@@ -4068,9 +4114,17 @@ saj_cfooBString (
     assert(src);
 
     if(*src == NULL || (*src)[0] == '\0') {
+        if (*stringObject != NULL) {
+            (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, *stringObject);
+        }
         *stringObject = saj_getEmptyStringRef(ctx->javaEnv);
         TRACE(printf ("Copied out empty bounded string = %s @ offset = %d\n", *src, ctx->offset));
+    } else if (saj_cfooStringRecyclable(*stringObject, *src, ctx)) {
+       TRACE(printf ("Recycled bounded string = %s @ offset = %d\n", *src, ctx->offset));
     } else {
+       if (*stringObject != NULL) {
+           (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, *stringObject);
+       }
        *stringObject = (*(ctx->javaEnv))->NewStringUTF (ctx->javaEnv, *src);
        result = saj_copyGetStatus(ctx);
 
@@ -4120,14 +4174,16 @@ saj_cfsoBString (
     os_int32 result;
 
     src = (c_string *)((PA_ADDRCAST)ctx->src + ctx->offset);
+    str = (*(ctx->javaEnv))->GetObjectField (ctx->javaEnv, javaObject, javaFID);
+    TRACE(printf ("JNI: GetObjectField (0x%x, %d) = 0x%x\n", javaObject, javaFID, str));
     result = saj_cfooBString (ch, &str, src, ctx);
 
     if(result == OS_RETCODE_OK){
         (*(ctx->javaEnv))->SetObjectField (ctx->javaEnv, javaObject, javaFID, str);
         result = saj_copyGetStatus(ctx);
         TRACE(printf ("JNI: SetObjectField (0x%x, %d, \"%s\")\n", javaObject, javaFID, str));
-        (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, str);
     }
+    (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, str);
     return result;
 }
 
@@ -4408,11 +4464,13 @@ saj_cfooSequence (
     sajCopyObjectSequence *sh;
     sajCopyHeader *sech;
     jobjectArray array;
+    jobjectArray oldArray;
     jobject element;
     c_sequence *srcSequence;
     void *src;
     int i;
     c_long seqLen;
+    jsize oldLen;
     os_int32 result;
 
     srcSequence = (c_sequence *)srcSeq;
@@ -4426,10 +4484,19 @@ saj_cfooSequence (
         array = (*(ctx->javaEnv))->NewObjectArray (ctx->javaEnv, seqLen, sh->seqClass, NULL);
         TRACE(printf ("JNI: NewObjectArray (%d, 0x%x) = 0x%x\n", seqLen, sh->seqClass, array));
         *seqObject = array;
-    } else if (seqLen != ((*(ctx->javaEnv))->GetArrayLength(ctx->javaEnv, array))) {
-        (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, array);
+    } else if (seqLen != (oldLen = (*(ctx->javaEnv))->GetArrayLength(ctx->javaEnv, array))) {
+        oldArray = array;
         array = (*(ctx->javaEnv))->NewObjectArray (ctx->javaEnv, seqLen, sh->seqClass, NULL);
         TRACE(printf ("JNI: NewObjectArray (%d, 0x%x) = 0x%x\n", seqLen, sh->seqClass, array));
+        /* Carry the existing elements over, so they are filled in place below
+         * instead of being reallocated whenever the sequence length changes.
+         */
+        for (i = 0; (array != NULL) && (i < seqLen) && (i < oldLen); i++) {
+            element = (*(ctx->javaEnv))->GetObjectArrayElement (ctx->javaEnv, oldArray, i);
+            (*(ctx->javaEnv))->SetObjectArrayElement (ctx->javaEnv, array, i, element);
+            (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, element);
+        }
+        (*(ctx->javaEnv))->DeleteLocalRef(ctx->javaEnv, oldArray);
         *seqObject = array;
     }
     result = saj_copyGetStatus(ctx);
@@ -123,7 +123,7 @@ SAJ_FUNCTION(jniDataReaderFree) (
         userData = u_observableSetUserData(u_observable(SAJ_VOIDP(uReader)), NULL);
         DELETE_GLOBAL_REF(env, userData);
     }
-    /* set thread count back to 0, so threads are deleted if they are present. */
+    /* set thread count back to 0, so the parallel demarshalling context is released. */
     (void) saj_fooDataReaderSetParallelReadThreadCount(env, this, 0);
     uResult = u_objectClose(SAJ_VOIDP(uReader));
     result = saj_retcode_from_user_result(uResult);
@@ -222,8 +222,7 @@ copy_sample_rejected_status (
     from = (struct v_sampleRejectedInfo *)info;
     copyArg = (struct copyArg *)arg;
 
-    copyArg->object = saj_sampleRejectedStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_sampleRejectedStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -278,8 +277,7 @@ copy_liveliness_changed_status(
     struct v_livelinessChangedInfo *from = (struct v_livelinessChangedInfo *)info;
     struct copyArg *copyArg = (struct copyArg *)arg;
 
-    copyArg->object = saj_livelinessChangedStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_livelinessChangedStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -334,8 +332,7 @@ copy_deadline_missed_status(
     struct v_deadlineMissedInfo *from = (struct v_deadlineMissedInfo *)info;
     struct copyArg *copyArg = (struct copyArg *)arg;
 
-    copyArg->object = saj_requestedDeadlineMissedStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_requestedDeadlineMissedStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -389,8 +386,7 @@ copy_incompatible_qos_status (
     v_result result;
     struct v_incompatibleQosInfo *from = (struct v_incompatibleQosInfo *)info;
     struct copyArg *copyArg = (struct copyArg *)arg;
-    copyArg->object = saj_requestedIncompatibleQosStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_requestedIncompatibleQosStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -445,8 +441,7 @@ copy_subscription_matched_status(
     struct v_topicMatchInfo *from = (struct v_topicMatchInfo *)info;
     struct copyArg *copyArg = (struct copyArg *)arg;
 
-    copyArg->object = saj_subscriptionMatchStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_subscriptionMatchStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -501,8 +496,7 @@ copy_sample_lost_status (
     struct v_sampleLostInfo *from = (struct v_sampleLostInfo *)info;
     struct copyArg *copyArg = (struct copyArg *)arg;
 
-    copyArg->object = saj_sampleLostStatus_new(copyArg->env, from);
-    if (copyArg->object != NULL) {
+    if (saj_sampleLostStatusCopyOut(copyArg->env, from, &copyArg->object) == SAJ_RETCODE_OK) {
         result = V_RESULT_OK;
     } else {
         result = V_RESULT_INTERNAL_ERROR;
@@ -548,6 +542,92 @@ SAJ_FUNCTION(jniGetSampleLostStatus)(
 
 /****************************************************************************************/
 
+/**
+ * Class:     org_opensplice_dds_dcps_DataReaderImpl
+ * Method:    jniGetStatuses
+ * Signature: (JLDDS/SampleRejectedStatusHolder;LDDS/LivelinessChangedStatusHolder;LDDS/RequestedDeadlineMissedStatusHolder;LDDS/RequestedIncompatibleQosStatusHolder;LDDS/SubscriptionMatchedStatusHolder;LDDS/SampleLostStatusHolder;)I
+ *
+ * Retrieves the statuses for which a holder is passed in one call; null
+ * holders are skipped. Stops at the first status that cannot be retrieved.
+ * The statuses are copied into the status objects of the holders, which are
+ * only created when a holder does not have one yet.
+ */
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniGetStatuses)(
+    JNIEnv *env,
+    jobject jdataReader,
+    jlong uReader,
+    jobject jsampleRejected,
+    jobject jlivelinessChanged,
+    jobject jdeadlineMissed,
+    jobject jincompatibleQos,
+    jobject jsubscriptionMatched,
+    jobject jsampleLost)
+{
+    u_result uResult = U_RESULT_OK;
+    struct copyArg copyArg;
+
+    OS_UNUSED_ARG(jdataReader);
+
+    copyArg.env = env;
+
+    if (jsampleRejected != NULL) {
+        copyArg.object = GET_OBJECT_FIELD(env, jsampleRejected, sampleRejectedStatusHolder_value);
+        uResult = u_readerGetSampleRejectedStatus(SAJ_VOIDP(uReader), TRUE, copy_sample_rejected_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jsampleRejected, sampleRejectedStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+    if ((uResult == U_RESULT_OK) && (jlivelinessChanged != NULL)) {
+        copyArg.object = GET_OBJECT_FIELD(env, jlivelinessChanged, livelinessChangedStatusHolder_value);
+        uResult = u_readerGetLivelinessChangedStatus(SAJ_VOIDP(uReader), TRUE, copy_liveliness_changed_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jlivelinessChanged, livelinessChangedStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+    if ((uResult == U_RESULT_OK) && (jdeadlineMissed != NULL)) {
+        copyArg.object = GET_OBJECT_FIELD(env, jdeadlineMissed, requestedDeadlineMissedStatusHolder_value);
+        uResult = u_readerGetDeadlineMissedStatus(SAJ_VOIDP(uReader), TRUE, copy_deadline_missed_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jdeadlineMissed, requestedDeadlineMissedStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+    if ((uResult == U_RESULT_OK) && (jincompatibleQos != NULL)) {
+        copyArg.object = GET_OBJECT_FIELD(env, jincompatibleQos, requestedIncompatibleQosStatusHolder_value);
+        uResult = u_readerGetIncompatibleQosStatus(SAJ_VOIDP(uReader), TRUE, copy_incompatible_qos_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jincompatibleQos, requestedIncompatibleQosStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+    if ((uResult == U_RESULT_OK) && (jsubscriptionMatched != NULL)) {
+        copyArg.object = GET_OBJECT_FIELD(env, jsubscriptionMatched, subscriptionMatchedStatusHolder_value);
+        uResult = u_readerGetSubscriptionMatchStatus(SAJ_VOIDP(uReader), TRUE, copy_subscription_matched_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jsubscriptionMatched, subscriptionMatchedStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+    if ((uResult == U_RESULT_OK) && (jsampleLost != NULL)) {
+        copyArg.object = GET_OBJECT_FIELD(env, jsampleLost, sampleLostStatusHolder_value);
+        uResult = u_readerGetSampleLostStatus(SAJ_VOIDP(uReader), TRUE, copy_sample_lost_status, &copyArg);
+        if (uResult == U_RESULT_OK) {
+            SET_OBJECT_FIELD(env, jsampleLost, sampleLostStatusHolder_value, copyArg.object);
+        }
+        DELETE_LOCAL_REF(env, copyArg.object);
+    }
+
+    return (jint)saj_retcode_from_user_result(uResult);
+
+    CATCH_EXCEPTION:
+    return SAJ_RETCODE_ERROR;
+}
+
+/****************************************************************************************/
+
 /**
  * Class:     org_opensplice_dds_dcps_DataReaderImpl
  * Method:    jniWaitForHistoricalData
@@ -810,17 +890,50 @@ SAJ_FUNCTION(jniGetMatchedPublicationData)(
 
 /*
  * Class:     org_opensplice_dds_dcps_DataReaderImpl
- * Method:    jniParallelDemarshallingMain
+ * Method:    jniParallelDemarshallingHelp
  * Signature: (J)I
  */
 JNIEXPORT jint JNICALL
-SAJ_FUNCTION(jniParallelDemarshallingMain) (
+SAJ_FUNCTION(jniParallelDemarshallingHelp) (
     JNIEnv * env,
-    jobject jdatareader,
+    jclass jdatareaderClass,
     jlong ctx)
 {
+    OS_UNUSED_ARG(jdatareaderClass);
+    return saj_fooDataReaderParallelDemarshallingHelp(env, (sajParDemContext)((PA_ADDRCAST)ctx));
+}
+
+/*
+ * Class:     org_opensplice_dds_dcps_DataReaderImpl
+ * Method:    jniGetParallelDemarshallingStatistics
+ * Signature: (J[J)I
+ */
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniGetParallelDemarshallingStatistics) (
+    JNIEnv * env,
+    jobject jdatareader,
+    jlong ctx,
+    jlongArray jvalues)
+{
+    jlong values[SAJ_PARDEM_STATISTICS_COUNT];
+    jsize length;
+    saj_returnCode retcode;
+
     OS_UNUSED_ARG(jdatareader);
-    return saj_fooDataReaderParallelDemarshallingMain(env, (sajParDemContext)((PA_ADDRCAST)ctx));
+
+    length = GET_ARRAY_LENGTH(env, jvalues);
+    if (length > SAJ_PARDEM_STATISTICS_COUNT) {
+        length = SAJ_PARDEM_STATISTICS_COUNT;
+    }
+    retcode = saj_fooDataReaderGetParallelDemarshallingStatistics(
+            (sajParDemContext)((PA_ADDRCAST)ctx), values, length);
+    if (retcode == SAJ_RETCODE_OK) {
+        SET_LONG_ARRAY_REGION(env, jvalues, 0, length, values);
+    }
+    return (jint)retcode;
+
+    CATCH_EXCEPTION:
+    return SAJ_RETCODE_ERROR;
 }
 
 /*
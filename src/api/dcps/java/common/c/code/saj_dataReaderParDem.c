@@ -34,6 +34,8 @@ typedef struct {
     C_STRUCT(saj_dstInfo) dst;
     sajParDemContext pdc;
     jobject info_element;
+    jlong packed[SAJ_INFO_COLUMN_STRIDE];
+    os_uint32 index;
     JNIEnv *env;
     saj_returnCode retcode;
 } copy_data_arg;
@@ -47,22 +49,36 @@ copy_data(
 {
     copy_data_arg *copy_arg = (copy_data_arg *)arg;
 
-    copy_arg->retcode = saj_sampleInfoCopyOut(copy_arg->env, info, &copy_arg->info_element);
+    if (copy_arg->pdc->copy_info.infoColumns) {
+        saj_sampleInfoPack(info, copy_arg->packed);
+    } else {
+        copy_arg->retcode = saj_sampleInfoCopyOut(copy_arg->env, info, &copy_arg->info_element);
+    }
     copy_arg->pdc->copy_info.copyOut(sample, &copy_arg->dst);
 }
 
+/* Every SAJ_PARDEM_PROBE_INTERVAL-th copy uses the strategy that the
+ * heuristics did not choose, so the estimates of both keep following the
+ * actual costs. */
+#define SAJ_PARDEM_PROBE_INTERVAL (64U)
+/* Upper bound of the number of samples a thread claims at once */
+#define SAJ_PARDEM_MAX_BLOCK (256U)
+/* Number of blocks each participating thread should roughly copy */
+#define SAJ_PARDEM_BLOCKS_PER_THREAD (4U)
+
 static void
 saj_dataReaderParallelCopy(
     JNIEnv *env,
     sajParDemContext pdc)
 {
-    os_uint32 i;
+    os_uint32 i, first, last;
+    os_uint32 block;
     os_int32  len;
     u_result uResult;
     copy_data_arg copy_arg;
 
     assert(pdc);
-    assert(pdc->heuristics.block > 0U);
+    assert(pdc->copy_info.block > 0U);
     assert(pdc->copy_info.len);
     assert(pdc->copy_info.dataSeq);
     assert(pdc->copy_info.infoSeq);
@@ -77,95 +93,174 @@ saj_dataReaderParallelCopy(
     copy_arg.dst.javaEnv = env;
     copy_arg.dst.copyProgram = pdc->copy_info.copyCache;
     copy_arg.dst.jreader = pdc->copy_info.jreader;
+    block = pdc->copy_info.block;
 
-    while((i = pa_inc32_nv(&pdc->copy_info.nextIndex) - 1) < pdc->copy_info.len){
-        copy_arg.dst.javaObject = GET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.dataSeq, i);
-        copy_arg.info_element = GET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.infoSeq, i);
-        copy_arg.retcode = SAJ_RETCODE_OK;
-
-        uResult = u_readerProtectCopyOutEnter(SAJ_VOIDP(pdc->copy_info.uEntity));
-        if (uResult == U_RESULT_OK) {
-            len = cmn_samplesList_read(pdc->copy_info.samplesList, i, copy_data, &copy_arg);
-            u_readerProtectCopyOutExit(SAJ_VOIDP(pdc->copy_info.uEntity));
-            if ((copy_arg.retcode != SAJ_RETCODE_OK) || (len != 1)) {
-                OS_REPORT(OS_ERROR, "DataReader::saj_dataReaderParallelCopy", 0,
-                        "cmn_samplesList_read failed.");
+    while((first = pa_add32_nv(&pdc->copy_info.nextIndex, block) - block) < pdc->copy_info.len){
+        last = first + block;
+        if (last > pdc->copy_info.len) {
+            last = pdc->copy_info.len;
+        }
+        for (i = first; i < last; i++) {
+            copy_arg.dst.javaObject = GET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.dataSeq, i);
+            if (pdc->copy_info.infoColumns) {
+                copy_arg.info_element = NULL;
+            } else {
+                copy_arg.info_element = GET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.infoSeq, i);
+            }
+            copy_arg.index = i;
+            copy_arg.retcode = SAJ_RETCODE_OK;
+
+            uResult = u_readerProtectCopyOutEnter(SAJ_VOIDP(pdc->copy_info.uEntity));
+            if (uResult == U_RESULT_OK) {
+                len = cmn_samplesList_read(pdc->copy_info.samplesList, i, copy_data, &copy_arg);
+                u_readerProtectCopyOutExit(SAJ_VOIDP(pdc->copy_info.uEntity));
+                if ((copy_arg.retcode != SAJ_RETCODE_OK) || (len != 1)) {
+                    OS_REPORT(OS_ERROR, "DataReader::saj_dataReaderParallelCopy", 0,
+                            "cmn_samplesList_read failed.");
+                }
+            }
+            if (pdc->copy_info.infoColumns) {
+                SET_LONG_ARRAY_REGION(env, pdc->copy_info.infoColumns,
+                        (jsize)(i * SAJ_INFO_COLUMN_STRIDE), SAJ_INFO_COLUMN_STRIDE, copy_arg.packed);
+            } else if (copy_arg.info_element) {
+                SET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.infoSeq, i, copy_arg.info_element);
+                DELETE_LOCAL_REF(env, copy_arg.info_element);
             }
+            SET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.dataSeq, i, copy_arg.dst.javaObject);
+            DELETE_LOCAL_REF(env, copy_arg.dst.javaObject);
         }
-        SET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.infoSeq, i, copy_arg.info_element);
-        SET_OBJECTARRAY_ELEMENT(env, pdc->copy_info.dataSeq, i, copy_arg.dst.javaObject);
-        DELETE_LOCAL_REF(env, copy_arg.dst.javaObject);
-        DELETE_LOCAL_REF(env, copy_arg.info_element);
     }
     CATCH_EXCEPTION:;
 }
 
-/* Call with pcd->mtx locked */
-static void pdc_readyCndBroadcast(
-    JNIEnv *env,
-    sajParDemContext pdc)
-{
-    assert(env);
-    assert(pdc);
-
-    DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.dataSeq);
-    DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.infoSeq);
-    pdc->copy_info.dataSeq = NULL;
-    pdc->copy_info.infoSeq = NULL;
-    pdc->parity = !pdc->parity;
-    os_condBroadcast(&pdc->readyCnd);
-}
-
+/* Runs a single helper task of the shared demarshalling pool. The helper
+ * joins the copy that is in progress on the reader, if any; a helper that
+ * is scheduled after the copy it was started for has already been completed
+ * by the other threads simply returns. */
 int
-saj_fooDataReaderParallelDemarshallingMain(
+saj_fooDataReaderParallelDemarshallingHelp(
     JNIEnv * env,
     sajParDemContext pdc)
 {
-    os_ushort mustTerminate;
+    os_boolean join;
 
     assert(env);
     assert(pdc);
 
-    os_mutexLock(&pdc->superMtx);
     os_mutexLock(&pdc->mtx);
-    pdc->nrofWorkers++;
-    os_condSignal(&pdc->workerCnd);
+    join = pdc->open && !pdc->terminate;
+    if (join) {
+        pdc->active++;
+        pdc->joined++;
+    }
     os_mutexUnlock(&pdc->mtx);
-    os_mutexUnlock(&pdc->superMtx);
 
-    do {
-        os_mutexLock(&pdc->mtx);
-        while(!pdc->terminate && !pdc->copy_info.dataSeq){
-            os_condWait(&pdc->startCnd, &pdc->mtx);
-        }
-        mustTerminate = pdc->terminate;
-        os_mutexUnlock(&pdc->mtx);
+    if (join) {
+        saj_dataReaderParallelCopy(env, pdc);
+    }
 
-        if(mustTerminate) break;
+    os_mutexLock(&pdc->mtx);
+    if (join) {
+        pdc->active--;
+    }
+    assert(pdc->pending > 0);
+    pdc->pending--;
+    os_condBroadcast(&pdc->readyCnd);
+    os_mutexUnlock(&pdc->mtx);
 
-        saj_dataReaderParallelCopy(env, pdc);
+    return SAJ_RETCODE_OK;
+}
+
+/* Call with pdc->mtx locked */
+static void
+saj_parDemContext_updateHeuristics(
+    sajParDemContext pdc)
+{
+    os_duration n;
+
+    if ((pdc->nrofWorkers == 0) || (pdc->estimates.sampleCost <= 0)) {
+        pdc->heuristics.threshold = 2U;
+    } else {
+        /* A copy of n samples takes n * cost single-threaded and roughly
+         * n * cost / (workers + 1) + overhead in parallel, so parallelization
+         * only pays off beyond the n for which both are equal. */
+        n = (pdc->estimates.overhead * (pdc->nrofWorkers + 1)) /
+            (pdc->estimates.sampleCost * pdc->nrofWorkers) + 1;
+        if (n < 2) {
+            n = 2;
+        } else if (n > 0xffff) {
+            n = 0xffff;
+        }
+        pdc->heuristics.threshold = (os_ushort)n;
+    }
+}
 
+static void
+saj_parDemContext_sequentialCopied(
+    sajParDemContext pdc,
+    unsigned int len,
+    os_duration elapsed)
+{
+    os_duration cost;
+
+    if (len > 0) {
+        cost = elapsed / (os_duration)len;
+        if (cost <= 0) {
+            cost = 1;
+        }
         os_mutexLock(&pdc->mtx);
-        pdc->readyCnt++;
-        if(pdc->readyCnt > pdc->nrofWorkers){
-            /* Main thread was already done, so notify */
-            pdc_readyCndBroadcast(env, pdc);
+        pdc->statistics.sequentialCopies++;
+        if (pdc->estimates.sampleCost == 0) {
+            pdc->estimates.sampleCost = cost;
         } else {
-            const os_boolean parity = pdc->parity;
-            while(parity == pdc->parity){
-                os_condWait(&pdc->readyCnd, &pdc->mtx);
-            }
+            pdc->estimates.sampleCost = (7 * pdc->estimates.sampleCost + cost) / 8;
         }
+        saj_parDemContext_updateHeuristics(pdc);
         os_mutexUnlock(&pdc->mtx);
-    } while(TRUE);
+    }
+}
 
-    os_mutexLock(&pdc->superMtx);
-    os_mutexLock(&pdc->mtx);
-    pdc->nrofWorkers--;
-    os_mutexUnlock(&pdc->mtx);
-    os_mutexUnlock(&pdc->superMtx);
+/* Call with pdc->mtx locked */
+static void
+saj_parDemContext_parallelCopied(
+    sajParDemContext pdc,
+    unsigned int len,
+    os_duration elapsed)
+{
+    os_duration expected;
+    os_duration overhead;
+
+    pdc->statistics.parallelCopies++;
+    pdc->statistics.parallelSamples += len;
+    if (pdc->estimates.sampleCost > 0) {
+        expected = pdc->estimates.sampleCost * (os_duration)len;
+        pdc->statistics.savedTime += expected - elapsed;
+        if (elapsed < expected) {
+            pdc->statistics.profitableCopies++;
+        }
+        overhead = elapsed - expected / (pdc->joined + 1);
+        if (overhead < 0) {
+            overhead = 0;
+        }
+        pdc->estimates.overhead = (7 * pdc->estimates.overhead + overhead) / 8;
+        saj_parDemContext_updateHeuristics(pdc);
+    }
+}
 
-    return SAJ_RETCODE_OK;
+static os_ushort
+saj_parDemContext_block(
+    sajParDemContext pdc,
+    unsigned int len)
+{
+    os_uint32 block;
+
+    block = len / ((pdc->nrofWorkers + 1U) * SAJ_PARDEM_BLOCKS_PER_THREAD);
+    if (block < 1U) {
+        block = 1U;
+    } else if (block > SAJ_PARDEM_MAX_BLOCK) {
+        block = SAJ_PARDEM_MAX_BLOCK;
+    }
+    return (os_ushort)block;
 }
 
 static void
@@ -177,7 +272,11 @@ saj_parDemContext_signal_terminate(
     os_mutexLock(&pdc->superMtx);
     os_mutexLock(&pdc->mtx);
     pdc->terminate = 1U;
-    os_condBroadcast(&pdc->startCnd);
+    /* Helper tasks that are still queued in the shared pool refer to this
+     * context, so wait until they have all returned. */
+    while (pdc->pending > 0) {
+        os_condWait(&pdc->readyCnd, &pdc->mtx);
+    }
     os_mutexUnlock(&pdc->mtx);
     os_mutexUnlock(&pdc->superMtx);
 }
@@ -187,9 +286,8 @@ saj_parDemContext_free(
     sajParDemContext pdc)
 {
     if(pdc){
+        assert(pdc->pending == 0);
         os_condDestroy(&pdc->readyCnd);
-        os_condDestroy(&pdc->startCnd);
-        os_condDestroy(&pdc->workerCnd);
         os_mutexDestroy(&pdc->mtx);
         os_mutexDestroy(&pdc->superMtx);
         os_free(pdc);
@@ -206,33 +304,40 @@ saj_parDemContext_new()
     pdc->nrofWorkers = 0U;
     pdc->heuristics.threshold = 2U; /* Parallelization only helps for at least 2 samples */
     pdc->heuristics.block = 1U;     /* A block of 1 is the bare minimum */
+    pdc->estimates.sampleCost = 0;  /* Unknown until the first single-threaded copy */
+    pdc->estimates.overhead = 0;
+    pdc->estimates.copies = 0U;
+    pdc->statistics.sequentialCopies = 0U;
+    pdc->statistics.parallelCopies = 0U;
+    pdc->statistics.profitableCopies = 0U;
+    pdc->statistics.parallelSamples = 0U;
+    pdc->statistics.savedTime = 0;
     pa_st32 (&pdc->copy_info.nextIndex, 0U);
     pdc->copy_info.len = 0U;
+    pdc->copy_info.block = 1U;
     pdc->copy_info.dataSeq = NULL;
     pdc->copy_info.infoSeq = NULL;
     pdc->copy_info.copyCache = NULL;
     pdc->copy_info.copyOut = NULL;
     pdc->copy_info.samplesList = NULL;
+    pdc->copy_info.jreader = NULL;
     pdc->copy_info.uEntity = 0;
+    pdc->copy_info.infoColumns = NULL;
 
     if(os_mutexInit(&pdc->superMtx, NULL) != os_resultSuccess) goto err_supermtx_init;
     if(os_mutexInit(&pdc->mtx, NULL) != os_resultSuccess) goto err_mtx_init;
-    if(os_condInit(&pdc->workerCnd, &pdc->mtx, NULL) != os_resultSuccess) goto err_workercnd_init;
-    if(os_condInit(&pdc->startCnd, &pdc->mtx, NULL) != os_resultSuccess) goto err_startcnd_init;
     if(os_condInit(&pdc->readyCnd, &pdc->mtx, NULL) != os_resultSuccess) goto err_readycnd_init;
 
-    pdc->readyCnt = 0U;
-    pdc->parity = OS_FALSE;
+    pdc->open = OS_FALSE;
+    pdc->active = 0U;
+    pdc->joined = 0U;
+    pdc->pending = 0U;
     pdc->terminate = 0u;
 
     return pdc;
 
 /* Error-handling */
 err_readycnd_init:
-    (void) os_condDestroy(&pdc->startCnd);
-err_startcnd_init:
-    (void) os_condDestroy(&pdc->workerCnd);
-err_workercnd_init:
     (void) os_mutexDestroy(&pdc->mtx);
 err_mtx_init:
     (void) os_mutexDestroy(&pdc->superMtx);
@@ -249,53 +354,39 @@ saj_fooDataReaderSetParallelReadThreadCount(
     int value)
 {
     sajParDemContext pdc = NULL;
-    jint started;
 
     if(saj_read_parallelDemarshallingContext_address(env, jdatareader, &pdc) != SAJ_RETCODE_OK){
         goto err_getset_address;
     }
 
-    if(pdc){
-        /* Signal eventual current threads to shutdown */
-        saj_parDemContext_signal_terminate(pdc);
-        /* Join threads */
-        CALL_VOID_METHOD(env, jdatareader, GET_CACHED(dataReaderImplClassJoinWorkers_mid));
-        /* Assert that all threads are actually stopped, so the terminate flag is
-         * reset (last  one to stop will do this). */
-        assert(pdc->nrofWorkers == 0);
-        /* pdc can be reused if new set number is >1, reset terminate flag */
-        pdc->terminate = 0;
-
-        /* If the requested size is 0 or 1, this will both result in a single-threaded
-         * copy, so we don't have to start any extra threads. If previously there
-         * were threads created, we can now cleanup the context as well. */
-        if(value <= 1){
-            saj_parDemContext_free(pdc);
-            pdc = NULL;
+    /* If the requested size is 0 or 1, this will both result in a single-threaded
+     * copy, so no helpers are needed. If previously a context was created, we
+     * can now cleanup the context as well. */
+    if(value <= 1){
+        if(pdc){
+            saj_parDemContext_signal_terminate(pdc);
             if(saj_write_parallelDemarshallingContext_address(env, jdatareader, NULL) != SAJ_RETCODE_OK){
                 goto err_getset_address;
             }
+            saj_parDemContext_free(pdc);
         }
-    }
-
-    if(value > 1){
+    } else {
         if(!pdc){
-            /* Create and assign the parallelDemarshalling context. It
-             * is OK if saj_parDemContextNew fails. The pointer will
-             * then be set to 0. */
+            /* Create and assign the parallelDemarshalling context. */
             if((pdc = saj_parDemContext_new()) == NULL) { goto err_out_of_resources; }
             if(saj_write_parallelDemarshallingContext_address(env, jdatareader, pdc) != SAJ_RETCODE_OK){
+                saj_parDemContext_free(pdc);
                 goto err_getset_address;
             }
         }
-
-        started = CALL_INT_METHOD(env, jdatareader, GET_CACHED(dataReaderImplClassStartWorkers_mid), value > 1 ? value - 1 : 0);
-
+        /* The helper threads are taken from the process-wide demarshalling
+         * pool when a copy starts, so only the maximum is recorded here. */
+        os_mutexLock(&pdc->superMtx);
         os_mutexLock(&pdc->mtx);
-        while (started > pdc->nrofWorkers) {
-            os_condWait(&pdc->workerCnd, &pdc->mtx);
-        }
+        pdc->nrofWorkers = (os_ushort)((value - 1 > 0xffff) ? 0xffff : value - 1);
+        saj_parDemContext_updateHeuristics(pdc);
         os_mutexUnlock(&pdc->mtx);
+        os_mutexUnlock(&pdc->superMtx);
     }
     return SAJ_RETCODE_OK;
 
@@ -303,15 +394,69 @@ err_out_of_resources:
     return SAJ_RETCODE_OUT_OF_RESOURCES;
 
 err_getset_address:
-CATCH_EXCEPTION:
     return SAJ_RETCODE_ERROR;
 }
 
+saj_returnCode
+saj_fooDataReaderGetParallelDemarshallingStatistics(
+    sajParDemContext pdc,
+    jlong *values,
+    int length)
+{
+    jlong s[SAJ_PARDEM_STATISTICS_COUNT];
+
+    memset(s, 0, sizeof(s));
+    if (pdc) {
+        os_mutexLock(&pdc->mtx);
+        s[0] = (jlong)pdc->statistics.sequentialCopies;
+        s[1] = (jlong)pdc->statistics.parallelCopies;
+        s[2] = (jlong)pdc->statistics.profitableCopies;
+        s[3] = (jlong)pdc->statistics.parallelSamples;
+        s[4] = (jlong)pdc->statistics.savedTime;
+        s[5] = (jlong)pdc->heuristics.threshold;
+        s[6] = (jlong)pdc->heuristics.block;
+        s[7] = (jlong)pdc->estimates.sampleCost;
+        s[8] = (jlong)pdc->estimates.overhead;
+        os_mutexUnlock(&pdc->mtx);
+    }
+    if (length > SAJ_PARDEM_STATISTICS_COUNT) {
+        length = SAJ_PARDEM_STATISTICS_COUNT;
+    }
+    memcpy(values, s, (size_t)length * sizeof(jlong));
+
+    return SAJ_RETCODE_OK;
+}
+
+static os_boolean
+saj_parDemContext_useParallelCopy(
+    sajParDemContext pdc,
+    unsigned int len)
+{
+    os_boolean parallel;
+    os_boolean probe;
+
+    os_mutexLock(&pdc->mtx);
+    pdc->estimates.copies++;
+    if ((pdc->nrofWorkers == 0) || (len < 2U)) {
+        parallel = OS_FALSE;
+    } else if (pdc->estimates.sampleCost == 0) {
+        /* Measure the single-threaded copy cost first */
+        parallel = OS_FALSE;
+    } else {
+        probe = ((pdc->estimates.copies % SAJ_PARDEM_PROBE_INTERVAL) == 0);
+        parallel = ((len >= pdc->heuristics.threshold) != probe);
+    }
+    os_mutexUnlock(&pdc->mtx);
+
+    return parallel;
+}
+
 struct flushCopyArg {
     C_STRUCT(saj_dstInfo) dst;
     JNIEnv *env;
     jobject dataSeq;
     jobject infoSeq;
+    jobject infoColumns;
     void (*copyOut)(void *, void *);
     os_int32 i;
     saj_returnCode retcode;
@@ -326,6 +471,7 @@ flushCopy(
     JNIEnv *env;
     struct flushCopyArg *a = (struct flushCopyArg *)arg;
     jobject info_element;
+    jlong packed[SAJ_INFO_COLUMN_STRIDE];
 
     env = a->env;
     a->dst.javaObject = GET_OBJECTARRAY_ELEMENT(env, a->dataSeq, a->i);
@@ -333,10 +479,16 @@ flushCopy(
     SET_OBJECTARRAY_ELEMENT(env, a->dataSeq, a->i, a->dst.javaObject);
     DELETE_LOCAL_REF(env, a->dst.javaObject);
 
-    info_element = GET_OBJECTARRAY_ELEMENT(env, a->infoSeq, a->i);
-    a->retcode = saj_sampleInfoCopyOut(env, sampleInfo, &info_element);
-    SET_OBJECTARRAY_ELEMENT(env, a->infoSeq, a->i, info_element);
-    DELETE_LOCAL_REF(env, info_element);
+    if (a->infoColumns) {
+        saj_sampleInfoPack(sampleInfo, packed);
+        SET_LONG_ARRAY_REGION(env, a->infoColumns, a->i * SAJ_INFO_COLUMN_STRIDE,
+                SAJ_INFO_COLUMN_STRIDE, packed);
+    } else {
+        info_element = GET_OBJECTARRAY_ELEMENT(env, a->infoSeq, a->i);
+        a->retcode = saj_sampleInfoCopyOut(env, sampleInfo, &info_element);
+        SET_OBJECTARRAY_ELEMENT(env, a->infoSeq, a->i, info_element);
+        DELETE_LOCAL_REF(env, info_element);
+    }
 
     a->i++;
 
@@ -361,6 +513,8 @@ saj_dataReaderParDemStack_copy_out(
     jobject infoSeq, infoSeqNew;
     jobject ie;
     jobject de;
+    jobject columns = NULL;
+    jsize columnsLen;
     saj_returnCode retcode = SAJ_RETCODE_ERROR;
 
     len = cmn_samplesList_length(ctx->samplesList);
@@ -414,20 +568,40 @@ saj_dataReaderParDemStack_copy_out(
         retcode = SAJ_RETCODE_NO_DATA;
     }
 
+    if ((len > 0) && ctx->packedInfo) {
+        /* The SampleInfo of every sample is packed on the stack and stored
+         * straight into the reader-owned columns, so nothing is allocated
+         * once the columns are large enough. */
+        columns = ctx->infoColumns;
+        if (columns != NULL) {
+            columnsLen = GET_ARRAY_LENGTH(env, columns);
+        } else {
+            columnsLen = 0;
+        }
+        if ((unsigned int)columnsLen < len * SAJ_INFO_COLUMN_STRIDE) {
+            columns = NEW_LONGARRAY(env, (jsize)(len * SAJ_INFO_COLUMN_STRIDE));
+            SET_OBJECT_FIELD(env, ctx->jreader, dataReaderImplClassInfoColumns, columns);
+        }
+    }
+
     if (len > 0) {
 
         /* Now start copying data */
-        if (ctx->pardemCtx && len >= ctx->pardemCtx->heuristics.threshold) {
+        if (ctx->pardemCtx && saj_parDemContext_useParallelCopy(ctx->pardemCtx, len)) {
             sajParDemContext pdc = ctx->pardemCtx;
+            jint helpers, started;
+            os_timeM start;
             /* By keeping the pdc->superMtx locked, concurrent reads on
              * a parallelized reader be serialized. It furthermore
-             * prevents new workers to be added/removed while copying. */
+             * prevents the context from being reconfigured while copying. */
             os_mutexLock(&pdc->superMtx);
             if (pdc->nrofWorkers > 0) {
+                start = os_timeMGet();
                 os_mutexLock(&pdc->mtx);
-                pdc->readyCnt = 0U;
                 pa_st32 (&pdc->copy_info.nextIndex, 0U);
                 pdc->copy_info.len = len;
+                pdc->heuristics.block = saj_parDemContext_block(pdc, len);
+                pdc->copy_info.block = pdc->heuristics.block;
                 pdc->copy_info.dataSeq = NEW_WEAK_GLOBAL_REF(env, dataSeq);
                 pdc->copy_info.infoSeq = NEW_WEAK_GLOBAL_REF(env, infoSeq);
                 pdc->copy_info.copyCache = copyCache;
@@ -435,23 +609,57 @@ saj_dataReaderParDemStack_copy_out(
                 pdc->copy_info.samplesList = ctx->samplesList;
                 pdc->copy_info.jreader = NEW_WEAK_GLOBAL_REF(env, ctx->jreader);
                 pdc->copy_info.uEntity = ctx->uReader;
-                os_condBroadcast(&pdc->startCnd);
+                pdc->copy_info.infoColumns = NULL;
+                if (columns != NULL) {
+                    pdc->copy_info.infoColumns = NEW_WEAK_GLOBAL_REF(env, columns);
+                }
+                pdc->open = OS_TRUE;
+                pdc->joined = 0U;
+                /* Helpers that are still queued from a previous copy will
+                 * join this one, so only top up to the configured maximum. */
+                if (pdc->pending < pdc->nrofWorkers) {
+                    helpers = (jint)(pdc->nrofWorkers - pdc->pending);
+                } else {
+                    helpers = 0;
+                }
+                pdc->pending += (os_uint32)helpers;
                 os_mutexUnlock(&pdc->mtx);
 
+                if (helpers > 0) {
+                    started = (*env)->CallStaticIntMethod(env, GET_CACHED(dataReaderImpl_class),
+                            GET_CACHED(dataReaderImplClassStartHelpers_mid), (jlong)(PA_ADDRCAST)pdc, helpers);
+                    if ((*env)->ExceptionCheck(env)) {
+                        /* The copy is completed by this thread only */
+                        (*env)->ExceptionClear(env);
+                        started = 0;
+                    }
+                    if (started < helpers) {
+                        os_mutexLock(&pdc->mtx);
+                        pdc->pending -= (os_uint32)(helpers - started);
+                        os_condBroadcast(&pdc->readyCnd);
+                        os_mutexUnlock(&pdc->mtx);
+                    }
+                }
+
                 /* Perform the copy */
                 saj_dataReaderParallelCopy(env, pdc);
 
                 os_mutexLock(&pdc->mtx);
-                pdc->readyCnt++;
-                if (pdc->readyCnt > pdc->nrofWorkers) {
-                    /* I am the last one to finish, notify workers */
-                    pdc_readyCndBroadcast(env, pdc);
-                } else {
-                    const os_boolean parity = pdc->parity;
-                    while(parity == pdc->parity){
-                        os_condWait(&pdc->readyCnd, &pdc->mtx);
-                    }
+                pdc->open = OS_FALSE;
+                while (pdc->active > 0) {
+                    os_condWait(&pdc->readyCnd, &pdc->mtx);
                 }
+                saj_parDemContext_parallelCopied(pdc, len, os_timeMDiff(os_timeMGet(), start));
+                DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.dataSeq);
+                DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.infoSeq);
+                DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.jreader);
+                if (pdc->copy_info.infoColumns != NULL) {
+                    DELETE_WEAK_GLOBAL_REF(env, pdc->copy_info.infoColumns);
+                }
+                pdc->copy_info.dataSeq = NULL;
+                pdc->copy_info.infoSeq = NULL;
+                pdc->copy_info.jreader = NULL;
+                pdc->copy_info.infoColumns = NULL;
                 os_mutexUnlock(&pdc->mtx);
 
                 /* free the samples on the sample list */
@@ -470,6 +678,7 @@ saj_dataReaderParDemStack_copy_out(
 
         if (singleThreadedCopy) {
             int r;
+            os_timeM start;
             struct flushCopyArg arg;
 
             arg.dst.copyProgram = copyCache;
@@ -479,14 +688,20 @@ saj_dataReaderParDemStack_copy_out(
             arg.env = env;
             arg.dataSeq = dataSeq;
             arg.infoSeq = infoSeq;
+            arg.infoColumns = columns;
             arg.copyOut = ctx->CDRCopy ? saj_CDROutStruct : saj_copyOutStruct;
             arg.i = 0;
             arg.retcode = SAJ_RETCODE_OK;
 
+            start = os_timeMGet();
             r = u_readerProtectCopyOutEnter(SAJ_VOIDP(ctx->uReader));
             if (r == U_RESULT_OK) {
                 r = cmn_samplesList_flush(ctx->samplesList, flushCopy, &arg);
                 u_readerProtectCopyOutExit(SAJ_VOIDP(ctx->uReader));
+                if (ctx->pardemCtx && (r > 0)) {
+                    saj_parDemContext_sequentialCopied(ctx->pardemCtx, len,
+                            os_timeMDiff(os_timeMGet(), start));
+                }
 
                 if (r == 0) {
                     retcode = SAJ_RETCODE_NO_DATA;
@@ -501,5 +716,6 @@ saj_dataReaderParDemStack_copy_out(
         }
     }
     return retcode;
-    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+    CATCH_EXCEPTION:
+    return SAJ_RETCODE_ERROR;
 }
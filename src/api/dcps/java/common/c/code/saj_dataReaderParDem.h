@@ -25,14 +25,27 @@
 #include "saj__readerContext.h"
 
 struct sajParDemContext_s{
-    os_ushort       nrofWorkers; /* Number of worker threads. This is configured #threads - 1 (application thread participates as well) */
+    os_ushort       nrofWorkers; /* Max number of pool threads to involve in a copy. This is configured #threads - 1 (application thread participates as well) */
     struct {
         os_ushort threshold; /* Number of samples threshold at which parallelization should be performed */
         os_ushort block;     /* Number of samples to be read without inter-thread sync */
     } heuristics;
+    struct {
+        os_duration sampleCost; /* Moving average of the single-threaded copy time per sample */
+        os_duration overhead;   /* Moving average of the time spent on involving helpers in a copy */
+        os_uint32   copies;     /* Number of copies, used to periodically probe the other strategy */
+    } estimates;
+    struct {
+        os_uint64   sequentialCopies;
+        os_uint64   parallelCopies;
+        os_uint64   profitableCopies; /* Parallel copies that took less than the estimated single-threaded copy */
+        os_uint64   parallelSamples;
+        os_int64    savedTime;        /* Estimated time saved by parallel copies; negative when it did not pay off */
+    } statistics;
     struct {
         pa_uint32_t     nextIndex; /* Next index to be read by worker thread */
         unsigned int    len;       /* The number of samples to be copied */
+        os_uint32       block;     /* Number of indices claimed at once during this copy */
         jobject         dataSeq;   /* Weak-ref to the data-sqeuence to copy-out to */
         jobject         infoSeq;   /* Weak-ref to the info-sqeuence to copy-out to */
         saj_copyCache   copyCache; /* Reference to the copyCache */
@@ -40,19 +53,16 @@ struct sajParDemContext_s{
         cmn_samplesList samplesList;
         jobject         jreader;   /* Weak-ref to the reader Object */
         jlong           uEntity;   /* The user entity */
+        jobject         infoColumns; /* Weak-ref to the packed SampleInfo destination, or NULL to copy-out to infoSeq */
     } copy_info;
     os_mutex        superMtx;  /* Mutex that should be held by the 'main' read thread in order to serialize concurrent reads on a parralelized reader */
     os_mutex        mtx;
-    os_cond         workerCnd; /* Condition for notifying spawning thread that worker is operational */
-    os_cond         startCnd;  /* Condition for notifying worker threads that work is to be done */
-    os_cond         readyCnd;  /* Condition for notifying application thread that all work is done */
-    os_ushort       readyCnt;  /* Counter for readyCnd broadcast */
-    /* The parity is used for the loop-condition for readyCnd. Members of the
-     * copy_info struct may be reused, so don't provide a safe loop-condition.
-     * The parity toggles every loop and since it is not changed until all threads
-     * are waiting on the next loop, it is a safe loop condition. */
-    os_boolean      parity;
-    os_ushort       terminate; /* Flag used to signal blocked threads to stop. */
+    os_cond         readyCnd;  /* Condition for notifying the application thread that helpers are done */
+    os_boolean      open;      /* Helpers may join the copy that is in progress */
+    os_ushort       active;    /* Number of helpers working on the copy that is in progress */
+    os_ushort       joined;    /* Number of helpers that joined the copy that is in progress */
+    os_uint32       pending;   /* Number of helper tasks handed to the shared pool that did not finish yet */
+    os_ushort       terminate; /* Flag used to signal pending helpers to return immediately. */
 };
 
 saj_returnCode
@@ -60,7 +70,7 @@ saj_dataReaderParDemStack_copy_out(
     saj_readerContext *ctx);
 
 int
-saj_fooDataReaderParallelDemarshallingMain(
+saj_fooDataReaderParallelDemarshallingHelp(
     JNIEnv * env,
     sajParDemContext pdc);
 
@@ -70,4 +80,13 @@ saj_fooDataReaderSetParallelReadThreadCount(
     jobject jdatareader,
     int value);
 
+/* Number of values delivered by saj_fooDataReaderGetParallelDemarshallingStatistics */
+#define SAJ_PARDEM_STATISTICS_COUNT (9)
+
+saj_returnCode
+saj_fooDataReaderGetParallelDemarshallingStatistics(
+    sajParDemContext pdc,
+    jlong *values,
+    int length);
+
 #endif
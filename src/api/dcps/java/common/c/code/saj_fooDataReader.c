@@ -31,6 +31,9 @@
 
 #include "os_heap.h"
 #include "saj__report.h"
+#include "sd_cdr.h"
+
+#include <string.h>
 
 /* Defines the package of the java implementation classes */
 #define SAJ_PACKAGENAME "org/opensplice/dds/dcps/"
@@ -109,6 +112,18 @@ fillReaderContext(
         env, dataReader, dataReaderImplClassParallelDemarshallingContext);
     assert(GET_CACHED(dataReaderImplClassCDRCopy_fid));
     ctx->CDRCopy = GET_LONG_FIELD(env, dataReader, dataReaderImplClassCDRCopy);
+    ctx->packedInfo = FALSE;
+    ctx->infoColumns = NULL;
+    if (GET_CACHED(dataReaderImplClassInfoColumnsHolder_fid) != NULL) {
+        jobject columnsHolder = GET_OBJECT_FIELD(env, dataReader, dataReaderImplClassInfoColumnsHolder);
+        if (columnsHolder != NULL) {
+            if ((*env)->IsSameObject(env, columnsHolder, info_seq)) {
+                ctx->packedInfo = TRUE;
+                ctx->infoColumns = GET_OBJECT_FIELD(env, dataReader, dataReaderImplClassInfoColumns);
+            }
+            DELETE_LOCAL_REF(env, columnsHolder);
+        }
+    }
     ctx->jreader = dataReader;
     ctx->uReader = uReader;
 
@@ -183,6 +198,8 @@ SAJ_FUNCTION(jniRead)(
 
     OS_UNUSED_ARG(object);
 
+    SAJ_REPORT_STACK();
+
     retcode = fillReaderContext(env, DataReader, uReader,
                      (saj_copyCache)(PA_ADDRCAST)copyCache,
                      received_data,
@@ -205,7 +222,8 @@ SAJ_FUNCTION(jniRead)(
     }
     emptyReaderContext(&ctx);
 
-    return (jint)retcode;
+    return (jint)SAJ_REPORT_STACK_CLOSE(retcode,
+        (retcode != SAJ_RETCODE_OK) && (retcode != SAJ_RETCODE_NO_DATA));
 }
 
 JNIEXPORT jint JNICALL
@@ -283,6 +301,8 @@ SAJ_FUNCTION(jniTake)(
 
     OS_UNUSED_ARG(object);
 
+    SAJ_REPORT_STACK();
+
     retcode = fillReaderContext(env, DataReader, uReader,
         (saj_copyCache)(PA_ADDRCAST)copyCache,
         received_data,
@@ -306,7 +326,8 @@ SAJ_FUNCTION(jniTake)(
     }
     emptyReaderContext(&ctx);
 
-    return (jint)retcode;
+    return (jint)SAJ_REPORT_STACK_CLOSE(retcode,
+        (retcode != SAJ_RETCODE_OK) && (retcode != SAJ_RETCODE_NO_DATA));
 }
 
 JNIEXPORT jint JNICALL
@@ -876,3 +897,353 @@ SAJ_FUNCTION(jniLookupInstance)(
     }
     return (jlong)uHandle;
 }
+
+/* The direct buffers of a CdrSampleSeq are allocated in multiples of this
+ * size, so that samples of slightly varying size keep fitting the buffer
+ * that was allocated for a previous sample at the same position.
+ */
+#define SAJ_CDR_BUFFER_GRANULARITY (256U)
+
+struct cdrCopyArg {
+    JNIEnv *env;
+    struct sd_cdrInfo *ci;
+    jobjectArray value;
+    jintArray length;
+    jobjectArray info;
+    os_int32 i;
+    saj_returnCode retcode;
+};
+
+static void
+cdrFlushCopy(
+    void *sample,
+    cmn_sampleInfo sampleInfo,
+    void *arg)
+{
+    struct cdrCopyArg *a = (struct cdrCopyArg *)arg;
+    JNIEnv *env = a->env;
+    struct sd_cdrSerdata *serdata = NULL;
+    const void *blob;
+    os_uint32 size;
+    jobject buffer;
+    jobject info_element;
+    void *address = NULL;
+    jlong capacity = 0;
+    jint newCapacity;
+    jint length;
+
+    if (a->retcode != SAJ_RETCODE_OK) {
+        return;
+    }
+    if ((serdata = sd_cdrSerializeBE(a->ci, sample)) == NULL) {
+        a->retcode = SAJ_RETCODE_ERROR;
+        SAJ_REPORT(a->retcode, "CDR serialization of sample failed.");
+        return;
+    }
+    size = sd_cdrSerdataBlob(&blob, serdata);
+
+    buffer = GET_OBJECTARRAY_ELEMENT(env, a->value, a->i);
+    if (buffer != NULL) {
+        address = (*env)->GetDirectBufferAddress(env, buffer);
+        capacity = (*env)->GetDirectBufferCapacity(env, buffer);
+    }
+    if ((address == NULL) || (capacity < (jlong)size)) {
+        /* Replace the buffer at this position by a larger one. The buffer
+         * is allocated by the VM, so a previous buffer that is still
+         * referenced by the application stays valid until it is garbage
+         * collected.
+         */
+        DELETE_LOCAL_REF(env, buffer);
+        newCapacity = (jint)(((size / SAJ_CDR_BUFFER_GRANULARITY) + 1U) * SAJ_CDR_BUFFER_GRANULARITY);
+        buffer = CALL_STATIC_OBJECT_METHOD(env, GET_CACHED(byteBuffer_class),
+                GET_CACHED(byteBuffer_allocateDirect_mid), newCapacity);
+        address = (*env)->GetDirectBufferAddress(env, buffer);
+        if (address == NULL) {
+            DELETE_LOCAL_REF(env, buffer);
+            sd_cdrSerdataFree(serdata);
+            a->retcode = SAJ_RETCODE_OUT_OF_RESOURCES;
+            SAJ_REPORT(a->retcode, "Direct buffer access not supported by the VM.");
+            return;
+        }
+        SET_OBJECTARRAY_ELEMENT(env, a->value, a->i, buffer);
+    }
+    memcpy(address, blob, size);
+    sd_cdrSerdataFree(serdata);
+    serdata = NULL;
+    DELETE_LOCAL_REF(env, buffer);
+
+    length = (jint)size;
+    (*env)->SetIntArrayRegion(env, a->length, a->i, 1, &length);
+    CHECK_EXCEPTION(env);
+
+    info_element = GET_OBJECTARRAY_ELEMENT(env, a->info, a->i);
+    a->retcode = saj_sampleInfoCopyOut(env, sampleInfo, &info_element);
+    SET_OBJECTARRAY_ELEMENT(env, a->info, a->i, info_element);
+    DELETE_LOCAL_REF(env, info_element);
+    a->i++;
+
+    return;
+CATCH_EXCEPTION:
+    if (serdata != NULL) {
+        sd_cdrSerdataFree(serdata);
+    }
+    a->retcode = SAJ_RETCODE_ERROR;
+}
+
+static saj_returnCode
+saj_cdrSampleSeqReserve(
+    JNIEnv *env,
+    jobject samples,
+    os_uint32 len,
+    struct cdrCopyArg *arg)
+{
+    jobjectArray valueNew;
+    jintArray lengthNew;
+    jobjectArray infoNew;
+    jobject e;
+    jsize capacity;
+    jsize lengthCapacity;
+    jsize infoCapacity;
+    jsize i;
+
+    arg->value = GET_OBJECT_FIELD(env, samples, cdrSampleSeq_value);
+    arg->length = GET_OBJECT_FIELD(env, samples, cdrSampleSeq_length);
+    arg->info = GET_OBJECT_FIELD(env, samples, cdrSampleSeq_info);
+    if ((arg->value == NULL) || (arg->length == NULL) || (arg->info == NULL)) {
+        SAJ_REPORT(SAJ_RETCODE_BAD_PARAMETER, "CdrSampleSeq contains 'null' arrays.");
+        return SAJ_RETCODE_BAD_PARAMETER;
+    }
+    capacity = GET_ARRAY_LENGTH(env, arg->value);
+    lengthCapacity = GET_ARRAY_LENGTH(env, arg->length);
+    infoCapacity = GET_ARRAY_LENGTH(env, arg->info);
+    if ((lengthCapacity != capacity) || (infoCapacity != capacity)) {
+        SAJ_REPORT(SAJ_RETCODE_PRECONDITION_NOT_MET, "lengths of the CdrSampleSeq arrays are not equal.");
+        return SAJ_RETCODE_PRECONDITION_NOT_MET;
+    }
+    if ((jsize)len > capacity) {
+        /* Grow the arrays, keeping the buffers and SampleInfo objects that
+         * were allocated before. */
+        valueNew = NEW_OBJECTARRAY(env, (jsize)len, GET_CACHED(byteBuffer_class), NULL);
+        lengthNew = NEW_INTARRAY(env, (jsize)len);
+        infoNew = NEW_OBJECTARRAY(env, (jsize)len, GET_CACHED(sampleInfo_class), NULL);
+        for (i = 0; i < capacity; i++) {
+            e = GET_OBJECTARRAY_ELEMENT(env, arg->value, i);
+            SET_OBJECTARRAY_ELEMENT(env, valueNew, i, e);
+            DELETE_LOCAL_REF(env, e);
+            e = GET_OBJECTARRAY_ELEMENT(env, arg->info, i);
+            SET_OBJECTARRAY_ELEMENT(env, infoNew, i, e);
+            DELETE_LOCAL_REF(env, e);
+        }
+        SET_OBJECT_FIELD(env, samples, cdrSampleSeq_value, valueNew);
+        SET_OBJECT_FIELD(env, samples, cdrSampleSeq_length, lengthNew);
+        SET_OBJECT_FIELD(env, samples, cdrSampleSeq_info, infoNew);
+        DELETE_LOCAL_REF(env, arg->value);
+        DELETE_LOCAL_REF(env, arg->length);
+        DELETE_LOCAL_REF(env, arg->info);
+        arg->value = valueNew;
+        arg->length = lengthNew;
+        arg->info = infoNew;
+    }
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+static jint
+saj_fooDataReaderCdr(
+    JNIEnv *env,
+    jlong uReader,
+    jlong uQuery,
+    jlong copyCache,
+    jobject samples,
+    jint max_samples,
+    jlong a_handle,
+    jint sample_states,
+    jint view_states,
+    jint instance_states,
+    os_boolean nextInstance,
+    os_boolean take)
+{
+    u_sampleMask mask;
+    u_result uResult;
+    u_entity uEntity = NULL;
+    cmn_samplesList samplesList = NULL;
+    struct cdrCopyArg arg;
+    saj_returnCode retcode = SAJ_RETCODE_OK;
+    os_uint32 len;
+    int r;
+
+    memset(&arg, 0, sizeof(arg));
+    arg.env = env;
+    arg.ci = saj_copyCacheCdrInfo((saj_copyCache)(PA_ADDRCAST)copyCache);
+    arg.retcode = SAJ_RETCODE_OK;
+
+    if (uQuery == 0) {
+        retcode = DDS_SAMPLE_MASK_CHECK(sample_states, view_states, instance_states);
+        if (retcode == SAJ_RETCODE_BAD_PARAMETER) {
+            SAJ_REPORT(retcode, "Invalid sample mask(0x%x),view mask(0x%x) or instance mask(0x%x)", sample_states, view_states, instance_states);
+        }
+    }
+    if ((retcode == SAJ_RETCODE_OK) && (max_samples == 0)) {
+        /* Optimization to avoid going into the kernel. */
+        retcode = SAJ_RETCODE_NO_DATA;
+    }
+    if (retcode == SAJ_RETCODE_OK) {
+        samplesList = cmn_samplesList_new(FALSE);
+        if (samplesList == NULL) {
+            retcode = SAJ_RETCODE_ERROR;
+        }
+    }
+    if (retcode == SAJ_RETCODE_OK) {
+        cmn_samplesList_reset(samplesList, (os_int32)max_samples);
+        if (uQuery != 0) {
+            uEntity = SAJ_VOIDP(uQuery);
+            if (nextInstance) {
+                if (take) {
+                    uResult = u_queryTakeNextInstance(SAJ_VOIDP(uQuery), a_handle, cmn_reader_nextInstanceAction, samplesList, OS_DURATION_ZERO);
+                } else {
+                    uResult = u_queryReadNextInstance(SAJ_VOIDP(uQuery), a_handle, cmn_reader_nextInstanceAction, samplesList, OS_DURATION_ZERO);
+                }
+            } else if (take) {
+                uResult = u_queryTake(SAJ_VOIDP(uQuery), cmn_reader_action, samplesList, OS_DURATION_ZERO);
+            } else {
+                uResult = u_queryRead(SAJ_VOIDP(uQuery), cmn_reader_action, samplesList, OS_DURATION_ZERO);
+            }
+        } else {
+            uEntity = SAJ_VOIDP(uReader);
+            mask = DDS_SAMPLE_MASK(sample_states, view_states, instance_states);
+            if (nextInstance) {
+                if (take) {
+                    uResult = u_dataReaderTakeNextInstance(SAJ_VOIDP(uReader), a_handle, mask, cmn_reader_nextInstanceAction, samplesList, OS_DURATION_ZERO);
+                } else {
+                    uResult = u_dataReaderReadNextInstance(SAJ_VOIDP(uReader), a_handle, mask, cmn_reader_nextInstanceAction, samplesList, OS_DURATION_ZERO);
+                }
+            } else if (a_handle != U_INSTANCEHANDLE_NIL) {
+                if (take) {
+                    uResult = u_dataReaderTakeInstance(SAJ_VOIDP(uReader), a_handle, mask, cmn_reader_action, samplesList, OS_DURATION_ZERO);
+                } else {
+                    uResult = u_dataReaderReadInstance(SAJ_VOIDP(uReader), a_handle, mask, cmn_reader_action, samplesList, OS_DURATION_ZERO);
+                }
+            } else {
+                if (take) {
+                    uResult = u_dataReaderTake(SAJ_VOIDP(uReader), mask, cmn_reader_action, samplesList, OS_DURATION_ZERO);
+                } else {
+                    uResult = u_dataReaderRead(SAJ_VOIDP(uReader), mask, cmn_reader_action, samplesList, OS_DURATION_ZERO);
+                }
+            }
+        }
+        retcode = saj_retcode_from_user_result(uResult);
+    }
+    if (retcode == SAJ_RETCODE_OK) {
+        len = cmn_samplesList_length(samplesList);
+        if (len == 0) {
+            retcode = SAJ_RETCODE_NO_DATA;
+        } else {
+            retcode = saj_cdrSampleSeqReserve(env, samples, len, &arg);
+        }
+    }
+    if (retcode == SAJ_RETCODE_OK) {
+        r = u_readerProtectCopyOutEnter(uEntity);
+        if (r == U_RESULT_OK) {
+            r = cmn_samplesList_flush(samplesList, cdrFlushCopy, &arg);
+            u_readerProtectCopyOutExit(uEntity);
+
+            if (r == 0) {
+                retcode = SAJ_RETCODE_NO_DATA;
+            } else if (r < 0) {
+                retcode = SAJ_RETCODE_ALREADY_DELETED;
+            } else {
+                retcode = arg.retcode;
+            }
+        } else {
+            retcode = saj_retcode_from_user_result(r);
+        }
+    }
+    if (samplesList != NULL) {
+        cmn_samplesList_free(samplesList);
+    }
+    if (arg.value != NULL) {
+        DELETE_LOCAL_REF(env, arg.value);
+        DELETE_LOCAL_REF(env, arg.length);
+        DELETE_LOCAL_REF(env, arg.info);
+    }
+    SET_INT_FIELD(env, samples, cdrSampleSeq_count, (retcode == SAJ_RETCODE_OK) ? arg.i : 0);
+
+    return (jint)retcode;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+/*
+    public native static int jniReadCdr (
+        Object DataReader,
+        long uReader,
+        long uQuery,
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        int sample_states,
+        int view_states,
+        int instance_states);
+*/
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniReadCdr)(
+    JNIEnv *env,
+    jclass object,
+    jobject DataReader,
+    jlong uReader,
+    jlong uQuery,
+    jlong copyCache,
+    jobject samples,
+    jint max_samples,
+    jlong a_handle,
+    jboolean next_instance,
+    jint sample_states,
+    jint view_states,
+    jint instance_states)
+{
+    OS_UNUSED_ARG(object);
+    OS_UNUSED_ARG(DataReader);
+
+    return saj_fooDataReaderCdr(env, uReader, uQuery, copyCache, samples,
+            max_samples, a_handle, sample_states, view_states, instance_states,
+            (next_instance ? OS_TRUE : OS_FALSE), OS_FALSE);
+}
+
+/*
+    public native static int jniTakeCdr (
+        Object DataReader,
+        long uReader,
+        long uQuery,
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        int sample_states,
+        int view_states,
+        int instance_states);
+*/
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniTakeCdr)(
+    JNIEnv *env,
+    jclass object,
+    jobject DataReader,
+    jlong uReader,
+    jlong uQuery,
+    jlong copyCache,
+    jobject samples,
+    jint max_samples,
+    jlong a_handle,
+    jboolean next_instance,
+    jint sample_states,
+    jint view_states,
+    jint instance_states)
+{
+    OS_UNUSED_ARG(object);
+    OS_UNUSED_ARG(DataReader);
+
+    return saj_fooDataReaderCdr(env, uReader, uQuery, copyCache, samples,
+            max_samples, a_handle, sample_states, view_states, instance_states,
+            (next_instance ? OS_TRUE : OS_FALSE), OS_TRUE);
+}
@@ -110,6 +110,8 @@ fillReaderContext(
 
     ctx->max_samples = max_samples;
     ctx->CDRCopy = FALSE;
+    ctx->packedInfo = FALSE;
+    ctx->infoColumns = NULL;
     /* get pardemCtx from parent reader */
     dataReader = GET_OBJECT_FIELD(env, view, dataReaderViewImplClassReader);
     if (dataReader != NULL) {
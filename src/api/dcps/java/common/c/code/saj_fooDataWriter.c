@@ -26,6 +26,7 @@
 #include "saj_utilities.h"
 #include "u_writer.h"
 #include "saj__report.h"
+#include "sd_cdr.h"
 
 /* Defines the package of the java implementation classes */
 #define SAJ_PACKAGENAME "org/opensplice/dds/dcps/"
@@ -60,6 +61,42 @@ copyAction(
     return result;
 }
 
+struct cdrSrcInfo {
+    const struct sd_cdrInfo *ci;
+    const void *blob;
+    os_uint32 size;
+};
+
+/* Deserializes big-endian CDR straight into the kernel message, so
+ * serialized payloads are written without materializing Java objects.
+ */
+static v_copyin_result
+copyCdrAction(
+    c_type type,
+    const void *data,
+    void *to)
+{
+    v_copyin_result result = V_COPYIN_RESULT_OK;
+    const struct cdrSrcInfo *src = (const struct cdrSrcInfo *)data;
+
+    OS_UNUSED_ARG(type);
+
+    if (src != NULL) {
+        switch (sd_cdrDeserializeRawBE(to, src->ci, src->size, src->blob)) {
+        case SD_CDR_OK:
+            result = V_COPYIN_RESULT_OK;
+            break;
+        case SD_CDR_OUT_OF_MEMORY:
+            result = V_COPYIN_RESULT_OUT_OF_MEMORY;
+            break;
+        default:
+            result = V_COPYIN_RESULT_INVALID;
+            break;
+        }
+    }
+    return result;
+}
+
 static u_bool
 copyKeyAction(
     void *data,
@@ -194,6 +231,8 @@ SAJ_FUNCTION(jniWrite) (
     assert (copyCache != 0);
     OS_UNUSED_ARG(object);
 
+    SAJ_REPORT_STACK();
+
     if (instance_data != NULL) {
         srcInfo.javaEnv = env;
         srcInfo.javaObject = instance_data;
@@ -209,6 +248,164 @@ SAJ_FUNCTION(jniWrite) (
         SAJ_REPORT(retcode, "instance_data 'null' is invalid.");
     }
 
+    return (jint)SAJ_REPORT_STACK_CLOSE(retcode,
+        (retcode != SAJ_RETCODE_OK) && (retcode != SAJ_RETCODE_TIMEOUT));
+}
+
+/*
+ * Class:     org_opensplice_dds_dcps_FooDataWriterImpl
+ * Method:    jniWriteBatch
+ */
+/*
+    public native static int jniWriteBatch (
+        long uWriter,
+        long copyCache,
+        Object[] instance_data,
+        int length,
+        DDS.Time_t source_timestamp,
+        int[] results);
+*/
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniWriteBatch) (
+    JNIEnv *env,
+    jclass object,
+    jlong uWriter,
+    jlong copyCache,
+    jobjectArray instance_data,
+    jint length,
+    jobject source_timestamp,
+    jintArray results)
+{
+    u_result uResult;
+    saj_returnCode retcode;
+    saj_returnCode sampleRetcode = SAJ_RETCODE_OK;
+    os_timeW timestamp;
+    C_STRUCT(saj_srcInfo) srcInfo;
+    jint *codes = NULL;
+    jint i;
+
+    assert (copyCache != 0);
+    OS_UNUSED_ARG(object);
+
+    retcode = saj_timeCopyIn (env, source_timestamp, &timestamp);
+    if ((retcode == SAJ_RETCODE_OK) && (length > 0)) {
+        codes = os_malloc((os_size_t)length * sizeof(*codes));
+        srcInfo.javaEnv = env;
+        srcInfo.copyProgram = (saj_copyCache)(PA_ADDRCAST)copyCache;
+        for (i = 0; i < length; i++) {
+            srcInfo.javaObject = GET_OBJECTARRAY_ELEMENT(env, instance_data, i);
+            if (srcInfo.javaObject != NULL) {
+                uResult = u_writerWrite(SAJ_VOIDP(uWriter), copyAction, &srcInfo,
+                                        timestamp, U_INSTANCEHANDLE_NIL);
+                sampleRetcode = saj_retcode_from_user_result(uResult);
+                DELETE_LOCAL_REF(env, srcInfo.javaObject);
+            } else {
+                sampleRetcode = SAJ_RETCODE_BAD_PARAMETER;
+                SAJ_REPORT(sampleRetcode, "instance_data 'null' is invalid.");
+            }
+            codes[i] = (jint)sampleRetcode;
+            if ((sampleRetcode == SAJ_RETCODE_TIMEOUT) ||
+                (sampleRetcode == SAJ_RETCODE_ALREADY_DELETED)) {
+                /* The remaining samples would fail in the same way, possibly
+                 * after blocking for the full max_blocking_time each, so they
+                 * are not written and get the same result. */
+                retcode = sampleRetcode;
+                for (i++; i < length; i++) {
+                    codes[i] = (jint)sampleRetcode;
+                }
+            } else if ((retcode == SAJ_RETCODE_OK) && (sampleRetcode != SAJ_RETCODE_OK)) {
+                retcode = sampleRetcode;
+            }
+        }
+        (*env)->SetIntArrayRegion(env, results, 0, length, codes);
+        CHECK_EXCEPTION(env);
+        os_free(codes);
+    }
+
+    return (jint)retcode;
+
+CATCH_EXCEPTION:
+    os_free(codes);
+    return SAJ_RETCODE_ERROR;
+}
+
+/*
+ * Class:     org_opensplice_dds_dcps_FooDataWriterImpl
+ * Method:    jniWriteCdr
+ */
+/*
+    public native static int jniWriteCdr (
+        long uWriter,
+        long copyCache,
+        java.nio.ByteBuffer cdr,
+        int offset,
+        int length,
+        long handle,
+        DDS.Time_t source_timestamp);
+*/
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniWriteCdr) (
+    JNIEnv *env,
+    jclass object,
+    jlong uWriter,
+    jlong copyCache,
+    jobject cdr,
+    jint offset,
+    jint length,
+    jlong handle,
+    jobject source_timestamp)
+{
+    u_result uResult;
+    saj_returnCode retcode = SAJ_RETCODE_OK;
+    os_timeW timestamp;
+    struct cdrSrcInfo srcInfo;
+    char *address;
+
+    assert (copyCache != 0);
+    OS_UNUSED_ARG(object);
+
+    address = (*env)->GetDirectBufferAddress(env, cdr);
+    if (address != NULL) {
+        srcInfo.ci = saj_copyCacheCdrInfo((saj_copyCache)(PA_ADDRCAST)copyCache);
+        srcInfo.blob = address + offset;
+        srcInfo.size = (os_uint32)length;
+        retcode = saj_timeCopyIn (env, source_timestamp, &timestamp);
+        if (retcode == SAJ_RETCODE_OK) {
+            uResult = u_writerWrite(SAJ_VOIDP(uWriter), copyCdrAction, &srcInfo,
+                                    timestamp, (u_instanceHandle)handle);
+            retcode = saj_retcode_from_user_result(uResult);
+        }
+    } else {
+        retcode = SAJ_RETCODE_BAD_PARAMETER;
+        SAJ_REPORT(retcode, "cdr is not a direct buffer.");
+    }
+
+    return (jint)retcode;
+}
+
+/*
+ * Class:     org_opensplice_dds_dcps_FooDataWriterImpl
+ * Method:    jniPrepareCdr
+ */
+/*
+    public native static int jniPrepareCdr (
+        long copyCache);
+*/
+JNIEXPORT jint JNICALL
+SAJ_FUNCTION(jniPrepareCdr) (
+    JNIEnv *env,
+    jclass object,
+    jlong copyCache)
+{
+    saj_returnCode retcode = SAJ_RETCODE_OK;
+
+    OS_UNUSED_ARG(env);
+    OS_UNUSED_ARG(object);
+
+    if (sd_cdrCompile(saj_copyCacheCdrInfo((saj_copyCache)(PA_ADDRCAST)copyCache)) < 0) {
+        retcode = SAJ_RETCODE_UNSUPPORTED;
+        SAJ_REPORT(retcode, "Type cannot be represented as CDR.");
+    }
     return (jint)retcode;
 }
 
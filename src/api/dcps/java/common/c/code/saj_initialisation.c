@@ -500,6 +500,14 @@ saj_returnCode saj_InitializeSampleInfoHolder(JNIEnv *env);
  */
 saj_returnCode saj_InitializeSampleInfoSeqHolder(JNIEnv *env);
 
+/**
+ * @brief Initializes the CdrSampleSeq by caching the field id's of its
+ * attributes and the class and allocation method of its buffers.
+ * @param env The JNI environment.
+ * @return SAJ_RETCODE_ERROR in case the VM has thrown a error.
+ */
+saj_returnCode saj_InitializeCdrSampleSeq(JNIEnv *env);
+
 /**
  * @brief Initializes the Time_tHolder by caching the
  * field id of the attribute value.
@@ -566,6 +574,15 @@ saj_returnCode saj_InitializeSubscriptionMatchStatus(JNIEnv *env);
 
 saj_returnCode saj_InitializeSampleLostStatus(JNIEnv *env);
 
+/**
+ * Caches the field id's of the DataReader status classes, which are used to
+ * copy statuses into existing objects. Must be called after the status
+ * classes have been cached.
+ * @param env The JNI environment.
+ * @return SAJ_RETCODE_ERROR in case the VM has thrown a error.
+ */
+saj_returnCode saj_InitializeStatusFields(JNIEnv *env);
+
 saj_returnCode saj_InitializeTypeSupport(JNIEnv *env);
 
 saj_returnCode saj_InitializeDataReaderListener(JNIEnv* env);
@@ -654,21 +671,23 @@ saj_InitializeDataReaderImpl(
 
     SET_CACHED(dataReaderImpl_class, grCls);
     SET_CACHED(dataReaderImplClassParallelDemarshallingContext_fid, GET_FIELD_ID(env, grCls, "parallelDemarshallingContext", "J"));
-    SET_CACHED(dataReaderImplClassStartWorkers_mid, GET_METHOD_ID (env, grCls, "startWorkers", "(I)I"));
-    SET_CACHED(dataReaderImplClassJoinWorkers_mid, GET_METHOD_ID (env, grCls, "joinWorkers", "()V"));
+    SET_CACHED(dataReaderImplClassStartHelpers_mid, GET_STATIC_METHOD_ID (env, grCls, "startHelpers", "(JI)I"));
     SET_CACHED(dataReaderImplClassCDRCopy_fid, GET_FIELD_ID(env, grCls, "CDRCopy", "J"));
     SET_CACHED(dataReaderImplClassCDRCopySetupHelper_mid, GET_METHOD_ID(env, grCls, "CDRCopySetupHelper", "()Z"));
     SET_CACHED(dataReaderImplClassCDRDeserializeByteBuffer_mid, GET_METHOD_ID(env, grCls, "CDRDeserializeByteBuffer", "(Ljava/nio/ByteBuffer;)Ljava/lang/Object;"));
+    SET_CACHED(dataReaderImplClassInfoColumnsHolder_fid, GET_FIELD_ID(env, grCls, "infoColumnsHolder", "LDDS/SampleInfoSeqHolder;"));
+    SET_CACHED(dataReaderImplClassInfoColumns_fid, GET_FIELD_ID(env, grCls, "infoColumns", "[J"));
 
     return SAJ_RETCODE_OK;
 
 CATCH_EXCEPTION:
     SET_CACHED(dataReaderImplClassParallelDemarshallingContext_fid, NULL);
-    SET_CACHED(dataReaderImplClassStartWorkers_mid, NULL);
-    SET_CACHED(dataReaderImplClassJoinWorkers_mid, NULL);
+    SET_CACHED(dataReaderImplClassStartHelpers_mid, NULL);
     SET_CACHED(dataReaderImplClassCDRCopy_fid, NULL);
     SET_CACHED(dataReaderImplClassCDRCopySetupHelper_mid, NULL);
     SET_CACHED(dataReaderImplClassCDRDeserializeByteBuffer_mid, NULL);
+    SET_CACHED(dataReaderImplClassInfoColumnsHolder_fid, NULL);
+    SET_CACHED(dataReaderImplClassInfoColumns_fid, NULL);
 
     return SAJ_RETCODE_ERROR;
 }
@@ -1027,6 +1046,10 @@ saj_returnCode saj_InitializeSAJ(JNIEnv *env)
     {
         goto initFails; /* VM has thrown an exception */
     }
+    if (saj_InitializeCdrSampleSeq(env) != SAJ_RETCODE_OK)
+    {
+        goto initFails; /* VM has thrown an exception */
+    }
     if (saj_InitializeTime_tHolder(env) != SAJ_RETCODE_OK)
     {
         goto initFails; /* VM has thrown an exception */
@@ -1096,6 +1119,9 @@ saj_returnCode saj_InitializeSAJ(JNIEnv *env)
     if(saj_InitializeSampleLostStatus(env) != SAJ_RETCODE_OK){
         goto initFails; /* VM has thrown an exception */
     }
+    if(saj_InitializeStatusFields(env) != SAJ_RETCODE_OK){
+        goto initFails; /* VM has thrown an exception */
+    }
     if(saj_InitializeTypeSupport(env) != SAJ_RETCODE_OK){
         goto initFails;
     }
@@ -3893,6 +3919,36 @@ saj_returnCode saj_InitializeSampleInfoSeqHolder(JNIEnv *env)
     CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
 }
 
+saj_returnCode saj_InitializeCdrSampleSeq(JNIEnv *env)
+{
+    jclass tempClass;
+    jclass grClass;
+
+    tempClass = FIND_CLASS(env, "java/nio/ByteBuffer");
+    grClass = NEW_GLOBAL_REF(env, tempClass);
+    SET_CACHED(byteBuffer_class, grClass);
+    DELETE_LOCAL_REF(env, tempClass);
+    if (GET_CACHED(byteBuffer_class) == NULL)
+    {
+        return SAJ_RETCODE_ERROR; /* VM has thrown an exception */
+    }
+    SET_CACHED(byteBuffer_allocateDirect_mid, GET_STATIC_METHOD_ID(env, GET_CACHED(byteBuffer_class), "allocateDirect", "(I)Ljava/nio/ByteBuffer;"));
+
+    tempClass = FIND_CLASS(env, "org/opensplice/dds/dcps/CdrSampleSeq");
+    SET_CACHED(cdrSampleSeq_value_fid, GET_FIELD_ID( env, tempClass, "value", "[Ljava/nio/ByteBuffer;"));
+    SET_CACHED(cdrSampleSeq_length_fid, GET_FIELD_ID( env, tempClass, "length", "[I"));
+    SET_CACHED(cdrSampleSeq_info_fid, GET_FIELD_ID( env, tempClass, "info", "[LDDS/SampleInfo;"));
+    SET_CACHED(cdrSampleSeq_count_fid, GET_FIELD_ID( env, tempClass, "count", "I"));
+    if (GET_CACHED(cdrSampleSeq_count_fid) == NULL)
+    {
+        return SAJ_RETCODE_ERROR; /* VM has thrown an exception */
+    }
+
+    DELETE_LOCAL_REF(env, tempClass);
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
 saj_returnCode
 saj_InitializeDuration_t(
     JNIEnv *env)
@@ -4422,6 +4478,116 @@ saj_InitializeSampleLostStatus(
     CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
 }
 
+static saj_returnCode
+saj_InitializeFieldId(
+    JNIEnv *env,
+    jclass cls,
+    const char *name,
+    const char *signature,
+    jfieldID *fid)
+{
+    *fid = GET_FIELD_ID(env, cls, name, signature);
+
+    return (*fid == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_InitializeStatusFields(
+    JNIEnv *env)
+{
+    jclass cls;
+    saj_returnCode rc;
+
+    cls = GET_CACHED(qosPolicyCount_class);
+    rc = saj_InitializeFieldId(env, cls, "policy_id", "I", &GET_CACHED(qosPolicyCount_policyId_fid));
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "count", "I", &GET_CACHED(qosPolicyCount_count_fid));
+    }
+
+    cls = GET_CACHED(sampleRejectedStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count", "I", &GET_CACHED(sampleRejectedStatus_totalCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count_change", "I", &GET_CACHED(sampleRejectedStatus_totalCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_reason", "LDDS/SampleRejectedStatusKind;", &GET_CACHED(sampleRejectedStatus_lastReason_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_instance_handle", "J", &GET_CACHED(sampleRejectedStatus_lastInstanceHandle_fid));
+    }
+
+    cls = GET_CACHED(livelinessChangedStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "alive_count", "I", &GET_CACHED(livelinessChangedStatus_aliveCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "not_alive_count", "I", &GET_CACHED(livelinessChangedStatus_notAliveCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "alive_count_change", "I", &GET_CACHED(livelinessChangedStatus_aliveCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "not_alive_count_change", "I", &GET_CACHED(livelinessChangedStatus_notAliveCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_publication_handle", "J", &GET_CACHED(livelinessChangedStatus_lastPublicationHandle_fid));
+    }
+
+    cls = GET_CACHED(requestedDeadlineMissedStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count", "I", &GET_CACHED(requestedDeadlineMissedStatus_totalCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count_change", "I", &GET_CACHED(requestedDeadlineMissedStatus_totalCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_instance_handle", "J", &GET_CACHED(requestedDeadlineMissedStatus_lastInstanceHandle_fid));
+    }
+
+    cls = GET_CACHED(requestedIncompatibleQosStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count", "I", &GET_CACHED(requestedIncompatibleQosStatus_totalCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count_change", "I", &GET_CACHED(requestedIncompatibleQosStatus_totalCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_policy_id", "I", &GET_CACHED(requestedIncompatibleQosStatus_lastPolicyId_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "policies", "[LDDS/QosPolicyCount;", &GET_CACHED(requestedIncompatibleQosStatus_policies_fid));
+    }
+
+    cls = GET_CACHED(subscriptionMatchStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count", "I", &GET_CACHED(subscriptionMatchStatus_totalCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count_change", "I", &GET_CACHED(subscriptionMatchStatus_totalCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "current_count", "I", &GET_CACHED(subscriptionMatchStatus_currentCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "current_count_change", "I", &GET_CACHED(subscriptionMatchStatus_currentCountChange_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "last_publication_handle", "J", &GET_CACHED(subscriptionMatchStatus_lastPublicationHandle_fid));
+    }
+
+    cls = GET_CACHED(sampleLostStatus_class);
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count", "I", &GET_CACHED(sampleLostStatus_totalCount_fid));
+    }
+    if (rc == SAJ_RETCODE_OK) {
+        rc = saj_InitializeFieldId(env, cls, "total_count_change", "I", &GET_CACHED(sampleLostStatus_totalCountChange_fid));
+    }
+    return rc;
+}
+
 saj_returnCode
 saj_InitializeTypeSupport(
     JNIEnv* env)
@@ -31,6 +31,19 @@ saj_report_stack (
     os_report_stack_open (NULL,0,NULL,NULL);
 }
 
+os_int32
+saj_report_stack_close (
+    os_int32 result,
+    os_int32 flush)
+{
+    /* Only an outermost stack with reports that must be flushed is left
+       open, the caller flushes it when it finds SAJ_REPORT_FLUSH_PENDING. */
+    if (os_report_status((os_boolean)flush)) {
+        result |= SAJ_REPORT_FLUSH_PENDING;
+    }
+    return result;
+}
+
 void
 saj_report (
     const os_char *file,
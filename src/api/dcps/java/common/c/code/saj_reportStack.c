@@ -28,11 +28,11 @@
 
 /*
  * Class:     org_opensplice_dds_dcps_ReportStack
- * Method:    reportStack
+ * Method:    jniStart
  * Signature: ()V
  */
 JNIEXPORT void JNICALL
-SAJ_FUNCTION(start) (
+SAJ_FUNCTION(jniStart) (
     JNIEnv *env,
     jclass jReportStack)
 {
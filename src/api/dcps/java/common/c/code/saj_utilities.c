@@ -1064,6 +1064,64 @@ saj_sampleInfoCopyOut(
     CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
 }
 
+static void
+saj_timePack(
+    os_timeW src,
+    jlong *sec,
+    jlong *nsec)
+{
+    os_int64 s;
+    os_int32 ns;
+
+    if (OS_TIMEW_ISINVALID(src)) {
+        s = TIME_INVALID_SEC;
+        ns = TIME_INVALID_NSEC;
+    } else if (OS_TIMEW_ISINFINITE(src)) {
+        s = SAJ_TIME_INFINITE_SEC;
+        ns = SAJ_TIME_INFINITE_NSEC;
+    } else {
+        s = (os_int64)OS_TIMEW_GET_SECONDS(src);
+        ns = (os_int32)OS_TIMEW_GET_NANOSECONDS(src);
+    }
+    /* Store the seconds the way saj_timeCopyOut would store them in Time_t */
+    if (GET_CACHED(time_t_constructor_mid_time64) != NULL) {
+        *sec = (jlong)s;
+    } else {
+        *sec = (jlong)(jint)s;
+    }
+    *nsec = (jlong)ns;
+}
+
+void
+saj_sampleInfoPack(
+    cmn_sampleInfo src,
+    jlong *dst)
+{
+    assert (src);
+    assert (dst);
+
+    dst[SAJ_INFO_COLUMN_STATES] =
+        ((jlong)(src->sample_state & 0xff)) |
+        ((jlong)(src->view_state & 0xff) << 8) |
+        ((jlong)(src->instance_state & 0xff) << 16) |
+        ((jlong)(src->valid_data ? 1 : 0) << 24);
+    saj_timePack(src->source_timestamp,
+                 &dst[SAJ_INFO_COLUMN_SOURCE_SEC],
+                 &dst[SAJ_INFO_COLUMN_SOURCE_NANOSEC]);
+    saj_timePack(src->reception_timestamp,
+                 &dst[SAJ_INFO_COLUMN_RECEPTION_SEC],
+                 &dst[SAJ_INFO_COLUMN_RECEPTION_NANOSEC]);
+    dst[SAJ_INFO_COLUMN_INSTANCE_HANDLE] = (jlong)src->instance_handle;
+    dst[SAJ_INFO_COLUMN_PUBLICATION_HANDLE] = (jlong)src->publication_handle;
+    dst[SAJ_INFO_COLUMN_GENERATION_COUNTS] =
+        ((jlong)(os_uint32)src->disposed_generation_count) |
+        ((jlong)(os_uint32)src->no_writers_generation_count << 32);
+    dst[SAJ_INFO_COLUMN_RANKS] =
+        ((jlong)(os_uint32)src->sample_rank) |
+        ((jlong)(os_uint32)src->generation_rank << 32);
+    dst[SAJ_INFO_COLUMN_ABSOLUTE_GENERATION_RANK] = (jlong)src->absolute_generation_rank;
+}
+
 saj_returnCode
 saj_conditionSeqCopy(
     JNIEnv *env,
@@ -1453,27 +1511,35 @@ saj_offeredDeadlineMissedStatus_new(
     CATCH_EXCEPTION: return NULL;
 }
 
-jobject
-saj_requestedDeadlineMissedStatus_new(
-    JNIEnv  *env,
+static u_instanceHandle
+saj_deadlineMissedInstanceHandle(
     struct v_deadlineMissedInfo *info)
 {
     v_handleResult handleResult;
     v_public instance;
     u_instanceHandle handle;
-    jobject jobj;
 
     handle = U_INSTANCEHANDLE_NIL;
     handleResult = v_handleClaim(info->instanceHandle, (v_object *) &instance);
     if (handleResult == V_HANDLE_OK) {
         handle = u_instanceHandleNew(v_public(instance));
-        handleResult = v_handleRelease(info->instanceHandle);
+        (void)v_handleRelease(info->instanceHandle);
     }
+    return handle;
+}
+
+jobject
+saj_requestedDeadlineMissedStatus_new(
+    JNIEnv  *env,
+    struct v_deadlineMissedInfo *info)
+{
+    jobject jobj;
+
     jobj = NEW_OBJECT(env, GET_CACHED(requestedDeadlineMissedStatus_class),
                       GET_CACHED(requestedDeadlineMissedStatus_constructor_mid),
                       (jint)info->totalCount,
                       (jint)info->totalChanged,
-                      (jlong)handle);
+                      (jlong)saj_deadlineMissedInstanceHandle(info));
 
     return jobj;
     CATCH_EXCEPTION: return NULL;
@@ -1623,6 +1689,173 @@ saj_subscriptionMatchStatus_new(
     CATCH_EXCEPTION: return NULL;
 }
 
+saj_returnCode
+saj_sampleRejectedStatusCopyOut(
+    JNIEnv *env,
+    struct v_sampleRejectedInfo *info,
+    jobject *dst)
+{
+    jobject jkind;
+
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_sampleRejectedStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    /* The kinds are constants, so this does not create an object. */
+    jkind = CALL_STATIC_OBJECT_METHOD(env,
+                GET_CACHED(sampleRejectedStatusKind_class),
+                GET_CACHED(sampleRejectedStatusKind_fromInt_mid),
+                (jint)info->lastReason);
+    SET_OBJECT_FIELD(env, *dst, sampleRejectedStatus_lastReason, jkind);
+    DELETE_LOCAL_REF(env, jkind);
+    SET_INT_FIELD(env, *dst, sampleRejectedStatus_totalCount, (jint)info->totalCount);
+    SET_INT_FIELD(env, *dst, sampleRejectedStatus_totalCountChange, (jint)info->totalChanged);
+    SET_LONG_FIELD(env, *dst, sampleRejectedStatus_lastInstanceHandle,
+                   (jlong)u_instanceHandleFromGID(info->instanceHandle));
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_livelinessChangedStatusCopyOut(
+    JNIEnv *env,
+    struct v_livelinessChangedInfo *info,
+    jobject *dst)
+{
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_livelinessChangedStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    SET_INT_FIELD(env, *dst, livelinessChangedStatus_aliveCount, (jint)info->activeCount);
+    SET_INT_FIELD(env, *dst, livelinessChangedStatus_notAliveCount, (jint)info->inactiveCount);
+    SET_INT_FIELD(env, *dst, livelinessChangedStatus_aliveCountChange, (jint)info->activeChanged);
+    SET_INT_FIELD(env, *dst, livelinessChangedStatus_notAliveCountChange, (jint)info->inactiveChanged);
+    SET_LONG_FIELD(env, *dst, livelinessChangedStatus_lastPublicationHandle,
+                   (jlong)u_instanceHandleFromGID(info->instanceHandle));
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_requestedDeadlineMissedStatusCopyOut(
+    JNIEnv *env,
+    struct v_deadlineMissedInfo *info,
+    jobject *dst)
+{
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_requestedDeadlineMissedStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    SET_INT_FIELD(env, *dst, requestedDeadlineMissedStatus_totalCount, (jint)info->totalCount);
+    SET_INT_FIELD(env, *dst, requestedDeadlineMissedStatus_totalCountChange, (jint)info->totalChanged);
+    SET_LONG_FIELD(env, *dst, requestedDeadlineMissedStatus_lastInstanceHandle,
+                   (jlong)saj_deadlineMissedInstanceHandle(info));
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_requestedIncompatibleQosStatusCopyOut(
+    JNIEnv *env,
+    struct v_incompatibleQosInfo *info,
+    jobject *dst)
+{
+    jobjectArray jqosCount;
+    jobject jcount;
+    jsize i;
+
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_requestedIncompatibleQosStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    SET_INT_FIELD(env, *dst, requestedIncompatibleQosStatus_totalCount, (jint)info->totalCount);
+    SET_INT_FIELD(env, *dst, requestedIncompatibleQosStatus_totalCountChange, (jint)info->totalChanged);
+    SET_INT_FIELD(env, *dst, requestedIncompatibleQosStatus_lastPolicyId, (jint)info->lastPolicyId);
+
+    /* The policy counts are only created when the object does not have
+     * them yet, which is the case the first time it is filled. */
+    jqosCount = GET_OBJECT_FIELD(env, *dst, requestedIncompatibleQosStatus_policies);
+    if ((jqosCount != NULL) &&
+        ((*env)->GetArrayLength(env, jqosCount) != V_POLICY_ID_COUNT)) {
+        DELETE_LOCAL_REF(env, jqosCount);
+        jqosCount = NULL;
+    }
+    if (jqosCount == NULL) {
+        jqosCount = NEW_OBJECTARRAY(env, V_POLICY_ID_COUNT, GET_CACHED(qosPolicyCount_class), NULL);
+        SET_OBJECT_FIELD(env, *dst, requestedIncompatibleQosStatus_policies, jqosCount);
+    }
+    for (i = 0; i < V_POLICY_ID_COUNT; i++) {
+        jcount = GET_OBJECTARRAY_ELEMENT(env, jqosCount, i);
+        if (jcount == NULL) {
+            jcount = NEW_OBJECT(env, GET_CACHED(qosPolicyCount_class),
+                          GET_CACHED(qosPolicyCount_constructor_mid),
+                          (jint)i, (jint)info->policyCount[i]);
+            SET_OBJECTARRAY_ELEMENT(env, jqosCount, i, jcount);
+        } else {
+            SET_INT_FIELD(env, jcount, qosPolicyCount_policyId, (jint)i);
+            SET_INT_FIELD(env, jcount, qosPolicyCount_count, (jint)info->policyCount[i]);
+        }
+        DELETE_LOCAL_REF(env, jcount);
+    }
+    DELETE_LOCAL_REF(env, jqosCount);
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_subscriptionMatchStatusCopyOut(
+    JNIEnv *env,
+    struct v_topicMatchInfo *info,
+    jobject *dst)
+{
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_subscriptionMatchStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    SET_INT_FIELD(env, *dst, subscriptionMatchStatus_totalCount, (jint)info->totalCount);
+    SET_INT_FIELD(env, *dst, subscriptionMatchStatus_totalCountChange, (jint)info->totalChanged);
+    SET_INT_FIELD(env, *dst, subscriptionMatchStatus_currentCount, (jint)info->currentCount);
+    SET_INT_FIELD(env, *dst, subscriptionMatchStatus_currentCountChange, (jint)info->currentChanged);
+    SET_LONG_FIELD(env, *dst, subscriptionMatchStatus_lastPublicationHandle,
+                   (jlong)u_instanceHandleFromGID(info->instanceHandle));
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
+saj_returnCode
+saj_sampleLostStatusCopyOut(
+    JNIEnv *env,
+    struct v_sampleLostInfo *info,
+    jobject *dst)
+{
+    assert(dst);
+
+    if (*dst == NULL) {
+        *dst = saj_sampleLostStatus_new(env, info);
+        return (*dst == NULL) ? SAJ_RETCODE_ERROR : SAJ_RETCODE_OK;
+    }
+    SET_INT_FIELD(env, *dst, sampleLostStatus_totalCount, (jint)info->totalCount);
+    SET_INT_FIELD(env, *dst, sampleLostStatus_totalCountChange, (jint)info->totalChanged);
+
+    return SAJ_RETCODE_OK;
+    CATCH_EXCEPTION: return SAJ_RETCODE_ERROR;
+}
+
 #define DDS_INCONSISTENT_TOPIC_STATUS         (0x0001L << 0L)
 #define DDS_OFFERED_DEADLINE_MISSED_STATUS    (0x0001L << 1L)
 #define DDS_REQUESTED_DEADLINE_MISSED_STATUS  (0x0001L << 2L)
@@ -423,12 +423,15 @@ typedef struct jni_cache_t {
 
     /* field-/method-id's of the parallelDemarshallingContext field of the DR */
     jfieldID dataReaderImplClassParallelDemarshallingContext_fid;
-    jmethodID dataReaderImplClassStartWorkers_mid;
-    jmethodID dataReaderImplClassJoinWorkers_mid;
+    jmethodID dataReaderImplClassStartHelpers_mid;
     jfieldID dataReaderImplClassCDRCopy_fid;
     jmethodID dataReaderImplClassCDRCopySetupHelper_mid;
     jmethodID dataReaderImplClassCDRDeserializeByteBuffer_mid;
 
+    /* field-id's of the packed SampleInfo columns of the DR */
+    jfieldID dataReaderImplClassInfoColumnsHolder_fid;
+    jfieldID dataReaderImplClassInfoColumns_fid;
+
     /* field-/method-id's of the dataReaderView needed for parallelDemarshallingContext */
     jfieldID dataReaderViewImplClassReader_fid;
     jclass   dataReaderViewImpl_class;
@@ -639,6 +642,14 @@ typedef struct jni_cache_t {
     jfieldID stringHolder_value_fid;
     jfieldID returnCodeHolder_value_fid;
 
+    /* caching the class ID, method ID and field id's needed for raw CDR reads */
+    jclass    byteBuffer_class;
+    jmethodID byteBuffer_allocateDirect_mid;
+    jfieldID  cdrSampleSeq_value_fid;
+    jfieldID  cdrSampleSeq_length_fid;
+    jfieldID  cdrSampleSeq_info_fid;
+    jfieldID  cdrSampleSeq_count_fid;
+
     /* caching the class ID, constructor ID and field id's for the sampleInfo class */
     jclass    sampleInfo_class;
     jmethodID sampleInfo_constructor_mid;
@@ -705,6 +716,34 @@ typedef struct jni_cache_t {
     jclass    sampleLostStatus_class;
     jmethodID sampleLostStatus_constructor_mid;
 
+    /* caching the field id's of the DataReader status classes, so the
+     * statuses can be copied into existing objects */
+    jfieldID  qosPolicyCount_policyId_fid;
+    jfieldID  qosPolicyCount_count_fid;
+    jfieldID  sampleRejectedStatus_totalCount_fid;
+    jfieldID  sampleRejectedStatus_totalCountChange_fid;
+    jfieldID  sampleRejectedStatus_lastReason_fid;
+    jfieldID  sampleRejectedStatus_lastInstanceHandle_fid;
+    jfieldID  livelinessChangedStatus_aliveCount_fid;
+    jfieldID  livelinessChangedStatus_notAliveCount_fid;
+    jfieldID  livelinessChangedStatus_aliveCountChange_fid;
+    jfieldID  livelinessChangedStatus_notAliveCountChange_fid;
+    jfieldID  livelinessChangedStatus_lastPublicationHandle_fid;
+    jfieldID  requestedDeadlineMissedStatus_totalCount_fid;
+    jfieldID  requestedDeadlineMissedStatus_totalCountChange_fid;
+    jfieldID  requestedDeadlineMissedStatus_lastInstanceHandle_fid;
+    jfieldID  requestedIncompatibleQosStatus_totalCount_fid;
+    jfieldID  requestedIncompatibleQosStatus_totalCountChange_fid;
+    jfieldID  requestedIncompatibleQosStatus_lastPolicyId_fid;
+    jfieldID  requestedIncompatibleQosStatus_policies_fid;
+    jfieldID  subscriptionMatchStatus_totalCount_fid;
+    jfieldID  subscriptionMatchStatus_totalCountChange_fid;
+    jfieldID  subscriptionMatchStatus_currentCount_fid;
+    jfieldID  subscriptionMatchStatus_currentCountChange_fid;
+    jfieldID  subscriptionMatchStatus_lastPublicationHandle_fid;
+    jfieldID  sampleLostStatus_totalCount_fid;
+    jfieldID  sampleLostStatus_totalCountChange_fid;
+
     /* caching the field id of the attribute 'value' for the Status Holder classes */
     jfieldID inconsistentTopicStatusHolder_value_fid;
     jfieldID allDataDisposedTopicStatusHolder_value_fid;
@@ -1005,6 +1044,31 @@ saj_sampleInfoCopyOut(
     cmn_sampleInfo src,
     jobject *dst);
 
+/* Layout of the packed SampleInfo columns, see
+ * org.opensplice.dds.dcps.SampleInfoColumns. */
+#define SAJ_INFO_COLUMN_STATES                   (0)
+#define SAJ_INFO_COLUMN_SOURCE_SEC               (1)
+#define SAJ_INFO_COLUMN_SOURCE_NANOSEC           (2)
+#define SAJ_INFO_COLUMN_RECEPTION_SEC            (3)
+#define SAJ_INFO_COLUMN_RECEPTION_NANOSEC        (4)
+#define SAJ_INFO_COLUMN_INSTANCE_HANDLE          (5)
+#define SAJ_INFO_COLUMN_PUBLICATION_HANDLE       (6)
+#define SAJ_INFO_COLUMN_GENERATION_COUNTS        (7)
+#define SAJ_INFO_COLUMN_RANKS                    (8)
+#define SAJ_INFO_COLUMN_ABSOLUTE_GENERATION_RANK (9)
+#define SAJ_INFO_COLUMN_STRIDE                   (10)
+
+/**
+ * @brief Packs the values of a cmn_sampleInfo struct into one row of
+ * SampleInfo columns, without any JNI call.
+ * @param src The cmn_sampleInfo struct containing the sample info.
+ * @param dst The first of SAJ_INFO_COLUMN_STRIDE longs to fill.
+ */
+void
+saj_sampleInfoPack(
+    cmn_sampleInfo src,
+    jlong *dst);
+
 saj_returnCode
 saj_LookupTypeSupportDataReader(
     JNIEnv* env,
@@ -1090,6 +1154,16 @@ jobject saj_livelinessChangedStatus_new(JNIEnv *env, struct v_livelinessChangedI
 jobject saj_publicationMatchStatus_new(JNIEnv *env, struct v_topicMatchInfo *info);
 jobject saj_subscriptionMatchStatus_new(JNIEnv *env, struct v_topicMatchInfo *info);
 
+/* The CopyOut functions fill the status object *dst, or create it when
+ * *dst is NULL.
+ */
+saj_returnCode saj_sampleRejectedStatusCopyOut(JNIEnv *env, struct v_sampleRejectedInfo *info, jobject *dst);
+saj_returnCode saj_livelinessChangedStatusCopyOut(JNIEnv *env, struct v_livelinessChangedInfo *info, jobject *dst);
+saj_returnCode saj_requestedDeadlineMissedStatusCopyOut(JNIEnv *env, struct v_deadlineMissedInfo *info, jobject *dst);
+saj_returnCode saj_requestedIncompatibleQosStatusCopyOut(JNIEnv *env, struct v_incompatibleQosInfo *info, jobject *dst);
+saj_returnCode saj_subscriptionMatchStatusCopyOut(JNIEnv *env, struct v_topicMatchInfo *info, jobject *dst);
+saj_returnCode saj_sampleLostStatusCopyOut(JNIEnv *env, struct v_sampleLostInfo *info, jobject *dst);
+
 typedef struct {
     JNIEnv *Env;
     c_metaObject typeMeta;
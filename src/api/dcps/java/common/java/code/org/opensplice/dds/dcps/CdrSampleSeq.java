@@ -0,0 +1,45 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.opensplice.dds.dcps;
+
+/**
+ * Reusable destination for samples that are read or taken as raw CDR by
+ * {@link FooDataReaderImpl#readCdr} and {@link FooDataReaderImpl#takeCdr}.
+ * <p>
+ * Each sample is serialized in big-endian CDR into a direct ByteBuffer that
+ * is allocated by the VM. The first <code>count</code> entries of the arrays
+ * hold the result of the last call; <code>length</code> holds the number of
+ * valid bytes in the corresponding buffer. Buffers, lengths and SampleInfo
+ * objects are kept between calls and only replaced when a call returns more
+ * samples than before or a sample does not fit in the buffer at its
+ * position, so the contents of a buffer are only valid until the next call
+ * with the same sequence. A buffer that is replaced, or dropped by
+ * {@link FooDataReaderImpl#freeCdr}, is never released while it is still
+ * referenced.
+ */
+public final class CdrSampleSeq
+{
+    public java.nio.ByteBuffer[] value = new java.nio.ByteBuffer[0];
+    public int[] length = new int[0];
+    public DDS.SampleInfo[] info = new DDS.SampleInfo[0];
+    public int count = 0;
+}
@@ -22,7 +22,6 @@
 
 package org.opensplice.dds.dcps;
 
-import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Set;
@@ -39,8 +38,6 @@ import DDS.PropertyHolder;
 public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
     private static final long serialVersionUID = 7369562459575330228L;
 
-    private final ArrayList<Thread> workers = new ArrayList<Thread>();
-
     private DDS.DataReaderViewQos defaultDataReaderViewQos = Utilities.defaultDataReaderViewQos;
 
     /**
@@ -49,6 +46,14 @@ public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
      * enabled by means of set_property(...) on the reader. */
     private long parallelDemarshallingContext = 0;
 
+    /**
+     * The info sequence holder for which read and take fill the packed
+     * infoColumns instead of SampleInfo objects, see SampleInfoColumns. The
+     * infoColumns array is (re)allocated from a JNI context when it cannot
+     * hold the SampleInfo of all samples that are returned. */
+    private DDS.SampleInfoSeqHolder infoColumnsHolder = null;
+    private long[] infoColumns = new long[0];
+
     private String name;
     private SubscriberImpl subscriber = null;
     private DDS.TopicDescription description = null;
@@ -176,55 +181,86 @@ public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
     }
 
     /**
-     * Starts the given number of worker threads to be used in JNI context.
+     * Hands the given number of helper tasks for the parallel demarshalling
+     * context to the process-wide ParallelDemarshallingPool. Every helper
+     * joins the copy that is in progress on the context when it is
+     * scheduled, or returns immediately when there is none.
      *
      * WARNING: This call should only be invoked from JNI.
-     * @pre There are currently no worker threads started.
-     * @param nrOfWorkers the number of worker-threads to start
-     * @return the number of actually started threads
+     * @param parDemCtx the parallel demarshalling context to help
+     * @param nrOfHelpers the number of helper tasks to start
+     * @return the number of helper tasks that were accepted by the pool
      */
-    private int startWorkers(int nrOfWorkers){
-        int started = 0;
-        class Worker implements Runnable {
+    private static int startHelpers(final long parDemCtx, int nrOfHelpers){
+        class Helper implements Runnable {
             @Override
             public void run(){
-                assert parallelDemarshallingContext != 0;
-                jniParallelDemarshallingMain(parallelDemarshallingContext);
+                jniParallelDemarshallingHelp(parDemCtx);
             }
         }
 
-        assert workers.size() == 0;
+        assert parDemCtx != 0;
+        return ParallelDemarshallingPool.submit(new Helper(), nrOfHelpers);
+    }
 
-        /* Now start new threads */
-        if(parallelDemarshallingContext != 0){
-            Worker worker = new Worker();
-            for(started = 0; started < nrOfWorkers; started++){
-                Thread t = new Thread(worker);
-                t.setDaemon(true);
-                workers.add(started, t);
-                t.start();
+    /**
+     * Fills the statistics with the counters of the parallel demarshalling
+     * of this reader, which is enabled by means of the
+     * parallelReadThreadCount property.
+     */
+    public int get_parallel_demarshalling_statistics(
+        ParallelDemarshallingStatistics statistics)
+    {
+        int result;
+        long[] values = new long[9];
+        ReportStack.start();
+
+        if (statistics == null) {
+            result = DDS.RETCODE_BAD_PARAMETER.value;
+            ReportStack.report(result, "statistics 'null' is invalid.");
+        } else {
+            result = jniGetParallelDemarshallingStatistics(
+                this.parallelDemarshallingContext, values);
+            if (result == DDS.RETCODE_OK.value) {
+                statistics.sequential_copies = values[0];
+                statistics.parallel_copies = values[1];
+                statistics.profitable_copies = values[2];
+                statistics.parallel_samples = values[3];
+                statistics.saved_nanoseconds = values[4];
+                statistics.threshold = values[5];
+                statistics.block = values[6];
+                statistics.sample_cost_nanoseconds = values[7];
+                statistics.overhead_nanoseconds = values[8];
             }
         }
-        return started;
+
+        ReportStack.flush(this, result != DDS.RETCODE_OK.value);
+        return result;
     }
 
     /**
-     * Joins all administered worker threads. The function will return only
-     * after all threads finished execution, so it should be ensured (from a
-     * JNI environment) that all threads will unblock.
+     * Registers the info sequence holder for which subsequent read and take
+     * calls on this reader deliver the SampleInfo in packed form. For that
+     * holder the SampleInfo elements of the sequence are left untouched and
+     * the SampleInfo of sample i is stored in the array returned by
+     * get_sample_info_columns() instead, as laid out by SampleInfoColumns.
+     * The caller must ensure that the holder is not used by concurrent calls.
      *
-     * WARNING: This call should only be invoked from JNI.
+     * @param holder the holder to deliver packed SampleInfo for, or null to
+     *               return to SampleInfo objects for all holders.
      */
-    private void joinWorkers(){
-        /* Join all current threads */
-        try{
-            for(Thread t : workers){
-                t.join();
-            }
-        } catch (InterruptedException ignore){
-            /* Ignore interruption */
-        }
-        workers.clear();
+    public void set_sample_info_columns(DDS.SampleInfoSeqHolder holder) {
+        this.infoColumnsHolder = holder;
+    }
+
+    /**
+     * Returns the packed SampleInfo of the last read or take that used the
+     * holder registered with set_sample_info_columns(). Only the first
+     * <code>length * SampleInfoColumns.STRIDE</code> entries are valid,
+     * where length is the length of the info sequence of that call.
+     */
+    public long[] get_sample_info_columns() {
+        return this.infoColumns;
     }
 
     /**
@@ -721,6 +757,38 @@ public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
         return result;
     }
 
+    /**
+     * Retrieves the statuses for which a holder is passed with a single
+     * native call, instead of one call per status. Holders that are null
+     * are skipped. Retrieval stops at the first status that cannot be
+     * retrieved; its return code is returned.
+     */
+    public int get_statuses (
+        DDS.SampleRejectedStatusHolder sampleRejected,
+        DDS.LivelinessChangedStatusHolder livelinessChanged,
+        DDS.RequestedDeadlineMissedStatusHolder requestedDeadlineMissed,
+        DDS.RequestedIncompatibleQosStatusHolder requestedIncompatibleQos,
+        DDS.SubscriptionMatchedStatusHolder subscriptionMatched,
+        DDS.SampleLostStatusHolder sampleLost)
+    {
+        int result;
+        long uReader;
+        ReportStack.start();
+
+        uReader = this.get_user_object();
+        if (uReader != 0) {
+            result = jniGetStatuses(uReader, sampleRejected,
+                    livelinessChanged, requestedDeadlineMissed,
+                    requestedIncompatibleQos, subscriptionMatched,
+                    sampleLost);
+        } else {
+            result = DDS.RETCODE_ALREADY_DELETED.value;
+        }
+
+        ReportStack.flush(this, result != DDS.RETCODE_OK.value);
+        return result;
+    }
+
     /* see DDS.DataReaderOperations for javadoc */
     @Override
     public int wait_for_historical_data (
@@ -1090,6 +1158,15 @@ public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
                             long uReader,
                             DDS.SampleLostStatusHolder status);
 
+    private native int jniGetStatuses(
+                            long uReader,
+                            DDS.SampleRejectedStatusHolder sampleRejected,
+                            DDS.LivelinessChangedStatusHolder livelinessChanged,
+                            DDS.RequestedDeadlineMissedStatusHolder requestedDeadlineMissed,
+                            DDS.RequestedIncompatibleQosStatusHolder requestedIncompatibleQos,
+                            DDS.SubscriptionMatchedStatusHolder subscriptionMatched,
+                            DDS.SampleLostStatusHolder sampleLost);
+
     private native int jniWaitForHistoricalData(
                             long uReader,
                             DDS.Duration_t max_wait);
@@ -1112,9 +1189,13 @@ public class DataReaderImpl extends DataReaderBase implements DDS.DataReader {
                             DDS.PublicationBuiltinTopicDataHolder publication_data,
                             long publication_handle);
 
-    private native int jniParallelDemarshallingMain(
+    private static native int jniParallelDemarshallingHelp(
                             long parDemCtx);
 
+    private native int jniGetParallelDemarshallingStatistics(
+                            long parDemCtx,
+                            long[] values);
+
     private native int jniSetProperty(
                             long uReader,
                             Property a_property);
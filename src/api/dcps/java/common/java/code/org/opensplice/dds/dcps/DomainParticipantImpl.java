@@ -1718,6 +1718,15 @@ public class DomainParticipantImpl extends DomainParticipantBase implements DDS.
         return result;
     }
 
+    /**
+     * Returns the dispatcher that delivers the listener callbacks of the
+     * entities of this participant, which provides statistics about the
+     * delivery of events.
+     */
+    public ListenerDispatcher get_listener_dispatcher() {
+        return this.get_dispatcher();
+    }
+
     public int set_property(Property a_property) {
         int result = DDS.RETCODE_OK.value;
         long uParticipant;
@@ -1728,9 +1737,23 @@ public class DomainParticipantImpl extends DomainParticipantBase implements DDS.
         if (result == DDS.RETCODE_OK.value) {
             uParticipant = this.get_user_object();
             if (uParticipant != 0) {
-                a_property.name = a_property.name.toLowerCase();
-                a_property.value = a_property.value.toLowerCase();
-                result = jniSetProperty(uParticipant, a_property);
+                if (a_property.name.equalsIgnoreCase(
+                        ListenerDispatcher.DISPATCH_THREADS_PROPERTY)) {
+                    /* Handled by the language binding, not the kernel. */
+                    int threads = ListenerDispatcher.parse_dispatch_threads(a_property.value);
+                    if (threads < 0) {
+                        result = DDS.RETCODE_BAD_PARAMETER.value;
+                        ReportStack.report(result,
+                            "Invalid value '" + a_property.value +
+                            "' for property '" + a_property.name + "'.");
+                    } else {
+                        result = this.get_dispatcher().set_dispatch_threads(threads);
+                    }
+                } else {
+                    a_property.name = a_property.name.toLowerCase();
+                    a_property.value = a_property.value.toLowerCase();
+                    result = jniSetProperty(uParticipant, a_property);
+                }
             } else {
                 result = DDS.RETCODE_ALREADY_DELETED.value;
             }
@@ -1750,8 +1773,14 @@ public class DomainParticipantImpl extends DomainParticipantBase implements DDS.
         if (result == DDS.RETCODE_OK.value) {
             uParticipant = this.get_user_object();
             if (uParticipant != 0) {
-                a_property.value.name = a_property.value.name.toLowerCase();
-                result = jniGetProperty(uParticipant, a_property);
+                if (a_property.value.name.equalsIgnoreCase(
+                        ListenerDispatcher.DISPATCH_THREADS_PROPERTY)) {
+                    a_property.value.value = ListenerDispatcher.format_dispatch_threads(
+                        this.get_dispatcher().get_dispatch_threads());
+                } else {
+                    a_property.value.name = a_property.value.name.toLowerCase();
+                    result = jniGetProperty(uParticipant, a_property);
+                }
             } else {
                 result = DDS.RETCODE_ALREADY_DELETED.value;
             }
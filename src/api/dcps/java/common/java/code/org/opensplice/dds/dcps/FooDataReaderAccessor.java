@@ -0,0 +1,159 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.opensplice.dds.dcps;
+
+/**
+ * Untyped entry point into the typed DataReader operations of a topic type.
+ * The OpenSplice IDL pre-processor generates an implementation of this
+ * interface named &lt;type&gt;DataReaderAccessor for every topic type, which
+ * forwards each call to the generated &lt;type&gt;DataReaderImpl without
+ * using reflection. Holders passed to the operations must have been created
+ * by the same accessor.
+ */
+public interface FooDataReaderAccessor
+{
+    public Object newSampleHolder();
+
+    public Object newSampleSeqHolder();
+
+    public Object[] newSampleSeq(int length);
+
+    public Object[] getSampleSeq(Object sampleSeqHolder);
+
+    public void setSampleSeq(Object sampleSeqHolder, Object[] samples);
+
+    public Object getSample(Object sampleHolder);
+
+    public void setSample(Object sampleHolder, Object sample);
+
+    public int read(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int take(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int read_w_condition(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        DDS.ReadCondition a_condition);
+
+    public int take_w_condition(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        DDS.ReadCondition a_condition);
+
+    public int read_next_sample(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoHolder sample_info);
+
+    public int take_next_sample(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoHolder sample_info);
+
+    public int read_instance(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int take_instance(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int read_next_instance(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int take_next_instance(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public int read_next_instance_w_condition(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        DDS.ReadCondition a_condition);
+
+    public int take_next_instance_w_condition(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq,
+        int max_samples,
+        long a_handle,
+        DDS.ReadCondition a_condition);
+
+    public int return_loan(
+        DDS.DataReader reader,
+        Object received_data,
+        DDS.SampleInfoSeqHolder info_seq);
+
+    public int get_key_value(
+        DDS.DataReader reader,
+        Object key_holder,
+        long handle);
+
+    public long lookup_instance(
+        DDS.DataReader reader,
+        Object instance);
+}
@@ -247,6 +247,148 @@ public abstract class FooDataReaderImpl extends org.opensplice.dds.dcps.DataRead
         return result;
     }
 
+    /**
+     * Reads samples as raw CDR into the direct buffers of
+     * <code>samples</code>, without materializing them as Java objects. When a
+     * condition is provided its masks or query are used, otherwise the
+     * provided masks are applied to all instances or, if
+     * <code>a_handle</code> is not HANDLE_NIL, to that instance only. When
+     * <code>next_instance</code> is set the samples of the instance that
+     * follows <code>a_handle</code> are read instead.
+     */
+    public int readCdr (
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        Object condition,
+        int sample_states,
+        int view_states,
+        int instance_states)
+    {
+        return this.copyCdr(false, copyCache, samples, max_samples, a_handle,
+                next_instance, condition, sample_states, view_states,
+                instance_states);
+    }
+
+    /**
+     * Takes samples as raw CDR, see {@link #readCdr}.
+     */
+    public int takeCdr (
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        Object condition,
+        int sample_states,
+        int view_states,
+        int instance_states)
+    {
+        return this.copyCdr(true, copyCache, samples, max_samples, a_handle,
+                next_instance, condition, sample_states, view_states,
+                instance_states);
+    }
+
+    /**
+     * Drops the buffers of <code>samples</code>. Buffers that are still
+     * referenced elsewhere remain valid until they are garbage collected.
+     */
+    public static void freeCdr (CdrSampleSeq samples)
+    {
+        if (samples != null) {
+            synchronized (samples) {
+                samples.value = new java.nio.ByteBuffer[0];
+                samples.length = new int[0];
+                samples.info = new DDS.SampleInfo[0];
+                samples.count = 0;
+            }
+        }
+    }
+
+    private int copyCdr (
+        boolean take,
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        Object condition,
+        int sample_states,
+        int view_states,
+        int instance_states)
+    {
+        int result = DDS.RETCODE_ALREADY_DELETED.value;
+        long uReader;
+        long uQuery = 0;
+
+        uReader = this.get_user_object();
+        if (uReader != 0) {
+            result = DDS.RETCODE_OK.value;
+            if (samples == null) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "samples 'null' is invalid.");
+            } else if (max_samples < -1) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "max_samples is invalid.");
+            } else if (condition instanceof QueryConditionImpl) {
+                uQuery = ((QueryConditionImpl)condition).get_user_object();
+                if (uQuery == 0) {
+                    result = DDS.RETCODE_BAD_PARAMETER.value;
+                    ReportStack.report(result, "Condition already deleted.");
+                }
+            } else if (condition instanceof ReadConditionImpl) {
+                sample_states = ((ReadConditionImpl)condition).get_sample_state_mask();
+                view_states = ((ReadConditionImpl)condition).get_view_state_mask();
+                instance_states = ((ReadConditionImpl)condition).get_instance_state_mask();
+            } else if (condition != null) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "Invalid condition.");
+            }
+            if (result == DDS.RETCODE_OK.value) {
+                synchronized (samples) {
+                    if (take) {
+                        result = jniTakeCdr(this, uReader, uQuery, copyCache,
+                                samples, max_samples, a_handle, next_instance,
+                                sample_states, view_states, instance_states);
+                    } else {
+                        result = jniReadCdr(this, uReader, uQuery, copyCache,
+                                samples, max_samples, a_handle, next_instance,
+                                sample_states, view_states, instance_states);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    public native static int jniReadCdr (
+        Object DataReader,
+        long uReader,
+        long uQuery,
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
+    public native static int jniTakeCdr (
+        Object DataReader,
+        long uReader,
+        long uQuery,
+        long copyCache,
+        CdrSampleSeq samples,
+        int max_samples,
+        long a_handle,
+        boolean next_instance,
+        int sample_states,
+        int view_states,
+        int instance_states);
+
     public native static int jniRead (
         Object DataReader,
         long uReader,
@@ -0,0 +1,111 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.opensplice.dds.dcps;
+
+/**
+ * Untyped entry point into the typed DataWriter operations of a topic type.
+ * The OpenSplice IDL pre-processor generates an implementation of this
+ * interface named &lt;type&gt;DataWriterAccessor for every topic type, which
+ * forwards each call to the generated &lt;type&gt;DataWriterImpl without
+ * using reflection. Key holders passed to get_key_value must have been
+ * created by the same accessor.
+ */
+public interface FooDataWriterAccessor
+{
+    public Object newSampleHolder();
+
+    public Object getSample(Object sampleHolder);
+
+    public void setSample(Object sampleHolder, Object sample);
+
+    public long register_instance(
+        DDS.DataWriter writer,
+        Object instance_data);
+
+    public long register_instance_w_timestamp(
+        DDS.DataWriter writer,
+        Object instance_data,
+        DDS.Time_t source_timestamp);
+
+    public int unregister_instance(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long handle);
+
+    public int unregister_instance_w_timestamp(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long handle,
+        DDS.Time_t source_timestamp);
+
+    public int write(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long handle);
+
+    public int write_w_timestamp(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long handle,
+        DDS.Time_t source_timestamp);
+
+    public int dispose(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long instance_handle);
+
+    public int dispose_w_timestamp(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long instance_handle,
+        DDS.Time_t source_timestamp);
+
+    public int writedispose(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long instance_handle);
+
+    public int writedispose_w_timestamp(
+        DDS.DataWriter writer,
+        Object instance_data,
+        long instance_handle,
+        DDS.Time_t source_timestamp);
+
+    public int get_key_value(
+        DDS.DataWriter writer,
+        Object key_holder,
+        long handle);
+
+    public long lookup_instance(
+        DDS.DataWriter writer,
+        Object instance_data);
+
+    /**
+     * Returns the values of the key fields of the sample, in key list order,
+     * as an Object[] that does not refer to mutable parts of the sample:
+     * primitives are boxed, enumerations are represented by their value()
+     * and arrays are copied. Returns null when the key fields cannot be read
+     * by plain field access.
+     */
+    public Object get_key(
+        Object instance_data);
+}
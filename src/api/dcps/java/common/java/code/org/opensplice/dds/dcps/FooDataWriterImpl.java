@@ -28,6 +28,110 @@ public abstract class FooDataWriterImpl extends org.opensplice.dds.dcps.DataWrit
     @Override
     protected int deinit () { return super.deinit(); }
 
+    /**
+     * Writes the first <code>length</code> samples of
+     * <code>instance_data</code> in a single JNI call. The result of each
+     * sample is stored at the corresponding index of <code>results</code>.
+     * A sample that fails does not stop the batch, unless it fails with
+     * RETCODE_TIMEOUT or RETCODE_ALREADY_DELETED: the samples after it are
+     * then not written and get the same result, which is also returned.
+     * Otherwise the first failure is returned, or RETCODE_OK when all
+     * samples were written. When the batch is rejected as a whole, every
+     * sample gets the returned code.
+     */
+    public int writeBatch (
+        long copyCache,
+        Object[] instance_data,
+        int length,
+        DDS.Time_t source_timestamp,
+        int[] results)
+    {
+        int result = DDS.RETCODE_ALREADY_DELETED.value;
+        boolean written = false;
+        long uWriter = 0;
+        ReportStack.start();
+
+        uWriter = this.get_user_object();
+        if (uWriter != 0) {
+            if (instance_data == null) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "instance_data 'null' is invalid.");
+            } else if (results == null) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "results 'null' is invalid.");
+            } else if ((length < 0) || (length > instance_data.length)
+                    || (length > results.length)) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "length '" + length + "' is invalid.");
+            } else {
+                result = Utilities.checkTime(source_timestamp);
+            }
+            if (result == DDS.RETCODE_OK.value) {
+                result = jniWriteBatch(uWriter, copyCache, instance_data,
+                        length, source_timestamp, results);
+                written = true;
+            }
+        }
+        /* None of the samples has been written, which the caller must be
+         * able to tell from the results as well. */
+        if (!written && (results != null) && (length > 0)) {
+            java.util.Arrays.fill(results, 0, Math.min(length, results.length),
+                    result);
+        }
+
+        ReportStack.flush(this, (result != DDS.RETCODE_OK.value)
+                && (result != DDS.RETCODE_TIMEOUT.value));
+        return result;
+    }
+
+    /**
+     * Writes a sample that has already been serialized as big-endian CDR.
+     * The remaining bytes of the direct buffer <code>cdr</code> are
+     * deserialized straight into the kernel message, so no Java object of
+     * the type is involved. The position of the buffer is left unchanged.
+     */
+    public int writeCdr (
+        long copyCache,
+        java.nio.ByteBuffer cdr,
+        long handle,
+        DDS.Time_t source_timestamp)
+    {
+        int result = DDS.RETCODE_ALREADY_DELETED.value;
+        long uWriter = 0;
+        ReportStack.start();
+
+        uWriter = this.get_user_object();
+        if (uWriter != 0) {
+            if (cdr == null) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "cdr 'null' is invalid.");
+            } else if (!cdr.isDirect()) {
+                result = DDS.RETCODE_BAD_PARAMETER.value;
+                ReportStack.report(result, "cdr is not a direct buffer.");
+            } else {
+                result = Utilities.checkTime(source_timestamp);
+            }
+            if (result == DDS.RETCODE_OK.value) {
+                result = jniWriteCdr(uWriter, copyCache, cdr, cdr.position(),
+                        cdr.remaining(), handle, source_timestamp);
+            }
+        }
+
+        ReportStack.flush(this, (result != DDS.RETCODE_OK.value)
+                && (result != DDS.RETCODE_TIMEOUT.value));
+        return result;
+    }
+
+    /**
+     * Compiles the CDR representation of the type. Use
+     * {@link TypeSupportImpl#prepare_cdr} instead, which makes sure this is
+     * not done concurrently for the same copy cache.
+     */
+    public static int prepareCdr (long copyCache)
+    {
+        return jniPrepareCdr(copyCache);
+    }
+
     public native static long jniRegisterInstance (
         long uWriter,
         long copyCache,
@@ -72,4 +176,24 @@ public abstract class FooDataWriterImpl extends org.opensplice.dds.dcps.DataWrit
         long uWriter,
         long copyCache,
         Object instance_data);
+
+    private native static int jniWriteBatch (
+        long uWriter,
+        long copyCache,
+        Object[] instance_data,
+        int length,
+        DDS.Time_t source_timestamp,
+        int[] results);
+
+    private native static int jniWriteCdr (
+        long uWriter,
+        long copyCache,
+        java.nio.ByteBuffer cdr,
+        int offset,
+        int length,
+        long handle,
+        DDS.Time_t source_timestamp);
+
+    private native static int jniPrepareCdr (
+        long copyCache);
 }
@@ -23,10 +23,25 @@
 package org.opensplice.dds.dcps;
 
 import java.util.HashSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.*;
 
 public class ListenerDispatcher {
 
+    /* Number of threads that deliver listener events. 0, the default,
+       delivers all events on the ListenerEventThread itself. Can be set as
+       system property and as property of a DomainParticipant. */
+    public final static String DISPATCH_THREADS_PROPERTY =
+        "osplListenerDispatchThreads";
+
+    /* Value of the dispatch threads property that delivers the events of
+       each entity on a virtual thread. JVMs without virtual threads use a
+       pool that matches the number of processors instead. */
+    public final static String DISPATCH_VIRTUAL = "virtual";
+
+    final static int VIRTUAL_THREADS = Integer.MAX_VALUE;
+
     private final static int STOPPED = 0;
     private final static int STARTING = 1;
     private final static int RUNNING = 2;
@@ -40,6 +55,13 @@ public class ListenerDispatcher {
     private final HashSet<EntityImpl> observables = new HashSet<EntityImpl>();
     private DDS.SchedulingQosPolicy scheduling_policy = null;
     private int stack_size = 0;
+    private int dispatch_threads = 0;
+    private ListenerEventExecutor executor = null;
+
+    private final AtomicInteger pending_events = new AtomicInteger();
+    private final AtomicLong dispatched_events = new AtomicLong();
+    private final AtomicLong total_latency = new AtomicLong();
+    private final AtomicLong max_latency = new AtomicLong();
 
     /* The synchronized keyword cannot be used because the lock is locked and
        unlocked inside the ListenerDispatcher main function. */
@@ -53,6 +75,7 @@ public class ListenerDispatcher {
         {
             int result = DDS.RETCODE_OK.value;
             int length = 0;
+            long received = 0;
             Event event = null;
             EventList events = new EventList();
 
@@ -72,6 +95,7 @@ public class ListenerDispatcher {
                             if (result == DDS.RETCODE_OK.value) {
                                 if (events.value != null) {
                                     length = events.value.length;
+                                    received = System.nanoTime();
                                     for (int i = 0; i < length; i++) {
                                         event = events.value[i];
                                         if (event != null) {
@@ -81,7 +105,11 @@ public class ListenerDispatcher {
                                                 /* work around for NPE see OSPL-8205 */
                                                 if (event.observable != null) {
                                                     /* Last event so wake-up threads blocking in disable_callbacks. */
-                                                    event.observable.notify_listener_disabled();
+                                                    if (executor != null) {
+                                                        executor.disable(event.observable);
+                                                    } else {
+                                                        event.observable.notify_listener_disabled();
+                                                    }
                                                 } else {
                                                     ReportStack.report (DDS.RETCODE_ERROR.value,
                                                             "ListenerDispatcher observable entity was null for kind: "+ event.kind);
@@ -89,7 +117,13 @@ public class ListenerDispatcher {
                                             } else if (event.kind != Event.TRIGGER) {
                                                 /* Call entity listener */
                                                 if (event.observer != null) {
-                                                    event.observer.notify(event);
+                                                    pending_events.incrementAndGet();
+                                                    if (executor != null) {
+                                                        executor.dispatch(event, received);
+                                                    } else {
+                                                        event.observer.notify(event);
+                                                        callback_done(received);
+                                                    }
                                                 } else {
                                                     ReportStack.report (DDS.RETCODE_ERROR.value,
                                                             "ListenerDispatcher observer entity was null for kind: "+ event.kind);
@@ -125,6 +159,11 @@ public class ListenerDispatcher {
         switch (state) {
             /* Create thread and switch state to STARTING. */
             case STOPPED:
+                if (dispatch_threads > 0) {
+                    executor = new ListenerEventExecutor(
+                        this, dispatch_threads,
+                        scheduling_priority (scheduling_policy), stack_size);
+                }
                 ListenerRunnable runnable = new ListenerRunnable();
                 if (stack_size == 0) {
                     thread = new Thread (
@@ -214,6 +253,19 @@ public class ListenerDispatcher {
             }
         }
 
+        if (executor != null && state == STOPPED) {
+            ListenerEventExecutor stopped = executor;
+            executor = null;
+            /* Release the lock while the pending callbacks complete, like
+               condition.await() does, as they may set listeners too. */
+            lock.unlock();
+            try {
+                stopped.shutdown();
+            } finally {
+                lock.lock();
+            }
+        }
+
         if (result != DDS.RETCODE_OK.value) {
             ReportStack.report (result, "Could not stop listener");
         }
@@ -261,6 +313,11 @@ public class ListenerDispatcher {
                argument is invoked. */
             this.stack_size = jniStackSize (uParticipant);
             this.scheduling_policy = scheduling_policy;
+            this.dispatch_threads = parse_dispatch_threads (
+                System.getProperty (DISPATCH_THREADS_PROPERTY, "0"));
+            if (this.dispatch_threads < 0) {
+                this.dispatch_threads = 0;
+            }
         }
     }
 
@@ -391,6 +448,122 @@ public class ListenerDispatcher {
         return result;
     }
 
+    /* Returns -1 when the value is not a valid number of threads. */
+    static int parse_dispatch_threads (String value)
+    {
+        int threads;
+
+        if (value.trim().equalsIgnoreCase(DISPATCH_VIRTUAL)) {
+            threads = VIRTUAL_THREADS;
+        } else {
+            try {
+                threads = Integer.parseInt(value.trim());
+            } catch (NumberFormatException e) {
+                threads = -1;
+            }
+        }
+        return threads < 0 ? -1 : threads;
+    }
+
+    static String format_dispatch_threads (int threads)
+    {
+        return threads == VIRTUAL_THREADS ? DISPATCH_VIRTUAL : String.valueOf(threads);
+    }
+
+    protected int get_dispatch_threads ()
+    {
+        try {
+            lock.lock ();
+            return dispatch_threads;
+        } finally {
+            lock.unlock ();
+        }
+    }
+
+    /* Switches between delivering events on the ListenerEventThread (0) and
+       on a pool of the given number of threads. Restarts the dispatcher
+       when it is running, like set_scheduling does. */
+    protected int set_dispatch_threads (int threads)
+    {
+        int result = DDS.RETCODE_BAD_PARAMETER.value;
+        int old_threads;
+
+        try {
+            lock.lock ();
+
+            if (threads >= 0) {
+                result = DDS.RETCODE_OK.value;
+                old_threads = this.dispatch_threads;
+                if (threads != old_threads) {
+                    result = stop ();
+                    if (result == DDS.RETCODE_OK.value && state != STOPPED) {
+                        result = DDS.RETCODE_PRECONDITION_NOT_MET.value;
+                    } else {
+                        this.dispatch_threads = threads;
+                        if (observables.size() > 0) {
+                            result = start ();
+                        }
+                    }
+                    if (result != DDS.RETCODE_OK.value) {
+                        this.dispatch_threads = old_threads;
+                    }
+                }
+            }
+        } finally {
+            lock.unlock ();
+        }
+
+        return result;
+    }
+
+    final void callback_done (long received)
+    {
+        long latency = System.nanoTime() - received;
+        long max;
+
+        pending_events.decrementAndGet();
+        dispatched_events.incrementAndGet();
+        total_latency.addAndGet(latency);
+        do {
+            max = max_latency.get();
+        } while (latency > max && !max_latency.compareAndSet(max, latency));
+    }
+
+    /**
+     * Returns the number of listener events that have been received but of
+     * which the callback did not complete yet.
+     */
+    public int get_pending_events ()
+    {
+        return pending_events.get();
+    }
+
+    /**
+     * Returns the number of listener callbacks that completed.
+     */
+    public long get_dispatched_events ()
+    {
+        return dispatched_events.get();
+    }
+
+    /**
+     * Returns the sum, in nanoseconds, of the time between the reception of
+     * each event and the completion of its callback.
+     */
+    public long get_total_callback_latency ()
+    {
+        return total_latency.get();
+    }
+
+    /**
+     * Returns the largest time, in nanoseconds, between the reception of an
+     * event and the completion of its callback.
+     */
+    public long get_max_callback_latency ()
+    {
+        return max_latency.get();
+    }
+
     private native long jniListenerNew(long uParticipant);
     private native int jniListenerFree(long uListener);
     private native int jniListenerInterrupt(long uListener);
@@ -0,0 +1,350 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+
+package org.opensplice.dds.dcps;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Dispatches listener events on other threads than the ListenerEventThread.
+ * Events are queued per observer entity and the queue of an entity is
+ * drained by at most one thread at a time, so the callbacks of an entity are
+ * still delivered one at a time and in order, while a slow listener no
+ * longer delays the listeners of other entities.
+ * <p>
+ * Queues are drained either by a bounded pool of platform threads or, on
+ * Java 21 and newer, by a virtual thread per entity that has events pending.
+ * Only the callbacks run on virtual threads; the ListenerEventThread waits
+ * for events in native code, which would pin a carrier thread. The internal
+ * administration is guarded by a ReentrantLock instead of a monitor for the
+ * same reason.
+ */
+final class ListenerEventExecutor {
+
+    /* Executor of which the current thread is delivering events. */
+    private static final ThreadLocal<ListenerEventExecutor> current =
+        new ThreadLocal<ListenerEventExecutor>();
+
+    private static final ThreadFactory virtual_threads = virtual_thread_factory();
+
+    private final ListenerDispatcher dispatcher;
+    private final Executor launcher;
+    private final ThreadPoolExecutor pool;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition idle = lock.newCondition();
+    private boolean stopped = false;
+
+    /* Queues that have events pending, by observer entity. */
+    private final HashMap<EntityImpl, EntityQueue> queues =
+        new HashMap<EntityImpl, EntityQueue>();
+    /* Number of queued or running callbacks, by observable entity. */
+    private final HashMap<EntityImpl, Integer> pending =
+        new HashMap<EntityImpl, Integer>();
+    /* Observables of which the listener is disabled while callbacks for
+       them are still pending. */
+    private final HashSet<EntityImpl> disabled = new HashSet<EntityImpl>();
+
+    private static final class Task {
+        private final Event event;
+        private final long received;
+
+        private Task(Event event, long received)
+        {
+            this.event = event;
+            this.received = received;
+        }
+    }
+
+    private final class EntityQueue implements Runnable {
+        private final EntityImpl observer;
+        private final ArrayDeque<Task> tasks = new ArrayDeque<Task>();
+
+        private EntityQueue(EntityImpl observer)
+        {
+            this.observer = observer;
+        }
+
+        @Override
+        public void run()
+        {
+            Task task;
+
+            lock.lock();
+            try {
+                task = tasks.poll();
+            } finally {
+                lock.unlock();
+            }
+            current.set(ListenerEventExecutor.this);
+            try {
+                while (task != null) {
+                    try {
+                        observer.notify(task.event);
+                    } catch (RuntimeException e) {
+                        /* Keep draining, the other events of this entity
+                           would be lost otherwise. The ReportStack is only
+                           opened here, because it is bound to the carrier
+                           thread of a virtual thread, which may change
+                           while a callback blocks. */
+                        ReportStack.start();
+                        ReportStack.report(
+                            DDS.RETCODE_ERROR.value,
+                            "Listener callback failed: " + e);
+                        ReportStack.flush(true);
+                    }
+                    dispatcher.callback_done(task.received);
+                    task = complete(this, task.event.observable);
+                }
+            } finally {
+                current.remove();
+            }
+        }
+    }
+
+    private static final class EventThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+        private final int priority;
+        private final int stack_size;
+
+        private EventThreadFactory(int priority, int stack_size)
+        {
+            this.priority = priority;
+            this.stack_size = stack_size;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            String name = "ListenerEventThread-" + count.incrementAndGet();
+            Thread thread;
+
+            if (stack_size == 0) {
+                thread = new Thread(null, runnable, name);
+            } else {
+                thread = new Thread(null, runnable, name, stack_size);
+            }
+            thread.setPriority(priority);
+            /* Daemon threads for the same reason as the ListenerDispatcher
+               thread itself. */
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    /* Thread.ofVirtual() only exists as of Java 21, so it is looked up by
+       means of reflection. Returns null on older JVMs. */
+    private static ThreadFactory virtual_thread_factory()
+    {
+        ThreadFactory factory = null;
+
+        try {
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Object virtual = Thread.class.getMethod("ofVirtual").invoke(null);
+
+            virtual = builder.getMethod("name", String.class, Long.TYPE)
+                .invoke(virtual, "ListenerEventThread-", Long.valueOf(1));
+            factory = (ThreadFactory) builder.getMethod("factory").invoke(virtual);
+        } catch (ClassNotFoundException e) {
+            /* Fall back to platform threads. */
+        } catch (NoSuchMethodException e) {
+            /* Fall back to platform threads. */
+        } catch (IllegalAccessException e) {
+            /* Fall back to platform threads. */
+        } catch (InvocationTargetException e) {
+            /* Fall back to platform threads. */
+        }
+        return factory;
+    }
+
+    static boolean virtual_threads_supported()
+    {
+        return virtual_threads != null;
+    }
+
+    ListenerEventExecutor(
+        ListenerDispatcher dispatcher,
+        int threads,
+        int priority,
+        int stack_size)
+    {
+        this.dispatcher = dispatcher;
+        if (threads == ListenerDispatcher.VIRTUAL_THREADS && virtual_threads != null) {
+            this.pool = null;
+            this.launcher = new Executor() {
+                @Override
+                public void execute(Runnable runnable)
+                {
+                    virtual_threads.newThread(runnable).start();
+                }
+            };
+        } else {
+            if (threads == ListenerDispatcher.VIRTUAL_THREADS) {
+                /* No virtual threads on this JVM; use a pool that matches
+                   the number of processors instead. */
+                threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+            }
+            this.pool = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new EventThreadFactory(priority, stack_size));
+            this.pool.allowCoreThreadTimeOut(true);
+            this.launcher = this.pool;
+        }
+    }
+
+    /* Queues the event for its observer. The pool queue holds at most one
+       entry per observer, so it is bounded by the number of entities. */
+    void dispatch(Event event, long received)
+    {
+        EntityQueue queue;
+        boolean schedule = false;
+        boolean inline;
+
+        lock.lock();
+        try {
+            queue = queues.get(event.observer);
+            if (queue == null) {
+                queue = new EntityQueue(event.observer);
+                queues.put(event.observer, queue);
+                schedule = true;
+            }
+            queue.tasks.add(new Task(event, received));
+
+            Integer count = pending.get(event.observable);
+            pending.put(event.observable,
+                        Integer.valueOf(count == null ? 1 : count.intValue() + 1));
+            inline = stopped;
+        } finally {
+            lock.unlock();
+        }
+        if (schedule) {
+            if (!inline) {
+                try {
+                    launcher.execute(queue);
+                } catch (RejectedExecutionException e) {
+                    inline = true;
+                }
+            }
+            if (inline) {
+                /* Executor is shutting down, deliver from this thread. */
+                queue.run();
+            }
+        }
+    }
+
+    /* The listener of the observable is disabled. The waiting thread may
+       only be woken up once all callbacks for the observable completed. */
+    void disable(EntityImpl observable)
+    {
+        boolean notify;
+
+        lock.lock();
+        try {
+            notify = !pending.containsKey(observable);
+            if (!notify) {
+                disabled.add(observable);
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (notify) {
+            observable.notify_listener_disabled();
+        }
+    }
+
+    /* Returns the next task of the queue, or null when the queue is empty,
+       in which case the queue is no longer scheduled. */
+    private Task complete(EntityQueue queue, EntityImpl observable)
+    {
+        Task next;
+        boolean notify = false;
+
+        lock.lock();
+        try {
+            Integer count = pending.get(observable);
+            if (count == null || count.intValue() <= 1) {
+                pending.remove(observable);
+                notify = disabled.remove(observable);
+            } else {
+                pending.put(observable, Integer.valueOf(count.intValue() - 1));
+            }
+            next = queue.tasks.poll();
+            if (next == null) {
+                queues.remove(queue.observer);
+                if (queues.isEmpty()) {
+                    idle.signalAll();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        if (notify) {
+            observable.notify_listener_disabled();
+        }
+        return next;
+    }
+
+    /* Delivers the events that are still queued and stops the threads. A
+       thread of the executor cannot wait for its own queue to drain, so in
+       that case the executor is only shut down. */
+    void shutdown()
+    {
+        long remaining = TimeUnit.SECONDS.toNanos(10);
+
+        lock.lock();
+        try {
+            stopped = true;
+            if (current.get() != this) {
+                while (!queues.isEmpty() && remaining > 0) {
+                    remaining = idle.awaitNanos(remaining);
+                }
+                if (!queues.isEmpty()) {
+                    ReportStack.report(
+                        DDS.RETCODE_TIMEOUT.value,
+                        "ListenerDispatcher callbacks did not complete in time.");
+                }
+            }
+        } catch (InterruptedException e) {
+            ReportStack.report(
+                DDS.RETCODE_ERROR.value,
+                "ListenerDispatcher wait interrupted.");
+        } finally {
+            lock.unlock();
+        }
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+}
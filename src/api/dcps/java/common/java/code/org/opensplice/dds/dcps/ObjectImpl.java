@@ -34,7 +34,7 @@ abstract public class ObjectImpl extends ObjectBase {
     * The adress of the equivalent object in the <code>user_layer</code>
     */
     private long uObject = 0;
-    private int invalid = 0;
+    private volatile int invalid = 0;
     private int domainId = DDS.DOMAIN_ID_INVALID.value;
 
     @Override
@@ -68,6 +68,17 @@ abstract public class ObjectImpl extends ObjectBase {
         return object;
     }
 
+    /* Same as get_user_object(), but returns 0 without reporting when the
+       entity is already deleted. Used by operations that only start a
+       ReportStack when they take their error path. */
+    protected long peek_user_object() {
+        long object = 0;
+        if (this.invalid == 0) {
+            object = this.uObject;
+        }
+        return object;
+    }
+
     protected int getDomainId() {
         return this.domainId;
     }
@@ -0,0 +1,111 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+
+package org.opensplice.dds.dcps;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Process-wide pool of threads that help DataReaders with a
+ * parallelReadThreadCount above 1 to copy out large numbers of samples.
+ * Instead of each reader owning its own worker threads, a reader hands a
+ * number of helper tasks to this pool when a copy starts; helpers that are
+ * only scheduled after the reading thread completed the copy on its own
+ * return immediately. Idle pool threads terminate after a minute.
+ * <p>
+ * The size of the pool defaults to the number of available processors
+ * minus one and can be set with the osplParallelDemarshallingThreads system
+ * property.
+ */
+final class ParallelDemarshallingPool {
+
+    static final String THREADS_PROPERTY = "osplParallelDemarshallingThreads";
+
+    private static ThreadPoolExecutor pool = null;
+
+    private ParallelDemarshallingPool() { }
+
+    private static final class HelperThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable)
+        {
+            Thread thread = new Thread(null, runnable,
+                "ParallelDemarshallingThread-" + count.incrementAndGet());
+
+            /* Like the dedicated workers used to be, the helpers must not
+               keep the application alive. */
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static synchronized ThreadPoolExecutor get_pool()
+    {
+        int threads;
+
+        if (pool == null) {
+            threads = Runtime.getRuntime().availableProcessors() - 1;
+            try {
+                threads = Integer.parseInt(System.getProperty(
+                    THREADS_PROPERTY, String.valueOf(threads)).trim());
+            } catch (NumberFormatException e) {
+                /* Keep the default */
+            }
+            if (threads < 1) {
+                threads = 1;
+            }
+            pool = new ThreadPoolExecutor(
+                threads, threads, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new HelperThreadFactory());
+            pool.allowCoreThreadTimeOut(true);
+        }
+        return pool;
+    }
+
+    /**
+     * Hands <code>count</code> copies of the helper task to the pool.
+     *
+     * @return the number of tasks that were accepted.
+     */
+    static int submit(Runnable helper, int count)
+    {
+        ThreadPoolExecutor executor = get_pool();
+        int submitted;
+
+        for (submitted = 0; submitted < count; submitted++) {
+            try {
+                executor.execute(helper);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        return submitted;
+    }
+}
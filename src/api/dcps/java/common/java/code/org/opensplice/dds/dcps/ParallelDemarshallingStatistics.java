@@ -0,0 +1,48 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+
+package org.opensplice.dds.dcps;
+
+/**
+ * Counters of the parallel demarshalling of a DataReader, as filled by
+ * {@link DataReaderImpl#get_parallel_demarshalling_statistics}. All values
+ * are zero when parallel demarshalling is not enabled on the reader.
+ * <p>
+ * A copy is done in parallel when the number of samples reaches
+ * <code>threshold</code>, which is derived from the measured single-threaded
+ * copy cost per sample and the measured overhead of involving helper
+ * threads. The savings are estimated against the single-threaded cost, so
+ * a negative <code>saved_nanoseconds</code> means that parallel copies did
+ * not pay off.
+ */
+public final class ParallelDemarshallingStatistics
+{
+    public long sequential_copies = 0;
+    public long parallel_copies = 0;
+    public long profitable_copies = 0;
+    public long parallel_samples = 0;
+    public long saved_nanoseconds = 0;
+    public long threshold = 0;
+    public long block = 0;
+    public long sample_cost_nanoseconds = 0;
+    public long overhead_nanoseconds = 0;
+}
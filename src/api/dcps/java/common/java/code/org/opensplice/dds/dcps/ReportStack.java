@@ -35,26 +35,34 @@ public class ReportStack {
      */
     private ReportStack() { }
 
+    /**
+     * Value OR-ed into the result of a native operation that opened its own
+     * ReportStack, when that operation left reports that must be flushed.
+     * See flushPending().
+     */
+    public static final int FLUSH_PENDING = 0x40000000;
+
+    /**
+     * Number of nested start() invocations on the current thread. Only the
+     * outermost start() and flush() cross the Java Native Interface, nested
+     * invocations would merely increment and decrement the native counter.
+     */
+    private static final ThreadLocal<int[]> depth = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            return new int[1];
+        }
+    };
+
     /**
      * Pass an error to the currently active ReportStack.
      */
     public static void report(int code, String message)
     {
-        int line = 0;
-        String file = null;
-        String method = null;
-
-        StackTraceElement trace = Thread.currentThread().getStackTrace()[2];
-
-        file = trace.getFileName();
-        if (file == null) {
-            /* When not compiled with debugging flags, the filename may return
-               null. In that case we deduct the fileName from its classname,
-               which is in our case almost always correct. */
-            file = trace.getClassName() + ".java";
-        }
-        line = trace.getLineNumber();
-        method = trace.getClassName() + "." + trace.getMethodName();
+        StackTraceElement trace = caller(1);
+        String file = fileName(trace);
+        int line = trace.getLineNumber();
+        String method = trace.getClassName() + "." + trace.getMethodName();
 
         jniReport(file, line, method, code, message);
     }
@@ -64,21 +72,10 @@ public class ReportStack {
      */
     public static void deprecated(String message)
     {
-        int line = 0;
-        String file = null;
-        String method = null;
-
-        StackTraceElement trace = Thread.currentThread().getStackTrace()[2];
-
-        file = trace.getFileName();
-        if (file == null) {
-            /* When not compiled with debugging flags, the filename may return
-               null. In that case we deduct the fileName from its classname,
-               which is in our case almost always correct. */
-            file = trace.getClassName() + ".java";
-        }
-        line = trace.getLineNumber();
-        method = trace.getClassName() + "." + trace.getMethodName();
+        StackTraceElement trace = caller(1);
+        String file = fileName(trace);
+        int line = trace.getLineNumber();
+        String method = trace.getClassName() + "." + trace.getMethodName();
 
         jniReportDeprecated(file, line, method, message);
     }
@@ -102,24 +99,64 @@ public class ReportStack {
 
     private static void flushReport(ObjectImpl obj, boolean flush)
     {
-        int line = 0;
-        String file = null;
-        String method = null;
-
-        if (jniReportFlushRequired(flush) != 0) {
-            StackTraceElement trace = Thread.currentThread().getStackTrace()[3];
-            int domainId = (obj != null) ? obj.getDomainId() : DDS.DOMAIN_ID_INVALID.value;
-
-            file = trace.getFileName();
-            if (file == null) {
-                /* See comment in ReportStack.report above. */
-                file = trace.getClassName() + ".java";
+        int[] level = depth.get();
+
+        if (level[0] > 1) {
+            level[0]--;
+        } else {
+            if (level[0] == 1) {
+                level[0] = 0;
             }
-            method = trace.getClassName() + "." + trace.getMethodName();
-            line = trace.getLineNumber();
+            if (jniReportFlushRequired(flush) != 0) {
+                flushCaller(obj, flush, 3);
+            }
+        }
+    }
 
-            jniFlush(file, line, method, flush, domainId);
+    /**
+     * Flush the reports left by a native operation that opened and closed its
+     * own ReportStack, i.e. an operation that returned a result containing
+     * FLUSH_PENDING. Such operations only leave reports behind when they fail,
+     * so the successful path does not need start() and flush() at all.
+     */
+    public static void flushPending(ObjectImpl obj, boolean flush)
+    {
+        flushCaller(obj, flush, 2);
+    }
+
+    private static void flushCaller(ObjectImpl obj, boolean flush, int frame)
+    {
+        StackTraceElement trace = caller(frame);
+        int domainId = (obj != null) ? obj.getDomainId() : DDS.DOMAIN_ID_INVALID.value;
+        String file = fileName(trace);
+        String method = trace.getClassName() + "." + trace.getMethodName();
+        int line = trace.getLineNumber();
+
+        jniFlush(file, line, method, flush, domainId);
+    }
+
+    /**
+     * Look up the stack frame of the caller, frame levels above the method
+     * invoking this one. The stack is only walked when a report is actually
+     * made, which is never the case for successful operations. A Throwable
+     * is used rather than Thread.getStackTrace(), which creates one anyway.
+     */
+    private static StackTraceElement caller(int frame)
+    {
+        return new Throwable().getStackTrace()[frame + 1];
+    }
+
+    private static String fileName(StackTraceElement trace)
+    {
+        String file = trace.getFileName();
+
+        if (file == null) {
+            /* When not compiled with debugging flags, the filename may return
+               null. In that case we deduct the fileName from its classname,
+               which is in our case almost always correct. */
+            file = trace.getClassName() + ".java";
         }
+        return file;
     }
 
     /**
@@ -127,10 +164,19 @@ public class ReportStack {
      * only created once per thread. Subsequent invocations of the start()
      * increment the ReportStack counter.
      *
-     * This function is implemented directly as a Java Native Interface
-     * function to cut as much overhead as possible.
+     * Only the outermost invocation on a thread crosses the Java Native
+     * Interface, nested invocations are counted in Java.
      */
-    public static native void start();
+    public static void start()
+    {
+        int[] level = depth.get();
+
+        if (level[0]++ == 0) {
+            jniStart();
+        }
+    }
+
+    private static native void jniStart();
 
     public static native void jniReport(
         String file,
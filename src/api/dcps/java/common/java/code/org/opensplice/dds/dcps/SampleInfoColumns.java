@@ -0,0 +1,122 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+
+package org.opensplice.dds.dcps;
+
+/**
+ * Layout of the packed SampleInfo columns that a DataReader fills instead of
+ * individual SampleInfo objects for the info sequence registered by means of
+ * {@link DataReaderImpl#set_sample_info_columns}.
+ * <p>
+ * The SampleInfo of sample <code>i</code> occupies the <code>STRIDE</code>
+ * longs starting at <code>i * STRIDE</code>. The states and the valid_data
+ * flag share a single slot, as do the generation counts and the ranks; the
+ * timestamps are stored as seconds and nanoseconds exactly as they would
+ * have been stored in a DDS.Time_t.
+ */
+public final class SampleInfoColumns
+{
+    public static final int STATES = 0;
+    public static final int SOURCE_SEC = 1;
+    public static final int SOURCE_NANOSEC = 2;
+    public static final int RECEPTION_SEC = 3;
+    public static final int RECEPTION_NANOSEC = 4;
+    public static final int INSTANCE_HANDLE = 5;
+    public static final int PUBLICATION_HANDLE = 6;
+    public static final int GENERATION_COUNTS = 7;
+    public static final int RANKS = 8;
+    public static final int ABSOLUTE_GENERATION_RANK = 9;
+    public static final int STRIDE = 10;
+
+    private SampleInfoColumns() { }
+
+    public static int sample_state(long[] columns, int index) {
+        return (int) (columns[index * STRIDE + STATES] & 0xff);
+    }
+
+    public static int view_state(long[] columns, int index) {
+        return (int) ((columns[index * STRIDE + STATES] >>> 8) & 0xff);
+    }
+
+    public static int instance_state(long[] columns, int index) {
+        return (int) ((columns[index * STRIDE + STATES] >>> 16) & 0xff);
+    }
+
+    public static boolean valid_data(long[] columns, int index) {
+        return ((columns[index * STRIDE + STATES] >>> 24) & 0x1) != 0;
+    }
+
+    public static int disposed_generation_count(long[] columns, int index) {
+        return (int) columns[index * STRIDE + GENERATION_COUNTS];
+    }
+
+    public static int no_writers_generation_count(long[] columns, int index) {
+        return (int) (columns[index * STRIDE + GENERATION_COUNTS] >>> 32);
+    }
+
+    public static int sample_rank(long[] columns, int index) {
+        return (int) columns[index * STRIDE + RANKS];
+    }
+
+    public static int generation_rank(long[] columns, int index) {
+        return (int) (columns[index * STRIDE + RANKS] >>> 32);
+    }
+
+    /**
+     * Materializes the packed SampleInfo at <code>index</code> into
+     * <code>info</code>, which is allocated when it is null.
+     */
+    public static DDS.SampleInfo copy_out(long[] columns, int index, DDS.SampleInfo info) {
+        int base = index * STRIDE;
+
+        if (info == null) {
+            info = new DDS.SampleInfo();
+        }
+        if (info.source_timestamp == null) {
+            info.source_timestamp = new DDS.Time_t();
+        }
+        if (info.reception_timestamp == null) {
+            info.reception_timestamp = new DDS.Time_t();
+        }
+        info.sample_state = sample_state(columns, index);
+        info.view_state = view_state(columns, index);
+        info.instance_state = instance_state(columns, index);
+        info.valid_data = valid_data(columns, index);
+        /* Time_t.sec is a long in Y2038 ready builds, so it must not be
+         * cast to int here. The compound assignment only narrows when sec is
+         * an int, in which case the native layer packed a value that fits. */
+        info.source_timestamp.sec = 0;
+        info.source_timestamp.sec += columns[base + SOURCE_SEC];
+        info.source_timestamp.nanosec = (int) columns[base + SOURCE_NANOSEC];
+        info.reception_timestamp.sec = 0;
+        info.reception_timestamp.sec += columns[base + RECEPTION_SEC];
+        info.reception_timestamp.nanosec = (int) columns[base + RECEPTION_NANOSEC];
+        info.instance_handle = columns[base + INSTANCE_HANDLE];
+        info.publication_handle = columns[base + PUBLICATION_HANDLE];
+        info.disposed_generation_count = disposed_generation_count(columns, index);
+        info.no_writers_generation_count = no_writers_generation_count(columns, index);
+        info.sample_rank = sample_rank(columns, index);
+        info.generation_rank = generation_rank(columns, index);
+        info.absolute_generation_rank = (int) columns[base + ABSOLUTE_GENERATION_RANK];
+
+        return info;
+    }
+}
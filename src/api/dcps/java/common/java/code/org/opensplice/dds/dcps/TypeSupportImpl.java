@@ -32,6 +32,8 @@ public abstract class TypeSupportImpl extends TypeSupportBase implements DDS.Typ
     private java.lang.String idlKeyList = null;
     private java.lang.String descriptor = null;
     private long jniCopyCache = 0;
+    private long cdrCopyCache = 0;
+    private int cdrResult = DDS.RETCODE_OK.value;
     private short dataRepresentationId = DDS.OSPL_REPRESENTATION.value;
     private byte[] typeHash = null;
     private byte[] metaData = null;
@@ -117,6 +119,26 @@ public abstract class TypeSupportImpl extends TypeSupportBase implements DDS.Typ
         this.jniCopyCache = copyCache;
     }
 
+    /**
+     * Compiles the CDR representation of the type. The copy cache is shared
+     * by all readers and writers of the type, so the compilation is done
+     * exactly once under the lock of this TypeSupport and its outcome is
+     * remembered. Must have succeeded before raw CDR is read or written.
+     */
+    public synchronized int prepare_cdr()
+    {
+        long copyCache = this.jniCopyCache;
+
+        if (copyCache == 0) {
+            return DDS.RETCODE_PRECONDITION_NOT_MET.value;
+        }
+        if (copyCache != this.cdrCopyCache) {
+            this.cdrResult = FooDataWriterImpl.prepareCdr(copyCache);
+            this.cdrCopyCache = copyCache;
+        }
+        return this.cdrResult;
+    }
+
     public short get_data_representation_id()
     {
         return dataRepresentationId;
@@ -0,0 +1,144 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.HashSet;
+
+import org.omg.dds.core.ServiceEnvironment;
+import org.omg.dds.core.policy.History;
+import org.omg.dds.core.policy.Partition;
+import org.omg.dds.core.policy.PolicyFactory;
+import org.omg.dds.core.policy.Reliability;
+import org.omg.dds.core.status.DataAvailableStatus;
+import org.omg.dds.core.status.Status;
+import org.omg.dds.domain.DomainParticipant;
+import org.omg.dds.domain.DomainParticipantFactory;
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.pub.Publisher;
+import org.omg.dds.sub.DataReader;
+import org.omg.dds.sub.DataReaderListener;
+import org.omg.dds.sub.Subscriber;
+import org.omg.dds.topic.Topic;
+
+/**
+ * The entities that the Java5 benchmarks share. Every instance joins the
+ * default domain in a partition of its own, so concurrently running
+ * benchmarks and applications in the same domain do not receive each
+ * other's samples.
+ */
+public final class BenchmarkDomain {
+    private final ServiceEnvironment environment;
+    private final PolicyFactory policies;
+    private final DomainParticipant participant;
+    private final Publisher publisher;
+    private final Subscriber subscriber;
+
+    public BenchmarkDomain() {
+        Partition partition;
+
+        this.environment = createEnvironment();
+        this.policies = PolicyFactory.getPolicyFactory(this.environment);
+        this.participant = DomainParticipantFactory.getInstance(
+                this.environment).createParticipant();
+
+        partition = this.policies.Partition().withName(
+                "benchmark-" + Long.toHexString(System.nanoTime()));
+        this.publisher = this.participant.createPublisher(this.participant
+                .getDefaultPublisherQos().withPolicy(partition));
+        this.subscriber = this.participant.createSubscriber(this.participant
+                .getDefaultSubscriberQos().withPolicy(partition));
+    }
+
+    /**
+     * Creates a ServiceEnvironment of the OpenSplice implementation.
+     */
+    public static ServiceEnvironment createEnvironment() {
+        System.setProperty(
+                ServiceEnvironment.IMPLEMENTATION_CLASS_NAME_PROPERTY,
+                "org.opensplice.dds.core.OsplServiceEnvironment");
+
+        return ServiceEnvironment.createInstance(BenchmarkDomain.class
+                .getClassLoader());
+    }
+
+    public ServiceEnvironment getEnvironment() {
+        return this.environment;
+    }
+
+    public DomainParticipant getParticipant() {
+        return this.participant;
+    }
+
+    /**
+     * Creates a reliable Topic for the provided type, named after it.
+     */
+    public <TYPE> Topic<TYPE> createTopic(Class<TYPE> type) {
+        Reliability reliability = this.policies.Reliability().withReliable();
+
+        return this.participant.createTopic(
+                "Benchmark_" + type.getSimpleName(), type, this.participant
+                        .getDefaultTopicQos().withPolicy(reliability), null,
+                new HashSet<Class<? extends Status>>());
+    }
+
+    /**
+     * Creates a DataWriter that keeps only the last sample of every
+     * instance, so writes never block on resource limits.
+     */
+    public <TYPE> DataWriter<TYPE> createWriter(Topic<TYPE> topic) {
+        History history = this.policies.History().withKeepLast(1);
+        Reliability reliability = this.policies.Reliability().withReliable();
+
+        return this.publisher.createDataWriter(topic, this.publisher
+                .getDefaultDataWriterQos().withPolicies(history, reliability));
+    }
+
+    /**
+     * Creates a DataReader that keeps the last depth samples of every
+     * instance.
+     */
+    public <TYPE> DataReader<TYPE> createReader(Topic<TYPE> topic, int depth) {
+        return this.createReader(topic, depth, null);
+    }
+
+    /**
+     * Creates a DataReader that keeps the last depth samples of every
+     * instance and notifies the listener, if any, of available data.
+     */
+    public <TYPE> DataReader<TYPE> createReader(Topic<TYPE> topic, int depth,
+            DataReaderListener<TYPE> listener) {
+        History history = this.policies.History().withKeepLast(depth);
+        Reliability reliability = this.policies.Reliability().withReliable();
+        HashSet<Class<? extends Status>> statuses =
+                new HashSet<Class<? extends Status>>();
+
+        if (listener != null) {
+            statuses.add(DataAvailableStatus.class);
+        }
+        return this.subscriber.createDataReader(topic, this.subscriber
+                .getDefaultDataReaderQos().withPolicies(history, reliability),
+                listener, statuses);
+    }
+
+    public void close() {
+        this.participant.close();
+    }
+}
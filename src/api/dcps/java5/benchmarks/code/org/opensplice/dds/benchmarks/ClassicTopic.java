@@ -0,0 +1,131 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+import org.opensplice.dds.dcps.TypeSupportImpl;
+
+/**
+ * A DataWriter and DataReader of the classic DCPS API for one topic type,
+ * together with the typed accessors that the IDL pre-processor generated for
+ * it. Benchmarks that use these measure the JNI layer and the native
+ * copy-in and copy-out without the Java5 API on top.
+ */
+public final class ClassicTopic {
+    private final DDS.DomainParticipantFactory factory;
+    private final DDS.DomainParticipant participant;
+    private final DDS.DataWriter writer;
+    private final DDS.DataReader reader;
+    private final FooDataWriterAccessor writerAccessor;
+    private final FooDataReaderAccessor readerAccessor;
+
+    public ClassicTopic(Class<?> type) throws Exception {
+        TypeSupportImpl typeSupport;
+        DDS.TopicQosHolder topicQos = new DDS.TopicQosHolder();
+        DDS.PublisherQosHolder publisherQos = new DDS.PublisherQosHolder();
+        DDS.SubscriberQosHolder subscriberQos = new DDS.SubscriberQosHolder();
+        String partition = "benchmark-" + Long.toHexString(System.nanoTime());
+        DDS.Topic topic;
+        DDS.Publisher publisher;
+        DDS.Subscriber subscriber;
+
+        this.factory = DDS.DomainParticipantFactory.get_instance();
+        this.participant = this.factory.create_participant(
+                DDS.DOMAIN_ID_DEFAULT.value, DDS.PARTICIPANT_QOS_DEFAULT.value,
+                null, DDS.STATUS_MASK_NONE.value);
+        check(this.participant, "create_participant");
+
+        typeSupport = (TypeSupportImpl) Class.forName(
+                type.getName() + "TypeSupport").newInstance();
+        check(typeSupport.register_type(this.participant,
+                typeSupport.get_type_name()), "register_type");
+
+        this.participant.get_default_topic_qos(topicQos);
+        topicQos.value.reliability.kind = DDS.ReliabilityQosPolicyKind.RELIABLE_RELIABILITY_QOS;
+        topicQos.value.history.kind = DDS.HistoryQosPolicyKind.KEEP_LAST_HISTORY_QOS;
+        topicQos.value.history.depth = 1;
+        topic = this.participant.create_topic(
+                "Benchmark_Classic" + type.getSimpleName(),
+                typeSupport.get_type_name(), topicQos.value, null,
+                DDS.STATUS_MASK_NONE.value);
+        check(topic, "create_topic");
+
+        this.participant.get_default_publisher_qos(publisherQos);
+        publisherQos.value.partition.name = new String[] { partition };
+        publisher = this.participant.create_publisher(publisherQos.value,
+                null, DDS.STATUS_MASK_NONE.value);
+        check(publisher, "create_publisher");
+        this.writer = publisher.create_datawriter(topic,
+                DDS.DATAWRITER_QOS_USE_TOPIC_QOS.value, null,
+                DDS.STATUS_MASK_NONE.value);
+        check(this.writer, "create_datawriter");
+
+        this.participant.get_default_subscriber_qos(subscriberQos);
+        subscriberQos.value.partition.name = new String[] { partition };
+        subscriber = this.participant.create_subscriber(subscriberQos.value,
+                null, DDS.STATUS_MASK_NONE.value);
+        check(subscriber, "create_subscriber");
+        this.reader = subscriber.create_datareader(topic,
+                DDS.DATAREADER_QOS_USE_TOPIC_QOS.value, null,
+                DDS.STATUS_MASK_NONE.value);
+        check(this.reader, "create_datareader");
+
+        this.writerAccessor = (FooDataWriterAccessor) Class.forName(
+                type.getName() + "DataWriterAccessor").newInstance();
+        this.readerAccessor = (FooDataReaderAccessor) Class.forName(
+                type.getName() + "DataReaderAccessor").newInstance();
+    }
+
+    private static void check(Object entity, String operation) {
+        if (entity == null) {
+            throw new IllegalStateException(operation + " failed.");
+        }
+    }
+
+    static void check(int rc, String operation) {
+        if (rc != DDS.RETCODE_OK.value && rc != DDS.RETCODE_NO_DATA.value) {
+            throw new IllegalStateException(operation + " failed (" + rc
+                    + ").");
+        }
+    }
+
+    public DDS.DataWriter getWriter() {
+        return this.writer;
+    }
+
+    public DDS.DataReader getReader() {
+        return this.reader;
+    }
+
+    public FooDataWriterAccessor getWriterAccessor() {
+        return this.writerAccessor;
+    }
+
+    public FooDataReaderAccessor getReaderAccessor() {
+        return this.readerAccessor;
+    }
+
+    public void close() {
+        this.participant.delete_contained_entities();
+        this.factory.delete_participant(this.participant);
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.sub.DataReader;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.topic.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Drains one DataReader from several threads at once while a writer thread
+ * keeps it filled, to measure how well take scales with the number of
+ * threads. The number of taking threads can be changed with the -tg option
+ * of JMH, e.g. -tg 1,7 for one writer and seven takers.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ConcurrentTakeBenchmark {
+    @Param({ "FIXED" })
+    public SampleShape shape;
+
+    /* Number of instances the writer cycles through. */
+    @Param({ "1024" })
+    public int instances;
+
+    @Param({ "32" })
+    public int maxSamples;
+
+    private BenchmarkDomain domain;
+    private DataWriter<Object> writer;
+    private DataReader<Object> reader;
+    private Object[] samples;
+
+    /**
+     * The state of each thread of the group.
+     */
+    @State(Scope.Thread)
+    public static class ThreadState {
+        private final List<Sample<Object>> taken =
+                new ArrayList<Sample<Object>>();
+        private long sequence = 0;
+        private int next = 0;
+    }
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Topic<Object> topic;
+
+        this.domain = new BenchmarkDomain();
+        topic = this.domain.createTopic((Class<Object>) this.shape.getType());
+        this.writer = this.domain.createWriter(topic);
+        this.reader = this.domain.createReader(topic, 1);
+        this.samples = new Object[this.instances];
+        for (int i = 0; i < this.instances; i++) {
+            this.samples[i] = this.shape.create(i);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.domain.close();
+    }
+
+    @Benchmark
+    @Group("drain")
+    @GroupThreads(1)
+    public void write(ThreadState state) throws TimeoutException {
+        Object sample = this.samples[state.next];
+
+        this.shape.update(sample, ++state.sequence);
+        this.writer.write(sample);
+        state.next = (state.next + 1) % this.samples.length;
+    }
+
+    @Benchmark
+    @Group("drain")
+    @GroupThreads(3)
+    public int take(ThreadState state, Blackhole blackhole) {
+        this.reader.take(state.taken,
+                this.reader.select().maxSamples(this.maxSamples));
+        for (Sample<Object> sample : state.taken) {
+            blackhole.consume(sample.getData());
+        }
+        return state.taken.size();
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures the native copy-in (saj_copyIn.c) and copy-out (saj_copyOut.c)
+ * of each {@link SampleShape} through the typed classic API, so the numbers
+ * do not include the Java5 API layer.
+ * <p>
+ * The copy-out reads the same sample over and over. With the reuse mode the
+ * sequences of the previous read are passed in again, so the copy-out fills
+ * the existing objects; with the loan mode they are returned after every
+ * read, so the copy-out creates all objects anew.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class CopyBenchmark {
+    @Param({ "FIXED", "STRINGS", "NESTED" })
+    public SampleShape shape;
+
+    @Param({ "reuse", "loan" })
+    public String copyOut;
+
+    private ClassicTopic topic;
+    private FooDataWriterAccessor writerAccessor;
+    private FooDataReaderAccessor readerAccessor;
+    private Object sample;
+    private Object samples;
+    private DDS.SampleInfoSeqHolder infos;
+    private boolean loan;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.topic = new ClassicTopic(this.shape.getType());
+        this.writerAccessor = this.topic.getWriterAccessor();
+        this.readerAccessor = this.topic.getReaderAccessor();
+        this.sample = this.shape.create(0);
+        this.samples = this.readerAccessor.newSampleSeqHolder();
+        this.infos = new DDS.SampleInfoSeqHolder();
+        this.loan = "loan".equals(this.copyOut);
+        this.sequence = 0;
+
+        /* The sample that copyOut() reads. */
+        ClassicTopic.check(this.writerAccessor.write(this.topic.getWriter(),
+                this.sample, DDS.HANDLE_NIL.value), "write");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.topic.close();
+    }
+
+    @Benchmark
+    public int copyIn() {
+        this.shape.update(this.sample, ++this.sequence);
+
+        return this.writerAccessor.write(this.topic.getWriter(), this.sample,
+                DDS.HANDLE_NIL.value);
+    }
+
+    @Benchmark
+    public void copyOut(Blackhole blackhole) {
+        int rc = this.readerAccessor.read(this.topic.getReader(),
+                this.samples, this.infos, 1, DDS.ANY_SAMPLE_STATE.value,
+                DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
+
+        blackhole.consume(this.readerAccessor.getSampleSeq(this.samples));
+        if (this.loan) {
+            this.readerAccessor.return_loan(this.topic.getReader(),
+                    this.samples, this.infos);
+        }
+        blackhole.consume(rc);
+    }
+}
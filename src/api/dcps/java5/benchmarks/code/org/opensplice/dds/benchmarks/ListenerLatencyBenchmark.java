@@ -0,0 +1,127 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.omg.dds.core.event.DataAvailableEvent;
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.sub.DataReaderAdapter;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.topic.Topic;
+import org.opensplice.dds.dcps.ListenerDispatcher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import Benchmark.Fixed;
+
+/**
+ * Measures the time from a write until the DataReaderListener of a reader in
+ * the same process has taken the sample, for each listener dispatch mode.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ListenerLatencyBenchmark {
+    /* A sample that does not arrive within this time is considered lost. */
+    private static final long TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    /* Value of the osplListenerDispatchThreads property. */
+    @Param({ "0", "4", "virtual" })
+    public String dispatchThreads;
+
+    private BenchmarkDomain domain;
+    private DataWriter<Fixed> writer;
+    private Fixed sample;
+    private final AtomicLong received = new AtomicLong();
+
+    private class Listener extends DataReaderAdapter<Fixed> {
+        private final List<Sample<Fixed>> samples =
+                new ArrayList<Sample<Fixed>>();
+
+        @Override
+        public void onDataAvailable(DataAvailableEvent<Fixed> status) {
+            status.getSource().take(this.samples);
+            for (Sample<Fixed> s : this.samples) {
+                Fixed data = s.getData();
+
+                if (data != null) {
+                    received.set(data.sequence);
+                }
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Topic<Fixed> topic;
+
+        System.setProperty(ListenerDispatcher.DISPATCH_THREADS_PROPERTY,
+                this.dispatchThreads);
+        this.domain = new BenchmarkDomain();
+        topic = this.domain.createTopic(Fixed.class);
+        this.writer = this.domain.createWriter(topic);
+        this.domain.createReader(topic, 1, new Listener());
+        this.sample = (Fixed) SampleShape.FIXED.create(0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.domain.close();
+    }
+
+    @Benchmark
+    public long writeToListener() throws TimeoutException {
+        long sequence = this.sample.sequence + 1;
+        long deadline;
+
+        SampleShape.FIXED.update(this.sample, sequence);
+        this.writer.write(this.sample);
+
+        deadline = System.nanoTime() + TIMEOUT_NANOS;
+        while (this.received.get() < sequence) {
+            if (System.nanoTime() - deadline > 0) {
+                throw new IllegalStateException("Sample " + sequence
+                        + " did not reach the listener.");
+            }
+            Thread.yield();
+        }
+        return sequence;
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.omg.dds.core.policy.PolicyFactory;
+import org.omg.dds.pub.DataWriterQos;
+import org.omg.dds.sub.DataReaderQos;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.pub.DataWriterQosImpl;
+import org.opensplice.dds.sub.DataReaderQosImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the conversion of DataReader and DataWriter QoS between the
+ * Java5 API and the classic API, which every create, getQos and setQos
+ * operation performs, and the creation of a modified QoS by means of
+ * withPolicies. None of these operations needs a domain.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class QosConversionBenchmark {
+    private OsplServiceEnvironment environment;
+    private PolicyFactory policies;
+    private DataReaderQosImpl readerQos;
+    private DataWriterQosImpl writerQos;
+    private DDS.DataReaderQos oldReaderQos;
+    private DDS.DataWriterQos oldWriterQos;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        this.environment = (OsplServiceEnvironment) BenchmarkDomain
+                .createEnvironment();
+        this.policies = PolicyFactory.getPolicyFactory(this.environment);
+        this.readerQos = (DataReaderQosImpl) new DataReaderQosImpl(
+                this.environment).withPolicies(
+                this.policies.Reliability().withReliable(),
+                this.policies.History().withKeepLast(10),
+                this.policies.Deadline().withPeriod(100,
+                        TimeUnit.MILLISECONDS));
+        this.writerQos = (DataWriterQosImpl) new DataWriterQosImpl(
+                this.environment).withPolicies(
+                this.policies.Reliability().withReliable(),
+                this.policies.History().withKeepLast(10),
+                this.policies.Deadline().withPeriod(100,
+                        TimeUnit.MILLISECONDS));
+        this.oldReaderQos = this.readerQos.convert();
+        this.oldWriterQos = this.writerQos.convert();
+    }
+
+    @Benchmark
+    public DDS.DataReaderQos readerQosToClassic() {
+        return this.readerQos.convert();
+    }
+
+    @Benchmark
+    public DataReaderQos readerQosFromClassic() {
+        return DataReaderQosImpl.convert(this.environment, this.oldReaderQos);
+    }
+
+    @Benchmark
+    public DDS.DataWriterQos writerQosToClassic() {
+        return this.writerQos.convert();
+    }
+
+    @Benchmark
+    public DataWriterQos writerQosFromClassic() {
+        return DataWriterQosImpl.convert(this.environment, this.oldWriterQos);
+    }
+
+    @Benchmark
+    public DataReaderQos readerQosWithPolicies() {
+        return this.readerQos.withPolicies(this.policies.History()
+                .withKeepLast(1), this.policies.Reliability().withBestEffort());
+    }
+}
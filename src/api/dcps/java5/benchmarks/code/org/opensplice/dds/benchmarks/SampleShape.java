@@ -0,0 +1,144 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import Benchmark.Fixed;
+import Benchmark.Nested;
+import Benchmark.Point;
+import Benchmark.Segment;
+import Benchmark.Strings;
+
+/**
+ * The topic types that the benchmarks are parameterized with. Each shape
+ * creates samples of its type and updates them between writes, so every
+ * write copies a sample that differs from the previous one.
+ */
+public enum SampleShape {
+    /** Only primitives and fixed-size arrays. */
+    FIXED(Fixed.class) {
+        @Override
+        public Object create(int id) {
+            Fixed sample = new Fixed();
+
+            sample.id = id;
+            for (int i = 0; i < sample.values.length; i++) {
+                sample.values[i] = i * 0.5;
+            }
+            for (int i = 0; i < sample.payload.length; i++) {
+                sample.payload[i] = (byte) i;
+            }
+            return sample;
+        }
+
+        @Override
+        public void update(Object sample, long sequence) {
+            Fixed fixed = (Fixed) sample;
+
+            fixed.sequence = sequence;
+            fixed.values[(int) (sequence % fixed.values.length)] = sequence;
+        }
+    },
+    /** Mostly strings of a few tens of characters. */
+    STRINGS(Strings.class) {
+        @Override
+        public Object create(int id) {
+            Strings sample = new Strings();
+
+            sample.id = id;
+            sample.name = "instance-" + id;
+            sample.description = "A string-heavy sample used to measure the "
+                    + "copy of strings between Java and the shared memory.";
+            for (int i = 0; i < sample.tags.length; i++) {
+                sample.tags[i] = "tag-" + i;
+            }
+            return sample;
+        }
+
+        @Override
+        public void update(Object sample, long sequence) {
+            Strings strings = (Strings) sample;
+
+            strings.sequence = sequence;
+            strings.tags[(int) (sequence % strings.tags.length)] = "tag-"
+                    + sequence;
+        }
+    },
+    /** Sequences of structs that contain sequences themselves. */
+    NESTED(Nested.class) {
+        @Override
+        public Object create(int id) {
+            Nested sample = new Nested();
+
+            sample.id = id;
+            sample.segments = new Segment[8];
+            for (int i = 0; i < sample.segments.length; i++) {
+                Segment segment = new Segment();
+
+                segment.label = "segment-" + i;
+                segment.points = new Point[16];
+                for (int j = 0; j < segment.points.length; j++) {
+                    Point point = new Point();
+
+                    point.x = i;
+                    point.y = j;
+                    point.z = i * j;
+                    segment.points[j] = point;
+                }
+                sample.segments[i] = segment;
+            }
+            sample.indices = new int[64];
+            for (int i = 0; i < sample.indices.length; i++) {
+                sample.indices[i] = i;
+            }
+            return sample;
+        }
+
+        @Override
+        public void update(Object sample, long sequence) {
+            Nested nested = (Nested) sample;
+
+            nested.sequence = sequence;
+            nested.indices[(int) (sequence % nested.indices.length)] =
+                    (int) sequence;
+        }
+    };
+
+    private final Class<?> type;
+
+    private SampleShape(Class<?> type) {
+        this.type = type;
+    }
+
+    public Class<?> getType() {
+        return this.type;
+    }
+
+    /**
+     * @return a new sample of the type of this shape with the provided key.
+     */
+    public abstract Object create(int id);
+
+    /**
+     * Changes the non-key part of the sample, to make it differ from the
+     * previous one that was written.
+     */
+    public abstract void update(Object sample, long sequence);
+}
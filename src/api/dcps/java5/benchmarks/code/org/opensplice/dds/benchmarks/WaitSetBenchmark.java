@@ -0,0 +1,154 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.core.Condition;
+import org.omg.dds.core.GuardCondition;
+import org.omg.dds.core.WaitSet;
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.sub.DataReader;
+import org.omg.dds.sub.ReadCondition;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.topic.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import Benchmark.Fixed;
+
+/**
+ * Measures how fast a thread that waits on a WaitSet is woken up.
+ * <p>
+ * guardConditionPingPong triggers a GuardCondition that a second thread
+ * waits for, which answers by triggering a GuardCondition the benchmark
+ * thread waits for, so every operation consists of two wake-ups.
+ * writeWaitTake writes a sample and waits for the ReadCondition of the
+ * reader before taking it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WaitSetBenchmark {
+    private BenchmarkDomain domain;
+    private DataWriter<Fixed> writer;
+    private DataReader<Fixed> reader;
+    private ReadCondition<Fixed> readCondition;
+    private WaitSet dataWaitSet;
+    private Fixed sample;
+    private List<Sample<Fixed>> samples;
+
+    private GuardCondition ping;
+    private GuardCondition pong;
+    private WaitSet pongWaitSet;
+    private Thread ponger;
+    private volatile boolean running;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Topic<Fixed> topic;
+        final WaitSet pingWaitSet;
+
+        this.domain = new BenchmarkDomain();
+        topic = this.domain.createTopic(Fixed.class);
+        this.writer = this.domain.createWriter(topic);
+        this.reader = this.domain.createReader(topic, 1);
+        this.readCondition = this.reader.createReadCondition(this.reader
+                .getParent().createDataState().withAnySampleState()
+                .withAnyViewState().withAnyInstanceState());
+        this.dataWaitSet = WaitSet.newWaitSet(this.domain.getEnvironment());
+        this.dataWaitSet.attachCondition(this.readCondition);
+        this.sample = (Fixed) SampleShape.FIXED.create(0);
+        this.samples = new ArrayList<Sample<Fixed>>();
+
+        this.ping = GuardCondition.newGuardCondition(this.domain
+                .getEnvironment());
+        this.pong = GuardCondition.newGuardCondition(this.domain
+                .getEnvironment());
+        pingWaitSet = WaitSet.newWaitSet(this.domain.getEnvironment());
+        pingWaitSet.attachCondition(this.ping);
+        this.pongWaitSet = WaitSet.newWaitSet(this.domain.getEnvironment());
+        this.pongWaitSet.attachCondition(this.pong);
+
+        this.running = true;
+        this.ponger = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                List<Condition> active = new ArrayList<Condition>();
+
+                while (running) {
+                    try {
+                        pingWaitSet.waitForConditions(active, 1,
+                                TimeUnit.SECONDS);
+                    } catch (TimeoutException e) {
+                        continue;
+                    }
+                    ping.setTriggerValue(false);
+                    pong.setTriggerValue(true);
+                }
+            }
+        }, "WaitSetBenchmarkPonger");
+        this.ponger.setDaemon(true);
+        this.ponger.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        this.running = false;
+        this.ponger.join();
+        this.domain.close();
+    }
+
+    @Benchmark
+    public void guardConditionPingPong() throws TimeoutException {
+        this.ping.setTriggerValue(true);
+        this.pongWaitSet.waitForConditions(10, TimeUnit.SECONDS);
+        this.pong.setTriggerValue(false);
+    }
+
+    @Benchmark
+    public void writeWaitTake(Blackhole blackhole) throws TimeoutException {
+        SampleShape.FIXED.update(this.sample, this.sample.sequence + 1);
+        this.writer.write(this.sample);
+        this.dataWaitSet.waitForConditions(10, TimeUnit.SECONDS);
+        this.reader.take(this.samples);
+        for (Sample<Fixed> s : this.samples) {
+            blackhole.consume(s.getData());
+        }
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.sub.DataReader;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.topic.Topic;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Writes and takes samples of each {@link SampleShape} through the Java5
+ * API, between a DataWriter and a DataReader in the same process. The
+ * reader keeps only the last sample of its single instance, so the amount
+ * of data in the reader does not grow with the number of writes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WriteTakeBenchmark {
+    @Param({ "FIXED", "STRINGS", "NESTED" })
+    public SampleShape shape;
+
+    private BenchmarkDomain domain;
+    private DataWriter<Object> writer;
+    private org.opensplice.dds.sub.DataReader<Object> reader;
+    private Object sample;
+    private List<Sample<Object>> samples;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setup() {
+        Topic<Object> topic;
+
+        this.domain = new BenchmarkDomain();
+        topic = this.domain.createTopic((Class<Object>) this.shape.getType());
+        this.writer = this.domain.createWriter(topic);
+        this.reader = (org.opensplice.dds.sub.DataReader<Object>) this.domain
+                .createReader(topic, 1);
+        this.sample = this.shape.create(0);
+        this.samples = new ArrayList<Sample<Object>>();
+        this.sequence = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.domain.close();
+    }
+
+    private void write() throws TimeoutException {
+        this.shape.update(this.sample, ++this.sequence);
+        this.writer.write(this.sample);
+    }
+
+    /**
+     * Copy-in and delivery to the local reader.
+     */
+    @Benchmark
+    public void write(Blackhole blackhole) throws TimeoutException {
+        this.write();
+        blackhole.consume(this.sequence);
+    }
+
+    /**
+     * Write followed by a take into a list that is reused, which recycles
+     * the sample objects of the previous take.
+     */
+    @Benchmark
+    public void writeTake(Blackhole blackhole) throws TimeoutException {
+        this.write();
+        this.reader.take(this.samples);
+        for (Sample<Object> s : this.samples) {
+            blackhole.consume(s.getData());
+        }
+    }
+
+    /**
+     * Write followed by a take into the loaned iterator of the reader.
+     */
+    @Benchmark
+    public void writeTakeLoaned(Blackhole blackhole) throws TimeoutException {
+        Sample.Iterator<Object> iterator;
+
+        this.write();
+        iterator = this.reader.takeLoaned(1);
+        while (iterator.hasNext()) {
+            blackhole.consume(iterator.next().getData());
+        }
+    }
+}
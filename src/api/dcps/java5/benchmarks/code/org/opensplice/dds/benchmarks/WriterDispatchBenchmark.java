@@ -0,0 +1,106 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.benchmarks;
+
+import java.lang.reflect.Constructor;
+import java.util.concurrent.TimeUnit;
+
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the two ways in which the Java5 DataWriter dispatches to the
+ * typed classic DataWriter: the DataWriterAccessor that the IDL
+ * pre-processor generates, and the reflection-based accessor that is used
+ * for types generated by an older pre-processor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class WriterDispatchBenchmark {
+    private static final String REFLECTIVE_ACCESSOR =
+            "org.opensplice.dds.pub.ReflectiveDataWriterAccessor";
+
+    @Param({ "FIXED", "STRINGS", "NESTED" })
+    public SampleShape shape;
+
+    @Param({ "generated", "reflective" })
+    public String dispatch;
+
+    private ClassicTopic topic;
+    private FooDataWriterAccessor accessor;
+    private Object sample;
+    private long sequence;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        this.topic = new ClassicTopic(this.shape.getType());
+
+        if ("reflective".equals(this.dispatch)) {
+            /* The reflective accessor is internal to the Java5 API and needs
+             * its ServiceEnvironment for error reporting. */
+            Constructor<?> constructor = Class.forName(REFLECTIVE_ACCESSOR)
+                    .getDeclaredConstructors()[0];
+
+            constructor.setAccessible(true);
+            this.accessor = (FooDataWriterAccessor) constructor.newInstance(
+                    BenchmarkDomain.createEnvironment(), this.shape.getType());
+        } else {
+            this.accessor = this.topic.getWriterAccessor();
+        }
+        this.sample = this.shape.create(0);
+        this.sequence = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.topic.close();
+    }
+
+    @Benchmark
+    public int write() {
+        this.shape.update(this.sample, ++this.sequence);
+
+        return this.accessor.write(this.topic.getWriter(), this.sample,
+                DDS.HANDLE_NIL.value);
+    }
+
+    @Benchmark
+    public long registerInstance() {
+        return this.accessor.register_instance(this.topic.getWriter(),
+                this.sample);
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.core.Condition;
+import org.omg.dds.core.Duration;
+
+/**
+ * Serves the asynchronous variants of blocking operations with a single
+ * thread. Waits for conditions are multiplexed over one native WaitSet to
+ * which the conditions of all pending waits are attached; operations that
+ * cannot be expressed as a condition, like waiting for acknowledgments, are
+ * retried with a zero timeout at an increasing interval. Pending waits
+ * therefore do not occupy a thread each.
+ */
+public final class AsyncWaiter {
+    /* Bounds of the interval at which polled operations are retried. */
+    private static final long MIN_POLL_NANOS = 1000L * 1000L;
+    private static final long MAX_POLL_NANOS = 100L * 1000L * 1000L;
+    private static AsyncWaiter instance = null;
+
+    private final DDS.WaitSet waitSet;
+    private final DDS.GuardCondition wakeup;
+    private final ArrayList<Waiter<?>> added;
+    private final ArrayList<Waiter<?>> waiting;
+    /* Number of pending waits per attached condition. */
+    private final HashMap<DDS.Condition, Integer> attached;
+
+    /**
+     * A blocking operation that is attempted with a zero timeout.
+     */
+    public interface Operation {
+        /**
+         * @return the DDS return code of the attempt, RETCODE_TIMEOUT if the
+         *         operation has not completed yet.
+         */
+        public int attempt(DDS.Duration_t zero);
+    }
+
+    private AsyncWaiter() {
+        Thread thread;
+
+        this.waitSet = new DDS.WaitSet();
+        this.wakeup = new DDS.GuardCondition();
+        this.added = new ArrayList<Waiter<?>>();
+        this.waiting = new ArrayList<Waiter<?>>();
+        this.attached = new HashMap<DDS.Condition, Integer>();
+        this.waitSet.attach_condition(this.wakeup);
+
+        thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                AsyncWaiter.this.run();
+            }
+        }, "AsyncWaiterThread");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public static synchronized AsyncWaiter getInstance() {
+        if (instance == null) {
+            instance = new AsyncWaiter();
+        }
+        return instance;
+    }
+
+    /**
+     * Waits until at least one of the conditions triggers, or the timeout
+     * expires.
+     *
+     * @return a future that completes with the triggered conditions.
+     */
+    public CompletionFuture<Collection<Condition>> waitForConditions(
+            OsplServiceEnvironment environment,
+            Map<DDS.Condition, Condition> conditions, Duration timeout) {
+        return this.add(new ConditionWaiter(environment,
+                new HashMap<DDS.Condition, Condition>(conditions), timeout));
+    }
+
+    /**
+     * Retries the operation until it no longer returns RETCODE_TIMEOUT, or
+     * the timeout expires.
+     *
+     * @return a future that completes when the operation succeeded, or
+     *         fails with the exception that corresponds to its return code.
+     */
+    public CompletionFuture<Void> poll(OsplServiceEnvironment environment,
+            Operation operation, Duration timeout, String message) {
+        return this.add(new PollWaiter(environment, operation, timeout,
+                message));
+    }
+
+    private <T> CompletionFuture<T> add(Waiter<T> waiter) {
+        synchronized (this.added) {
+            this.added.add(waiter);
+            this.added.notifyAll();
+        }
+        this.wakeup.set_trigger_value(true);
+
+        return waiter.future;
+    }
+
+    /*
+     * Never returns: a failing waiter only fails its own future, and a
+     * failing WaitSet fails the waits for conditions and is retried after
+     * a back-off, so the thread keeps serving the other waits.
+     */
+    private void run() {
+        DDS.ConditionSeqHolder holder = new DDS.ConditionSeqHolder();
+        long backoff = 0;
+
+        while (true) {
+            try {
+                int rc;
+                long next = this.check();
+
+                rc = this.waitSet._wait(holder,
+                        duration(next, System.nanoTime()));
+                this.wakeup.set_trigger_value(false);
+                if (rc == DDS.RETCODE_OK.value
+                        || rc == DDS.RETCODE_TIMEOUT.value) {
+                    backoff = 0;
+                } else {
+                    this.failConditionWaiters(rc);
+                    backoff = this.backoff(backoff);
+                }
+            } catch (RuntimeException e) {
+                backoff = this.backoff(backoff);
+            }
+        }
+    }
+
+    /*
+     * Takes in the added waits, completes the waits that are over and
+     * returns the time at which the next wait must be checked.
+     */
+    private long check() {
+        long now;
+        long next = Long.MAX_VALUE;
+        Iterator<Waiter<?>> iter;
+
+        synchronized (this.added) {
+            for (Waiter<?> waiter : this.added) {
+                try {
+                    for (DDS.Condition condition : waiter.getConditions()) {
+                        this.attach(condition);
+                    }
+                } catch (RuntimeException e) {
+                    waiter.future.completeExceptionally(e);
+                }
+                this.waiting.add(waiter);
+            }
+            this.added.clear();
+        }
+        now = System.nanoTime();
+        iter = this.waiting.iterator();
+        while (iter.hasNext()) {
+            Waiter<?> waiter = iter.next();
+            boolean done;
+
+            try {
+                done = waiter.future.isDone() || waiter.check(now);
+            } catch (RuntimeException e) {
+                waiter.future.completeExceptionally(e);
+                done = true;
+            }
+            if (done) {
+                this.remove(waiter);
+                iter.remove();
+            } else {
+                next = Math.min(next, waiter.next);
+            }
+        }
+        return next;
+    }
+
+    /*
+     * The WaitSet failed; fail the waits for conditions so their conditions
+     * get detached, the polled operations do not depend on it.
+     */
+    private void failConditionWaiters(int rc) {
+        Iterator<Waiter<?>> iter = this.waiting.iterator();
+
+        while (iter.hasNext()) {
+            Waiter<?> waiter = iter.next();
+
+            if (waiter.getConditions().length > 0) {
+                try {
+                    Utilities.checkReturnCode(rc, waiter.environment,
+                            "Asynchronous wait failed.");
+                    waiter.future.completeExceptionally(new DDSExceptionImpl(
+                            waiter.environment, "Asynchronous wait failed."));
+                } catch (RuntimeException e) {
+                    waiter.future.completeExceptionally(e);
+                }
+                this.remove(waiter);
+                iter.remove();
+            }
+        }
+    }
+
+    private void remove(Waiter<?> waiter) {
+        for (DDS.Condition condition : waiter.getConditions()) {
+            try {
+                this.detach(condition);
+            } catch (RuntimeException e) {
+                /* The condition is forgotten regardless. */
+            }
+        }
+    }
+
+    /*
+     * Pauses after a failure, at an increasing interval, so a persistent
+     * failure does not keep the thread spinning; added waits end the pause.
+     */
+    private long backoff(long previous) {
+        long nanos = Math.min(Math.max(previous * 2, MIN_POLL_NANOS),
+                MAX_POLL_NANOS);
+
+        synchronized (this.added) {
+            if (this.added.isEmpty()) {
+                try {
+                    this.added.wait(nanos / 1000000L);
+                } catch (InterruptedException e) {
+                    /* Just retry. */
+                }
+            }
+        }
+        return nanos;
+    }
+
+    private static DDS.Duration_t duration(long next, long now) {
+        long nanos;
+
+        if (next == Long.MAX_VALUE) {
+            return DDS.DURATION_INFINITE.value;
+        }
+        nanos = Math.max(0, next - now);
+
+        return new DDS.Duration_t((int) (nanos / 1000000000L),
+                (int) (nanos % 1000000000L));
+    }
+
+    private void attach(DDS.Condition condition) {
+        Integer count = this.attached.get(condition);
+
+        if (count == null) {
+            /* A condition of a deleted entity simply never triggers; the
+             * wait then times out. */
+            this.waitSet.attach_condition(condition);
+            count = Integer.valueOf(0);
+        }
+        this.attached.put(condition, Integer.valueOf(count.intValue() + 1));
+    }
+
+    private void detach(DDS.Condition condition) {
+        Integer count = this.attached.get(condition);
+
+        if (count != null) {
+            if (count.intValue() == 1) {
+                this.attached.remove(condition);
+                this.waitSet.detach_condition(condition);
+            } else {
+                this.attached.put(condition,
+                        Integer.valueOf(count.intValue() - 1));
+            }
+        }
+    }
+
+    private abstract class Waiter<T> implements Runnable {
+        protected final OsplServiceEnvironment environment;
+        protected final CompletionFuture<T> future;
+        protected final long deadline;
+        /* Time at which check() must be invoked at the latest. */
+        protected long next;
+
+        public Waiter(OsplServiceEnvironment environment, Duration timeout) {
+            this.environment = environment;
+            this.future = new CompletionFuture<T>(environment, this);
+            if (timeout == null) {
+                throw new IllegalArgumentExceptionImpl(environment,
+                        "Illegal Duration (null) provided.");
+            }
+            if (timeout.isInfinite()) {
+                this.deadline = Long.MAX_VALUE;
+            } else {
+                this.deadline = System.nanoTime()
+                        + timeout.getDuration(java.util.concurrent.TimeUnit.NANOSECONDS);
+            }
+            this.next = this.deadline;
+        }
+
+        /* Invoked when the future is cancelled. */
+        @Override
+        public void run() {
+            AsyncWaiter.this.wakeup.set_trigger_value(true);
+        }
+
+        public abstract DDS.Condition[] getConditions();
+
+        /*
+         * Completes the future and returns true when the wait is over.
+         */
+        public boolean check(long now) {
+            if (now - this.deadline >= 0) {
+                this.future.completeExceptionally(new TimeOutExceptionImpl(
+                        this.environment, "Asynchronous wait timed out."));
+                return true;
+            }
+            return false;
+        }
+    }
+
+    private class ConditionWaiter extends Waiter<Collection<Condition>> {
+        private final Map<DDS.Condition, Condition> conditions;
+        private final DDS.Condition[] oldConditions;
+
+        public ConditionWaiter(OsplServiceEnvironment environment,
+                Map<DDS.Condition, Condition> conditions, Duration timeout) {
+            super(environment, timeout);
+            this.conditions = conditions;
+            this.oldConditions = conditions.keySet().toArray(
+                    new DDS.Condition[conditions.size()]);
+        }
+
+        @Override
+        public DDS.Condition[] getConditions() {
+            return this.oldConditions;
+        }
+
+        @Override
+        public boolean check(long now) {
+            ArrayList<Condition> triggered = new ArrayList<Condition>();
+
+            for (DDS.Condition condition : this.oldConditions) {
+                if (condition.get_trigger_value()) {
+                    triggered.add(this.conditions.get(condition));
+                }
+            }
+            if (!triggered.isEmpty()) {
+                this.future.complete(triggered);
+                return true;
+            }
+            return super.check(now);
+        }
+    }
+
+    private class PollWaiter extends Waiter<Void> {
+        private final Operation operation;
+        private final String message;
+        private long interval;
+
+        public PollWaiter(OsplServiceEnvironment environment,
+                Operation operation, Duration timeout, String message) {
+            super(environment, timeout);
+            this.operation = operation;
+            this.message = message;
+            this.interval = MIN_POLL_NANOS;
+            this.next = 0;
+        }
+
+        @Override
+        public DDS.Condition[] getConditions() {
+            return new DDS.Condition[0];
+        }
+
+        @Override
+        public boolean check(long now) {
+            int rc;
+
+            if (now - this.next < 0) {
+                return super.check(now);
+            }
+            try {
+                rc = this.operation.attempt(DDS.DURATION_ZERO.value);
+                if (rc != DDS.RETCODE_TIMEOUT.value) {
+                    Utilities.checkReturnCodeWithTimeout(rc,
+                            this.environment, this.message);
+                    this.future.complete(null);
+                    return true;
+                }
+            } catch (TimeoutException e) {
+                this.future.completeExceptionally(e);
+                return true;
+            } catch (RuntimeException e) {
+                this.future.completeExceptionally(e);
+                return true;
+            }
+            if (super.check(now)) {
+                return true;
+            }
+            this.next = Math.min(now + this.interval, this.deadline);
+            this.interval = Math.min(this.interval * 2, MAX_POLL_NANOS);
+
+            return false;
+        }
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Result of an asynchronous wait. Besides the blocking operations of
+ * {@link Future}, it allows registering callbacks that are invoked as soon as
+ * the wait completes, so nobody needs to block on the result.
+ * <p>
+ * A wait that times out completes with a {@link TimeoutException}; a wait
+ * that fails completes with the same exception the blocking variant of the
+ * operation would have thrown.
+ *
+ * @param <T>
+ *            The type of the result.
+ */
+public class CompletionFuture<T> implements Future<T> {
+    /**
+     * Invoked when a {@link CompletionFuture} completes. Callbacks are invoked
+     * by the thread that completes the wait, which is shared by all pending
+     * waits, so they should not block.
+     */
+    public interface Callback<T> {
+        /**
+         * @param result
+         *            The result of the wait, or null if it failed.
+         * @param failure
+         *            The cause of the failure, or null if the wait succeeded.
+         */
+        public void onCompletion(T result, Throwable failure);
+    }
+
+    private final OsplServiceEnvironment environment;
+    private final Runnable canceller;
+    private List<Callback<? super T>> callbacks;
+    private boolean done;
+    private boolean cancelled;
+    private T result;
+    private Throwable failure;
+
+    CompletionFuture(OsplServiceEnvironment environment, Runnable canceller) {
+        this.environment = environment;
+        this.canceller = canceller;
+        this.callbacks = new ArrayList<Callback<? super T>>(1);
+        this.done = false;
+        this.cancelled = false;
+        this.result = null;
+        this.failure = null;
+    }
+
+    /**
+     * Registers a callback that is invoked when this future completes, or
+     * immediately by the calling thread if it has already completed.
+     *
+     * @param callback
+     *            The callback.
+     */
+    public void whenComplete(Callback<? super T> callback) {
+        boolean now;
+
+        if (callback == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Callback (null) provided.");
+        }
+        synchronized (this) {
+            now = this.done;
+            if (!now) {
+                this.callbacks.add(callback);
+            }
+        }
+        if (now) {
+            this.invoke(callback);
+        }
+    }
+
+    boolean complete(T value) {
+        return this.finish(value, null, false);
+    }
+
+    boolean completeExceptionally(Throwable cause) {
+        return this.finish(null, cause, false);
+    }
+
+    private boolean finish(T value, Throwable cause, boolean cancel) {
+        List<Callback<? super T>> pending;
+
+        synchronized (this) {
+            if (this.done) {
+                return false;
+            }
+            this.done = true;
+            this.cancelled = cancel;
+            this.result = value;
+            this.failure = cause;
+            pending = this.callbacks;
+            this.callbacks = null;
+            this.notifyAll();
+        }
+        for (Callback<? super T> callback : pending) {
+            this.invoke(callback);
+        }
+        return true;
+    }
+
+    private void invoke(Callback<? super T> callback) {
+        T value;
+        Throwable cause;
+
+        synchronized (this) {
+            value = this.result;
+            cause = this.failure;
+        }
+        try {
+            callback.onCompletion(value, cause);
+        } catch (RuntimeException e) {
+            /* A failing callback must not affect the other callbacks. */
+        }
+    }
+
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        if (this.finish(null, new CancellationException(), true)) {
+            this.canceller.run();
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return this.done;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException,
+            ExecutionException {
+        while (!this.done) {
+            this.wait();
+        }
+        return this.report();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        long remaining = unit.toNanos(timeout);
+
+        while (!this.done) {
+            if (remaining <= 0) {
+                throw new TimeoutException();
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+            remaining = deadline - System.nanoTime();
+        }
+        return this.report();
+    }
+
+    private T report() throws ExecutionException {
+        if (this.cancelled) {
+            throw new CancellationException();
+        }
+        if (this.failure != null) {
+            throw new ExecutionException(this.failure);
+        }
+        return this.result;
+    }
+}
@@ -29,6 +29,8 @@ import org.omg.dds.core.EntityQos;
 import org.omg.dds.core.InstanceHandle;
 import org.omg.dds.core.ServiceEnvironment;
 import org.omg.dds.core.status.Status;
+import org.opensplice.dds.core.metrics.EntityMetrics;
+import org.opensplice.dds.core.metrics.Metrics;
 import org.opensplice.dds.core.status.StatusConverter;
 
 public abstract class EntityImpl<OLD extends DDS.Entity, OLDPARENT, QOS extends EntityQos<?>, LISTENER extends EventListener, LISTENERIMPL extends Listener<LISTENER>>
@@ -38,6 +40,7 @@ public abstract class EntityImpl<OLD extends DDS.Entity, OLDPARENT, QOS extends
     private OLD old;
     protected LISTENERIMPL listener;
     private AtomicInteger refCount;
+    private volatile EntityMetrics metrics;
     private static java.util.HashMap<String, Integer> references = new java.util.HashMap<String, Integer>();
 
     private static boolean addReference(String name) {
@@ -117,6 +120,27 @@ public abstract class EntityImpl<OLD extends DDS.Entity, OLDPARENT, QOS extends
         return this.oldParent;
     }
 
+    /**
+     * Creates and registers the metrics of this entity if entity metrics are
+     * enabled. Must be called after {@link #setOld(DDS.Entity)}.
+     *
+     * @return the metrics of this entity or null if metrics are disabled.
+     */
+    protected EntityMetrics registerMetrics(String kind, String name) {
+        if (Metrics.isEnabled()) {
+            this.metrics = Metrics.register(kind, name,
+                    this.getOld().get_instance_handle());
+        }
+        return this.metrics;
+    }
+
+    /**
+     * @return the metrics of this entity or null if it is not instrumented.
+     */
+    public EntityMetrics getMetrics() {
+        return this.metrics;
+    }
+
     @Override
     public ServiceEnvironment getEnvironment() {
         return this.environment;
@@ -142,6 +166,11 @@ public abstract class EntityImpl<OLD extends DDS.Entity, OLDPARENT, QOS extends
         if (newValue == 0) {
             this.destroy();
             this.old = null;
+
+            if (this.metrics != null) {
+                Metrics.unregister(this.metrics);
+                this.metrics = null;
+            }
             assert (removeReference(this.getClass().getSimpleName()));
         } else if (newValue < 0) {
             throw new AlreadyClosedExceptionImpl(this.environment,
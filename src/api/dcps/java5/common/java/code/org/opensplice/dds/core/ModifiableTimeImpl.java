@@ -64,13 +64,18 @@ public class ModifiableTimeImpl extends ModifiableTime {
         this.seconds = seconds;
         this.nanoseconds = nanoseconds;
 
-        if (this.seconds == INFINITE_SECONDS
-                && this.nanoseconds == INFINITE_NANOSECONDS) {
-            this.totalNanos = Long.MAX_VALUE;
-        } else {
-            this.totalNanos = this.seconds * 1000 * 1000 * 1000
-                    + this.nanoseconds;
+        this.totalNanos = toNanos(seconds, nanoseconds);
+    }
+
+    /*
+     * Returns what getTime(TimeUnit.NANOSECONDS) would return for a time
+     * with the given seconds and nanoseconds, without creating it.
+     */
+    public static long toNanos(long seconds, long nanoseconds) {
+        if (seconds == INFINITE_SECONDS && nanoseconds == INFINITE_NANOSECONDS) {
+            return Long.MAX_VALUE;
         }
+        return seconds * 1000 * 1000 * 1000 + nanoseconds;
     }
 
     public ModifiableTimeImpl normalize() {
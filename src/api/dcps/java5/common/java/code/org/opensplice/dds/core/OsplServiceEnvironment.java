@@ -48,8 +48,11 @@ import org.opensplice.dds.type.TypeSupportImpl;
 import org.opensplice.dds.type.TypeSupportProtobuf;
 
 public class OsplServiceEnvironment extends ServiceEnvironment {
+    /* Number of slots of the instance handle table, must be a power of 2. */
+    private static final int INSTANCE_HANDLE_SLOTS = 4096;
     private final Map<String, Object> environment;
     private final OpenSpliceServiceProviderInterface osplSPI;
+    private final InstanceHandleImpl[] instanceHandles = new InstanceHandleImpl[INSTANCE_HANDLE_SLOTS];
 
     public OsplServiceEnvironment(Map<String, Object> environment) {
         this.environment = new ConcurrentHashMap<String, Object>();
@@ -81,17 +84,44 @@ public class OsplServiceEnvironment extends ServiceEnvironment {
         return this.osplSPI;
     }
 
+    /**
+     * Returns an InstanceHandle for the value. InstanceHandles are immutable,
+     * so the handles of recently seen instances are kept in a direct-mapped
+     * table and shared, which makes looking them up again allocation free.
+     * Instance handles are unique within the process, so the table is shared
+     * by all entities of this environment.
+     */
+    public InstanceHandleImpl getInstanceHandle(long value) {
+        int slot = ((int) (value ^ (value >>> 32)) * 0x9E3779B9) >>> 20;
+        InstanceHandleImpl handle = this.instanceHandles[slot];
+
+        /* Racing updates of a slot are harmless, since all fields of an
+         * InstanceHandleImpl are final. */
+        if (handle == null || handle.getValue() != value) {
+            handle = new InstanceHandleImpl(this, value);
+            this.instanceHandles[slot] = handle;
+        }
+        return handle;
+    }
+
     public static class OpenSpliceServiceProviderInterface implements
             ServiceProviderInterface {
         private final OsplServiceEnvironment environment;
         private final DomainParticipantFactoryImpl factory;
         private final PolicyFactoryImpl policyFactory;
+        private final Duration infiniteDuration;
+        private final Duration zeroDuration;
 
         private OpenSpliceServiceProviderInterface(
                 OsplServiceEnvironment environment) {
             this.environment = environment;
             this.factory = new DomainParticipantFactoryImpl(this.environment);
             this.policyFactory = new PolicyFactoryImpl(this.environment);
+            this.infiniteDuration = new DurationImpl(this.environment,
+                    DDS.DURATION_INFINITE_SEC.value,
+                    DDS.DURATION_INFINITE_NSEC.value);
+            this.zeroDuration = new DurationImpl(this.environment,
+                    DDS.DURATION_ZERO_SEC.value, DDS.DURATION_ZERO_NSEC.value);
         }
 
         @Override
@@ -147,15 +177,12 @@ public class OsplServiceEnvironment extends ServiceEnvironment {
 
         @Override
         public Duration infiniteDuration() {
-            return new DurationImpl(this.environment,
-                    DDS.DURATION_INFINITE_SEC.value,
-                    DDS.DURATION_INFINITE_NSEC.value);
+            return this.infiniteDuration;
         }
 
         @Override
         public Duration zeroDuration() {
-            return new DurationImpl(this.environment,
-                    DDS.DURATION_ZERO_SEC.value, DDS.DURATION_ZERO_NSEC.value);
+            return this.zeroDuration;
         }
 
         @Override
@@ -172,8 +199,7 @@ public class OsplServiceEnvironment extends ServiceEnvironment {
 
         @Override
         public InstanceHandle nilHandle() {
-            return new InstanceHandleImpl(this.environment,
-                    DDS.HANDLE_NIL.value);
+            return this.environment.getInstanceHandle(DDS.HANDLE_NIL.value);
         }
 
         @Override
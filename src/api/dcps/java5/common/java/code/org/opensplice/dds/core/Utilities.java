@@ -20,6 +20,7 @@
  */
 package org.opensplice.dds.core;
 
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
 import org.omg.dds.core.Duration;
@@ -244,6 +245,17 @@ public class Utilities {
     }
 
     public static Duration convert(OsplServiceEnvironment env, DDS.Duration_t d) {
+        /* Durations are immutable, so the common constants are shared. */
+        if (env != null) {
+            if (d.sec == DDS.DURATION_INFINITE_SEC.value
+                    && d.nanosec == DDS.DURATION_INFINITE_NSEC.value) {
+                return env.getSPI().infiniteDuration();
+            }
+            if (d.sec == DDS.DURATION_ZERO_SEC.value
+                    && d.nanosec == DDS.DURATION_ZERO_NSEC.value) {
+                return env.getSPI().zeroDuration();
+            }
+        }
         return new DurationImpl(env, d.sec, d.nanosec);
     }
 
@@ -262,7 +274,10 @@ public class Utilities {
     }
 
     public static InstanceHandle convert(OsplServiceEnvironment env, long handle) {
-        return new InstanceHandleImpl(env, handle);
+        if (env == null) {
+            return new InstanceHandleImpl(env, handle);
+        }
+        return env.getInstanceHandle(handle);
     }
 
     public static DDS.Time_t convert(OsplServiceEnvironment environment, Time t) {
@@ -278,6 +293,28 @@ public class Utilities {
         }
     }
 
+    /*
+     * Equivalent to convert(environment, new TimeImpl(environment, time,
+     * unit)), but without creating the intermediate TimeImpl.
+     */
+    public static DDS.Time_t convert(OsplServiceEnvironment environment,
+            long time, TimeUnit unit) {
+        long seconds;
+
+        if (unit == null) {
+            throw new IllegalArgumentExceptionImpl(environment,
+                    "Illegal TimeUnit provided (null).");
+        }
+        if (time == Long.MAX_VALUE) {
+            return new DDS.Time_t(DurationImpl.INFINITE_SECONDS,
+                    DurationImpl.INFINITE_NANOSECONDS);
+        }
+        seconds = TimeUnit.SECONDS.convert(time, unit);
+
+        return new DDS.Time_t((int) seconds,
+                (int) (TimeUnit.NANOSECONDS.convert(time, unit) - (seconds * 1000 * 1000 * 1000)));
+    }
+
     public static Time convert(OsplServiceEnvironment env, DDS.Time_t t) {
         return new TimeImpl(env, t.sec, t.nanosec);
     }
@@ -30,16 +30,36 @@ import org.omg.dds.core.Condition;
 import org.omg.dds.core.Duration;
 import org.omg.dds.core.ServiceEnvironment;
 import org.omg.dds.core.WaitSet;
+import org.opensplice.dds.core.metrics.EntityMetrics;
+import org.opensplice.dds.core.metrics.Metrics;
 
 public class WaitSetImpl extends WaitSet {
     private final OsplServiceEnvironment environment;
     private final DDS.WaitSet oldWaitSet;
     private ConcurrentHashMap<DDS.Condition, org.omg.dds.core.Condition> conditions;
+    private final EntityMetrics metrics;
 
     public WaitSetImpl(OsplServiceEnvironment environment) {
         this.environment = environment;
         this.oldWaitSet = new DDS.WaitSet();
         this.conditions = new ConcurrentHashMap<DDS.Condition, org.omg.dds.core.Condition>();
+        this.metrics = Metrics.isEnabled() ? Metrics.getWaitSetMetrics()
+                : null;
+    }
+
+    private long now() {
+        return (this.metrics != null) ? System.nanoTime() : 0;
+    }
+
+    /*
+     * Records the time spent in the native wait and the time between the
+     * native wait returning and the application getting control back.
+     */
+    private void recordWait(long start, long wake) {
+        if (this.metrics != null) {
+            long end = System.nanoTime();
+            this.metrics.recordWait(wake - start, end - wake);
+        }
     }
 
     @Override
@@ -50,12 +70,13 @@ public class WaitSetImpl extends WaitSet {
     @Override
     public void waitForConditions() {
         DDS.ConditionSeqHolder holder = new DDS.ConditionSeqHolder();
+        long start = this.now();
         int rc = this.oldWaitSet._wait(holder, DDS.DURATION_INFINITE.value);
+        long wake = this.now();
 
         Utilities.checkReturnCode(rc, this.environment,
                 "Waitset.waitForConditions() failed.");
-
-        return;
+        this.recordWait(start, wake);
     }
 
     @Override
@@ -66,7 +87,9 @@ public class WaitSetImpl extends WaitSet {
         }
 
         DDS.ConditionSeqHolder holder = new DDS.ConditionSeqHolder();
+        long start = this.now();
         int rc = this.oldWaitSet._wait(holder, DDS.DURATION_INFINITE.value);
+        long wake = this.now();
 
         Utilities.checkReturnCode(rc, this.environment,
                 "Waitset.waitForConditions() failed.");
@@ -76,6 +99,7 @@ public class WaitSetImpl extends WaitSet {
         for (DDS.Condition cond : holder.value) {
             activeConditions.add(this.conditions.get(cond));
         }
+        this.recordWait(start, wake);
     }
 
     @Override
@@ -88,10 +112,13 @@ public class WaitSetImpl extends WaitSet {
         DDS.Duration_t oldTimeout = Utilities
                 .convert(this.environment, timeout);
 
+        long start = this.now();
         int rc = this.oldWaitSet._wait(holder, oldTimeout);
+        long wake = this.now();
 
         Utilities.checkReturnCodeWithTimeout(rc, this.environment,
                 "Waitset.waitForConditions() failed.");
+        this.recordWait(start, wake);
     }
 
     @Override
@@ -114,7 +141,9 @@ public class WaitSetImpl extends WaitSet {
         DDS.Duration_t oldTimeout = Utilities
                 .convert(this.environment, timeout);
 
+        long start = this.now();
         int rc = this.oldWaitSet._wait(holder, oldTimeout);
+        long wake = this.now();
 
         Utilities.checkReturnCode(rc, this.environment,
                 "Waitset.waitForConditions() failed.");
@@ -124,7 +153,7 @@ public class WaitSetImpl extends WaitSet {
         for (DDS.Condition cond : holder.value) {
             activeConditions.add(this.conditions.get(cond));
         }
-
+        this.recordWait(start, wake);
     }
 
     @Override
@@ -135,6 +164,26 @@ public class WaitSetImpl extends WaitSet {
 
     }
 
+    /**
+     * Asynchronous variant of {@link #waitForConditions(Duration)} that does
+     * not block the calling thread. Conditions attached to this WaitSet
+     * after this call are not taken into account.
+     *
+     * @param timeout
+     *            the maximum time to wait.
+     * @return a future that completes with the triggered conditions, or
+     *         fails with a TimeoutException when the timeout expires.
+     */
+    public CompletionFuture<Collection<Condition>> waitForConditionsAsync(
+            Duration timeout) {
+        if (timeout == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Illegal Duration (null) provided.");
+        }
+        return AsyncWaiter.getInstance().waitForConditions(this.environment,
+                this.conditions, timeout);
+    }
+
     @Override
     public void attachCondition(Condition cond) {
         org.opensplice.dds.core.Condition<?> c;
@@ -0,0 +1,294 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core.metrics;
+
+/**
+ * Counters and latency histograms of a single entity. Only the metrics that
+ * apply to the kind of entity are updated; the others remain zero.
+ * <ul>
+ * <li>DataWriters count writes and measure the duration of the call into
+ * the native DataWriter, which includes the copy-in of the sample.</li>
+ * <li>DataReaders count reads and takes, the number of samples they return
+ * and measure the duration of the call into the native DataReader, which
+ * includes the copy-out of the samples. They also measure the duration of
+ * their DataReaderListener callbacks.</li>
+ * <li>WaitSets measure how long they waited, and the time from waking up
+ * until the wait returned to the application.</li>
+ * </ul>
+ *
+ * @see Metrics
+ */
+public final class EntityMetrics implements EntityMetricsMBean {
+    private final String kind;
+    private final String name;
+    private final long instanceHandle;
+
+    private final StripedCounter writes;
+    private final StripedCounter reads;
+    private final StripedCounter takes;
+    private final StripedCounter samples;
+    private final LatencyHistogram samplesPerCall;
+    private final LatencyHistogram writeLatency;
+    private final LatencyHistogram readLatency;
+    private final LatencyHistogram listenerLatency;
+    private final LatencyHistogram waitLatency;
+    private final LatencyHistogram wakeLatency;
+
+    EntityMetrics(String kind, String name, long instanceHandle) {
+        this.kind = kind;
+        this.name = name;
+        this.instanceHandle = instanceHandle;
+        this.writes = new StripedCounter();
+        this.reads = new StripedCounter();
+        this.takes = new StripedCounter();
+        this.samples = new StripedCounter();
+        this.samplesPerCall = new LatencyHistogram();
+        this.writeLatency = new LatencyHistogram();
+        this.readLatency = new LatencyHistogram();
+        this.listenerLatency = new LatencyHistogram();
+        this.waitLatency = new LatencyHistogram();
+        this.wakeLatency = new LatencyHistogram();
+    }
+
+    public void recordWrite(long nanos) {
+        this.writes.increment();
+        this.writeLatency.record(nanos);
+    }
+
+    public void recordRead(long nanos, int sampleCount) {
+        this.reads.increment();
+        this.recordSamples(nanos, sampleCount);
+    }
+
+    public void recordTake(long nanos, int sampleCount) {
+        this.takes.increment();
+        this.recordSamples(nanos, sampleCount);
+    }
+
+    private void recordSamples(long nanos, int sampleCount) {
+        this.samples.add(sampleCount);
+        this.samplesPerCall.record(sampleCount);
+        this.readLatency.record(nanos);
+    }
+
+    public void recordListener(long nanos) {
+        this.listenerLatency.record(nanos);
+    }
+
+    public void recordWait(long waitNanos, long wakeToReturnNanos) {
+        this.waitLatency.record(waitNanos);
+        this.wakeLatency.record(wakeToReturnNanos);
+    }
+
+    @Override
+    public String getKind() {
+        return this.kind;
+    }
+
+    @Override
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    public long getInstanceHandle() {
+        return this.instanceHandle;
+    }
+
+    @Override
+    public long getWriteCount() {
+        return this.writes.sum();
+    }
+
+    @Override
+    public long getReadCount() {
+        return this.reads.sum();
+    }
+
+    @Override
+    public long getTakeCount() {
+        return this.takes.sum();
+    }
+
+    @Override
+    public long getSampleCount() {
+        return this.samples.sum();
+    }
+
+    /**
+     * @return the distribution of the number of samples returned by a read
+     *         or take.
+     */
+    public LatencyHistogram getSamplesPerCall() {
+        return this.samplesPerCall;
+    }
+
+    @Override
+    public double getSamplesPerCallMean() {
+        return this.samplesPerCall.getMean();
+    }
+
+    @Override
+    public long getSamplesPerCallMax() {
+        return this.samplesPerCall.getMax();
+    }
+
+    /**
+     * @return the distribution of the duration of writes.
+     */
+    public LatencyHistogram getWriteLatency() {
+        return this.writeLatency;
+    }
+
+    @Override
+    public double getWriteNanosMean() {
+        return this.writeLatency.getMean();
+    }
+
+    @Override
+    public long getWriteNanos99() {
+        return this.writeLatency.getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getWriteNanosMax() {
+        return this.writeLatency.getMax();
+    }
+
+    /**
+     * @return the distribution of the duration of reads and takes.
+     */
+    public LatencyHistogram getReadLatency() {
+        return this.readLatency;
+    }
+
+    @Override
+    public double getReadNanosMean() {
+        return this.readLatency.getMean();
+    }
+
+    @Override
+    public long getReadNanos99() {
+        return this.readLatency.getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getReadNanosMax() {
+        return this.readLatency.getMax();
+    }
+
+    /**
+     * @return the distribution of the duration of listener callbacks.
+     */
+    public LatencyHistogram getListenerLatency() {
+        return this.listenerLatency;
+    }
+
+    @Override
+    public long getListenerCallCount() {
+        return this.listenerLatency.getCount();
+    }
+
+    @Override
+    public double getListenerNanosMean() {
+        return this.listenerLatency.getMean();
+    }
+
+    @Override
+    public long getListenerNanos99() {
+        return this.listenerLatency.getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getListenerNanosMax() {
+        return this.listenerLatency.getMax();
+    }
+
+    /**
+     * @return the distribution of the time spent waiting in a WaitSet.
+     */
+    public LatencyHistogram getWaitLatency() {
+        return this.waitLatency;
+    }
+
+    @Override
+    public long getWaitCount() {
+        return this.waitLatency.getCount();
+    }
+
+    @Override
+    public double getWaitNanosMean() {
+        return this.waitLatency.getMean();
+    }
+
+    @Override
+    public long getWaitNanos99() {
+        return this.waitLatency.getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getWaitNanosMax() {
+        return this.waitLatency.getMax();
+    }
+
+    /**
+     * @return the distribution of the time from the native WaitSet waking up
+     *         until the wait returned to the application.
+     */
+    public LatencyHistogram getWakeLatency() {
+        return this.wakeLatency;
+    }
+
+    @Override
+    public double getWakeToReturnNanosMean() {
+        return this.wakeLatency.getMean();
+    }
+
+    @Override
+    public long getWakeToReturnNanos99() {
+        return this.wakeLatency.getValueAtPercentile(99.0);
+    }
+
+    @Override
+    public long getWakeToReturnNanosMax() {
+        return this.wakeLatency.getMax();
+    }
+
+    @Override
+    public void reset() {
+        this.writes.reset();
+        this.reads.reset();
+        this.takes.reset();
+        this.samples.reset();
+        this.samplesPerCall.reset();
+        this.writeLatency.reset();
+        this.readLatency.reset();
+        this.listenerLatency.reset();
+        this.waitLatency.reset();
+        this.wakeLatency.reset();
+    }
+
+    @Override
+    public String toString() {
+        return this.kind + " '" + this.name + "' (" + this.instanceHandle
+                + ")";
+    }
+}
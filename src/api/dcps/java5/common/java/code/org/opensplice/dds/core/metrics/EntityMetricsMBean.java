@@ -0,0 +1,82 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core.metrics;
+
+/**
+ * Management interface through which the {@link EntityMetrics} of an entity
+ * are exposed over JMX. All durations are in nanoseconds. Latencies are
+ * reported as mean, 99th percentile and maximum.
+ */
+public interface EntityMetricsMBean {
+    public String getKind();
+
+    public String getName();
+
+    public long getInstanceHandle();
+
+    public long getWriteCount();
+
+    public long getReadCount();
+
+    public long getTakeCount();
+
+    public long getSampleCount();
+
+    public double getSamplesPerCallMean();
+
+    public long getSamplesPerCallMax();
+
+    public double getWriteNanosMean();
+
+    public long getWriteNanos99();
+
+    public long getWriteNanosMax();
+
+    public double getReadNanosMean();
+
+    public long getReadNanos99();
+
+    public long getReadNanosMax();
+
+    public long getListenerCallCount();
+
+    public double getListenerNanosMean();
+
+    public long getListenerNanos99();
+
+    public long getListenerNanosMax();
+
+    public long getWaitCount();
+
+    public double getWaitNanosMean();
+
+    public long getWaitNanos99();
+
+    public long getWaitNanosMax();
+
+    public double getWakeToReturnNanosMean();
+
+    public long getWakeToReturnNanos99();
+
+    public long getWakeToReturnNanosMax();
+
+    public void reset();
+}
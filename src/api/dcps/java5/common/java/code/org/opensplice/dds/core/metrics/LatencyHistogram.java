@@ -0,0 +1,151 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values, typically durations in nanoseconds,
+ * with logarithmic buckets that are each split into 16 linear sub-buckets.
+ * Like an HDR histogram, it therefore reports every value with a relative
+ * error of at most 1/16 while recording stays a single atomic increment.
+ * Values of 2^40 and above, i.e. about 18 minutes in nanoseconds, are
+ * counted in the last bucket.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 40;
+    private static final int BUCKETS = (MAX_EXPONENT - SUB_BUCKET_BITS + 2)
+            * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets;
+    private final StripedCounter count;
+    private final StripedCounter sum;
+    private final AtomicLong max;
+
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(BUCKETS);
+        this.count = new StripedCounter();
+        this.sum = new StripedCounter();
+        this.max = new AtomicLong();
+    }
+
+    private static int index(long value) {
+        int exponent;
+
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS
+                + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+    }
+
+    /* Highest value that is counted in the bucket. */
+    private static long highest(int index) {
+        int exponent;
+        int sub;
+
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        sub = index % SUB_BUCKETS;
+
+        return ((long) (SUB_BUCKETS + sub + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    public void record(long value) {
+        long current;
+
+        if (value < 0) {
+            value = 0;
+        }
+        this.buckets.incrementAndGet(index(value));
+        this.count.increment();
+        this.sum.add(value);
+
+        do {
+            current = this.max.get();
+        } while (value > current && !this.max.compareAndSet(current, value));
+    }
+
+    public long getCount() {
+        return this.count.sum();
+    }
+
+    public long getMax() {
+        return this.max.get();
+    }
+
+    public double getMean() {
+        long n = this.count.sum();
+
+        if (n == 0) {
+            return 0.0;
+        }
+        return (double) this.sum.sum() / n;
+    }
+
+    /**
+     * @param percentile
+     *            a percentile between 0 and 100.
+     * @return the value below or at which the provided percentage of the
+     *         recorded values lies, rounded up to the end of its bucket, or 0
+     *         if nothing was recorded.
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = 0;
+        long target;
+        long seen = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            total += this.buckets.get(i);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        target = Math.max(1, (long) Math.ceil(Math.min(100.0,
+                Math.max(0.0, percentile)) / 100.0 * total));
+
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += this.buckets.get(i);
+            if (seen >= target) {
+                return Math.min(highest(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            this.buckets.set(i, 0);
+        }
+        this.count.reset();
+        this.sum.reset();
+        this.max.set(0);
+    }
+}
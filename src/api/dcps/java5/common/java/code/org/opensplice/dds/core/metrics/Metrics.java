@@ -0,0 +1,138 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Registry of the {@link EntityMetrics} of all instrumented entities in this
+ * process. Instrumentation is disabled by default and is enabled by setting
+ * the system property {@value #ENABLED_PROPERTY} to true before the entities
+ * are created. Entities that are created while it is disabled are never
+ * instrumented and pay no overhead.
+ * <p>
+ * The metrics are available through {@link #getMetrics()} and are registered
+ * with the platform MBean server under the domain
+ * {@value #JMX_DOMAIN}, e.g.
+ * <code>org.opensplice.dds:type=DataReader,name="Topic",handle=1234</code>.
+ * All WaitSets share a single entry with type WaitSet.
+ */
+public final class Metrics {
+    public static final String ENABLED_PROPERTY = "osplEntityMetrics";
+    public static final String JMX_DOMAIN = "org.opensplice.dds";
+
+    /* Registered metrics and their JMX name, or null if JMX refused them. */
+    private static final LinkedHashMap<EntityMetrics, ObjectName> registered =
+            new LinkedHashMap<EntityMetrics, ObjectName>();
+    private static EntityMetrics waitSetMetrics = null;
+
+    private Metrics() {
+    }
+
+    public static boolean isEnabled() {
+        return Boolean.parseBoolean(System.getProperty(ENABLED_PROPERTY));
+    }
+
+    /**
+     * Creates and registers the metrics of an entity.
+     *
+     * @param kind
+     *            the kind of entity, e.g. DataReader.
+     * @param name
+     *            the name of the entity, typically its topic name.
+     * @param instanceHandle
+     *            the instance handle of the entity.
+     * @return the new metrics.
+     */
+    public static EntityMetrics register(String kind, String name,
+            long instanceHandle) {
+        EntityMetrics metrics = new EntityMetrics(kind, name, instanceHandle);
+        ObjectName objectName = null;
+
+        try {
+            objectName = new ObjectName(JMX_DOMAIN + ":type="
+                    + ObjectName.quote(kind) + ",name="
+                    + ObjectName.quote(name) + ",handle=" + instanceHandle);
+            getServer().registerMBean(metrics, objectName);
+        } catch (JMException e) {
+            /* Metrics remain available through getMetrics(). */
+            objectName = null;
+        } catch (SecurityException e) {
+            /* Metrics remain available through getMetrics(). */
+            objectName = null;
+        }
+        synchronized (registered) {
+            registered.put(metrics, objectName);
+        }
+
+        return metrics;
+    }
+
+    /**
+     * Removes the metrics of an entity that has been closed.
+     */
+    public static void unregister(EntityMetrics metrics) {
+        ObjectName objectName;
+
+        synchronized (registered) {
+            objectName = registered.remove(metrics);
+        }
+        if (objectName != null) {
+            try {
+                getServer().unregisterMBean(objectName);
+            } catch (JMException e) {
+                /* Already unregistered by someone else. */
+            } catch (SecurityException e) {
+                /* Not allowed to unregister. */
+            }
+        }
+    }
+
+    /**
+     * @return the metrics that all WaitSets in this process share.
+     */
+    public static synchronized EntityMetrics getWaitSetMetrics() {
+        if (waitSetMetrics == null) {
+            waitSetMetrics = register("WaitSet", "all", 0);
+        }
+        return waitSetMetrics;
+    }
+
+    /**
+     * @return a snapshot of the metrics of all instrumented entities.
+     */
+    public static List<EntityMetrics> getMetrics() {
+        synchronized (registered) {
+            return new ArrayList<EntityMetrics>(registered.keySet());
+        }
+    }
+
+    private static MBeanServer getServer() {
+        return ManagementFactory.getPlatformMBeanServer();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A counter that threads can increment concurrently without contending on a
+ * single memory location. Every thread adds to one of several cells, chosen
+ * by its thread id, and reading the counter sums all cells. The cells are
+ * spread out so that they do not share a cache line.
+ */
+public final class StripedCounter {
+    /* Distance between cells in longs, i.e. 128 bytes. */
+    private static final int PADDING = 16;
+    private static final int STRIPES = stripes();
+    private final AtomicLongArray cells;
+
+    public StripedCounter() {
+        this.cells = new AtomicLongArray(STRIPES * PADDING);
+    }
+
+    private static int stripes() {
+        int processors = Runtime.getRuntime().availableProcessors();
+        int stripes = 1;
+
+        while (stripes < processors * 2 && stripes < 64) {
+            stripes <<= 1;
+        }
+        return stripes;
+    }
+
+    private static int cell() {
+        long id = Thread.currentThread().getId();
+        int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+
+        return ((hash >>> 16) & (STRIPES - 1)) * PADDING;
+    }
+
+    public void increment() {
+        this.cells.incrementAndGet(cell());
+    }
+
+    public void add(long value) {
+        this.cells.addAndGet(cell(), value);
+    }
+
+    /**
+     * @return the sum of all cells. Additions that happen concurrently may or
+     *         may not be included.
+     */
+    public long sum() {
+        long sum = 0;
+
+        for (int i = 0; i < STRIPES; i++) {
+            sum += this.cells.get(i * PADDING);
+        }
+        return sum;
+    }
+
+    public void reset() {
+        for (int i = 0; i < STRIPES; i++) {
+            this.cells.set(i * PADDING, 0);
+        }
+    }
+}
@@ -409,31 +409,28 @@ public class StatusConverter {
                         status.getLastInstanceHandle()));
     }
 
-    public static SampleRejectedStatus convert(OsplServiceEnvironment env,
-            DDS.SampleRejectedStatus old) {
-        SampleRejectedStatus.Kind kind;
-
-        switch (old.last_reason.value()) {
+    public static SampleRejectedStatus.Kind convert(
+            OsplServiceEnvironment env, DDS.SampleRejectedStatusKind old) {
+        switch (old.value()) {
         case SampleRejectedStatusKind._NOT_REJECTED:
-            kind = Kind.NOT_REJECTED;
-            break;
+            return Kind.NOT_REJECTED;
         case SampleRejectedStatusKind._REJECTED_BY_INSTANCES_LIMIT:
-            kind = Kind.REJECTED_BY_INSTANCES_LIMIT;
-            break;
+            return Kind.REJECTED_BY_INSTANCES_LIMIT;
         case SampleRejectedStatusKind._REJECTED_BY_SAMPLES_LIMIT:
-            kind = Kind.REJECTED_BY_SAMPLES_LIMIT;
-            break;
+            return Kind.REJECTED_BY_SAMPLES_LIMIT;
         case SampleRejectedStatusKind._REJECTED_BY_SAMPLES_PER_INSTANCE_LIMIT:
-            kind = Kind.REJECTED_BY_SAMPLES_PER_INSTANCE_LIMIT;
-            break;
+            return Kind.REJECTED_BY_SAMPLES_PER_INSTANCE_LIMIT;
         default:
             throw new IllegalArgumentExceptionImpl(env,
-                    "Found illegal SampleRejectedStatus.Kind "
-                            + old.last_reason.value());
+                    "Found illegal SampleRejectedStatus.Kind " + old.value());
         }
+    }
+
+    public static SampleRejectedStatus convert(OsplServiceEnvironment env,
+            DDS.SampleRejectedStatus old) {
         return new SampleRejectedStatusImpl(env, old.total_count,
-                old.total_count_change, kind, Utilities.convert(env,
-                        old.last_instance_handle));
+                old.total_count_change, convert(env, old.last_reason),
+                Utilities.convert(env, old.last_instance_handle));
     }
 
     public static DDS.SampleRejectedStatus convert(OsplServiceEnvironment env,
@@ -20,11 +20,15 @@
  */
 package org.opensplice.dds.pub;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
+import org.omg.dds.core.Duration;
 import org.omg.dds.core.InstanceHandle;
 import org.omg.dds.core.Time;
+import org.opensplice.dds.core.CompletionFuture;
 
 /**
  * OpenSplice-specific extension of {@link org.omg.dds.pub.DataWriter} with
@@ -216,4 +220,193 @@ public interface DataWriter<TYPE> extends org.omg.dds.pub.DataWriter<TYPE> {
      */
     public void writeDispose(TYPE instanceData, InstanceHandle handle,
             long sourceTimestamp, TimeUnit unit) throws TimeoutException;
+
+    /**
+     * This operation writes all samples of the provided collection, in
+     * iteration order, as if {@link #write(Object)} were called for each of
+     * them. All samples are handed to the Data Distribution Service in a
+     * single call, which is considerably cheaper than writing them one by
+     * one when publishing many small samples.
+     * <p>
+     * A failure to write one sample does not prevent the others from being
+     * written, except for a timeout or the DataWriter being closed: the
+     * remaining samples are then not written at all. If one or more samples
+     * could not be written, the exception that corresponds to the first
+     * failure, or to the one that stopped the batch, is thrown; its message
+     * holds the number of failed samples and the index of the first one. Use
+     * {@link #write(Object[], Time, int[])} to learn which samples were
+     * written.
+     *
+     * @param instanceData
+     *            The samples to write.
+     * @throws TimeoutException
+     *             if the configured maximum time elapses and the DataWriter is
+     *             still unable to store a sample without exceeding its
+     *             configured resource limits.
+     * @throws IllegalArgumentException
+     *             The collection is null or holds a null sample.
+     * @throws org.omg.dds.core.DDSException
+     *                  An internal error has occurred.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *                  The Data Distribution Service ran out of resources to
+     *                  complete this operation.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *                  The corresponding DataWriter has been closed.
+     */
+    public void write(Collection<TYPE> instanceData) throws TimeoutException;
+
+    /**
+     * @see #write(Collection)
+     * @param instanceData      The samples to write.
+     * @param sourceTimestamp   The timestamp which is provided for the
+     *                          DataReader for all samples, or null to let the
+     *                          Data Distribution Service supply it.
+     */
+    public void write(TYPE[] instanceData, Time sourceTimestamp)
+            throws TimeoutException;
+
+    /**
+     * This operation writes all samples of the provided array like
+     * {@link #write(Collection)} and stores the DDS return code of every
+     * sample, for instance <code>DDS.RETCODE_OK.value</code> or
+     * <code>DDS.RETCODE_TIMEOUT.value</code>, at the corresponding index of
+     * <code>results</code>. The results are stored before an exception is
+     * thrown, so the samples that have not been written can be retried.
+     *
+     * @see #write(Collection)
+     * @param instanceData      The samples to write.
+     * @param sourceTimestamp   The timestamp which is provided for the
+     *                          DataReader for all samples, or null to let the
+     *                          Data Distribution Service supply it.
+     * @param results           The array that receives the result of every
+     *                          sample; at least as long as instanceData.
+     * @throws IllegalArgumentException
+     *             The array of samples is null, holds a null sample, or
+     *             results is null or too small.
+     */
+    public void write(TYPE[] instanceData, Time sourceTimestamp, int[] results)
+            throws TimeoutException;
+
+    /**
+     * This operation writes a sample that has already been serialized as
+     * big-endian CDR, for instance by a bridge that receives CDR from another
+     * transport. The serialized data is handed to the Data Distribution
+     * Service directly, without creating a Java object of the type.
+     * <p>
+     * The sample is read from the position up to the limit of the provided
+     * buffer, which must be a direct ByteBuffer. The position of the buffer
+     * is not modified. The serialized data is trusted to match the type of
+     * this DataWriter; use
+     * {@link #writeSerialized(ByteBuffer, byte[], InstanceHandle, Time)} to
+     * have it validated against the type hash of the TypeSupport.
+     *
+     * @param cdr
+     *            The serialized sample.
+     * @param handle
+     *            The handle of the instance of the sample, or a nil handle.
+     * @param sourceTimestamp
+     *            The timestamp which is provided for the DataReader, or null
+     *            to let the Data Distribution Service supply it.
+     * @throws TimeoutException
+     *             if the configured maximum time elapses and the DataWriter is
+     *             still unable to store the new sample without exceeding its
+     *             configured resource limits.
+     * @throws IllegalArgumentException
+     *             The buffer is null, not direct or does not hold a valid
+     *             sample.
+     * @throws org.omg.dds.core.DDSException
+     *                  An internal error has occurred.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *                  The Data Distribution Service ran out of resources to
+     *                  complete this operation.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *                  The corresponding DataWriter has been closed.
+     * @throws UnsupportedOperationException
+     *                  The type of this DataWriter cannot be represented as
+     *                  CDR.
+     */
+    public void writeSerialized(ByteBuffer cdr, InstanceHandle handle,
+            Time sourceTimestamp) throws TimeoutException;
+
+    /**
+     * @see #writeSerialized(ByteBuffer, InstanceHandle, Time)
+     * @param cdr               The serialized sample.
+     * @param typeHash          The hash of the type the sample was serialized
+     *                          with. The sample is rejected with an
+     *                          IllegalArgumentException if it differs from
+     *                          the type hash of the TypeSupport, or with a
+     *                          PreconditionNotMetException if the TypeSupport
+     *                          has no type hash.
+     * @param handle            The handle of the instance of the sample, or a
+     *                          nil handle.
+     * @param sourceTimestamp   The timestamp which is provided for the
+     *                          DataReader, or null to let the Data
+     *                          Distribution Service supply it.
+     */
+    public void writeSerialized(ByteBuffer cdr, byte[] typeHash,
+            InstanceHandle handle, Time sourceTimestamp)
+            throws TimeoutException;
+
+    /**
+     * This operation enables, resizes or disables a cache of the instance
+     * handles of the most recently written instances. While the cache is
+     * enabled, the write operations that do not take an InstanceHandle
+     * look up the handle of the instance of the sample in the cache and
+     * pass it to the Data Distribution Service, which then does not need to
+     * look up the instance by its key. Instances that are not in the cache
+     * yet are registered first.
+     * <p>
+     * When the number of cached instances exceeds the capacity, the least
+     * recently written instance is evicted from the cache. Reducing the
+     * capacity, or disabling the cache by setting it to 0, evicts instances
+     * immediately. Instances that the application unregisters itself are
+     * removed from the cache.
+     * <p>
+     * Evicted instances are only unregistered when the
+     * autodispose_unregistered_instances policy of the DataWriter is
+     * disabled, once no write is still using their handle. With the default
+     * policy, unregistering would also dispose the instances, so they remain
+     * registered, as they would if they had been written with the cache
+     * disabled.
+     * <p>
+     * The cache is disabled by default. It is most effective for keyed
+     * topics with a bounded set of instances that are written repeatedly.
+     *
+     * @param capacity
+     *            The maximum number of cached instance handles, or 0 to
+     *            disable the cache.
+     * @throws TimeoutException
+     *             if an evicted instance could not be unregistered in time.
+     * @throws IllegalArgumentException
+     *             The capacity is negative.
+     * @throws org.omg.dds.core.PreconditionNotMetException
+     *             The keys of the type cannot be read from its samples.
+     * @see #getInstanceHandleCacheStatistics()
+     */
+    public void setInstanceHandleCacheCapacity(int capacity)
+            throws TimeoutException;
+
+    /**
+     * This operation returns a snapshot of the hit, miss and eviction counts
+     * of the instance handle cache of this DataWriter.
+     *
+     * @return the statistics of the instance handle cache.
+     * @see #setInstanceHandleCacheCapacity(int)
+     */
+    public InstanceHandleCacheStatistics getInstanceHandleCacheStatistics();
+
+    /**
+     * Asynchronous variant of
+     * {@link org.omg.dds.pub.DataWriter#waitForAcknowledgments(Duration)}
+     * that does not block the calling thread.
+     *
+     * @param maxWait
+     *            The maximum time to wait for the acknowledgments.
+     * @return a future that completes when all written samples have been
+     *         acknowledged, or fails with a TimeoutException when maxWait
+     *         expires.
+     * @throws IllegalArgumentException
+     *             The maxWait is null.
+     */
+    public CompletionFuture<Void> waitForAcknowledgmentsAsync(Duration maxWait);
 }
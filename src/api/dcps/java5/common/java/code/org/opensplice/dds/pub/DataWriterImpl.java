@@ -20,6 +20,7 @@
  */
 package org.opensplice.dds.pub;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -39,14 +40,15 @@ import org.omg.dds.pub.DataWriterListener;
 import org.omg.dds.pub.DataWriterQos;
 import org.omg.dds.topic.SubscriptionBuiltinTopicData;
 import org.omg.dds.topic.Topic;
+import org.opensplice.dds.core.CompletionFuture;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.IllegalOperationExceptionImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
 import org.opensplice.dds.core.StatusConditionImpl;
-import org.opensplice.dds.core.TimeImpl;
 import org.opensplice.dds.core.Utilities;
 import org.opensplice.dds.core.status.StatusConverter;
 import org.opensplice.dds.topic.TopicImpl;
+import org.opensplice.dds.type.AbstractTypeSupport;
 
 public class DataWriterImpl<TYPE> extends AbstractDataWriter<TYPE> {
     private final TopicImpl<TYPE> topic;
@@ -92,7 +94,8 @@ public class DataWriterImpl<TYPE> extends AbstractDataWriter<TYPE> {
         this.setOld(old);
         this.reflectionWriter = new ReflectionDataWriter<TYPE>(
                 this.environment, this.getOld(), this.topic.getTypeSupport()
-                        .getType());
+                        .getType(), this.registerMetrics("DataWriter",
+                        this.topic.getName()));
         this.topic.retain();
 
         if (this.listener != null) {
@@ -136,6 +139,78 @@ public class DataWriterImpl<TYPE> extends AbstractDataWriter<TYPE> {
                 StatusConverter.convertMask(this.environment, statuses));
     }
 
+    @Override
+    public void write(Collection<TYPE> instanceData) throws TimeoutException {
+        if (instanceData == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Collection (null) provided.");
+        }
+        Object[] samples = instanceData.toArray();
+
+        this.reflectionWriter.writeBatch(this.getTypeSupport(), samples,
+                samples.length, null, null);
+    }
+
+    @Override
+    public void write(TYPE[] instanceData, Time sourceTimestamp)
+            throws TimeoutException {
+        if (instanceData == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid array (null) provided.");
+        }
+        this.reflectionWriter.writeBatch(this.getTypeSupport(), instanceData,
+                instanceData.length, sourceTimestamp == null ? null
+                        : Utilities.convert(this.environment, sourceTimestamp),
+                null);
+    }
+
+    @Override
+    public void write(TYPE[] instanceData, Time sourceTimestamp, int[] results)
+            throws TimeoutException {
+        if (instanceData == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid array (null) provided.");
+        }
+        if (results == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid results array (null) provided.");
+        }
+        this.reflectionWriter.writeBatch(this.getTypeSupport(), instanceData,
+                instanceData.length, sourceTimestamp == null ? null
+                        : Utilities.convert(this.environment, sourceTimestamp),
+                results);
+    }
+
+    @Override
+    public void setInstanceHandleCacheCapacity(int capacity)
+            throws TimeoutException {
+        this.reflectionWriter.setInstanceHandleCacheCapacity(
+                this.getTypeSupport(), capacity);
+    }
+
+    @Override
+    public InstanceHandleCacheStatistics getInstanceHandleCacheStatistics() {
+        return this.reflectionWriter.getInstanceHandleCacheStatistics();
+    }
+
+    private AbstractTypeSupport<TYPE> getTypeSupport() {
+        return (AbstractTypeSupport<TYPE>) this.topic.getTypeSupport();
+    }
+
+    @Override
+    public void writeSerialized(ByteBuffer cdr, InstanceHandle handle,
+            Time sourceTimestamp) throws TimeoutException {
+        this.writeSerialized(cdr, null, handle, sourceTimestamp);
+    }
+
+    @Override
+    public void writeSerialized(ByteBuffer cdr, byte[] typeHash,
+            InstanceHandle handle, Time sourceTimestamp)
+            throws TimeoutException {
+        this.reflectionWriter.writeSerialized(this.getTypeSupport(), cdr,
+                typeHash, handle, sourceTimestamp);
+    }
+
     @Override
     public DataWriterQos getQos() {
         return this.reflectionWriter.getQos();
@@ -176,6 +251,11 @@ public class DataWriterImpl<TYPE> extends AbstractDataWriter<TYPE> {
         this.reflectionWriter.waitForAcknowledgments(maxWait, unit);
     }
 
+    @Override
+    public CompletionFuture<Void> waitForAcknowledgmentsAsync(Duration maxWait) {
+        return this.reflectionWriter.waitForAcknowledgmentsAsync(maxWait);
+    }
+
     @Override
     public LivelinessLostStatus getLivelinessLostStatus() {
         return this.reflectionWriter.getLivelinessLostStatus();
@@ -261,22 +341,19 @@ public class DataWriterImpl<TYPE> extends AbstractDataWriter<TYPE> {
 
     @Override
     public void write(TYPE instanceData) throws TimeoutException {
-        this.reflectionWriter.write(instanceData, this.environment.getSPI()
-                .nilHandle());
+        this.reflectionWriter.write(instanceData);
     }
 
     @Override
     public void write(TYPE instanceData, Time sourceTimestamp)
             throws TimeoutException {
-        this.reflectionWriter.write(instanceData, this.environment.getSPI()
-                .nilHandle(), sourceTimestamp);
+        this.reflectionWriter.write(instanceData, sourceTimestamp);
     }
 
     @Override
     public void write(TYPE instanceData, long sourceTimestamp, TimeUnit unit)
             throws TimeoutException {
-        this.reflectionWriter.write(instanceData, new TimeImpl(
-                this.environment, sourceTimestamp, unit));
+        this.reflectionWriter.write(instanceData, sourceTimestamp, unit);
     }
 
     @Override
@@ -20,6 +20,7 @@
  */
 package org.opensplice.dds.pub;
 
+import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -40,6 +41,7 @@ import org.omg.dds.pub.DataWriterListener;
 import org.omg.dds.pub.DataWriterQos;
 import org.omg.dds.topic.SubscriptionBuiltinTopicData;
 import org.omg.dds.topic.Topic;
+import org.opensplice.dds.core.CompletionFuture;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.IllegalOperationExceptionImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
@@ -100,7 +102,8 @@ public class DataWriterProtobuf<PROTOBUF_TYPE, DDS_TYPE> extends
         this.setOld(old);
         this.reflectionWriter = new ReflectionDataWriter<DDS_TYPE>(
                 this.environment, this.getOld(), this.typeSupport
-                        .getTypeSupportStandard().getType());
+                        .getTypeSupportStandard().getType(),
+                this.registerMetrics("DataWriter", this.topic.getName()));
         this.topic.retain();
 
         if (this.listener != null) {
@@ -299,6 +302,11 @@ public class DataWriterProtobuf<PROTOBUF_TYPE, DDS_TYPE> extends
         this.reflectionWriter.waitForAcknowledgments(maxWait, unit);
     }
 
+    @Override
+    public CompletionFuture<Void> waitForAcknowledgmentsAsync(Duration maxWait) {
+        return this.reflectionWriter.waitForAcknowledgmentsAsync(maxWait);
+    }
+
     @Override
     public void write(PROTOBUF_TYPE instanceData) throws TimeoutException {
         this.reflectionWriter.write(this.typeSupport
@@ -344,6 +352,82 @@ public class DataWriterProtobuf<PROTOBUF_TYPE, DDS_TYPE> extends
                 sourceTimestamp, unit);
     }
 
+    @Override
+    public void write(Collection<PROTOBUF_TYPE> instanceData)
+            throws TimeoutException {
+        if (instanceData == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Collection (null) provided.");
+        }
+        Object[] samples = new Object[instanceData.size()];
+        int i = 0;
+
+        for (PROTOBUF_TYPE sample : instanceData) {
+            samples[i++] = this.typeSupport.protobufToDds(sample);
+        }
+        this.reflectionWriter.writeBatch(this.typeSupport, samples, i, null,
+                null);
+    }
+
+    @Override
+    public void write(PROTOBUF_TYPE[] instanceData, Time sourceTimestamp)
+            throws TimeoutException {
+        this.writeBatch(instanceData, sourceTimestamp, null);
+    }
+
+    @Override
+    public void write(PROTOBUF_TYPE[] instanceData, Time sourceTimestamp,
+            int[] results) throws TimeoutException {
+        if (results == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid results array (null) provided.");
+        }
+        this.writeBatch(instanceData, sourceTimestamp, results);
+    }
+
+    private void writeBatch(PROTOBUF_TYPE[] instanceData, Time sourceTimestamp,
+            int[] results) throws TimeoutException {
+        if (instanceData == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid array (null) provided.");
+        }
+        Object[] samples = new Object[instanceData.length];
+
+        for (int i = 0; i < instanceData.length; i++) {
+            samples[i] = this.typeSupport.protobufToDds(instanceData[i]);
+        }
+        this.reflectionWriter.writeBatch(this.typeSupport, samples,
+                samples.length, sourceTimestamp == null ? null
+                        : Utilities.convert(this.environment, sourceTimestamp),
+                results);
+    }
+
+    @Override
+    public void setInstanceHandleCacheCapacity(int capacity)
+            throws TimeoutException {
+        this.reflectionWriter.setInstanceHandleCacheCapacity(this.typeSupport,
+                capacity);
+    }
+
+    @Override
+    public InstanceHandleCacheStatistics getInstanceHandleCacheStatistics() {
+        return this.reflectionWriter.getInstanceHandleCacheStatistics();
+    }
+
+    @Override
+    public void writeSerialized(ByteBuffer cdr, InstanceHandle handle,
+            Time sourceTimestamp) throws TimeoutException {
+        this.writeSerialized(cdr, null, handle, sourceTimestamp);
+    }
+
+    @Override
+    public void writeSerialized(ByteBuffer cdr, byte[] typeHash,
+            InstanceHandle handle, Time sourceTimestamp)
+            throws TimeoutException {
+        this.reflectionWriter.writeSerialized(this.typeSupport, cdr, typeHash, handle,
+                sourceTimestamp);
+    }
+
     @Override
     public DataWriterQos getQos() {
         return this.reflectionWriter.getQos();
@@ -0,0 +1,457 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.pub;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.opensplice.dds.core.DDSExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.PreconditionNotMetExceptionImpl;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+
+/**
+ * Bounded cache of the instance handles that a DataWriter registered for the
+ * keys it wrote, so subsequent writes of the same key can pass the handle
+ * instead of having the service look up the instance from the key again.
+ * The least recently written keys are evicted first; the caller is expected
+ * to unregister the handles returned by {@link #put(Object, long)},
+ * {@link #release(long)} and {@link #setCapacity(int)}.
+ * <p>
+ * A handle returned by {@link #acquire(Object)} or {@link #pin(Object)}, or
+ * passed to {@link #put(Object, long)}, stays pinned until it is passed to
+ * {@link #release(long)}. A pinned handle that is evicted is only returned
+ * for unregistration once it is released, so a write that found the handle
+ * in the cache never uses a handle that was unregistered in the meantime.
+ * The caller unregisters returned handles while holding the lock of the
+ * cache, and registers missing keys while holding it too, so an instance
+ * is never registered again while its previous registration is being
+ * removed.
+ */
+class InstanceHandleCache {
+    private static final long[] NO_HANDLES = new long[0];
+
+    private final OsplServiceEnvironment environment;
+    private final FooDataWriterAccessor accessor;
+    private final KeyField[] keyFields;
+    private final LinkedHashMap<Key, Long> handles;
+    private final HashMap<Long, Key> keys;
+    private final HashMap<Long, int[]> pins;
+    private final Set<Long> deferred;
+    private final List<Long> evicted;
+    private volatile int capacity;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public InstanceHandleCache(OsplServiceEnvironment environment,
+            FooDataWriterAccessor accessor, Class<?> typeClz, String keyList,
+            int capacity) {
+        this.environment = environment;
+        this.accessor = accessor;
+        this.keyFields = resolveKeyFields(environment, typeClz, keyList);
+        this.handles = new LinkedHashMap<Key, Long>(16, 0.75f, true) {
+            private static final long serialVersionUID = -2879245513446537431L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Long> eldest) {
+                return InstanceHandleCache.this.evict(eldest);
+            }
+        };
+        this.keys = new HashMap<Long, Key>();
+        this.pins = new HashMap<Long, int[]>();
+        this.deferred = new HashSet<Long>();
+        this.evicted = new ArrayList<Long>();
+        this.capacity = capacity;
+    }
+
+    private static KeyField[] resolveKeyFields(
+            OsplServiceEnvironment environment, Class<?> typeClz,
+            String keyList) {
+        ArrayList<KeyField> result = new ArrayList<KeyField>();
+
+        if (keyList != null) {
+            for (String key : keyList.split(",")) {
+                key = key.trim();
+                if (key.length() > 0) {
+                    result.add(new KeyField(environment, typeClz, key));
+                }
+            }
+        }
+        return result.toArray(new KeyField[result.size()]);
+    }
+
+    public boolean isEnabled() {
+        return this.capacity > 0;
+    }
+
+    /**
+     * Copies the key fields of the sample into a key that no longer refers
+     * to (mutable parts of) the sample. The key fields are read by the
+     * accessor that the IDL pre-processor generated for the type; they are
+     * only read by reflection when the accessor does not support it, or
+     * when the sample has a null member that the write is left to report.
+     */
+    public Object key(Object sample) {
+        Object values;
+
+        try {
+            values = this.accessor.get_key(sample);
+        } catch (NullPointerException e) {
+            values = null;
+        }
+        if (values instanceof Object[]) {
+            return new Key((Object[]) values);
+        }
+        return new Key(this.reflectKey(sample));
+    }
+
+    private Object[] reflectKey(Object sample) {
+        Object[] values = new Object[this.keyFields.length];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.keyFields[i].get(sample);
+        }
+        return values;
+    }
+
+    /**
+     * Looks up and pins the handle of the key, counting the lookup as a hit
+     * or a miss.
+     *
+     * @return the cached handle for the key, or DDS.HANDLE_NIL.value.
+     */
+    public synchronized long acquire(Object key) {
+        long handle = this.pin(key);
+
+        if (handle == DDS.HANDLE_NIL.value) {
+            this.misses++;
+        } else {
+            this.hits++;
+        }
+        return handle;
+    }
+
+    /**
+     * Looks up and pins the handle of the key without counting the lookup.
+     *
+     * @return the cached handle for the key, or DDS.HANDLE_NIL.value.
+     */
+    public synchronized long pin(Object key) {
+        Long handle = this.handles.get(key);
+
+        if (handle == null) {
+            return DDS.HANDLE_NIL.value;
+        }
+        this.pinHandle(handle);
+
+        return handle.longValue();
+    }
+
+    /**
+     * Caches and pins the handle.
+     *
+     * @return the handles that were evicted to make room for this one.
+     */
+    public synchronized long[] put(Object key, long handle) {
+        Long value = Long.valueOf(handle);
+        Long previous;
+
+        /* The service may hand out the handle of an evicted instance that
+         * has not been unregistered yet; it is in use again. */
+        this.deferred.remove(value);
+        this.pinHandle(value);
+        previous = this.handles.put((Key) key, value);
+        if (previous == null || previous.longValue() != handle) {
+            if (previous != null) {
+                this.keys.remove(previous);
+            }
+            this.keys.put(value, (Key) key);
+        }
+        return this.takeEvicted();
+    }
+
+    /**
+     * Releases a pin obtained from {@link #acquire(Object)},
+     * {@link #pin(Object)} or {@link #put(Object, long)}.
+     *
+     * @return the handle, if it was evicted while pinned and is no longer
+     *         pinned.
+     */
+    public synchronized long[] release(long handle) {
+        Long value = Long.valueOf(handle);
+        int[] count = this.pins.get(value);
+
+        if (count != null && --count[0] == 0) {
+            this.pins.remove(value);
+            if (this.deferred.remove(value)) {
+                return new long[] { handle };
+            }
+        }
+        return NO_HANDLES;
+    }
+
+    /**
+     * Forgets the handle, for instance because the application unregistered
+     * it explicitly.
+     */
+    public synchronized void remove(long handle) {
+        Key key = this.keys.remove(Long.valueOf(handle));
+
+        this.deferred.remove(Long.valueOf(handle));
+        if (key != null) {
+            this.handles.remove(key);
+        }
+    }
+
+    public synchronized void removeKey(Object key) {
+        Long handle = this.handles.remove(key);
+
+        if (handle != null) {
+            this.keys.remove(handle);
+            this.deferred.remove(handle);
+        }
+    }
+
+    /**
+     * @return the handles that were evicted because they no longer fit.
+     */
+    public synchronized long[] setCapacity(int capacity) {
+        Iterator<Map.Entry<Key, Long>> iter;
+
+        this.capacity = capacity;
+        iter = this.handles.entrySet().iterator();
+        while (this.handles.size() > capacity && iter.hasNext()) {
+            Map.Entry<Key, Long> eldest = iter.next();
+
+            this.evicted(eldest.getValue());
+            iter.remove();
+        }
+        return this.takeEvicted();
+    }
+
+    public synchronized InstanceHandleCacheStatistics getStatistics() {
+        return new InstanceHandleCacheStatistics(this.capacity,
+                this.handles.size(), this.hits, this.misses, this.evictions);
+    }
+
+    private void pinHandle(Long handle) {
+        int[] count = this.pins.get(handle);
+
+        if (count == null) {
+            this.pins.put(handle, new int[] { 1 });
+        } else {
+            count[0]++;
+        }
+    }
+
+    private boolean evict(Map.Entry<Key, Long> eldest) {
+        if (this.handles.size() > this.capacity) {
+            this.evicted(eldest.getValue());
+            return true;
+        }
+        return false;
+    }
+
+    private void evicted(Long handle) {
+        this.keys.remove(handle);
+        this.evictions++;
+        if (this.pins.containsKey(handle)) {
+            this.deferred.add(handle);
+        } else {
+            this.evicted.add(handle);
+        }
+    }
+
+    private long[] takeEvicted() {
+        long[] result;
+        int size = this.evicted.size();
+
+        if (size == 0) {
+            return NO_HANDLES;
+        }
+        result = new long[size];
+        for (int i = 0; i < size; i++) {
+            result[i] = this.evicted.get(i).longValue();
+        }
+        this.evicted.clear();
+
+        return result;
+    }
+
+    private static final class Key {
+        private final Object[] values;
+        private final int hash;
+
+        public Key(Object[] values) {
+            this.values = values;
+            this.hash = Arrays.deepHashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+
+            return this.hash == key.hash
+                    && Arrays.deepEquals(this.values, key.values);
+        }
+    }
+
+    /*
+     * A key as listed in the keylist pragma: a dot-separated path of
+     * (possibly escaped) field names that ends in a primitive, string, enum
+     * or array of primitives.
+     */
+    private static final class KeyField {
+        private final OsplServiceEnvironment environment;
+        private final String name;
+        private final Field[] path;
+        private final Method enumValue;
+
+        public KeyField(OsplServiceEnvironment environment, Class<?> typeClz,
+                String name) {
+            String[] members = name.split("\\.");
+            Class<?> clz = typeClz;
+
+            this.environment = environment;
+            this.name = name;
+            this.path = new Field[members.length];
+
+            for (int i = 0; i < members.length; i++) {
+                this.path[i] = findField(clz, members[i]);
+                clz = this.path[i].getType();
+            }
+            if (clz.isPrimitive() || clz == String.class
+                    || (clz.isArray() && clz.getComponentType().isPrimitive())) {
+                this.enumValue = null;
+            } else {
+                this.enumValue = findEnumValue(clz);
+            }
+        }
+
+        private Field findField(Class<?> clz, String member) {
+            Field field;
+
+            try {
+                field = clz.getField(member);
+            } catch (NoSuchFieldException e) {
+                /* Members that are Java keywords are escaped. */
+                try {
+                    field = clz.getField("_" + member);
+                } catch (NoSuchFieldException e1) {
+                    throw this.unsupported();
+                }
+            } catch (SecurityException e) {
+                throw this.unsupported();
+            }
+            if (Modifier.isStatic(field.getModifiers())) {
+                throw this.unsupported();
+            }
+            return field;
+        }
+
+        /* IDL enumerations map onto classes with an int value() method. */
+        private Method findEnumValue(Class<?> clz) {
+            try {
+                Method value = clz.getMethod("value");
+
+                if (value.getReturnType() == int.class) {
+                    clz.getMethod("from_int", int.class);
+                    return value;
+                }
+            } catch (NoSuchMethodException e) {
+                /* Not an enumeration. */
+            } catch (SecurityException e) {
+                /* Not an enumeration. */
+            }
+            throw this.unsupported();
+        }
+
+        private PreconditionNotMetExceptionImpl unsupported() {
+            return new PreconditionNotMetExceptionImpl(this.environment,
+                    "Cannot cache instance handles: key '" + this.name
+                            + "' cannot be resolved.");
+        }
+
+        public Object get(Object sample) {
+            Object value = sample;
+
+            try {
+                for (int i = 0; i < this.path.length && value != null; i++) {
+                    value = this.path[i].get(value);
+                }
+                /* A null member is left to the write to report. */
+                if (value == null) {
+                    return null;
+                } else if (this.enumValue != null) {
+                    value = this.enumValue.invoke(value);
+                } else if (value.getClass().isArray()) {
+                    value = cloneArray(value);
+                }
+            } catch (Exception e) {
+                throw new DDSExceptionImpl(this.environment,
+                        "Cannot read key '" + this.name + "' ("
+                                + e.getMessage() + ").");
+            }
+            return value;
+        }
+
+        private static Object cloneArray(Object array) {
+            if (array instanceof byte[]) {
+                return ((byte[]) array).clone();
+            } else if (array instanceof char[]) {
+                return ((char[]) array).clone();
+            } else if (array instanceof short[]) {
+                return ((short[]) array).clone();
+            } else if (array instanceof int[]) {
+                return ((int[]) array).clone();
+            } else if (array instanceof long[]) {
+                return ((long[]) array).clone();
+            } else if (array instanceof float[]) {
+                return ((float[]) array).clone();
+            } else if (array instanceof double[]) {
+                return ((double[]) array).clone();
+            }
+            return ((boolean[]) array).clone();
+        }
+    }
+}
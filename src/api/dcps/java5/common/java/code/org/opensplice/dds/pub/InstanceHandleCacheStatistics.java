@@ -0,0 +1,98 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.pub;
+
+/**
+ * Snapshot of the statistics of the instance handle cache of a DataWriter.
+ *
+ * @see DataWriter#setInstanceHandleCacheCapacity(int)
+ */
+public final class InstanceHandleCacheStatistics {
+    private final int capacity;
+    private final int size;
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+
+    InstanceHandleCacheStatistics(int capacity, int size, long hits,
+            long misses, long evictions) {
+        this.capacity = capacity;
+        this.size = size;
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+    }
+
+    /**
+     * @return the maximum number of cached instance handles, 0 when the
+     *         cache is disabled.
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return the number of currently cached instance handles.
+     */
+    public int getSize() {
+        return this.size;
+    }
+
+    /**
+     * @return the number of writes that found the handle of their instance
+     *         in the cache.
+     */
+    public long getHits() {
+        return this.hits;
+    }
+
+    /**
+     * @return the number of writes that had to register their instance.
+     */
+    public long getMisses() {
+        return this.misses;
+    }
+
+    /**
+     * @return the number of instances that were unregistered because they
+     *         were evicted from the cache.
+     */
+    public long getEvictions() {
+        return this.evictions;
+    }
+
+    /**
+     * @return the fraction of writes that found the handle of their instance
+     *         in the cache, or 0 if no writes have used the cache yet.
+     */
+    public double getHitRate() {
+        long total = this.hits + this.misses;
+
+        return (total == 0) ? 0.0 : (double) this.hits / total;
+    }
+
+    @Override
+    public String toString() {
+        return "InstanceHandleCacheStatistics [capacity=" + this.capacity
+                + ", size=" + this.size + ", hits=" + this.hits + ", misses="
+                + this.misses + ", evictions=" + this.evictions + "]";
+    }
+}
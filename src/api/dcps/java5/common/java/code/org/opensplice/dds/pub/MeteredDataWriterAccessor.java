@@ -0,0 +1,159 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.pub;
+
+import org.opensplice.dds.core.metrics.EntityMetrics;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+
+/**
+ * {@link FooDataWriterAccessor} that records the number and duration of the
+ * writes of another accessor in the {@link EntityMetrics} of its DataWriter.
+ * It is only put in place when metrics are enabled, so uninstrumented
+ * writers do not pay for the measurements.
+ */
+class MeteredDataWriterAccessor implements FooDataWriterAccessor {
+    private final FooDataWriterAccessor accessor;
+    private final EntityMetrics metrics;
+
+    public MeteredDataWriterAccessor(FooDataWriterAccessor accessor,
+            EntityMetrics metrics) {
+        this.accessor = accessor;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object newSampleHolder() {
+        return this.accessor.newSampleHolder();
+    }
+
+    @Override
+    public Object getSample(Object sampleHolder) {
+        return this.accessor.getSample(sampleHolder);
+    }
+
+    @Override
+    public void setSample(Object sampleHolder, Object sample) {
+        this.accessor.setSample(sampleHolder, sample);
+    }
+
+    @Override
+    public long register_instance(DDS.DataWriter writer, Object instance_data) {
+        return this.accessor.register_instance(writer, instance_data);
+    }
+
+    @Override
+    public long register_instance_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, DDS.Time_t source_timestamp) {
+        return this.accessor.register_instance_w_timestamp(writer,
+                instance_data, source_timestamp);
+    }
+
+    @Override
+    public int unregister_instance(DDS.DataWriter writer,
+            Object instance_data, long handle) {
+        return this.accessor.unregister_instance(writer, instance_data,
+                handle);
+    }
+
+    @Override
+    public int unregister_instance_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long handle, DDS.Time_t source_timestamp) {
+        return this.accessor.unregister_instance_w_timestamp(writer,
+                instance_data, handle, source_timestamp);
+    }
+
+    @Override
+    public int write(DDS.DataWriter writer, Object instance_data, long handle) {
+        long start = System.nanoTime();
+        int rc = this.accessor.write(writer, instance_data, handle);
+
+        this.metrics.recordWrite(System.nanoTime() - start);
+
+        return rc;
+    }
+
+    @Override
+    public int write_w_timestamp(DDS.DataWriter writer, Object instance_data,
+            long handle, DDS.Time_t source_timestamp) {
+        long start = System.nanoTime();
+        int rc = this.accessor.write_w_timestamp(writer, instance_data,
+                handle, source_timestamp);
+
+        this.metrics.recordWrite(System.nanoTime() - start);
+
+        return rc;
+    }
+
+    @Override
+    public int dispose(DDS.DataWriter writer, Object instance_data,
+            long instance_handle) {
+        return this.accessor.dispose(writer, instance_data, instance_handle);
+    }
+
+    @Override
+    public int dispose_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long instance_handle,
+            DDS.Time_t source_timestamp) {
+        return this.accessor.dispose_w_timestamp(writer, instance_data,
+                instance_handle, source_timestamp);
+    }
+
+    @Override
+    public int writedispose(DDS.DataWriter writer, Object instance_data,
+            long instance_handle) {
+        long start = System.nanoTime();
+        int rc = this.accessor.writedispose(writer, instance_data,
+                instance_handle);
+
+        this.metrics.recordWrite(System.nanoTime() - start);
+
+        return rc;
+    }
+
+    @Override
+    public int writedispose_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long instance_handle,
+            DDS.Time_t source_timestamp) {
+        long start = System.nanoTime();
+        int rc = this.accessor.writedispose_w_timestamp(writer,
+                instance_data, instance_handle, source_timestamp);
+
+        this.metrics.recordWrite(System.nanoTime() - start);
+
+        return rc;
+    }
+
+    @Override
+    public int get_key_value(DDS.DataWriter writer, Object key_holder,
+            long handle) {
+        return this.accessor.get_key_value(writer, key_holder, handle);
+    }
+
+    @Override
+    public long lookup_instance(DDS.DataWriter writer, Object instance_data) {
+        return this.accessor.lookup_instance(writer, instance_data);
+    }
+
+    @Override
+    public Object get_key(Object instance_data) {
+        return this.accessor.get_key(instance_data);
+    }
+}
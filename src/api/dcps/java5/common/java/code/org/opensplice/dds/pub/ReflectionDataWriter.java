@@ -20,9 +20,8 @@
  */
 package org.opensplice.dds.pub;
 
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
@@ -40,106 +39,66 @@ import org.omg.dds.core.status.OfferedIncompatibleQosStatus;
 import org.omg.dds.core.status.PublicationMatchedStatus;
 import org.omg.dds.pub.DataWriterQos;
 import org.omg.dds.topic.SubscriptionBuiltinTopicData;
-import org.opensplice.dds.core.DDSExceptionImpl;
+import org.opensplice.dds.core.AsyncWaiter;
+import org.opensplice.dds.core.CompletionFuture;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
 import org.opensplice.dds.core.PreconditionNotMetExceptionImpl;
-import org.opensplice.dds.core.TimeImpl;
 import org.opensplice.dds.core.Utilities;
+import org.opensplice.dds.core.metrics.EntityMetrics;
 import org.opensplice.dds.core.status.StatusConverter;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+import org.opensplice.dds.dcps.FooDataWriterImpl;
+import org.opensplice.dds.dcps.TypeSupportImpl;
 import org.opensplice.dds.topic.SubscriptionBuiltinTopicDataImpl;
+import org.opensplice.dds.type.AbstractTypeSupport;
 
 public class ReflectionDataWriter<TYPE> extends AbstractDDSObject implements
         DDSObject {
     private final OsplServiceEnvironment environment;
     private final DDS.DataWriter old;
-    private final Method registerInstance;
-    private final Method registerInstanceTimestamp;
-    private final Method unregisterInstance;
-    private final Method unregisterInstanceTimestamp;
-    private final Method write;
-    private final Method writeTimestamp;
-    private final Method dispose;
-    private final Method disposeTimestamp;
-    private final Method writeDispose;
-    private final Method writeDisposeTimestamp;
-    private final Method getKeyValue;
-    private final Method lookupInstance;
-    private final Class<?> sampleHolderClz;
-    private final Field samplHolderValueField;
+    private final FooDataWriterAccessor accessor;
+    private final Class<TYPE> typeClz;
+    private volatile InstanceHandleCache handleCache;
 
     public ReflectionDataWriter(OsplServiceEnvironment environment,
             DDS.DataWriter writer, Class<TYPE> typeClz) {
-        Class<?> typedWriterClz;
-        String typedWriterClzName;
+        this(environment, writer, typeClz, null);
+    }
+
+    public ReflectionDataWriter(OsplServiceEnvironment environment,
+            DDS.DataWriter writer, Class<TYPE> typeClz, EntityMetrics metrics) {
+        FooDataWriterAccessor accessor = createAccessor(environment, typeClz);
 
         this.old = writer;
         this.environment = environment;
-
-        typedWriterClzName = typeClz.getName() + "DataWriterImpl";
-
+        this.accessor = (metrics == null) ? accessor
+                : new MeteredDataWriterAccessor(accessor, metrics);
+        this.typeClz = typeClz;
+        this.handleCache = null;
+    }
+
+    /*
+     * Binds to the typed DataWriterAccessor that the OpenSplice IDL
+     * pre-processor generates next to the typed DataWriter. Code generated by
+     * an older pre-processor lacks that class, in which case all operations
+     * are dispatched by means of reflection instead.
+     */
+    private static FooDataWriterAccessor createAccessor(
+            OsplServiceEnvironment environment, Class<?> typeClz) {
         try {
-            typedWriterClz = Class.forName(typedWriterClzName);
-
-            this.sampleHolderClz = Class.forName(typeClz.getName() + "Holder");
-            this.samplHolderValueField = this.sampleHolderClz
-                    .getDeclaredField("value");
-
-            this.registerInstance = typedWriterClz.getMethod(
-                    "register_instance", typeClz);
-            this.registerInstanceTimestamp = typedWriterClz.getMethod(
-                    "register_instance_w_timestamp", typeClz, DDS.Time_t.class);
-            this.unregisterInstance = typedWriterClz.getMethod(
-                    "unregister_instance", typeClz, long.class);
-            this.unregisterInstanceTimestamp = typedWriterClz.getMethod(
-                    "unregister_instance_w_timestamp", typeClz, long.class,
-                    DDS.Time_t.class);
-            this.write = typedWriterClz.getMethod("write", typeClz, long.class);
-            this.writeTimestamp = typedWriterClz.getMethod("write_w_timestamp",
-                    typeClz, long.class, DDS.Time_t.class);
-            this.dispose = typedWriterClz.getMethod("dispose", typeClz,
-                    long.class);
-            this.disposeTimestamp = typedWriterClz.getMethod(
-                    "dispose_w_timestamp", typeClz, long.class,
-                    DDS.Time_t.class);
-            this.writeDispose = typedWriterClz.getMethod("writedispose",
-                    typeClz, long.class);
-            this.writeDisposeTimestamp = typedWriterClz.getMethod(
-                    "writedispose_w_timestamp", typeClz, long.class,
-                    DDS.Time_t.class);
-            this.getKeyValue = typedWriterClz.getMethod("get_key_value",
-                    this.sampleHolderClz, long.class);
-            this.lookupInstance = typedWriterClz.getMethod("lookup_instance",
-                    typeClz);
-
+            return (FooDataWriterAccessor) Class.forName(
+                    typeClz.getName() + "DataWriterAccessor").newInstance();
         } catch (ClassNotFoundException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Cannot find Typed DataWriter '"
-                            + typedWriterClzName
-                            + "' that should be generated with OpenSplice idlpp");
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Cannot find correct methods in '"
-                            + typedWriterClzName
-                            + "' that should be generated with OpenSplice idlpp ( "
-                            + e.getMessage() + ").");
-        } catch (NoSuchFieldException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Cannot find 'value' field in "
-                            + "the typed sampleHolderClass "
-                            + "that should be generated with OpenSplice idlpp ( "
-                            + e.getMessage() + ").");
-        } catch (SecurityException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Cannot find 'value' field in "
-                            + "the typed sampleHolderClass "
-                            + "that should be generated with OpenSplice idlpp ( "
-                            + e.getMessage() + ").");
+            /* Fall back to reflection. */
+        } catch (InstantiationException e) {
+            /* Fall back to reflection. */
+        } catch (IllegalAccessException e) {
+            /* Fall back to reflection. */
+        } catch (ClassCastException e) {
+            /* Fall back to reflection. */
         }
+        return new ReflectiveDataWriterAccessor(environment, typeClz);
     }
 
     @Override
@@ -147,69 +106,61 @@ public class ReflectionDataWriter<TYPE> extends AbstractDDSObject implements
         return this.environment;
     }
 
-    public InstanceHandle registerInstance(TYPE instanceData)
-            throws TimeoutException {
+    private InstanceHandle doRegisterInstance(TYPE instanceData,
+            DDS.Time_t sourceTimestamp) {
         long handle;
 
         if (instanceData == null) {
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Illegal instanceData (null) provided.");
         }
-        try {
-            handle = (Long) this.registerInstance
-                    .invoke(this.old, instanceData);
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
+        if (sourceTimestamp == null) {
+            handle = this.accessor.register_instance(this.old, instanceData);
+        } else {
+            handle = this.accessor.register_instance_w_timestamp(this.old,
+                    instanceData, sourceTimestamp);
         }
         return Utilities.convert(this.environment, handle);
     }
 
+    public InstanceHandle registerInstance(TYPE instanceData)
+            throws TimeoutException {
+        return this.doRegisterInstance(instanceData, null);
+    }
+
     public InstanceHandle registerInstance(TYPE instanceData,
             Time sourceTimestamp) throws TimeoutException {
-        long handle;
-
-        if (instanceData == null) {
-            throw new IllegalArgumentExceptionImpl(this.environment,
-                    "Illegal instanceData (null) provided.");
-        }
-        try {
-            handle = (Long) this.registerInstanceTimestamp.invoke(this.old,
-                    instanceData,
-                    Utilities.convert(this.environment, sourceTimestamp));
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.registerInstance() failed (" + e.getMessage()
-                            + ").");
-        }
-        return Utilities.convert(this.environment, handle);
+        return this.doRegisterInstance(instanceData,
+                Utilities.convert(this.environment, sourceTimestamp));
     }
 
     public InstanceHandle registerInstance(TYPE instanceData,
             long sourceTimestamp, TimeUnit unit) throws TimeoutException {
-        return this.registerInstance(instanceData, new TimeImpl(
-                this.environment, sourceTimestamp, unit));
+        return this.doRegisterInstance(instanceData,
+                Utilities.convert(this.environment, sourceTimestamp, unit));
+    }
+
+    private void doUnregisterInstance(long handle, TYPE instanceData,
+            DDS.Time_t sourceTimestamp) throws TimeoutException {
+        InstanceHandleCache cache = this.handleCache;
+        int rc;
+
+        if (cache != null) {
+            if (handle != DDS.HANDLE_NIL.value) {
+                cache.remove(handle);
+            } else if (instanceData != null) {
+                cache.removeKey(cache.key(instanceData));
+            }
+        }
+        if (sourceTimestamp == null) {
+            rc = this.accessor.unregister_instance(this.old, instanceData,
+                    handle);
+        } else {
+            rc = this.accessor.unregister_instance_w_timestamp(this.old,
+                    instanceData, handle, sourceTimestamp);
+        }
+        Utilities.checkReturnCodeWithTimeout(rc, this.environment,
+                "Datawriter.unregisterInstance() failed.");
     }
 
     public void unregisterInstance(InstanceHandle handle)
@@ -219,125 +170,334 @@ public class ReflectionDataWriter<TYPE> extends AbstractDDSObject implements
 
     public void unregisterInstance(InstanceHandle handle, TYPE instanceData)
             throws TimeoutException {
-        try {
-            int rc = (Integer) this.unregisterInstance.invoke(this.old,
-                    instanceData, Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "Datawriter.unregisterInstance() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
-        }
+        this.doUnregisterInstance(Utilities.convert(this.environment, handle),
+                instanceData, null);
     }
 
     public void unregisterInstance(InstanceHandle handle, TYPE instanceData,
             Time sourceTimestamp) throws TimeoutException {
+        this.doUnregisterInstance(Utilities.convert(this.environment, handle),
+                instanceData,
+                Utilities.convert(this.environment, sourceTimestamp));
+    }
+
+    public void unregisterInstance(InstanceHandle handle, TYPE instanceData,
+            long sourceTimestamp, TimeUnit unit) throws TimeoutException {
+        this.doUnregisterInstance(Utilities.convert(this.environment, handle),
+                instanceData,
+                Utilities.convert(this.environment, sourceTimestamp, unit));
+    }
+
+    /*
+     * Common write path. A null sourceTimestamp selects the write operation
+     * that lets the service determine the timestamp, so writing without an
+     * explicit handle and timestamp does not allocate anything.
+     */
+    private void doWrite(TYPE instanceData, long handle,
+            DDS.Time_t sourceTimestamp) throws TimeoutException {
+        int rc;
+
+        if (sourceTimestamp == null) {
+            rc = this.accessor.write(this.old, instanceData, handle);
+        } else {
+            rc = this.accessor.write_w_timestamp(this.old, instanceData,
+                    handle, sourceTimestamp);
+        }
+        Utilities.checkReturnCodeWithTimeout(rc, this.environment,
+                "DataWriter.write() failed.");
+    }
+
+    /*
+     * Write path for writes without an explicit handle. When the instance
+     * handle cache is enabled the handle of the instance is looked up in, or
+     * registered into, the cache first. The handle stays pinned in the cache
+     * until the write is done, so it cannot be unregistered underneath it.
+     */
+    private void doWriteNil(TYPE instanceData, DDS.Time_t sourceTimestamp)
+            throws TimeoutException {
+        InstanceHandleCache cache = this.handleCache;
+        long handle;
+
+        if (cache == null || !cache.isEnabled() || instanceData == null) {
+            this.doWrite(instanceData, DDS.HANDLE_NIL.value, sourceTimestamp);
+            return;
+        }
+        handle = this.cachedHandle(cache, instanceData, sourceTimestamp);
+        if (handle == DDS.HANDLE_NIL.value) {
+            this.doWrite(instanceData, handle, sourceTimestamp);
+            return;
+        }
         try {
-            int rc = (Integer) this.unregisterInstanceTimestamp.invoke(
-                    this.old, instanceData,
-                    Utilities.convert(this.environment, handle),
-                    Utilities.convert(this.environment, sourceTimestamp));
+            this.doWrite(instanceData, handle, sourceTimestamp);
+        } finally {
+            synchronized (cache) {
+                this.unregisterEvicted(cache.release(handle));
+            }
+        }
+    }
+
+    /*
+     * Returns the pinned handle of the instance of the sample, or
+     * DDS.HANDLE_NIL.value if it could not be registered. Registration
+     * happens under the lock of the cache, so it does not race with the
+     * unregistration of an evicted handle of the same instance.
+     */
+    private long cachedHandle(InstanceHandleCache cache, TYPE instanceData,
+            DDS.Time_t sourceTimestamp) throws TimeoutException {
+        Object key = cache.key(instanceData);
+        long handle = cache.acquire(key);
+
+        if (handle != DDS.HANDLE_NIL.value) {
+            return handle;
+        }
+        synchronized (cache) {
+            handle = cache.pin(key);
+            if (handle == DDS.HANDLE_NIL.value) {
+                if (sourceTimestamp == null) {
+                    handle = this.accessor.register_instance(this.old,
+                            instanceData);
+                } else {
+                    handle = this.accessor.register_instance_w_timestamp(
+                            this.old, instanceData, sourceTimestamp);
+                }
+                /* A failed registration is reported by the write itself. */
+                if (handle != DDS.HANDLE_NIL.value) {
+                    this.unregisterEvicted(cache.put(key, handle));
+                }
+            }
+        }
+        return handle;
+    }
+
+    /*
+     * Called with the lock of the cache held. Unregistering an instance
+     * disposes it when autodispose_unregistered_instances is set, which is
+     * the default, so evicting it from the cache must not unregister it
+     * then; the instance simply stays registered, as it would have been if
+     * it had been written without the cache.
+     */
+    private void unregisterEvicted(long[] handles) throws TimeoutException {
+        DDS.DataWriterQosHolder holder;
+        int rc;
+
+        if (handles.length == 0) {
+            return;
+        }
+        holder = new DDS.DataWriterQosHolder();
+        rc = this.old.get_qos(holder);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataWriter.getQos() failed.");
+        if (holder.value.writer_data_lifecycle.autodispose_unregistered_instances) {
+            return;
+        }
+        for (long handle : handles) {
+            rc = this.accessor.unregister_instance(this.old, null, handle);
+
             Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "Datawriter.unregisterInstance() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.unregisterInstance() failed (" + e.getMessage()
-                            + ").");
+                    "DataWriter failed to unregister evicted instance.");
         }
     }
 
-    public void unregisterInstance(InstanceHandle handle, TYPE instanceData,
-            long sourceTimestamp, TimeUnit unit) throws TimeoutException {
-        this.unregisterInstance(handle, instanceData, new TimeImpl(
-                this.environment, sourceTimestamp, unit));
+    public void setInstanceHandleCacheCapacity(
+            AbstractTypeSupport<?> typeSupport, int capacity)
+            throws TimeoutException {
+        InstanceHandleCache cache;
 
+        if (capacity < 0) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid instance handle cache capacity (" + capacity
+                            + ") provided.");
+        }
+        synchronized (this) {
+            cache = this.handleCache;
+            if (cache == null) {
+                if (capacity == 0) {
+                    return;
+                }
+                cache = new InstanceHandleCache(this.environment,
+                        this.accessor, this.typeClz, this.getOldTypeSupport(typeSupport)
+                                .get_key_list(), capacity);
+                this.handleCache = cache;
+            }
+        }
+        synchronized (cache) {
+            this.unregisterEvicted(cache.setCapacity(capacity));
+        }
+    }
+
+    public InstanceHandleCacheStatistics getInstanceHandleCacheStatistics() {
+        InstanceHandleCache cache = this.handleCache;
+
+        if (cache == null) {
+            return new InstanceHandleCacheStatistics(0, 0, 0, 0, 0);
+        }
+        return cache.getStatistics();
     }
 
     public void write(TYPE instanceData) throws TimeoutException {
-        this.write(instanceData, this.environment.getSPI().nilHandle());
+        this.doWriteNil(instanceData, null);
     }
 
     public void write(TYPE instanceData, Time sourceTimestamp)
             throws TimeoutException {
-        this.write(instanceData, this.environment.getSPI().nilHandle(),
-                sourceTimestamp);
+        this.doWriteNil(instanceData,
+                Utilities.convert(this.environment, sourceTimestamp));
     }
 
     public void write(TYPE instanceData, long sourceTimestamp, TimeUnit unit)
             throws TimeoutException {
-        this.write(instanceData, new TimeImpl(this.environment,
-                sourceTimestamp, unit));
-
+        this.doWriteNil(instanceData,
+                Utilities.convert(this.environment, sourceTimestamp, unit));
     }
 
     public void write(TYPE instanceData, InstanceHandle handle)
             throws TimeoutException {
+        this.doWrite(instanceData, Utilities.convert(this.environment, handle),
+                null);
+    }
+
+    public void write(TYPE instanceData, InstanceHandle handle,
+            Time sourceTimestamp) throws TimeoutException {
+        this.doWrite(instanceData, Utilities.convert(this.environment, handle),
+                Utilities.convert(this.environment, sourceTimestamp));
+    }
+
+    public void write(TYPE instanceData, InstanceHandle handle,
+            long sourceTimestamp, TimeUnit unit) throws TimeoutException {
+        this.doWrite(instanceData, Utilities.convert(this.environment, handle),
+                Utilities.convert(this.environment, sourceTimestamp, unit));
+    }
+
+    private TypeSupportImpl getOldTypeSupport(AbstractTypeSupport<?> typeSupport) {
         try {
-            int rc = (Integer) this.write.invoke(this.old, instanceData,
-                    Utilities.convert(this.environment, handle));
+            return (TypeSupportImpl) typeSupport.getOldTypeSupport();
+        } catch (ClassCastException e) {
+            throw new PreconditionNotMetExceptionImpl(this.environment,
+                    "Operation requires an OpenSplice TypeSupport.");
+        }
+    }
+
+    /*
+     * Writes all samples with a single JNI call and returns the result of
+     * every sample. A failure is summarized in the message of the exception
+     * that is thrown for it; the results are stored in the provided array
+     * before that, so callers that need to know which samples were written
+     * pass their own array.
+     */
+    public int[] writeBatch(AbstractTypeSupport<?> typeSupport,
+            Object[] instanceData, int length, DDS.Time_t sourceTimestamp,
+            int[] results) throws TimeoutException {
+        int rc;
+
+        if (results == null) {
+            results = new int[length];
+        } else if (results.length < length) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Results array is smaller than the number of samples.");
+        }
+        if (sourceTimestamp == null) {
+            sourceTimestamp = org.opensplice.dds.dcps.Utilities.DDS_TIMESTAMP_CURRENT;
+        }
+        try {
+            rc = ((FooDataWriterImpl) this.old).writeBatch(this
+                    .getOldTypeSupport(typeSupport).get_copyCache(),
+                    instanceData, length, sourceTimestamp, results);
+        } catch (ClassCastException e) {
+            throw new PreconditionNotMetExceptionImpl(this.environment,
+                    "Writing a batch requires an OpenSplice DataWriter.");
+        }
+        if (rc != DDS.RETCODE_OK.value) {
             Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.write() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
+                    describeBatchFailure(results, length));
         }
+        return results;
     }
 
-    public void write(TYPE instanceData, InstanceHandle handle,
+    private static String describeBatchFailure(int[] results, int length) {
+        int failed = 0;
+        int first = -1;
+
+        for (int i = 0; i < length; i++) {
+            if (results[i] != DDS.RETCODE_OK.value) {
+                if (first == -1) {
+                    first = i;
+                }
+                failed++;
+            }
+        }
+        if (failed == 0) {
+            return "DataWriter.write() failed.";
+        }
+        return "DataWriter.write() failed for " + failed + " of " + length
+                + " samples (first failure at index " + first + ").";
+    }
+
+    /*
+     * Writes already serialized data. The type hash is only validated when
+     * the application provides one, as bridges that receive data from a
+     * trusted source should not pay for the comparison.
+     */
+    public void writeSerialized(AbstractTypeSupport<?> typeSupport,
+            ByteBuffer cdr, byte[] typeHash, InstanceHandle handle,
             Time sourceTimestamp) throws TimeoutException {
+        TypeSupportImpl oldTypeSupport;
+        DDS.Time_t timestamp;
+        int rc;
+
+        if (cdr == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid ByteBuffer (null) provided.");
+        }
+        if (!cdr.isDirect()) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Serialized data must be provided in a direct ByteBuffer.");
+        }
+        oldTypeSupport = this.getOldTypeSupport(typeSupport);
+        if (typeHash != null) {
+            byte[] expected = oldTypeSupport.get_type_hash();
+
+            if (expected == null) {
+                throw new PreconditionNotMetExceptionImpl(this.environment,
+                        "TypeSupport has no type hash to validate against.");
+            }
+            if (!Arrays.equals(expected, typeHash)) {
+                throw new IllegalArgumentExceptionImpl(this.environment,
+                        "Type hash of serialized data does not match TypeSupport of '"
+                                + oldTypeSupport.get_type_name() + "'.");
+            }
+        }
+        rc = oldTypeSupport.prepare_cdr();
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataWriter.writeSerialized() failed.");
+        if (sourceTimestamp == null) {
+            timestamp = org.opensplice.dds.dcps.Utilities.DDS_TIMESTAMP_CURRENT;
+        } else {
+            timestamp = Utilities.convert(this.environment, sourceTimestamp);
+        }
         try {
-            int rc = (Integer) this.writeTimestamp.invoke(this.old,
-                    instanceData, Utilities.convert(this.environment, handle),
-                    Utilities.convert(this.environment, sourceTimestamp));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.write() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.write() failed (" + e.getMessage() + ").");
+            rc = ((FooDataWriterImpl) this.old).writeCdr(
+                    oldTypeSupport.get_copyCache(), cdr,
+                    Utilities.convert(this.environment, handle), timestamp);
+        } catch (ClassCastException e) {
+            throw new PreconditionNotMetExceptionImpl(this.environment,
+                    "Writing serialized data requires an OpenSplice DataWriter.");
         }
+        Utilities.checkReturnCodeWithTimeout(rc, this.environment,
+                "DataWriter.writeSerialized() failed.");
     }
 
-    public void write(TYPE instanceData, InstanceHandle handle,
-            long sourceTimestamp, TimeUnit unit) throws TimeoutException {
-        this.write(instanceData, handle, new TimeImpl(this.environment,
-                sourceTimestamp, unit));
+    private void doDispose(long instanceHandle, TYPE instanceData,
+            DDS.Time_t sourceTimestamp) throws TimeoutException {
+        int rc;
+
+        if (sourceTimestamp == null) {
+            rc = this.accessor.dispose(this.old, instanceData, instanceHandle);
+        } else {
+            rc = this.accessor.dispose_w_timestamp(this.old, instanceData,
+                    instanceHandle, sourceTimestamp);
+        }
+        Utilities.checkReturnCodeWithTimeout(rc, this.environment,
+                "DataWriter.dispose() failed.");
     }
 
     public void dispose(InstanceHandle instanceHandle) throws TimeoutException {
@@ -346,222 +506,106 @@ public class ReflectionDataWriter<TYPE> extends AbstractDDSObject implements
 
     public void dispose(InstanceHandle instanceHandle, TYPE instanceData)
             throws TimeoutException {
-        try {
-            int rc = (Integer) this.dispose.invoke(this.old, instanceData,
-                    Utilities.convert(this.environment, instanceHandle));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.dispose() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        }
+        this.doDispose(Utilities.convert(this.environment, instanceHandle),
+                instanceData, null);
     }
 
     public void dispose(InstanceHandle instanceHandle, TYPE instanceData,
             Time sourceTimestamp) throws TimeoutException {
-        try {
-            int rc = (Integer) this.disposeTimestamp.invoke(this.old,
-                    instanceData,
-                    Utilities.convert(this.environment, instanceHandle),
-                    Utilities.convert(this.environment, sourceTimestamp));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.dispose() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.dispose() failed (" + e.getMessage() + ").");
-        }
-
+        this.doDispose(Utilities.convert(this.environment, instanceHandle),
+                instanceData,
+                Utilities.convert(this.environment, sourceTimestamp));
     }
 
     public void dispose(InstanceHandle instanceHandle, TYPE instanceData,
             long sourceTimestamp, TimeUnit unit) throws TimeoutException {
-        this.dispose(instanceHandle, instanceData, new TimeImpl(
-                this.environment, sourceTimestamp, unit));
-
+        this.doDispose(Utilities.convert(this.environment, instanceHandle),
+                instanceData,
+                Utilities.convert(this.environment, sourceTimestamp, unit));
     }
 
     @SuppressWarnings("unchecked")
-    public TYPE getKeyValue(TYPE keyHolder, InstanceHandle handle) {
-        Object holder;
-        TYPE result;
+    private TYPE getKeyValueFromHolder(Object holder, InstanceHandle handle) {
+        int rc = this.accessor.get_key_value(this.old, holder,
+                Utilities.convert(this.environment, handle));
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataWriter.getKeyValue() failed.");
 
+        return (TYPE) this.accessor.getSample(holder);
+    }
+
+    public TYPE getKeyValue(TYPE keyHolder, InstanceHandle handle) {
         if (keyHolder == null) {
             return this.getKeyValue(handle);
         }
+        Object holder = this.accessor.newSampleHolder();
+        this.accessor.setSample(holder, keyHolder);
 
-        try {
-            holder = this.sampleHolderClz.newInstance();
-            this.samplHolderValueField.set(holder, keyHolder);
-            int rc = (Integer) this.getKeyValue.invoke(this.old, holder,
-                    Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataWriter.getKeyValue() failed.");
-            result = (TYPE) this.samplHolderValueField.get(holder);
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        }
-        return result;
+        return this.getKeyValueFromHolder(holder, handle);
     }
 
-    @SuppressWarnings("unchecked")
     public TYPE getKeyValue(InstanceHandle handle) {
-        Object holder;
-        TYPE result;
-
-        try {
-            holder = this.sampleHolderClz.newInstance();
-            int rc = (Integer) this.getKeyValue.invoke(this.old, holder,
-                    Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataWriter.getKeyValue() failed.");
-            result = (TYPE) this.samplHolderValueField.get(holder);
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.getKeyValue() failed (" + e.getMessage() + ").");
-        }
-        return result;
+        return this.getKeyValueFromHolder(this.accessor.newSampleHolder(),
+                handle);
     }
 
     public InstanceHandle lookupInstance(TYPE keyHolder) {
-        InstanceHandle handle;
-
         if (keyHolder == null) {
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Illegal keyHolder (null) provided.");
         }
-        try {
-            long result = (Long) this.lookupInstance
-                    .invoke(this.old, keyHolder);
-            handle = Utilities.convert(this.environment, result);
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.lookupInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.lookupInstance() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.lookupInstance() failed (" + e.getMessage()
-                            + ").");
+        return Utilities.convert(this.environment,
+                this.accessor.lookup_instance(this.old, keyHolder));
+    }
+
+    private void doWriteDispose(TYPE instanceData, long handle,
+            DDS.Time_t sourceTimestamp) throws TimeoutException {
+        int rc;
+
+        if (sourceTimestamp == null) {
+            rc = this.accessor.writedispose(this.old, instanceData, handle);
+        } else {
+            rc = this.accessor.writedispose_w_timestamp(this.old,
+                    instanceData, handle, sourceTimestamp);
         }
-        return handle;
+        Utilities.checkReturnCodeWithTimeout(rc, this.environment,
+                "DataWriter.writeDispose() failed.");
     }
 
     public void writeDispose(TYPE instanceData) throws TimeoutException {
-        this.writeDispose(instanceData, this.environment.getSPI().nilHandle());
-
+        this.doWriteDispose(instanceData, DDS.HANDLE_NIL.value, null);
     }
 
     public void writeDispose(TYPE instanceData, Time sourceTimestamp)
             throws TimeoutException {
-        this.writeDispose(instanceData, this.environment.getSPI().nilHandle(),
-                sourceTimestamp);
+        this.doWriteDispose(instanceData, DDS.HANDLE_NIL.value,
+                Utilities.convert(this.environment, sourceTimestamp));
     }
 
     public void writeDispose(TYPE instanceData, long sourceTimestamp,
             TimeUnit unit) throws TimeoutException {
-        this.writeDispose(instanceData, this.environment.getSPI().nilHandle(),
-                new TimeImpl(this.environment, sourceTimestamp, unit));
+        this.doWriteDispose(instanceData, DDS.HANDLE_NIL.value,
+                Utilities.convert(this.environment, sourceTimestamp, unit));
     }
 
     public void writeDispose(TYPE instanceData, InstanceHandle handle)
             throws TimeoutException {
-        try {
-            int rc = (Integer) this.writeDispose.invoke(this.old, instanceData,
-                    Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.writeDispose() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        }
-
+        this.doWriteDispose(instanceData,
+                Utilities.convert(this.environment, handle), null);
     }
 
     public void writeDispose(TYPE instanceData, InstanceHandle handle,
             Time sourceTimestamp) throws TimeoutException {
-        try {
-            int rc = (Integer) this.writeDisposeTimestamp.invoke(this.old,
-                    instanceData, Utilities.convert(this.environment, handle),
-                    Utilities.convert(this.environment, sourceTimestamp));
-            Utilities.checkReturnCodeWithTimeout(rc, this.environment,
-                    "DataWriter.writeDispose() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment,
-                    "DataWriter.writeDispose() failed (" + e.getMessage()
-                            + ").");
-        }
+        this.doWriteDispose(instanceData,
+                Utilities.convert(this.environment, handle),
+                Utilities.convert(this.environment, sourceTimestamp));
     }
 
     public void writeDispose(TYPE instanceData, InstanceHandle handle,
             long sourceTimestamp, TimeUnit unit) throws TimeoutException {
-        this.writeDispose(instanceData, handle, new TimeImpl(this.environment,
-                sourceTimestamp, unit));
-
+        this.doWriteDispose(instanceData,
+                Utilities.convert(this.environment, handle),
+                Utilities.convert(this.environment, sourceTimestamp, unit));
     }
 
     public void assertLiveliness() {
@@ -642,6 +686,17 @@ public class ReflectionDataWriter<TYPE> extends AbstractDDSObject implements
                 maxWait, unit));
     }
 
+    public CompletionFuture<Void> waitForAcknowledgmentsAsync(Duration maxWait) {
+        return AsyncWaiter.getInstance().poll(this.environment,
+                new AsyncWaiter.Operation() {
+                    @Override
+                    public int attempt(DDS.Duration_t zero) {
+                        return ReflectionDataWriter.this.old
+                                .wait_for_acknowledgments(zero);
+                    }
+                }, maxWait, "DataWriter.waitForAcknowledgments() failed.");
+    }
+
     public LivelinessLostStatus getLivelinessLostStatus() {
         DDS.LivelinessLostStatusHolder holder = new DDS.LivelinessLostStatusHolder();
 
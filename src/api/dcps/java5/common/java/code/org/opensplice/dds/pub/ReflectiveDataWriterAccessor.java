@@ -0,0 +1,271 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.pub;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.opensplice.dds.core.DDSExceptionImpl;
+import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+
+/**
+ * Fallback {@link FooDataWriterAccessor} for types that have been generated
+ * by an OpenSplice IDL pre-processor that does not emit a typed
+ * DataWriterAccessor class yet. All operations are dispatched by means of
+ * reflection on the typed DataWriter.
+ */
+class ReflectiveDataWriterAccessor implements FooDataWriterAccessor {
+    private final OsplServiceEnvironment environment;
+    private final Class<?> sampleHolderClz;
+    private final Field sampleHolderValueField;
+
+    private final Method registerInstance;
+    private final Method registerInstanceTimestamp;
+    private final Method unregisterInstance;
+    private final Method unregisterInstanceTimestamp;
+    private final Method write;
+    private final Method writeTimestamp;
+    private final Method dispose;
+    private final Method disposeTimestamp;
+    private final Method writeDispose;
+    private final Method writeDisposeTimestamp;
+    private final Method getKeyValue;
+    private final Method lookupInstance;
+
+    public ReflectiveDataWriterAccessor(OsplServiceEnvironment environment,
+            Class<?> typeClz) {
+        Class<?> typedWriterClz;
+        String typedWriterClzName;
+
+        this.environment = environment;
+
+        typedWriterClzName = typeClz.getName() + "DataWriterImpl";
+
+        try {
+            typedWriterClz = Class.forName(typedWriterClzName);
+
+            this.sampleHolderClz = Class.forName(typeClz.getName() + "Holder");
+            this.sampleHolderValueField = this.sampleHolderClz
+                    .getDeclaredField("value");
+
+            this.registerInstance = typedWriterClz.getMethod(
+                    "register_instance", typeClz);
+            this.registerInstanceTimestamp = typedWriterClz.getMethod(
+                    "register_instance_w_timestamp", typeClz, DDS.Time_t.class);
+            this.unregisterInstance = typedWriterClz.getMethod(
+                    "unregister_instance", typeClz, long.class);
+            this.unregisterInstanceTimestamp = typedWriterClz.getMethod(
+                    "unregister_instance_w_timestamp", typeClz, long.class,
+                    DDS.Time_t.class);
+            this.write = typedWriterClz.getMethod("write", typeClz, long.class);
+            this.writeTimestamp = typedWriterClz.getMethod("write_w_timestamp",
+                    typeClz, long.class, DDS.Time_t.class);
+            this.dispose = typedWriterClz.getMethod("dispose", typeClz,
+                    long.class);
+            this.disposeTimestamp = typedWriterClz.getMethod(
+                    "dispose_w_timestamp", typeClz, long.class,
+                    DDS.Time_t.class);
+            this.writeDispose = typedWriterClz.getMethod("writedispose",
+                    typeClz, long.class);
+            this.writeDisposeTimestamp = typedWriterClz.getMethod(
+                    "writedispose_w_timestamp", typeClz, long.class,
+                    DDS.Time_t.class);
+            this.getKeyValue = typedWriterClz.getMethod("get_key_value",
+                    this.sampleHolderClz, long.class);
+            this.lookupInstance = typedWriterClz.getMethod("lookup_instance",
+                    typeClz);
+
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentExceptionImpl(
+                    this.environment,
+                    "Cannot find Typed DataWriter '"
+                            + typedWriterClzName
+                            + "' that should be generated with OpenSplice idlpp");
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentExceptionImpl(
+                    this.environment,
+                    "Cannot find correct methods in '"
+                            + typedWriterClzName
+                            + "' that should be generated with OpenSplice idlpp ( "
+                            + e.getMessage() + ").");
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentExceptionImpl(
+                    this.environment,
+                    "Cannot find 'value' field in "
+                            + "the typed sampleHolderClass "
+                            + "that should be generated with OpenSplice idlpp ( "
+                            + e.getMessage() + ").");
+        } catch (SecurityException e) {
+            throw new IllegalArgumentExceptionImpl(
+                    this.environment,
+                    "Cannot find 'value' field in "
+                            + "the typed sampleHolderClass "
+                            + "that should be generated with OpenSplice idlpp ( "
+                            + e.getMessage() + ").");
+        }
+    }
+
+    private DDSExceptionImpl failed(String operation, Exception e) {
+        return new DDSExceptionImpl(this.environment, "DataWriter."
+                + operation + "() failed (" + e.getMessage() + ").");
+    }
+
+    private Object invoke(String operation, Method method, Object writer,
+            Object... args) {
+        try {
+            return method.invoke(writer, args);
+        } catch (IllegalAccessException e) {
+            throw this.failed(operation, e);
+        } catch (IllegalArgumentException e) {
+            throw this.failed(operation, e);
+        } catch (InvocationTargetException e) {
+            throw this.failed(operation, e);
+        }
+    }
+
+    @Override
+    public Object newSampleHolder() {
+        try {
+            return this.sampleHolderClz.newInstance();
+        } catch (InstantiationException e) {
+            throw this.failed("getKeyValue", e);
+        } catch (IllegalAccessException e) {
+            throw this.failed("getKeyValue", e);
+        }
+    }
+
+    @Override
+    public Object getSample(Object sampleHolder) {
+        try {
+            return this.sampleHolderValueField.get(sampleHolder);
+        } catch (IllegalAccessException e) {
+            throw this.failed("getKeyValue", e);
+        } catch (IllegalArgumentException e) {
+            throw this.failed("getKeyValue", e);
+        }
+    }
+
+    @Override
+    public void setSample(Object sampleHolder, Object sample) {
+        try {
+            this.sampleHolderValueField.set(sampleHolder, sample);
+        } catch (IllegalAccessException e) {
+            throw this.failed("getKeyValue", e);
+        } catch (IllegalArgumentException e) {
+            throw this.failed("getKeyValue", e);
+        }
+    }
+
+    @Override
+    public long register_instance(DDS.DataWriter writer, Object instance_data) {
+        return (Long) this.invoke("registerInstance", this.registerInstance,
+                writer, instance_data);
+    }
+
+    @Override
+    public long register_instance_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, DDS.Time_t source_timestamp) {
+        return (Long) this.invoke("registerInstance",
+                this.registerInstanceTimestamp, writer, instance_data,
+                source_timestamp);
+    }
+
+    @Override
+    public int unregister_instance(DDS.DataWriter writer,
+            Object instance_data, long handle) {
+        return (Integer) this.invoke("unregisterInstance",
+                this.unregisterInstance, writer, instance_data, handle);
+    }
+
+    @Override
+    public int unregister_instance_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long handle, DDS.Time_t source_timestamp) {
+        return (Integer) this.invoke("unregisterInstance",
+                this.unregisterInstanceTimestamp, writer, instance_data,
+                handle, source_timestamp);
+    }
+
+    @Override
+    public int write(DDS.DataWriter writer, Object instance_data, long handle) {
+        return (Integer) this.invoke("write", this.write, writer,
+                instance_data, handle);
+    }
+
+    @Override
+    public int write_w_timestamp(DDS.DataWriter writer, Object instance_data,
+            long handle, DDS.Time_t source_timestamp) {
+        return (Integer) this.invoke("write", this.writeTimestamp, writer,
+                instance_data, handle, source_timestamp);
+    }
+
+    @Override
+    public int dispose(DDS.DataWriter writer, Object instance_data,
+            long instance_handle) {
+        return (Integer) this.invoke("dispose", this.dispose, writer,
+                instance_data, instance_handle);
+    }
+
+    @Override
+    public int dispose_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long instance_handle,
+            DDS.Time_t source_timestamp) {
+        return (Integer) this.invoke("dispose", this.disposeTimestamp, writer,
+                instance_data, instance_handle, source_timestamp);
+    }
+
+    @Override
+    public int writedispose(DDS.DataWriter writer, Object instance_data,
+            long instance_handle) {
+        return (Integer) this.invoke("writeDispose", this.writeDispose,
+                writer, instance_data, instance_handle);
+    }
+
+    @Override
+    public int writedispose_w_timestamp(DDS.DataWriter writer,
+            Object instance_data, long instance_handle,
+            DDS.Time_t source_timestamp) {
+        return (Integer) this.invoke("writeDispose",
+                this.writeDisposeTimestamp, writer, instance_data,
+                instance_handle, source_timestamp);
+    }
+
+    @Override
+    public int get_key_value(DDS.DataWriter writer, Object key_holder,
+            long handle) {
+        return (Integer) this.invoke("getKeyValue", this.getKeyValue, writer,
+                key_holder, handle);
+    }
+
+    @Override
+    public long lookup_instance(DDS.DataWriter writer, Object instance_data) {
+        return (Long) this.invoke("lookupInstance", this.lookupInstance,
+                writer, instance_data);
+    }
+
+    @Override
+    public Object get_key(Object instance_data) {
+        /* Leaves reading the key fields to the caller. */
+        return null;
+    }
+}
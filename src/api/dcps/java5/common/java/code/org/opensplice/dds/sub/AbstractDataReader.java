@@ -24,6 +24,7 @@ import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -54,6 +55,7 @@ import org.omg.dds.sub.Sample.Iterator;
 import org.omg.dds.sub.Subscriber.DataState;
 import org.omg.dds.topic.PublicationBuiltinTopicData;
 import org.omg.dds.topic.TopicDescription;
+import org.opensplice.dds.core.CompletionFuture;
 import org.opensplice.dds.core.DomainEntityImpl;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.IllegalOperationExceptionImpl;
@@ -73,6 +75,7 @@ public abstract class AbstractDataReader<TYPE>
     protected final HashMap<DDS.Condition, ReadConditionImpl<TYPE>> conditions;
     protected final HashSet<AbstractIterator<TYPE>> iterators;
     protected final Selector<TYPE> selector;
+    private static final int DEFAULT_PUBLISHER_BATCH_SIZE = 256;
 
 
     public AbstractDataReader(OsplServiceEnvironment environment,
@@ -99,6 +102,20 @@ public abstract class AbstractDataReader<TYPE>
 
     protected abstract ReflectionDataReader<?, TYPE> getReflectionReader();
 
+    @Override
+    public SamplePublisher<TYPE> createSamplePublisher() {
+        return this.createSamplePublisher(this.parent.createDataState()
+                .withAnySampleState().withAnyViewState()
+                .withAnyInstanceState(), DEFAULT_PUBLISHER_BATCH_SIZE);
+    }
+
+    @Override
+    public SamplePublisher<TYPE> createSamplePublisher(DataState state,
+            int batchSize) {
+        return new SamplePublisher<TYPE>(this.environment, this, state,
+                batchSize);
+    }
+
     @Override
     public ReadCondition<TYPE> createReadCondition(DataState states) {
         ReadConditionImpl<TYPE> condition;
@@ -203,6 +220,7 @@ public abstract class AbstractDataReader<TYPE>
                 /* Entity may be closed concurrently by application */
             }
         }
+        this.getReflectionReader().freeCdrSamples();
     }
 
     @Override
@@ -338,6 +356,18 @@ public abstract class AbstractDataReader<TYPE>
         this.getReflectionReader().waitForHistoricalData(maxWait, unit);
     }
 
+    @Override
+    public CompletionFuture<Void> waitForHistoricalDataAsync(Duration maxWait) {
+        return this.getReflectionReader().waitForHistoricalDataAsync(maxWait);
+    }
+
+    @Override
+    public DataReaderStatusSnapshot getStatuses(
+            EnumSet<DataReaderStatusSnapshot.Kind> kinds,
+            DataReaderStatusSnapshot snapshot) {
+        return this.getReflectionReader().getStatuses(kinds, snapshot);
+    }
+
     @Override
     public void waitForHistoricalData(String filterExpression,
             List<String> filterParameters, Time minSourceTimestamp,
@@ -545,6 +575,50 @@ public abstract class AbstractDataReader<TYPE>
         return this.getReflectionReader().take(samples, selector);
     }
 
+    @Override
+    public Iterator<TYPE> readLoaned(int maxSamples) {
+        return this.getReflectionReader().readLoaned(maxSamples);
+    }
+
+    @Override
+    public Iterator<TYPE> readLoaned(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query) {
+        return this.getReflectionReader().readLoaned(query);
+    }
+
+    @Override
+    public Iterator<TYPE> takeLoaned(int maxSamples) {
+        return this.getReflectionReader().takeLoaned(maxSamples);
+    }
+
+    @Override
+    public Iterator<TYPE> takeLoaned(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query) {
+        return this.getReflectionReader().takeLoaned(query);
+    }
+
+    @Override
+    public CdrSamples readCdr(int maxSamples) {
+        return this.getReflectionReader().readCdr(maxSamples);
+    }
+
+    @Override
+    public CdrSamples readCdr(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query) {
+        return this.getReflectionReader().readCdr(query);
+    }
+
+    @Override
+    public CdrSamples takeCdr(int maxSamples) {
+        return this.getReflectionReader().takeCdr(maxSamples);
+    }
+
+    @Override
+    public CdrSamples takeCdr(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query) {
+        return this.getReflectionReader().takeCdr(query);
+    }
+
     @Override
     public StatusCondition<DataReader<TYPE>> getStatusCondition() {
         DDS.StatusCondition oldCondition = this.getOld().get_statuscondition();
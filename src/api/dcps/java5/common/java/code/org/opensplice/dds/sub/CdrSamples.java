@@ -0,0 +1,64 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.nio.ByteBuffer;
+
+import org.omg.dds.sub.Sample;
+
+/**
+ * Samples that have been read or taken as raw big-endian CDR by means of
+ * {@link DataReader#readCdr(int)} or {@link DataReader#takeCdr(int)}.
+ * <p>
+ * The data of every Sample is a read-only ByteBuffer that is positioned at
+ * the start of the serialized sample and limited to its size. The buffers
+ * are views on direct buffers that are pooled by the DataReader; their
+ * contents are only valid until {@link #returnLoan()} is called, after which
+ * the DataReader may overwrite them. The Sample objects themselves are
+ * recycled as well.
+ */
+public interface CdrSamples extends Iterable<Sample<ByteBuffer>> {
+    /**
+     * @return The number of samples in this loan.
+     */
+    public int size();
+
+    /**
+     * @param index
+     *            The index of the sample, ranging from 0 to size() - 1.
+     * @return The sample at the provided index.
+     *
+     * @throws IllegalArgumentException
+     *             The index is out of range.
+     * @throws org.omg.dds.core.PreconditionNotMetException
+     *             The loan has already been returned.
+     */
+    public Sample<ByteBuffer> get(int index);
+
+    /**
+     * Returns the buffers to the pool of the DataReader, so a subsequent
+     * readCdr() or takeCdr() can reuse them.
+     *
+     * @throws org.omg.dds.core.PreconditionNotMetException
+     *             The loan has already been returned.
+     */
+    public void returnLoan();
+}
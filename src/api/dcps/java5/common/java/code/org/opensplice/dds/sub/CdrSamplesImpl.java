@@ -0,0 +1,170 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.omg.dds.sub.Sample;
+import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.PreconditionNotMetExceptionImpl;
+import org.opensplice.dds.core.UnsupportedOperationExceptionImpl;
+import org.opensplice.dds.dcps.CdrSampleSeq;
+import org.opensplice.dds.dcps.FooDataReaderImpl;
+
+/**
+ * Pooled CdrSamples implementation. The read-only views on the direct
+ * buffers are only recreated when the native layer replaced the buffer at
+ * their position.
+ */
+class CdrSamplesImpl implements CdrSamples {
+    private final OsplServiceEnvironment environment;
+    private final ReflectionDataReader<?, ?> reader;
+    private final CdrSampleSeq seq;
+    private ByteBuffer[] sources;
+    private ByteBuffer[] views;
+    private SampleImpl<ByteBuffer>[] samples;
+    private int length;
+    private boolean loaned;
+
+    @SuppressWarnings("unchecked")
+    public CdrSamplesImpl(OsplServiceEnvironment environment,
+            ReflectionDataReader<?, ?> reader) {
+        this.environment = environment;
+        this.reader = reader;
+        this.seq = new CdrSampleSeq();
+        this.sources = new ByteBuffer[0];
+        this.views = new ByteBuffer[0];
+        this.samples = new SampleImpl[0];
+        this.length = 0;
+        this.loaned = false;
+    }
+
+    public CdrSampleSeq getSeq() {
+        return this.seq;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void reset() {
+        int count = this.seq.count;
+
+        if (count > this.samples.length) {
+            ByteBuffer[] grownSources = new ByteBuffer[count];
+            ByteBuffer[] grownViews = new ByteBuffer[count];
+            SampleImpl<ByteBuffer>[] grownSamples = new SampleImpl[count];
+
+            System.arraycopy(this.sources, 0, grownSources, 0, this.length);
+            System.arraycopy(this.views, 0, grownViews, 0, this.views.length);
+            System.arraycopy(this.samples, 0, grownSamples, 0,
+                    this.samples.length);
+            this.sources = grownSources;
+            this.views = grownViews;
+            this.samples = grownSamples;
+        }
+        for (int i = 0; i < count; i++) {
+            ByteBuffer source = this.seq.value[i];
+
+            if (this.sources[i] != source) {
+                this.sources[i] = source;
+                this.views[i] = source.asReadOnlyBuffer();
+            }
+            this.views[i].clear();
+            this.views[i].limit(this.seq.length[i]);
+
+            if (this.samples[i] == null) {
+                this.samples[i] = new SampleImpl<ByteBuffer>(this.environment,
+                        this.views[i], this.seq.info[i]);
+            } else {
+                this.samples[i].setContent(this.views[i], this.seq.info[i]);
+            }
+        }
+        this.length = count;
+        this.loaned = true;
+    }
+
+    @Override
+    public int size() {
+        this.checkLoaned();
+        return this.length;
+    }
+
+    @Override
+    public Sample<ByteBuffer> get(int index) {
+        this.checkLoaned();
+        if (index < 0 || index >= this.length) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid index (" + index + ") provided.");
+        }
+        return this.samples[index];
+    }
+
+    @Override
+    public Iterator<Sample<ByteBuffer>> iterator() {
+        this.checkLoaned();
+
+        return new Iterator<Sample<ByteBuffer>>() {
+            private int index = 0;
+
+            @Override
+            public boolean hasNext() {
+                return this.index < CdrSamplesImpl.this.size();
+            }
+
+            @Override
+            public Sample<ByteBuffer> next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return CdrSamplesImpl.this.samples[this.index++];
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationExceptionImpl(
+                        CdrSamplesImpl.this.environment,
+                        "Cannot remove() from CdrSamples.");
+            }
+        };
+    }
+
+    @Override
+    public void returnLoan() {
+        this.checkLoaned();
+        this.loaned = false;
+        this.length = 0;
+        this.reader.returnCdrLoan(this);
+    }
+
+    public void free() {
+        this.loaned = false;
+        this.length = 0;
+        FooDataReaderImpl.freeCdr(this.seq);
+    }
+
+    private void checkLoaned() {
+        if (!this.loaned) {
+            throw new PreconditionNotMetExceptionImpl(this.environment,
+                    "CdrSamples loan already returned.");
+        }
+    }
+}
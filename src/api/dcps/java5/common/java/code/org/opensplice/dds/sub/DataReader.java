@@ -19,6 +19,7 @@
  */
 package org.opensplice.dds.sub;
 
+import java.util.EnumSet;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -26,6 +27,8 @@ import java.util.concurrent.TimeoutException;
 import org.omg.dds.core.Duration;
 import org.omg.dds.core.Time;
 import org.omg.dds.core.policy.ResourceLimits;
+import org.omg.dds.sub.Subscriber.DataState;
+import org.opensplice.dds.core.CompletionFuture;
 
 public interface DataReader<TYPE> extends org.omg.dds.sub.DataReader<TYPE> {
     /**
@@ -786,4 +789,254 @@ public interface DataReader<TYPE> extends org.omg.dds.sub.DataReader<TYPE> {
     public void waitForHistoricalData(
             ResourceLimits resourceLimits, long maxWait, TimeUnit unit)
             throws TimeoutException;
+
+    /**
+     * This operation reads at most maxSamples samples into the loaned
+     * iterator of this DataReader. In contrast to
+     * {@link org.omg.dds.sub.DataReader#read(int)}, every call returns the
+     * same iterator, which is owned by the DataReader. The sequences, Sample
+     * objects, data objects and SampleInfo objects of the previous call are
+     * recycled, so a steady-state read loop does not create garbage.
+     * <p>
+     * A subsequent readLoaned() or takeLoaned() call on this DataReader
+     * invalidates the contents of the iterator and of all Samples obtained
+     * from it, so applications must copy data they want to retain. Loaned
+     * iterators are therefore meant to be consumed by one thread at a time.
+     *
+     * @param maxSamples
+     *            The maximum number of samples to read, or
+     *            {@link org.omg.dds.core.policy.ResourceLimits#LENGTH_UNLIMITED}.
+     * @return The loaned iterator of this DataReader, positioned before the
+     *         first sample that was read.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     */
+    public Sample.Iterator<TYPE> readLoaned(int maxSamples);
+
+    /**
+     * This operation reads the samples that match the supplied Selector into
+     * the loaned iterator of this DataReader. See {@link #readLoaned(int)}
+     * for the life-cycle of the returned iterator.
+     *
+     * @param query
+     *            The Selector that determines which samples are read.
+     * @return The loaned iterator of this DataReader, positioned before the
+     *         first sample that was read.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     */
+    public Sample.Iterator<TYPE> readLoaned(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query);
+
+    /**
+     * This operation takes at most maxSamples samples into the loaned
+     * iterator of this DataReader. See {@link #readLoaned(int)} for the
+     * life-cycle of the returned iterator.
+     *
+     * @param maxSamples
+     *            The maximum number of samples to take, or
+     *            {@link org.omg.dds.core.policy.ResourceLimits#LENGTH_UNLIMITED}.
+     * @return The loaned iterator of this DataReader, positioned before the
+     *         first sample that was taken.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     */
+    public Sample.Iterator<TYPE> takeLoaned(int maxSamples);
+
+    /**
+     * This operation takes the samples that match the supplied Selector into
+     * the loaned iterator of this DataReader. See {@link #readLoaned(int)}
+     * for the life-cycle of the returned iterator.
+     *
+     * @param query
+     *            The Selector that determines which samples are taken.
+     * @return The loaned iterator of this DataReader, positioned before the
+     *         first sample that was taken.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     */
+    public Sample.Iterator<TYPE> takeLoaned(
+            org.omg.dds.sub.DataReader.Selector<TYPE> query);
+
+    /**
+     * This operation reads at most maxSamples samples as raw big-endian CDR
+     * without materializing them as Java objects. The serialized samples are
+     * copied into direct buffers that are pooled by this DataReader and
+     * reused by subsequent calls once the returned CdrSamples have been given
+     * back by means of {@link CdrSamples#returnLoan()}. Applications that
+     * forward or store samples without inspecting them avoid all
+     * de-serialization and garbage this way.
+     *
+     * @param maxSamples
+     *            The maximum number of samples to read, or
+     *            {@link org.omg.dds.core.policy.ResourceLimits#LENGTH_UNLIMITED}.
+     * @return The samples that were read, which must be returned by means of
+     *         {@link CdrSamples#returnLoan()}.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     * @throws UnsupportedOperationException
+     *             The type of this DataReader cannot be represented as CDR.
+     */
+    public CdrSamples readCdr(int maxSamples);
+
+    /**
+     * This operation reads the samples that match the supplied Selector as
+     * raw big-endian CDR. See {@link #readCdr(int)} for the life-cycle of the
+     * returned samples.
+     *
+     * @param query
+     *            The Selector that determines which samples are read.
+     * @return The samples that were read, which must be returned by means of
+     *         {@link CdrSamples#returnLoan()}.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     * @throws UnsupportedOperationException
+     *             The type of this DataReader cannot be represented as CDR.
+     */
+    public CdrSamples readCdr(org.omg.dds.sub.DataReader.Selector<TYPE> query);
+
+    /**
+     * This operation takes at most maxSamples samples as raw big-endian CDR.
+     * See {@link #readCdr(int)} for the life-cycle of the returned samples.
+     *
+     * @param maxSamples
+     *            The maximum number of samples to take, or
+     *            {@link org.omg.dds.core.policy.ResourceLimits#LENGTH_UNLIMITED}.
+     * @return The samples that were taken, which must be returned by means of
+     *         {@link CdrSamples#returnLoan()}.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     * @throws UnsupportedOperationException
+     *             The type of this DataReader cannot be represented as CDR.
+     */
+    public CdrSamples takeCdr(int maxSamples);
+
+    /**
+     * This operation takes the samples that match the supplied Selector as
+     * raw big-endian CDR. See {@link #readCdr(int)} for the life-cycle of the
+     * returned samples.
+     *
+     * @param query
+     *            The Selector that determines which samples are taken.
+     * @return The samples that were taken, which must be returned by means of
+     *         {@link CdrSamples#returnLoan()}.
+     *
+     * @throws org.omg.dds.core.DDSException
+     *             An internal error has occurred.
+     * @throws org.omg.dds.core.AlreadyClosedException
+     *             The corresponding DataReader has been closed.
+     * @throws org.omg.dds.core.OutOfResourcesException
+     *             The Data Distribution Service ran out of resources to
+     *             complete this operation.
+     * @throws UnsupportedOperationException
+     *             The type of this DataReader cannot be represented as CDR.
+     */
+    public CdrSamples takeCdr(org.omg.dds.sub.DataReader.Selector<TYPE> query);
+
+    /**
+     * This operation creates a {@link SamplePublisher} that takes the samples
+     * of this DataReader, in any state, as its subscribers request them.
+     *
+     * @return a new SamplePublisher for this DataReader.
+     * @see #createSamplePublisher(DataState, int)
+     */
+    public SamplePublisher<TYPE> createSamplePublisher();
+
+    /**
+     * This operation creates a {@link SamplePublisher} that takes the samples
+     * of this DataReader that match the provided DataState, as its
+     * subscribers request them. Samples that have not been requested remain
+     * in the DataReader, so the History and ResourceLimits QosPolicies of the
+     * DataReader determine what happens when subscribers cannot keep up.
+     *
+     * @param state
+     *            The state of the samples to take.
+     * @param batchSize
+     *            The maximum number of samples taken at once.
+     * @return a new SamplePublisher for this DataReader.
+     * @throws IllegalArgumentException
+     *             The state is null or the batch size is not positive.
+     */
+    public SamplePublisher<TYPE> createSamplePublisher(DataState state,
+            int batchSize);
+
+    /**
+     * Asynchronous variant of
+     * {@link org.omg.dds.sub.DataReader#waitForHistoricalData(Duration)}
+     * that does not block the calling thread.
+     *
+     * @param maxWait
+     *            The maximum time to wait for the historical data.
+     * @return a future that completes when all historical data has been
+     *         received, or fails with a TimeoutException when maxWait
+     *         expires.
+     * @throws IllegalArgumentException
+     *             The maxWait is null.
+     */
+    public CompletionFuture<Void> waitForHistoricalDataAsync(Duration maxWait);
+
+    /**
+     * This operation retrieves the requested communication statuses of this
+     * DataReader in one call and stores them in a reusable snapshot. It is
+     * intended for applications that poll the statuses of many DataReaders;
+     * unlike the individual status getters it does not create a status
+     * object for every status that is retrieved.
+     * <p>
+     * Retrieving a status resets its change counters, exactly like the
+     * individual status getters do.
+     *
+     * @param kinds
+     *            The statuses to retrieve.
+     * @param snapshot
+     *            The snapshot to store the statuses in, or null to create a
+     *            new one.
+     * @return the snapshot that contains the statuses.
+     * @throws IllegalArgumentException
+     *             The kinds is null.
+     */
+    public DataReaderStatusSnapshot getStatuses(
+            EnumSet<DataReaderStatusSnapshot.Kind> kinds,
+            DataReaderStatusSnapshot snapshot);
 }
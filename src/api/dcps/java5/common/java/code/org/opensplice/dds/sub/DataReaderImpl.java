@@ -46,6 +46,7 @@ public class DataReaderImpl<TYPE> extends AbstractDataReader<TYPE> {
             DDS.DataReader old) {
         super(environment, parent, topicDescription);
         this.setOld(old);
+        this.registerMetrics("DataReader", topicDescription.getName());
         this.reflectionReader = new ReflectionDataReader<TYPE, TYPE>(
                 this.environment, this, topicDescription.getTypeSupport()
                         .getType());
@@ -92,6 +93,7 @@ public class DataReaderImpl<TYPE> extends AbstractDataReader<TYPE> {
             Utilities.throwLastErrorException(this.environment);
         }
         this.setOld(old);
+        this.registerMetrics("DataReader", topicDescription.getName());
         this.reflectionReader = new ReflectionDataReader<TYPE, TYPE>(
                 this.environment, this, topicDescription.getTypeSupport()
                         .getType());
@@ -130,9 +132,7 @@ public class DataReaderImpl<TYPE> extends AbstractDataReader<TYPE> {
             }
             if (pa == null) {
                 pa = new PreAllocatorImpl<TYPE>(this.environment,
-                        sampleSeqHolderClz, sampleSeqHolderValueField, this
-                                .getTopicDescription().getTypeSupport()
-                                .getType(), samples);
+                        this.reflectionReader.getAccessor(), samples);
                 this.preallocteList.add(pa);
             } else {
                 pa.setSampleList(samples);
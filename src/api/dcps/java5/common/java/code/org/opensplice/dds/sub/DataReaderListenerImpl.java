@@ -24,6 +24,7 @@ import java.io.Serializable;
 
 import org.omg.dds.sub.DataReader;
 import org.omg.dds.sub.DataReaderListener;
+import org.opensplice.dds.core.EntityImpl;
 import org.opensplice.dds.core.Listener;
 import org.opensplice.dds.core.OsplServiceEnvironment;
 import org.opensplice.dds.core.event.DataAvailableEventImpl;
@@ -33,6 +34,7 @@ import org.opensplice.dds.core.event.RequestedIncompatibleQosEventImpl;
 import org.opensplice.dds.core.event.SampleLostEventImpl;
 import org.opensplice.dds.core.event.SampleRejectedEventImpl;
 import org.opensplice.dds.core.event.SubscriptionMatchedEventImpl;
+import org.opensplice.dds.core.metrics.EntityMetrics;
 import org.opensplice.dds.core.status.DataAvailableStatusImpl;
 import org.opensplice.dds.core.status.StatusConverter;
 
@@ -92,9 +94,21 @@ public class DataReaderListenerImpl<TYPE> extends
     @Override
     public void on_data_available(DDS.DataReader reader) {
         this.waitUntilInitialised();
+
+        EntityMetrics metrics = null;
+
+        if (this.reader instanceof EntityImpl<?, ?, ?, ?, ?>) {
+            metrics = ((EntityImpl<?, ?, ?, ?, ?>) this.reader).getMetrics();
+        }
+        long start = (metrics != null) ? System.nanoTime() : 0;
+
         this.listener.onDataAvailable(new DataAvailableEventImpl<TYPE>(
                 this.environment, this.reader, new DataAvailableStatusImpl(
                         this.environment)));
+
+        if (metrics != null) {
+            metrics.recordListener(System.nanoTime() - start);
+        }
     }
 
     @Override
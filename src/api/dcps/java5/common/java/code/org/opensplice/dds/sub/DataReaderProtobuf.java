@@ -84,6 +84,7 @@ public class DataReaderProtobuf<PROTOBUF_TYPE, DDS_TYPE> extends
             Utilities.throwLastErrorException(this.environment);
         }
         this.setOld(old);
+        this.registerMetrics("DataReader", topicDescription.getName());
         this.preallocated = new HashMap<List<Sample<PROTOBUF_TYPE>>, PreAllocatorProtobuf<PROTOBUF_TYPE, DDS_TYPE>>();
         this.typeSupport = (TypeSupportProtobuf<PROTOBUF_TYPE, DDS_TYPE>) topicDescription
                 .getTypeSupport();
@@ -210,6 +211,33 @@ public class DataReaderProtobuf<PROTOBUF_TYPE, DDS_TYPE> extends
         return result;
     }
 
+    /*
+     * Protobuf samples are converted from the DDS samples on every call, so
+     * there is nothing to recycle; the loaned operations simply return a
+     * regular iterator.
+     */
+    @Override
+    public Iterator<PROTOBUF_TYPE> readLoaned(int maxSamples) {
+        return this.read(maxSamples);
+    }
+
+    @Override
+    public Iterator<PROTOBUF_TYPE> readLoaned(
+            org.omg.dds.sub.DataReader.Selector<PROTOBUF_TYPE> query) {
+        return this.read(query);
+    }
+
+    @Override
+    public Iterator<PROTOBUF_TYPE> takeLoaned(int maxSamples) {
+        return this.take(maxSamples);
+    }
+
+    @Override
+    public Iterator<PROTOBUF_TYPE> takeLoaned(
+            org.omg.dds.sub.DataReader.Selector<PROTOBUF_TYPE> query) {
+        return this.take(query);
+    }
+
     @Override
     public Iterator<PROTOBUF_TYPE> createIterator(Object sampleSeqHolder,
             Field sampleSeqHolderValueField, SampleInfoSeqHolder info) {
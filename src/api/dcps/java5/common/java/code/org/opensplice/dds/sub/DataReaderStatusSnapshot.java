@@ -0,0 +1,200 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.util.EnumSet;
+
+import org.omg.dds.core.policy.QosPolicy;
+import org.omg.dds.core.status.SampleRejectedStatus;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.policy.PolicyConverter;
+import org.opensplice.dds.core.status.StatusConverter;
+
+/**
+ * Mutable snapshot of the communication statuses of a DataReader that is
+ * filled by {@link DataReader#getStatuses(EnumSet, DataReaderStatusSnapshot)}.
+ * <p>
+ * Unlike the individual status getters of the DataReader, filling a snapshot
+ * copies the statuses into the status objects the snapshot keeps instead of
+ * creating a status object per status, so applications that poll the
+ * statuses of many DataReaders can reuse a single snapshot for all of them.
+ * Instance handles are provided as their raw value for the same reason.
+ * <p>
+ * Only the statuses that were requested in the last call are valid; the
+ * values of the other statuses are those of an earlier call. A snapshot is
+ * not thread-safe.
+ */
+public final class DataReaderStatusSnapshot {
+    /**
+     * The statuses that can be captured in a snapshot.
+     */
+    public enum Kind {
+        SAMPLE_REJECTED,
+        LIVELINESS_CHANGED,
+        REQUESTED_DEADLINE_MISSED,
+        REQUESTED_INCOMPATIBLE_QOS,
+        SUBSCRIPTION_MATCHED,
+        SAMPLE_LOST
+    }
+
+    private final EnumSet<Kind> kinds;
+    private OsplServiceEnvironment environment;
+
+    final DDS.SampleRejectedStatusHolder sampleRejected;
+    final DDS.LivelinessChangedStatusHolder livelinessChanged;
+    final DDS.RequestedDeadlineMissedStatusHolder requestedDeadlineMissed;
+    final DDS.RequestedIncompatibleQosStatusHolder requestedIncompatibleQos;
+    final DDS.SubscriptionMatchedStatusHolder subscriptionMatched;
+    final DDS.SampleLostStatusHolder sampleLost;
+
+    public DataReaderStatusSnapshot() {
+        this.kinds = EnumSet.noneOf(Kind.class);
+        this.environment = null;
+        this.sampleRejected = new DDS.SampleRejectedStatusHolder();
+        this.sampleRejected.value = new DDS.SampleRejectedStatus();
+        this.livelinessChanged = new DDS.LivelinessChangedStatusHolder();
+        this.livelinessChanged.value = new DDS.LivelinessChangedStatus();
+        this.requestedDeadlineMissed = new DDS.RequestedDeadlineMissedStatusHolder();
+        this.requestedDeadlineMissed.value = new DDS.RequestedDeadlineMissedStatus();
+        this.requestedIncompatibleQos = new DDS.RequestedIncompatibleQosStatusHolder();
+        this.requestedIncompatibleQos.value = new DDS.RequestedIncompatibleQosStatus();
+        this.subscriptionMatched = new DDS.SubscriptionMatchedStatusHolder();
+        this.subscriptionMatched.value = new DDS.SubscriptionMatchedStatus();
+        this.sampleLost = new DDS.SampleLostStatusHolder();
+        this.sampleLost.value = new DDS.SampleLostStatus();
+    }
+
+    void setCaptured(OsplServiceEnvironment environment,
+            EnumSet<Kind> captured) {
+        this.environment = environment;
+        this.kinds.clear();
+        this.kinds.addAll(captured);
+    }
+
+    /**
+     * @return true if the given status was captured by the last call that
+     *         filled this snapshot.
+     */
+    public boolean contains(Kind kind) {
+        return this.kinds.contains(kind);
+    }
+
+    public int getSampleRejectedTotalCount() {
+        return this.sampleRejected.value.total_count;
+    }
+
+    public int getSampleRejectedTotalCountChange() {
+        return this.sampleRejected.value.total_count_change;
+    }
+
+    public SampleRejectedStatus.Kind getSampleRejectedLastReason() {
+        if (this.sampleRejected.value.last_reason == null) {
+            return SampleRejectedStatus.Kind.NOT_REJECTED;
+        }
+        return StatusConverter.convert(this.environment,
+                this.sampleRejected.value.last_reason);
+    }
+
+    public long getSampleRejectedLastInstanceHandleValue() {
+        return this.sampleRejected.value.last_instance_handle;
+    }
+
+    public int getLivelinessChangedAliveCount() {
+        return this.livelinessChanged.value.alive_count;
+    }
+
+    public int getLivelinessChangedAliveCountChange() {
+        return this.livelinessChanged.value.alive_count_change;
+    }
+
+    public int getLivelinessChangedNotAliveCount() {
+        return this.livelinessChanged.value.not_alive_count;
+    }
+
+    public int getLivelinessChangedNotAliveCountChange() {
+        return this.livelinessChanged.value.not_alive_count_change;
+    }
+
+    public long getLivelinessChangedLastPublicationHandleValue() {
+        return this.livelinessChanged.value.last_publication_handle;
+    }
+
+    public int getRequestedDeadlineMissedTotalCount() {
+        return this.requestedDeadlineMissed.value.total_count;
+    }
+
+    public int getRequestedDeadlineMissedTotalCountChange() {
+        return this.requestedDeadlineMissed.value.total_count_change;
+    }
+
+    public long getRequestedDeadlineMissedLastInstanceHandleValue() {
+        return this.requestedDeadlineMissed.value.last_instance_handle;
+    }
+
+    public int getRequestedIncompatibleQosTotalCount() {
+        return this.requestedIncompatibleQos.value.total_count;
+    }
+
+    public int getRequestedIncompatibleQosTotalCountChange() {
+        return this.requestedIncompatibleQos.value.total_count_change;
+    }
+
+    public int getRequestedIncompatibleQosLastPolicyId() {
+        return this.requestedIncompatibleQos.value.last_policy_id;
+    }
+
+    /**
+     * @return the class of the last incompatible policy, or null if no
+     *         incompatible policy has been requested yet.
+     */
+    public Class<? extends QosPolicy> getRequestedIncompatibleQosLastPolicyClass() {
+        return PolicyConverter.convert(this.environment,
+                this.requestedIncompatibleQos.value.last_policy_id);
+    }
+
+    public int getSubscriptionMatchedTotalCount() {
+        return this.subscriptionMatched.value.total_count;
+    }
+
+    public int getSubscriptionMatchedTotalCountChange() {
+        return this.subscriptionMatched.value.total_count_change;
+    }
+
+    public int getSubscriptionMatchedCurrentCount() {
+        return this.subscriptionMatched.value.current_count;
+    }
+
+    public int getSubscriptionMatchedCurrentCountChange() {
+        return this.subscriptionMatched.value.current_count_change;
+    }
+
+    public long getSubscriptionMatchedLastPublicationHandleValue() {
+        return this.subscriptionMatched.value.last_publication_handle;
+    }
+
+    public int getSampleLostTotalCount() {
+        return this.sampleLost.value.total_count;
+    }
+
+    public int getSampleLostTotalCountChange() {
+        return this.sampleLost.value.total_count_change;
+    }
+}
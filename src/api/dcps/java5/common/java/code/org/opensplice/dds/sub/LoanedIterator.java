@@ -0,0 +1,233 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.util.NoSuchElementException;
+
+import org.omg.dds.sub.Sample;
+import org.opensplice.dds.core.AlreadyClosedExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.UnsupportedOperationExceptionImpl;
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+
+import DDS.SampleInfo;
+import DDS.SampleInfoSeqHolder;
+
+/**
+ * Sample.Iterator that is owned by a DataReader and refilled by every
+ * readLoaned() or takeLoaned() call on that DataReader. The sequence holders,
+ * the Sample wrappers and the data and SampleInfo objects of previous calls
+ * are handed to the next call again, so the copy-out of the samples can
+ * recycle them instead of allocating new ones. When the iterator is bound to
+ * a DataReaderImpl, the SampleInfo is delivered in packed columns that are
+ * owned by that reader and the Sample wrappers only create SampleInfo objects
+ * when these are explicitly requested.
+ */
+public class LoanedIterator<TYPE> implements Sample.Iterator<TYPE> {
+    private final OsplServiceEnvironment environment;
+    private final FooDataReaderAccessor accessor;
+    private final Object sampleSeqHolder;
+    private final SampleInfoSeqHolder infoSeqHolder;
+    private final org.opensplice.dds.dcps.DataReaderImpl columnsReader;
+    private Object[] dataPool;
+    private SampleInfo[] infoPool;
+    private SampleImpl<TYPE>[] samples;
+    private int length;
+    private int currentIndex;
+
+    @SuppressWarnings("unchecked")
+    public LoanedIterator(OsplServiceEnvironment environment,
+            FooDataReaderAccessor accessor,
+            org.opensplice.dds.dcps.DataReaderImpl columnsReader) {
+        this.environment = environment;
+        this.accessor = accessor;
+        this.sampleSeqHolder = accessor.newSampleSeqHolder();
+        this.infoSeqHolder = new SampleInfoSeqHolder();
+        this.columnsReader = columnsReader;
+        if (columnsReader != null) {
+            columnsReader.set_sample_info_columns(this.infoSeqHolder);
+        }
+        this.dataPool = null;
+        this.infoPool = null;
+        this.samples = new SampleImpl[0];
+        this.length = 0;
+        this.currentIndex = -1;
+    }
+
+    public Object getSampleSeqHolder() {
+        return this.sampleSeqHolder;
+    }
+
+    public SampleInfoSeqHolder getInfoSeqHolder() {
+        return this.infoSeqHolder;
+    }
+
+    /*
+     * Hands the largest sequences received so far to the next read or take.
+     * The copy-out reuses their elements, but rejects sequences that are
+     * shorter than a limited maxSamples, so in that case it starts from
+     * scratch and the pool is replaced after the call.
+     */
+    public void prepare(int maxSamples) {
+        if ((this.dataPool != null)
+                && ((maxSamples == DDS.LENGTH_UNLIMITED.value) || (maxSamples <= this.dataPool.length))) {
+            this.accessor.setSampleSeq(this.sampleSeqHolder, this.dataPool);
+            this.infoSeqHolder.value = this.infoPool;
+        } else {
+            this.accessor.setSampleSeq(this.sampleSeqHolder, null);
+            this.infoSeqHolder.value = null;
+        }
+        this.length = 0;
+        this.currentIndex = -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void reset() {
+        Object[] data = this.accessor.getSampleSeq(this.sampleSeqHolder);
+        SampleInfo[] info = this.infoSeqHolder.value;
+        long[] columns = null;
+
+        if (this.columnsReader != null) {
+            columns = this.columnsReader.get_sample_info_columns();
+        }
+        if ((this.dataPool == null) || (data.length > this.dataPool.length)) {
+            this.dataPool = data;
+            this.infoPool = info;
+        }
+        if (info.length > this.samples.length) {
+            SampleImpl<TYPE>[] grown = new SampleImpl[info.length];
+
+            System.arraycopy(this.samples, 0, grown, 0, this.samples.length);
+            this.samples = grown;
+        }
+        for (int i = 0; i < info.length; i++) {
+            if (this.samples[i] == null) {
+                this.samples[i] = new SampleImpl<TYPE>(this.environment,
+                        (TYPE) data[i], info[i]);
+            }
+            if (columns != null) {
+                this.samples[i].setContent((TYPE) data[i], columns, i);
+            } else {
+                this.samples[i].setContent((TYPE) data[i], info[i]);
+            }
+        }
+        this.length = info.length;
+        this.currentIndex = 0;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        return this.length > this.currentIndex;
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        return this.currentIndex > 0;
+    }
+
+    @Override
+    public int nextIndex() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        return this.currentIndex;
+    }
+
+    @Override
+    public int previousIndex() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        return this.currentIndex - 1;
+    }
+
+    @Override
+    public Sample<TYPE> next() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        /* The samples array is kept at the size of the largest batch. */
+        if (this.currentIndex >= this.length) {
+            throw new NoSuchElementException();
+        }
+        return this.samples[this.currentIndex++];
+    }
+
+    @Override
+    public Sample<TYPE> previous() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        if (this.currentIndex == 0) {
+            throw new NoSuchElementException();
+        }
+        return this.samples[--this.currentIndex];
+    }
+
+    /**
+     * Closes the current contents of this iterator. The iterator itself
+     * remains owned by the DataReader and is refilled by the next
+     * readLoaned() or takeLoaned() call.
+     */
+    @Override
+    public void close() {
+        if (this.currentIndex == -1) {
+            throw new AlreadyClosedExceptionImpl(this.environment,
+                    "Iterator already closed.");
+        }
+        /*
+         * The samples have been copied out of the DataReader, so there is
+         * nothing to return to it; the objects are kept for recycling.
+         */
+        this.length = 0;
+        this.currentIndex = -1;
+    }
+
+    @Override
+    public void remove() {
+        throw new UnsupportedOperationExceptionImpl(this.environment,
+                "Cannot remove() from Sample.Iterator.");
+    }
+
+    @Override
+    public void set(Sample<TYPE> o) {
+        throw new UnsupportedOperationExceptionImpl(this.environment,
+                "Cannot set() in Sample.Iterator.");
+    }
+
+    @Override
+    public void add(Sample<TYPE> o) {
+        throw new UnsupportedOperationExceptionImpl(this.environment,
+                "Cannot add() to Sample.Iterator.");
+    }
+}
@@ -0,0 +1,261 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import org.opensplice.dds.core.metrics.EntityMetrics;
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+
+/**
+ * {@link FooDataReaderAccessor} that records the number, duration and
+ * sample counts of the reads and takes of another accessor in the
+ * {@link EntityMetrics} of its DataReader. It is only put in place when
+ * metrics are enabled, so uninstrumented readers do not pay for the
+ * measurements.
+ */
+class MeteredDataReaderAccessor implements FooDataReaderAccessor {
+    private final FooDataReaderAccessor accessor;
+    private final EntityMetrics metrics;
+
+    public MeteredDataReaderAccessor(FooDataReaderAccessor accessor,
+            EntityMetrics metrics) {
+        this.accessor = accessor;
+        this.metrics = metrics;
+    }
+
+    private static int count(int rc, DDS.SampleInfoSeqHolder info_seq) {
+        if (rc != DDS.RETCODE_OK.value || info_seq.value == null) {
+            return 0;
+        }
+        return info_seq.value.length;
+    }
+
+    @Override
+    public Object newSampleHolder() {
+        return this.accessor.newSampleHolder();
+    }
+
+    @Override
+    public Object newSampleSeqHolder() {
+        return this.accessor.newSampleSeqHolder();
+    }
+
+    @Override
+    public Object[] newSampleSeq(int length) {
+        return this.accessor.newSampleSeq(length);
+    }
+
+    @Override
+    public Object[] getSampleSeq(Object sampleSeqHolder) {
+        return this.accessor.getSampleSeq(sampleSeqHolder);
+    }
+
+    @Override
+    public void setSampleSeq(Object sampleSeqHolder, Object[] samples) {
+        this.accessor.setSampleSeq(sampleSeqHolder, samples);
+    }
+
+    @Override
+    public Object getSample(Object sampleHolder) {
+        return this.accessor.getSample(sampleHolder);
+    }
+
+    @Override
+    public void setSample(Object sampleHolder, Object sample) {
+        this.accessor.setSample(sampleHolder, sample);
+    }
+
+    @Override
+    public int read(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read(reader, received_data, info_seq,
+                max_samples, sample_states, view_states, instance_states);
+
+        this.metrics.recordRead(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int take(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take(reader, received_data, info_seq,
+                max_samples, sample_states, view_states, instance_states);
+
+        this.metrics.recordTake(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int read_w_condition(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples,
+            DDS.ReadCondition a_condition) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read_w_condition(reader, received_data,
+                info_seq, max_samples, a_condition);
+
+        this.metrics.recordRead(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int take_w_condition(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples,
+            DDS.ReadCondition a_condition) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take_w_condition(reader, received_data,
+                info_seq, max_samples, a_condition);
+
+        this.metrics.recordTake(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int read_instance(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read_instance(reader, received_data, info_seq,
+                max_samples, a_handle, sample_states, view_states,
+                instance_states);
+
+        this.metrics.recordRead(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int take_instance(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take_instance(reader, received_data, info_seq,
+                max_samples, a_handle, sample_states, view_states,
+                instance_states);
+
+        this.metrics.recordTake(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int read_next_instance(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read_next_instance(reader, received_data,
+                info_seq, max_samples, a_handle, sample_states, view_states,
+                instance_states);
+
+        this.metrics.recordRead(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int take_next_instance(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take_next_instance(reader, received_data,
+                info_seq, max_samples, a_handle, sample_states, view_states,
+                instance_states);
+
+        this.metrics.recordTake(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int read_next_instance_w_condition(DDS.DataReader reader,
+            Object received_data, DDS.SampleInfoSeqHolder info_seq,
+            int max_samples, long a_handle, DDS.ReadCondition a_condition) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read_next_instance_w_condition(reader,
+                received_data, info_seq, max_samples, a_handle, a_condition);
+
+        this.metrics.recordRead(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int take_next_instance_w_condition(DDS.DataReader reader,
+            Object received_data, DDS.SampleInfoSeqHolder info_seq,
+            int max_samples, long a_handle, DDS.ReadCondition a_condition) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take_next_instance_w_condition(reader,
+                received_data, info_seq, max_samples, a_handle, a_condition);
+
+        this.metrics.recordTake(System.nanoTime() - start, count(rc, info_seq));
+
+        return rc;
+    }
+
+    @Override
+    public int read_next_sample(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoHolder sample_info) {
+        long start = System.nanoTime();
+        int rc = this.accessor.read_next_sample(reader, received_data,
+                sample_info);
+
+        this.metrics.recordRead(System.nanoTime() - start,
+                rc == DDS.RETCODE_OK.value ? 1 : 0);
+
+        return rc;
+    }
+
+    @Override
+    public int take_next_sample(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoHolder sample_info) {
+        long start = System.nanoTime();
+        int rc = this.accessor.take_next_sample(reader, received_data,
+                sample_info);
+
+        this.metrics.recordTake(System.nanoTime() - start,
+                rc == DDS.RETCODE_OK.value ? 1 : 0);
+
+        return rc;
+    }
+
+    @Override
+    public int return_loan(DDS.DataReader reader, Object received_data,
+            DDS.SampleInfoSeqHolder info_seq) {
+        return this.accessor.return_loan(reader, received_data, info_seq);
+    }
+
+    @Override
+    public int get_key_value(DDS.DataReader reader, Object key_holder,
+            long handle) {
+        return this.accessor.get_key_value(reader, key_holder, handle);
+    }
+
+    @Override
+    public long lookup_instance(DDS.DataReader reader, Object instance) {
+        return this.accessor.lookup_instance(reader, instance);
+    }
+}
@@ -20,98 +20,80 @@
  */
 package org.opensplice.dds.sub;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.Field;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.ListIterator;
 
 import org.omg.dds.sub.Sample;
-import org.opensplice.dds.core.DDSExceptionImpl;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
 
 import DDS.SampleInfo;
 import DDS.SampleInfoSeqHolder;
 
+/**
+ * Keeps the data and info sequences that are handed to the native layer in
+ * sync with a user-provided sample list. The sequences are only reallocated
+ * when the number of samples changes; the data and SampleInfo objects that
+ * the list refers to are always passed back down, so the native copy-out can
+ * fill them in place instead of allocating new ones for every read or take.
+ */
 public class PreAllocatorImpl<TYPE> implements PreAllocator<TYPE> {
     private final OsplServiceEnvironment environment;
-    private final Class<?> dataSeqHolderClaz;
-    private final Class<TYPE> dataClaz;
-    private final Field dataSeqHolderValueField;
-
-    private SampleInfoSeqHolder infoSeqHolder;
-    private Object dataSeqHolder;
+    private final FooDataReaderAccessor accessor;
+    private final SampleInfoSeqHolder infoSeqHolder;
+    private final Object dataSeqHolder;
     private List<Sample<TYPE>> sampleList;
     private int lastLength;
 
     public PreAllocatorImpl(OsplServiceEnvironment environment,
-            Class<?> dataSeqHolderClaz, Field dataSeqHolderValueField,
-            Class<TYPE> dataClaz, List<Sample<TYPE>> preAllocated) {
+            FooDataReaderAccessor accessor, List<Sample<TYPE>> preAllocated) {
         this.environment = environment;
+        this.accessor = accessor;
         this.sampleList = preAllocated;
-        this.dataSeqHolderClaz = dataSeqHolderClaz;
-        this.dataClaz = dataClaz;
-        this.dataSeqHolderValueField = dataSeqHolderValueField;
+        this.infoSeqHolder = new SampleInfoSeqHolder();
+        this.dataSeqHolder = accessor.newSampleSeqHolder();
         this.lastLength = -1;
         this.setSampleList(preAllocated);
     }
 
     @Override
     public void setSampleList(List<Sample<TYPE>> preAllocated) {
-        try {
-            if (preAllocated == null) {
-                this.sampleList = new ArrayList<Sample<TYPE>>();
-                this.infoSeqHolder = new SampleInfoSeqHolder();
-                this.dataSeqHolder = dataSeqHolderClaz.newInstance();
-            } else if (preAllocated == this.sampleList) {
-                if (this.lastLength != preAllocated.size()) {
-                    if (this.lastLength == -1) {
-                        this.infoSeqHolder = new SampleInfoSeqHolder();
-                        this.dataSeqHolder = dataSeqHolderClaz.newInstance();
-                    }
-                    this.infoSeqHolder.value = new SampleInfo[preAllocated
-                            .size()];
-                    this.dataSeqHolderValueField.set(this.dataSeqHolder,
-                            Array.newInstance(dataClaz, preAllocated.size()));
-                    this.copyData();
-                }
-            } else {
-                this.sampleList = preAllocated;
-                this.infoSeqHolder = new SampleInfoSeqHolder();
-                this.dataSeqHolder = dataSeqHolderClaz.newInstance();
+        if (preAllocated == null) {
+            this.sampleList = new ArrayList<Sample<TYPE>>();
+        } else if (preAllocated == this.sampleList) {
+            if (this.lastLength != preAllocated.size()) {
                 this.copyData();
             }
-            this.lastLength = this.sampleList.size();
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException ce) {
-            throw new IllegalArgumentExceptionImpl(this.environment,
-                    "Usage of non-OpenSplice Sample implementation is not supported.");
+        } else {
+            this.sampleList = preAllocated;
+            this.copyData();
         }
+        this.lastLength = this.sampleList.size();
     }
 
     private void copyData() {
+        int length = this.sampleList.size();
         int i = 0;
+        Object[] data = this.accessor.getSampleSeq(this.dataSeqHolder);
+        SampleInfo[] info = this.infoSeqHolder.value;
 
+        if ((data == null) || (data.length != length)) {
+            data = this.accessor.newSampleSeq(length);
+            this.accessor.setSampleSeq(this.dataSeqHolder, data);
+        }
+        if ((info == null) || (info.length != length)) {
+            info = new SampleInfo[length];
+            this.infoSeqHolder.value = info;
+        }
         try {
-            this.infoSeqHolder.value = new SampleInfo[this.sampleList.size()];
-            this.dataSeqHolderValueField.set(this.dataSeqHolder,
-                    Array.newInstance(dataClaz, this.sampleList.size()));
-            Object dataValue = this.dataSeqHolderValueField
-                    .get(this.dataSeqHolder);
-
             for (Sample<TYPE> sample : this.sampleList) {
-                this.infoSeqHolder.value[i] = ((SampleImpl<TYPE>) sample)
-                        .getInfo();
-                Array.set(dataValue, i++, sample.getData());
+                SampleImpl<TYPE> impl = (SampleImpl<TYPE>) sample;
+                /* Use the key-value to also recycle data of invalid samples. */
+                data[i] = impl.getKeyValue();
+                info[i++] = impl.getInfo();
             }
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
         } catch (ClassCastException ce) {
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Usage of non-OpenSplice Sample implementation is not supported.");
@@ -125,38 +107,31 @@ public class PreAllocatorImpl<TYPE> implements PreAllocator<TYPE> {
 
     @SuppressWarnings("unchecked")
     private void updateReferencesImproved() {
-        int index;
+        Object[] data = this.accessor.getSampleSeq(this.dataSeqHolder);
+        SampleInfo[] info = this.infoSeqHolder.value;
+        int length = info.length;
+        int index = 0;
 
         assert (this.lastLength == this.sampleList.size());
 
-        if (this.infoSeqHolder.value.length > this.lastLength) {
-            try {
-                Object dataValue = this.dataSeqHolderValueField
-                        .get(this.dataSeqHolder);
-                index = this.lastLength;
-
-                while (index < this.infoSeqHolder.value.length) {
-                    this.sampleList.add(new SampleImpl<TYPE>(
-                            this.environment,
-                            (TYPE)Array.get(dataValue, index),
-                            this.infoSeqHolder.value[index]));
-                    index++;
-                }
-            } catch (IllegalArgumentException e) {
-                throw new DDSExceptionImpl(this.environment, "Internal error ("
-                        + e.getMessage() + ").");
-            } catch (IllegalAccessException e) {
-                throw new DDSExceptionImpl(this.environment, "Internal error ("
-                        + e.getMessage() + ").");
-            }
-        } else if (this.infoSeqHolder.value.length < this.lastLength) {
-            index = this.infoSeqHolder.value.length;
-            int curLength = this.lastLength;
+        /* The native layer fills the passed objects in place, but may have
+         * replaced entries that were null, so refresh the existing samples.
+         */
+        ListIterator<Sample<TYPE>> iterator = this.sampleList.listIterator();
 
-            while (index < curLength) {
-                this.sampleList.remove(index);
-                curLength--;
+        while (index < length && iterator.hasNext()) {
+            ((SampleImpl<TYPE>) iterator.next()).setContent((TYPE) data[index],
+                    info[index]);
+            index++;
+        }
+        if (length > this.lastLength) {
+            while (index < length) {
+                this.sampleList.add(new SampleImpl<TYPE>(this.environment,
+                        (TYPE) data[index], info[index]));
+                index++;
             }
+        } else if (length < this.lastLength) {
+            this.sampleList.subList(length, this.lastLength).clear();
         }
         this.lastLength = this.sampleList.size();
     }
@@ -21,11 +21,12 @@
 package org.opensplice.dds.sub;
 
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 
@@ -47,18 +48,22 @@ import org.omg.dds.sub.ReadCondition;
 import org.omg.dds.sub.Sample;
 import org.omg.dds.sub.Sample.Iterator;
 import org.omg.dds.topic.PublicationBuiltinTopicData;
+import org.opensplice.dds.core.AsyncWaiter;
+import org.opensplice.dds.core.CompletionFuture;
 import org.opensplice.dds.core.DDSExceptionImpl;
 import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
 import org.opensplice.dds.core.InstanceHandleImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
 import org.opensplice.dds.core.PreconditionNotMetExceptionImpl;
+import org.opensplice.dds.core.UnsupportedOperationExceptionImpl;
 import org.opensplice.dds.core.Utilities;
 import org.opensplice.dds.core.policy.PolicyConverter;
 import org.opensplice.dds.core.status.StatusConverter;
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+import org.opensplice.dds.dcps.FooDataReaderImpl;
+import org.opensplice.dds.dcps.TypeSupportImpl;
 import org.opensplice.dds.topic.PublicationBuiltinTopicDataImpl;
-
-import DDS.SampleInfoHolder;
-import DDS.SampleInfoSeqHolder;
+import org.opensplice.dds.type.AbstractTypeSupport;
 
 public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         implements
@@ -68,25 +73,11 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
     private final DDS.DataReader old;
     private final Class<?> sampleSeqHolderClz;
     private final Field sampleSeqHolderValueField;
-
-    private final Class<?> sampleHolderClz;
-    private final Field sampleHolderValueField;
-
-    private final Method read;
-    private final Method take;
-    private final Method readCondition;
-    private final Method takeCondition;
-    private final Method readNextSample;
-    private final Method takeNextSample;
-    private final Method readInstance;
-    private final Method takeInstance;
-    private final Method readNextInstance;
-    private final Method takeNextInstance;
-    private final Method readNextInstanceCondition;
-    private final Method takeNextInstanceCondition;
-    private final Method returnLoan;
-    private final Method getKeyValue;
-    private final Method lookupInstance;
+    private final FooDataReaderAccessor accessor;
+    private final LoanedIterator<OUT_TYPE> loanedIterator;
+    private final ConcurrentLinkedQueue<CdrSamplesImpl> cdrPool;
+    private final List<CdrSamplesImpl> cdrSamples;
+    private long cdrCopyCache;
 
     public ReflectionDataReader(OsplServiceEnvironment environment,
             AbstractDataReader<OUT_TYPE> reader, Class<TYPE> ddsTypeClz) {
@@ -94,88 +85,23 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         this.reader = reader;
         this.old = reader.getOld();
 
-        Class<?> typedReaderClz;
-        String typedReaderClzName = ddsTypeClz.getName() + "DataReaderImpl";
-
         try {
-            typedReaderClz = Class.forName(typedReaderClzName);
-
-            this.sampleHolderClz = Class.forName(ddsTypeClz.getName() + "Holder");
-            this.sampleHolderValueField = this.sampleHolderClz
-                    .getDeclaredField("value");
-
             this.sampleSeqHolderClz = Class.forName(ddsTypeClz.getName()
                     + "SeqHolder");
             this.sampleSeqHolderValueField = this.sampleSeqHolderClz
                     .getDeclaredField("value");
-
-            this.read = typedReaderClz.getMethod("read",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, int.class, int.class, int.class);
-            this.take = typedReaderClz.getMethod("take",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, int.class, int.class, int.class);
-
-            this.readCondition = typedReaderClz.getMethod("read_w_condition",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, DDS.ReadCondition.class);
-            this.takeCondition = typedReaderClz.getMethod("take_w_condition",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, DDS.ReadCondition.class);
-
-            this.readNextSample = typedReaderClz.getMethod("read_next_sample",
-                    this.sampleHolderClz, SampleInfoHolder.class);
-            this.takeNextSample = typedReaderClz.getMethod("take_next_sample",
-                    this.sampleHolderClz, SampleInfoHolder.class);
-
-            this.readInstance = typedReaderClz.getMethod("read_instance",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, long.class, int.class, int.class, int.class);
-            this.takeInstance = typedReaderClz.getMethod("take_instance",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
-                    int.class, long.class, int.class, int.class, int.class);
-
-            this.readNextInstance = typedReaderClz.getMethod(
-                    "read_next_instance", this.sampleSeqHolderClz,
-                    SampleInfoSeqHolder.class, int.class, long.class,
-                    int.class, int.class, int.class);
-            this.takeNextInstance = typedReaderClz.getMethod(
-                    "take_next_instance", this.sampleSeqHolderClz,
-                    SampleInfoSeqHolder.class, int.class, long.class,
-                    int.class, int.class, int.class);
-
-            this.readNextInstanceCondition = typedReaderClz.getMethod(
-                    "read_next_instance_w_condition", this.sampleSeqHolderClz,
-                    SampleInfoSeqHolder.class, int.class, long.class,
-                    DDS.ReadCondition.class);
-            this.takeNextInstanceCondition = typedReaderClz.getMethod(
-                    "take_next_instance_w_condition", this.sampleSeqHolderClz,
-                    SampleInfoSeqHolder.class, int.class, long.class,
-                    DDS.ReadCondition.class);
-
-            this.returnLoan = typedReaderClz.getMethod("return_loan",
-                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class);
-
-            this.getKeyValue = typedReaderClz.getMethod("get_key_value",
-                    this.sampleHolderClz, long.class);
-            this.lookupInstance = typedReaderClz.getMethod("lookup_instance",
-                    ddsTypeClz);
         } catch (ClassNotFoundException e) {
             throw new PreconditionNotMetExceptionImpl(
                     environment,
-                    "Cannot find Typed DataReader '"
-                            + typedReaderClzName
+                    "Cannot find Typed SeqHolder for '"
+                            + ddsTypeClz.getName()
                             + "' that should have been generated manually with the OpenSplice IDL pre-processor.("
                             + e.getMessage() + ").");
-        } catch (NoSuchMethodException e) {
-            throw new DDSExceptionImpl(environment,
-                    "Cannot find correct methods in OpenSplice IDL pre-processor generated class: "
-                            + typedReaderClzName + " (" + e.getMessage() + ").");
         } catch (NoSuchFieldException e) {
             throw new DDSExceptionImpl(
                     environment,
                     "Cannot find 'value' field in "
-                            + "the typed sampleHolderClass "
+                            + "the typed sampleSeqHolderClass "
                             + "that should have been generated by the OpenSplice IDL pre-processor ("
                             + e.getMessage() + ").");
         } catch (SecurityException e) {
@@ -184,6 +110,50 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                     "Insufficient rights to find methods/fields in code that has been generated by the OpenSplice IDL pre-processor ("
                             + e.getMessage() + ").");
         }
+        FooDataReaderAccessor accessor = createAccessor(environment,
+                ddsTypeClz);
+
+        this.accessor = (reader.getMetrics() == null) ? accessor
+                : new MeteredDataReaderAccessor(accessor, reader.getMetrics());
+        this.loanedIterator = new LoanedIterator<OUT_TYPE>(environment,
+                this.accessor, this.getColumnsReader());
+        this.cdrPool = new ConcurrentLinkedQueue<CdrSamplesImpl>();
+        this.cdrSamples = new ArrayList<CdrSamplesImpl>();
+        this.cdrCopyCache = 0;
+    }
+
+    /*
+     * Loaned reads deliver their SampleInfo in packed columns, which requires
+     * the DataReader to be the OpenSplice implementation.
+     */
+    private org.opensplice.dds.dcps.DataReaderImpl getColumnsReader() {
+        if (this.old instanceof org.opensplice.dds.dcps.DataReaderImpl) {
+            return (org.opensplice.dds.dcps.DataReaderImpl) this.old;
+        }
+        return null;
+    }
+
+    /*
+     * Binds to the typed DataReaderAccessor that the OpenSplice IDL
+     * pre-processor generates next to the typed DataReader. Code generated by
+     * an older pre-processor lacks that class, in which case all operations
+     * are dispatched by means of reflection instead.
+     */
+    private static FooDataReaderAccessor createAccessor(
+            OsplServiceEnvironment environment, Class<?> ddsTypeClz) {
+        try {
+            return (FooDataReaderAccessor) Class.forName(
+                    ddsTypeClz.getName() + "DataReaderAccessor").newInstance();
+        } catch (ClassNotFoundException e) {
+            /* Fall back to reflection. */
+        } catch (InstantiationException e) {
+            /* Fall back to reflection. */
+        } catch (IllegalAccessException e) {
+            /* Fall back to reflection. */
+        } catch (ClassCastException e) {
+            /* Fall back to reflection. */
+        }
+        return new ReflectiveDataReaderAccessor(environment, ddsTypeClz);
     }
 
     @Override
@@ -278,6 +248,76 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         return StatusConverter.convert(this.environment, holder.value);
     }
 
+    public DataReaderStatusSnapshot getStatuses(
+            EnumSet<DataReaderStatusSnapshot.Kind> kinds,
+            DataReaderStatusSnapshot snapshot) {
+        if (kinds == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Illegal EnumSet<DataReaderStatusSnapshot.Kind> (null) provided.");
+        }
+        DataReaderStatusSnapshot result = snapshot;
+
+        if (result == null) {
+            result = new DataReaderStatusSnapshot();
+        }
+        int rc;
+
+        if (this.old instanceof org.opensplice.dds.dcps.DataReaderImpl) {
+            rc = ((org.opensplice.dds.dcps.DataReaderImpl) this.old).get_statuses(
+                    holder(kinds, DataReaderStatusSnapshot.Kind.SAMPLE_REJECTED, result.sampleRejected),
+                    holder(kinds, DataReaderStatusSnapshot.Kind.LIVELINESS_CHANGED, result.livelinessChanged),
+                    holder(kinds, DataReaderStatusSnapshot.Kind.REQUESTED_DEADLINE_MISSED, result.requestedDeadlineMissed),
+                    holder(kinds, DataReaderStatusSnapshot.Kind.REQUESTED_INCOMPATIBLE_QOS, result.requestedIncompatibleQos),
+                    holder(kinds, DataReaderStatusSnapshot.Kind.SUBSCRIPTION_MATCHED, result.subscriptionMatched),
+                    holder(kinds, DataReaderStatusSnapshot.Kind.SAMPLE_LOST, result.sampleLost));
+            Utilities.checkReturnCode(rc, this.environment,
+                    "DataReader.getStatuses() failed.");
+            result.setCaptured(this.environment, kinds);
+
+            return result;
+        }
+        for (DataReaderStatusSnapshot.Kind kind : kinds) {
+            rc = DDS.RETCODE_OK.value;
+            switch (kind) {
+            case SAMPLE_REJECTED:
+                rc = this.old.get_sample_rejected_status(result.sampleRejected);
+                break;
+            case LIVELINESS_CHANGED:
+                rc = this.old
+                        .get_liveliness_changed_status(result.livelinessChanged);
+                break;
+            case REQUESTED_DEADLINE_MISSED:
+                rc = this.old
+                        .get_requested_deadline_missed_status(result.requestedDeadlineMissed);
+                break;
+            case REQUESTED_INCOMPATIBLE_QOS:
+                rc = this.old
+                        .get_requested_incompatible_qos_status(result.requestedIncompatibleQos);
+                break;
+            case SUBSCRIPTION_MATCHED:
+                rc = this.old
+                        .get_subscription_matched_status(result.subscriptionMatched);
+                break;
+            case SAMPLE_LOST:
+                rc = this.old.get_sample_lost_status(result.sampleLost);
+                break;
+            default:
+                break;
+            }
+            Utilities.checkReturnCode(rc, this.environment,
+                    "DataReader.getStatuses() failed.");
+        }
+        result.setCaptured(this.environment, kinds);
+
+        return result;
+    }
+
+    /* Passes the holder of the status only when it is requested. */
+    private static <T> T holder(EnumSet<DataReaderStatusSnapshot.Kind> kinds,
+            DataReaderStatusSnapshot.Kind kind, T holder) {
+        return kinds.contains(kind) ? holder : null;
+    }
+
     public void waitForHistoricalData(Duration maxWait) throws TimeoutException {
         int rc = this.old.wait_for_historical_data(Utilities.convert(this.environment,
                 maxWait));
@@ -292,6 +332,17 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                 maxWait, unit));
     }
 
+    public CompletionFuture<Void> waitForHistoricalDataAsync(Duration maxWait) {
+        return AsyncWaiter.getInstance().poll(this.environment,
+                new AsyncWaiter.Operation() {
+                    @Override
+                    public int attempt(DDS.Duration_t zero) {
+                        return ReflectionDataReader.this.old
+                                .wait_for_historical_data(zero);
+                    }
+                }, maxWait, "DataReader.waitForHistoricalData() failed.");
+    }
+
     public void waitForHistoricalData(String filterExpression,
             List<String> filterParameters, Time minSourceTimestamp,
             Time maxSourceTimestamp, ResourceLimits resourceLimits,
@@ -365,66 +416,25 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             throw new IllegalArgumentException(
                     "Invalid key holder (null) provided.");
         }
+        sampleHolder = this.accessor.newSampleHolder();
+        this.accessor.setSample(sampleHolder, keyHolder);
+        int rc = this.accessor.get_key_value(this.old, sampleHolder,
+                Utilities.convert(this.environment, handle));
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.getKeyValue() failed.");
 
-        try {
-            sampleHolder = this.sampleHolderClz.newInstance();
-            this.sampleHolderValueField.set(sampleHolder, keyHolder);
-            int rc = (Integer) this.getKeyValue.invoke(this.old, sampleHolder,
-                    Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.getKeyValue() failed.");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
         return keyHolder;
     }
 
     @SuppressWarnings("unchecked")
     public TYPE getKeyValue(InstanceHandle handle) {
-        Object sampleHolder;
-
-
-        try {
-            sampleHolder = this.sampleHolderClz.newInstance();
-            int rc = (Integer) this.getKeyValue.invoke(this.old, sampleHolder,
-                    Utilities.convert(this.environment, handle));
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.getKeyValue() failed.");
+        Object sampleHolder = this.accessor.newSampleHolder();
+        int rc = this.accessor.get_key_value(this.old, sampleHolder,
+                Utilities.convert(this.environment, handle));
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.getKeyValue() failed.");
 
-            return (TYPE) this.sampleHolderValueField.get(sampleHolder);
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
+        return (TYPE) this.accessor.getSample(sampleHolder);
     }
 
     public InstanceHandle lookupInstance(TYPE keyHolder) {
@@ -434,41 +444,16 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             throw new IllegalArgumentException(
                     "Invalid key holder (null) provided.");
         }
+        oldHandle = this.accessor.lookup_instance(this.old, keyHolder);
 
-        try {
-            oldHandle = (Long) this.lookupInstance.invoke(this.old, keyHolder);
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
         return Utilities.convert(this.environment, oldHandle);
     }
 
     public void returnLoan(Object sampleSeqHolder,
             DDS.SampleInfoSeqHolder infoSeqHolder) {
-        try {
-            int rc = (Integer) this.returnLoan.invoke(this.old,
-                    sampleSeqHolder, infoSeqHolder);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "Return loan failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
+        int rc = this.accessor.return_loan(this.old, sampleSeqHolder,
+                infoSeqHolder);
+        Utilities.checkReturnCode(rc, this.environment, "Return loan failed.");
     }
 
     public Iterator<OUT_TYPE> read() {
@@ -485,6 +470,265 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Invalid Selector (null) provided.");
         }
+        sampleSeqHolder = this.accessor.newSampleSeqHolder();
+        this.read(sampleSeqHolder, info, query);
+
+        return (Iterator<OUT_TYPE>) this.reader.createIterator(
+                sampleSeqHolder, this.sampleSeqHolderValueField, info);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Iterator<OUT_TYPE> read(int maxSamples) {
+        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
+        Object sampleSeqHolder = this.accessor.newSampleSeqHolder();
+
+        int rc = this.accessor.read(this.old, sampleSeqHolder, info,
+                maxSamples, DDS.ANY_SAMPLE_STATE.value,
+                DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.read() failed.");
+
+        return (Iterator<OUT_TYPE>) this.reader.createIterator(
+                sampleSeqHolder, this.sampleSeqHolderValueField, info);
+    }
+
+    public Iterator<OUT_TYPE> take() {
+        return this.take(DDS.LENGTH_UNLIMITED.value);
+    }
+
+    @SuppressWarnings("unchecked")
+    public Iterator<OUT_TYPE> take(int maxSamples) {
+        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
+        Object sampleSeqHolder = this.accessor.newSampleSeqHolder();
+
+        int rc = this.accessor.take(this.old, sampleSeqHolder, info,
+                maxSamples, DDS.ANY_SAMPLE_STATE.value,
+                DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.take() failed.");
+
+        return (Iterator<OUT_TYPE>) this.reader.createIterator(
+                sampleSeqHolder, this.sampleSeqHolderValueField, info);
+    }
+
+    public Iterator<OUT_TYPE> readLoaned(int maxSamples) {
+        synchronized (this.loanedIterator) {
+            this.loanedIterator.prepare(maxSamples);
+
+            int rc = this.accessor.read(this.old,
+                    this.loanedIterator.getSampleSeqHolder(),
+                    this.loanedIterator.getInfoSeqHolder(), maxSamples,
+                    DDS.ANY_SAMPLE_STATE.value, DDS.ANY_VIEW_STATE.value,
+                    DDS.ANY_INSTANCE_STATE.value);
+            Utilities.checkReturnCode(rc, this.environment,
+                    "DataReader.read() failed.");
+            this.loanedIterator.reset();
+        }
+        return this.loanedIterator;
+    }
+
+    public Iterator<OUT_TYPE> readLoaned(
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        if (query == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Selector (null) provided.");
+        }
+        synchronized (this.loanedIterator) {
+            this.loanedIterator.prepare(query.getMaxSamples());
+            this.read(this.loanedIterator.getSampleSeqHolder(),
+                    this.loanedIterator.getInfoSeqHolder(), query);
+            this.loanedIterator.reset();
+        }
+        return this.loanedIterator;
+    }
+
+    public Iterator<OUT_TYPE> takeLoaned(int maxSamples) {
+        synchronized (this.loanedIterator) {
+            this.loanedIterator.prepare(maxSamples);
+
+            int rc = this.accessor.take(this.old,
+                    this.loanedIterator.getSampleSeqHolder(),
+                    this.loanedIterator.getInfoSeqHolder(), maxSamples,
+                    DDS.ANY_SAMPLE_STATE.value, DDS.ANY_VIEW_STATE.value,
+                    DDS.ANY_INSTANCE_STATE.value);
+            Utilities.checkReturnCode(rc, this.environment,
+                    "DataReader.take() failed.");
+            this.loanedIterator.reset();
+        }
+        return this.loanedIterator;
+    }
+
+    public Iterator<OUT_TYPE> takeLoaned(
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        if (query == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Selector (null) provided.");
+        }
+        synchronized (this.loanedIterator) {
+            this.loanedIterator.prepare(query.getMaxSamples());
+            this.take(this.loanedIterator.getSampleSeqHolder(),
+                    this.loanedIterator.getInfoSeqHolder(), query);
+            this.loanedIterator.reset();
+        }
+        return this.loanedIterator;
+    }
+
+    public CdrSamples readCdr(int maxSamples) {
+        return this.copyCdr(false, maxSamples, null,
+                DDS.HANDLE_NIL.value, false, DDS.ANY_SAMPLE_STATE.value,
+                DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
+    }
+
+    public CdrSamples readCdr(
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        return this.copyCdr(false, query);
+    }
+
+    public CdrSamples takeCdr(int maxSamples) {
+        return this.copyCdr(true, maxSamples, null,
+                DDS.HANDLE_NIL.value, false, DDS.ANY_SAMPLE_STATE.value,
+                DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
+    }
+
+    public CdrSamples takeCdr(
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        return this.copyCdr(true, query);
+    }
+
+    private CdrSamples copyCdr(boolean take,
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        ReadCondition<OUT_TYPE> condition = null;
+        DDS.ReadCondition oldCondition = null;
+
+        if (query == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Selector (null) provided.");
+        }
+        if (query.getQueryExpression() != null) {
+            condition = query.getCondition();
+        }
+        try {
+            DataStateImpl state = (DataStateImpl) query.getDataState();
+            InstanceHandleImpl handle = (InstanceHandleImpl) query
+                    .getInstance();
+
+            if (condition != null) {
+                oldCondition = ((ReadConditionImpl<OUT_TYPE>) condition)
+                        .getOld();
+            }
+            return this.copyCdr(take, query.getMaxSamples(), oldCondition,
+                    handle.getValue(), query.retrieveNextInstance(),
+                    state.getOldSampleState(),
+                    state.getOldViewState(), state.getOldInstanceState());
+        } catch (ClassCastException e) {
+            throw new IllegalArgumentExceptionImpl(
+                    this.environment,
+                    "Reading with non-OpenSplice DataState, InstanceHandle or ReadCondition not supported");
+        }
+    }
+
+    private CdrSamples copyCdr(boolean take, int maxSamples,
+            DDS.ReadCondition condition, long handle, boolean nextInstance,
+            int sampleStates, int viewStates, int instanceStates) {
+        long copyCache = this.getCdrCopyCache();
+        CdrSamplesImpl samples = this.cdrPool.poll();
+        int rc;
+
+        if (samples == null) {
+            samples = new CdrSamplesImpl(this.environment, this);
+
+            synchronized (this.cdrSamples) {
+                this.cdrSamples.add(samples);
+            }
+        }
+        try {
+            if (take) {
+                rc = ((FooDataReaderImpl) this.old).takeCdr(copyCache,
+                        samples.getSeq(), maxSamples, handle, nextInstance,
+                        condition, sampleStates, viewStates, instanceStates);
+                Utilities.checkReturnCode(rc, this.environment,
+                        "DataReader.take() failed.");
+            } else {
+                rc = ((FooDataReaderImpl) this.old).readCdr(copyCache,
+                        samples.getSeq(), maxSamples, handle, nextInstance,
+                        condition, sampleStates, viewStates, instanceStates);
+                Utilities.checkReturnCode(rc, this.environment,
+                        "DataReader.read() failed.");
+            }
+        } catch (RuntimeException e) {
+            this.cdrPool.add(samples);
+            throw e;
+        }
+        samples.reset();
+
+        return samples;
+    }
+
+    /*
+     * The CDR representation of the type is compiled on first use, as types
+     * that cannot be represented as CDR must not affect regular reads.
+     */
+    private synchronized long getCdrCopyCache() {
+        if (this.cdrCopyCache == 0) {
+            TypeSupportImpl typeSupport;
+
+            try {
+                typeSupport = (TypeSupportImpl) ((AbstractTypeSupport<?>) this.reader
+                        .getTopicDescription().getTypeSupport())
+                        .getOldTypeSupport();
+            } catch (ClassCastException e) {
+                throw new UnsupportedOperationExceptionImpl(this.environment,
+                        "Reading raw CDR requires an OpenSplice TypeSupport.");
+            }
+            int rc = typeSupport.prepare_cdr();
+            Utilities.checkReturnCode(rc, this.environment,
+                    "DataReader.readCdr() failed.");
+            this.cdrCopyCache = typeSupport.get_copyCache();
+        }
+        return this.cdrCopyCache;
+    }
+
+    void returnCdrLoan(CdrSamplesImpl samples) {
+        this.cdrPool.add(samples);
+    }
+
+    public void freeCdrSamples() {
+        synchronized (this.cdrSamples) {
+            for (CdrSamplesImpl samples : this.cdrSamples) {
+                samples.free();
+            }
+            this.cdrSamples.clear();
+        }
+        this.cdrPool.clear();
+    }
+
+    public FooDataReaderAccessor getAccessor() {
+        return this.accessor;
+    }
+
+    public Field getSampleSeqHolderValueField() {
+        return this.sampleSeqHolderValueField;
+    }
+
+    @SuppressWarnings("unchecked")
+    public Iterator<OUT_TYPE> take(
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
+        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
+        Object sampleSeqHolder;
+
+        if (query == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Selector (null) provided.");
+        }
+        sampleSeqHolder = this.accessor.newSampleSeqHolder();
+        this.take(sampleSeqHolder, info, query);
+
+        return (Iterator<OUT_TYPE>) this.reader.createIterator(
+                sampleSeqHolder, this.sampleSeqHolderValueField, info);
+    }
+
+    private void read(Object sampleSeqHolder, DDS.SampleInfoSeqHolder info,
+            org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
         ReadCondition<OUT_TYPE> condition = null;
 
         if (query.getQueryExpression() != null) {
@@ -495,7 +739,6 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         try {
             DataStateImpl state = (DataStateImpl) query.getDataState();
             InstanceHandleImpl handle = (InstanceHandleImpl) instance;
-            sampleSeqHolder = this.sampleSeqHolderClz.newInstance();
             int rc;
 
             if (condition != null) {
@@ -504,20 +747,20 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
 
                 if (query.retrieveNextInstance()) {
                     // read_next_instance_w_condition
-                    rc = (Integer) this.readNextInstanceCondition.invoke(
+                    rc = this.accessor.read_next_instance_w_condition(
                             this.old, sampleSeqHolder, info,
                             query.getMaxSamples(), handle.getValue(),
                             oldCondition);
                 } else {
                     // read_w_condition
-                    rc = (Integer) this.readCondition.invoke(this.old,
+                    rc = this.accessor.read_w_condition(this.old,
                             sampleSeqHolder, info, query.getMaxSamples(),
                             oldCondition);
                 }
             } else {
                 // read_next_instance
                 if (query.retrieveNextInstance()) {
-                    rc = (Integer) this.readNextInstance.invoke(this.old,
+                    rc = this.accessor.read_next_instance(this.old,
                             sampleSeqHolder, info, query.getMaxSamples(),
                             handle.getValue(), state.getOldSampleState(),
                             state.getOldViewState(),
@@ -525,7 +768,7 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                 } else {
                     // read
                     if (instance.isNil()) {
-                        rc = (Integer) this.read.invoke(this.old,
+                        rc = this.accessor.read(this.old,
                                 sampleSeqHolder, info, query.getMaxSamples(),
                                 state.getOldSampleState(),
                                 state.getOldViewState(),
@@ -533,7 +776,7 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                     }
                     // read_instance
                     else {
-                        rc = (Integer) this.readInstance.invoke(this.old,
+                        rc = this.accessor.read_instance(this.old,
                                 sampleSeqHolder, info, query.getMaxSamples(),
                                 handle.getValue(), state.getOldSampleState(),
                                 state.getOldViewState(),
@@ -543,109 +786,15 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             }
             Utilities.checkReturnCode(rc, this.environment,
                     "DataReader.read() failed.");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
         } catch (ClassCastException e) {
             throw new IllegalArgumentExceptionImpl(
                     this.environment,
                     "Reading with non-OpenSplice DataState, InstanceHandle or ReadCondition not supported");
         }
-        return (Iterator<OUT_TYPE>) this.reader.createIterator(
-                sampleSeqHolder, this.sampleSeqHolderValueField, info);
-    }
-
-    @SuppressWarnings("unchecked")
-    public Iterator<OUT_TYPE> read(int maxSamples) {
-        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
-        Object sampleSeqHolder;
-
-        try {
-            sampleSeqHolder = this.sampleSeqHolderClz.newInstance();
-            int rc = (Integer) this.read.invoke(this.old, sampleSeqHolder,
-                    info, maxSamples, DDS.ANY_SAMPLE_STATE.value,
-                    DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.read() failed.");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
-        return (Iterator<OUT_TYPE>) this.reader.createIterator(
-                sampleSeqHolder, this.sampleSeqHolderValueField, info);
-    }
-
-    public Iterator<OUT_TYPE> take() {
-        return this.take(DDS.LENGTH_UNLIMITED.value);
-    }
-
-    @SuppressWarnings("unchecked")
-    public Iterator<OUT_TYPE> take(int maxSamples) {
-        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
-        Object sampleSeqHolder;
-
-        try {
-            sampleSeqHolder = this.sampleSeqHolderClz.newInstance();
-            int rc = (Integer) this.take.invoke(this.old, sampleSeqHolder,
-                    info, maxSamples, DDS.ANY_SAMPLE_STATE.value,
-                    DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.take() failed.");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
-        return (Iterator<OUT_TYPE>) this.reader.createIterator(
-                sampleSeqHolder, this.sampleSeqHolderValueField, info);
-    }
-
-    public Field getSampleSeqHolderValueField() {
-        return this.sampleSeqHolderValueField;
     }
 
-    @SuppressWarnings("unchecked")
-    public Iterator<OUT_TYPE> take(
+    private void take(Object sampleSeqHolder, DDS.SampleInfoSeqHolder info,
             org.omg.dds.sub.DataReader.Selector<OUT_TYPE> query) {
-        DDS.SampleInfoSeqHolder info = new DDS.SampleInfoSeqHolder();
-        Object sampleSeqHolder;
-
-        if (query == null) {
-            throw new IllegalArgumentExceptionImpl(this.environment,
-                    "Invalid Selector (null) provided.");
-        }
         ReadCondition<OUT_TYPE> condition = null;
 
         if (query.getQueryExpression() != null) {
@@ -656,7 +805,6 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         try {
             DataStateImpl state = (DataStateImpl) query.getDataState();
             InstanceHandleImpl handle = (InstanceHandleImpl) instance;
-            sampleSeqHolder = this.sampleSeqHolderClz.newInstance();
             int rc;
 
             if (condition != null) {
@@ -665,20 +813,20 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
 
                 if (query.retrieveNextInstance()) {
                     // take_next_instance_w_condition
-                    rc = (Integer) this.takeNextInstanceCondition.invoke(
+                    rc = this.accessor.take_next_instance_w_condition(
                             this.old, sampleSeqHolder, info,
                             query.getMaxSamples(), handle.getValue(),
                             oldCondition);
                 } else {
                     // take_w_condition
-                    rc = (Integer) this.takeCondition.invoke(this.old,
+                    rc = this.accessor.take_w_condition(this.old,
                             sampleSeqHolder, info, query.getMaxSamples(),
                             oldCondition);
                 }
             } else {
                 // take_next_instance
                 if (query.retrieveNextInstance()) {
-                    rc = (Integer) this.takeNextInstance.invoke(this.old,
+                    rc = this.accessor.take_next_instance(this.old,
                             sampleSeqHolder, info, query.getMaxSamples(),
                             handle.getValue(), state.getOldSampleState(),
                             state.getOldViewState(),
@@ -686,7 +834,7 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                 } else {
                     // take
                     if (instance.isNil()) {
-                        rc = (Integer) this.take.invoke(this.old,
+                        rc = this.accessor.take(this.old,
                                 sampleSeqHolder, info, query.getMaxSamples(),
                                 state.getOldSampleState(),
                                 state.getOldViewState(),
@@ -694,7 +842,7 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
                     }
                     // take_instance
                     else {
-                        rc = (Integer) this.takeInstance.invoke(this.old,
+                        rc = this.accessor.take_instance(this.old,
                                 sampleSeqHolder, info, query.getMaxSamples(),
                                 handle.getValue(), state.getOldSampleState(),
                                 state.getOldViewState(),
@@ -704,27 +852,11 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             }
             Utilities.checkReturnCode(rc, this.environment,
                     "DataReader.take() failed.");
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
         } catch (ClassCastException e) {
             throw new IllegalArgumentExceptionImpl(
                     this.environment,
                     "Taking with non-OpenSplice DataState, InstanceHandle or ReadCondition not supported");
         }
-        return (Iterator<OUT_TYPE>) this.reader.createIterator(
-                sampleSeqHolder, this.sampleSeqHolderValueField, info);
     }
 
     @SuppressWarnings("unchecked")
@@ -737,42 +869,20 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Provided an invalid null sample.");
         }
-        try {
-            info = new DDS.SampleInfoHolder();
-            sampleHolder = this.sampleHolderClz.newInstance();
+        info = new DDS.SampleInfoHolder();
+        sampleHolder = this.accessor.newSampleHolder();
+        this.accessor.setSample(sampleHolder, sample.getData());
 
-            this.sampleHolderValueField.set(sampleHolder, sample.getData());
-            int rc = (Integer) this.readNextSample.invoke(this.old,
-                    sampleHolder, info);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.readNextSample() failed.");
-
-            if (rc == DDS.RETCODE_OK.value) {
-                sample.setContent(
-                        (TYPE) this.sampleHolderValueField.get(sampleHolder),
-                        info.value);
-                result = true;
-            } else {
-                result = false;
-            }
+        int rc = this.accessor.read_next_sample(this.old, sampleHolder, info);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.readNextSample() failed.");
 
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
+        if (rc == DDS.RETCODE_OK.value) {
+            sample.setContent((TYPE) this.accessor.getSample(sampleHolder),
+                    info.value);
+            result = true;
+        } else {
+            result = false;
         }
         return result;
     }
@@ -787,41 +897,20 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
             throw new IllegalArgumentExceptionImpl(this.environment,
                     "Provided an invalid null sample.");
         }
-        try {
-            info = new DDS.SampleInfoHolder();
-            sampleHolder = this.sampleHolderClz.newInstance();
-            this.sampleHolderValueField.set(sampleHolder, sample.getData());
-            int rc = (Integer) this.takeNextSample.invoke(this.old,
-                    sampleHolder, info);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.readNextSample() failed.");
+        info = new DDS.SampleInfoHolder();
+        sampleHolder = this.accessor.newSampleHolder();
+        this.accessor.setSample(sampleHolder, sample.getData());
 
-            if (rc == DDS.RETCODE_OK.value) {
-                sample.setContent(
-                        (TYPE) this.sampleHolderValueField.get(sampleHolder),
-                        info.value);
-                result = true;
-            } else {
-                result = false;
-            }
+        int rc = this.accessor.take_next_sample(this.old, sampleHolder, info);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.readNextSample() failed.");
 
-        } catch (InstantiationException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
+        if (rc == DDS.RETCODE_OK.value) {
+            sample.setContent((TYPE) this.accessor.getSample(sampleHolder),
+                    info.value);
+            result = true;
+        } else {
+            result = false;
         }
         return result;
     }
@@ -830,25 +919,12 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         PreAllocator<OUT_TYPE> pa = this.reader.getPreAllocator(samples,
                 this.sampleSeqHolderClz, this.sampleSeqHolderValueField);
 
-        try {
-            int rc = (Integer) this.take.invoke(this.old,
-                    pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                    DDS.LENGTH_UNLIMITED.value, DDS.ANY_SAMPLE_STATE.value,
-                    DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.read() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
+        int rc = this.accessor.take(this.old, pa.getDataSeqHolder(),
+                pa.getInfoSeqHolder(), DDS.LENGTH_UNLIMITED.value,
+                DDS.ANY_SAMPLE_STATE.value, DDS.ANY_VIEW_STATE.value,
+                DDS.ANY_INSTANCE_STATE.value);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.read() failed.");
         pa.updateReferences();
 
         return pa.getSampleList();
@@ -862,81 +938,8 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
 
         PreAllocator<OUT_TYPE> pa = this.reader.getPreAllocator(samples,
                 this.sampleSeqHolderClz, this.sampleSeqHolderValueField);
-        ReadCondition<OUT_TYPE> condition = null;
-
-        if (selector.getQueryExpression() != null) {
-            condition = selector.getCondition();
-        }
-        InstanceHandle instance = selector.getInstance();
-
-        try {
-            DataStateImpl state = (DataStateImpl) selector.getDataState();
-            InstanceHandleImpl handle = (InstanceHandleImpl) instance;
-            int rc;
-
-            if (condition != null) {
-                DDS.ReadCondition oldCondition = ((ReadConditionImpl<OUT_TYPE>) condition)
-                        .getOld();
 
-                if (selector.retrieveNextInstance()) {
-                    // take_next_instance_w_condition
-                    rc = (Integer) this.takeNextInstanceCondition.invoke(
-                            this.old, pa.getDataSeqHolder(),
-                            pa.getInfoSeqHolder(), selector.getMaxSamples(),
-                            handle.getValue(), oldCondition);
-                } else {
-                    // take_w_condition
-                    rc = (Integer) this.takeCondition.invoke(this.old,
-                            pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                            selector.getMaxSamples(), oldCondition);
-                }
-            } else {
-                // take_next_instance
-                if (selector.retrieveNextInstance()) {
-                    rc = (Integer) this.takeNextInstance.invoke(this.old,
-                            pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                            selector.getMaxSamples(), handle.getValue(),
-                            state.getOldSampleState(), state.getOldViewState(),
-                            state.getOldInstanceState());
-                } else {
-                    // take
-                    if (instance.isNil()) {
-                        rc = (Integer) this.take.invoke(this.old,
-                                pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                                selector.getMaxSamples(),
-                                state.getOldSampleState(),
-                                state.getOldViewState(),
-                                state.getOldInstanceState());
-                    }
-                    // take_instance
-                    else {
-                        rc = (Integer) this.takeInstance.invoke(this.old,
-                                pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                                selector.getMaxSamples(), handle.getValue(),
-                                state.getOldSampleState(),
-                                state.getOldViewState(),
-                                state.getOldInstanceState());
-                    }
-                }
-            }
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.take() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Reading with non-OpenSplice DataState, InstanceHandle or ReadCondition not supported");
-        }
+        this.take(pa.getDataSeqHolder(), pa.getInfoSeqHolder(), selector);
         pa.updateReferences();
 
         return pa.getSampleList();
@@ -952,81 +955,7 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         PreAllocator<OUT_TYPE> pa = this.reader.getPreAllocator(samples,
                 this.sampleSeqHolderClz, this.sampleSeqHolderValueField);
 
-        ReadCondition<OUT_TYPE> condition = null;
-
-        if (selector.getQueryExpression() != null) {
-            condition = selector.getCondition();
-        }
-        InstanceHandle instance = selector.getInstance();
-
-        try {
-            DataStateImpl state = (DataStateImpl) selector.getDataState();
-            InstanceHandleImpl handle = (InstanceHandleImpl) instance;
-            int rc;
-
-            if (condition != null) {
-                DDS.ReadCondition oldCondition = ((ReadConditionImpl<OUT_TYPE>) condition)
-                        .getOld();
-
-                if (selector.retrieveNextInstance()) {
-                    // read_next_instance_w_condition
-                    rc = (Integer) this.readNextInstanceCondition.invoke(
-                            this.old, pa.getDataSeqHolder(),
-                            pa.getInfoSeqHolder(), selector.getMaxSamples(),
-                            handle.getValue(), oldCondition);
-                } else {
-                    // read_w_condition
-                    rc = (Integer) this.readCondition.invoke(this.old,
-                            pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                            selector.getMaxSamples(), oldCondition);
-                }
-            } else {
-                // read_next_instance
-                if (selector.retrieveNextInstance()) {
-                    rc = (Integer) this.readNextInstance.invoke(this.old,
-                            pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                            selector.getMaxSamples(), handle.getValue(),
-                            state.getOldSampleState(), state.getOldViewState(),
-                            state.getOldInstanceState());
-                } else {
-                    // read
-                    if (instance.isNil()) {
-                        rc = (Integer) this.read.invoke(this.old,
-                                pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                                selector.getMaxSamples(),
-                                state.getOldSampleState(),
-                                state.getOldViewState(),
-                                state.getOldInstanceState());
-                    }
-                    // read_instance
-                    else {
-                        rc = (Integer) this.readInstance.invoke(this.old,
-                                pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                                selector.getMaxSamples(), handle.getValue(),
-                                state.getOldSampleState(),
-                                state.getOldViewState(),
-                                state.getOldInstanceState());
-                    }
-                }
-            }
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.read() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(this.environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (ClassCastException e) {
-            throw new IllegalArgumentExceptionImpl(
-                    this.environment,
-                    "Reading with non-OpenSplice DataState, InstanceHandle or ReadCondition not supported");
-        }
+        this.read(pa.getDataSeqHolder(), pa.getInfoSeqHolder(), selector);
         pa.updateReferences();
 
         return pa.getSampleList();
@@ -1036,25 +965,12 @@ public class ReflectionDataReader<TYPE, OUT_TYPE> extends AbstractDDSObject
         PreAllocator<OUT_TYPE> pa = this.reader.getPreAllocator(samples,
                 this.sampleSeqHolderClz, this.sampleSeqHolderValueField);
 
-        try {
-            int rc = (Integer) this.read.invoke(this.old,
-                    pa.getDataSeqHolder(), pa.getInfoSeqHolder(),
-                    DDS.LENGTH_UNLIMITED.value, DDS.ANY_SAMPLE_STATE.value,
-                    DDS.ANY_VIEW_STATE.value, DDS.ANY_INSTANCE_STATE.value);
-            Utilities.checkReturnCode(rc, this.environment,
-                    "DataReader.read() failed.");
-        } catch (IllegalAccessException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (IllegalArgumentExceptionImpl e) {
-            throw e;
-        } catch (IllegalArgumentException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        } catch (InvocationTargetException e) {
-            throw new DDSExceptionImpl(environment, "Internal error ("
-                    + e.getMessage() + ").");
-        }
+        int rc = this.accessor.read(this.old, pa.getDataSeqHolder(),
+                pa.getInfoSeqHolder(), DDS.LENGTH_UNLIMITED.value,
+                DDS.ANY_SAMPLE_STATE.value, DDS.ANY_VIEW_STATE.value,
+                DDS.ANY_INSTANCE_STATE.value);
+        Utilities.checkReturnCode(rc, this.environment,
+                "DataReader.read() failed.");
         pa.updateReferences();
 
         return pa.getSampleList();
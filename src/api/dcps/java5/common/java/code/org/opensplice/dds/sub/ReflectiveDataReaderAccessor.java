@@ -0,0 +1,367 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import org.opensplice.dds.core.DDSExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.PreconditionNotMetExceptionImpl;
+import org.opensplice.dds.dcps.FooDataReaderAccessor;
+
+import DDS.SampleInfoHolder;
+import DDS.SampleInfoSeqHolder;
+
+/**
+ * Fallback {@link FooDataReaderAccessor} for types that have been generated
+ * by an OpenSplice IDL pre-processor that does not emit a typed
+ * DataReaderAccessor class yet. All operations are dispatched by means of
+ * reflection on the typed DataReader.
+ */
+class ReflectiveDataReaderAccessor implements FooDataReaderAccessor {
+    private final OsplServiceEnvironment environment;
+    private final Class<?> sampleSeqHolderClz;
+    private final Field sampleSeqHolderValueField;
+    private final Class<?> sampleHolderClz;
+    private final Field sampleHolderValueField;
+
+    private final Method read;
+    private final Method take;
+    private final Method readCondition;
+    private final Method takeCondition;
+    private final Method readNextSample;
+    private final Method takeNextSample;
+    private final Method readInstance;
+    private final Method takeInstance;
+    private final Method readNextInstance;
+    private final Method takeNextInstance;
+    private final Method readNextInstanceCondition;
+    private final Method takeNextInstanceCondition;
+    private final Method returnLoan;
+    private final Method getKeyValue;
+    private final Method lookupInstance;
+
+    public ReflectiveDataReaderAccessor(OsplServiceEnvironment environment,
+            Class<?> ddsTypeClz) {
+        this.environment = environment;
+
+        Class<?> typedReaderClz;
+        String typedReaderClzName = ddsTypeClz.getName() + "DataReaderImpl";
+
+        try {
+            typedReaderClz = Class.forName(typedReaderClzName);
+
+            this.sampleHolderClz = Class.forName(ddsTypeClz.getName() + "Holder");
+            this.sampleHolderValueField = this.sampleHolderClz
+                    .getDeclaredField("value");
+            this.sampleSeqHolderClz = Class.forName(ddsTypeClz.getName()
+                    + "SeqHolder");
+            this.sampleSeqHolderValueField = this.sampleSeqHolderClz
+                    .getDeclaredField("value");
+
+            this.read = typedReaderClz.getMethod("read",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, int.class, int.class, int.class);
+            this.take = typedReaderClz.getMethod("take",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, int.class, int.class, int.class);
+
+            this.readCondition = typedReaderClz.getMethod("read_w_condition",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, DDS.ReadCondition.class);
+            this.takeCondition = typedReaderClz.getMethod("take_w_condition",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, DDS.ReadCondition.class);
+
+            this.readNextSample = typedReaderClz.getMethod("read_next_sample",
+                    this.sampleHolderClz, SampleInfoHolder.class);
+            this.takeNextSample = typedReaderClz.getMethod("take_next_sample",
+                    this.sampleHolderClz, SampleInfoHolder.class);
+
+            this.readInstance = typedReaderClz.getMethod("read_instance",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, long.class, int.class, int.class, int.class);
+            this.takeInstance = typedReaderClz.getMethod("take_instance",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class,
+                    int.class, long.class, int.class, int.class, int.class);
+
+            this.readNextInstance = typedReaderClz.getMethod(
+                    "read_next_instance", this.sampleSeqHolderClz,
+                    SampleInfoSeqHolder.class, int.class, long.class,
+                    int.class, int.class, int.class);
+            this.takeNextInstance = typedReaderClz.getMethod(
+                    "take_next_instance", this.sampleSeqHolderClz,
+                    SampleInfoSeqHolder.class, int.class, long.class,
+                    int.class, int.class, int.class);
+
+            this.readNextInstanceCondition = typedReaderClz.getMethod(
+                    "read_next_instance_w_condition", this.sampleSeqHolderClz,
+                    SampleInfoSeqHolder.class, int.class, long.class,
+                    DDS.ReadCondition.class);
+            this.takeNextInstanceCondition = typedReaderClz.getMethod(
+                    "take_next_instance_w_condition", this.sampleSeqHolderClz,
+                    SampleInfoSeqHolder.class, int.class, long.class,
+                    DDS.ReadCondition.class);
+
+            this.returnLoan = typedReaderClz.getMethod("return_loan",
+                    this.sampleSeqHolderClz, SampleInfoSeqHolder.class);
+
+            this.getKeyValue = typedReaderClz.getMethod("get_key_value",
+                    this.sampleHolderClz, long.class);
+            this.lookupInstance = typedReaderClz.getMethod("lookup_instance",
+                    ddsTypeClz);
+        } catch (ClassNotFoundException e) {
+            throw new PreconditionNotMetExceptionImpl(
+                    environment,
+                    "Cannot find Typed DataReader '"
+                            + typedReaderClzName
+                            + "' that should have been generated manually with the OpenSplice IDL pre-processor.("
+                            + e.getMessage() + ").");
+        } catch (NoSuchMethodException e) {
+            throw new DDSExceptionImpl(environment,
+                    "Cannot find correct methods in OpenSplice IDL pre-processor generated class: "
+                            + typedReaderClzName + " (" + e.getMessage() + ").");
+        } catch (NoSuchFieldException e) {
+            throw new DDSExceptionImpl(
+                    environment,
+                    "Cannot find 'value' field in "
+                            + "the typed sampleHolderClass "
+                            + "that should have been generated by the OpenSplice IDL pre-processor ("
+                            + e.getMessage() + ").");
+        } catch (SecurityException e) {
+            throw new PreconditionNotMetExceptionImpl(
+                    environment,
+                    "Insufficient rights to find methods/fields in code that has been generated by the OpenSplice IDL pre-processor ("
+                            + e.getMessage() + ").");
+        }
+    }
+
+    private DDSExceptionImpl internalError(Exception e) {
+        return new DDSExceptionImpl(this.environment, "Internal error ("
+                + e.getMessage() + ").");
+    }
+
+    private Object invoke(Method method, Object reader, Object... args) {
+        try {
+            return method.invoke(reader, args);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        } catch (IllegalArgumentException e) {
+            throw this.internalError(e);
+        } catch (InvocationTargetException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    private Object newInstance(Class<?> clz) {
+        try {
+            return clz.newInstance();
+        } catch (InstantiationException e) {
+            throw this.internalError(e);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    @Override
+    public Object newSampleHolder() {
+        return this.newInstance(this.sampleHolderClz);
+    }
+
+    @Override
+    public Object newSampleSeqHolder() {
+        return this.newInstance(this.sampleSeqHolderClz);
+    }
+
+    @Override
+    public Object[] newSampleSeq(int length) {
+        return (Object[]) Array.newInstance(
+                this.sampleSeqHolderValueField.getType().getComponentType(),
+                length);
+    }
+
+    @Override
+    public Object[] getSampleSeq(Object sampleSeqHolder) {
+        try {
+            return (Object[]) this.sampleSeqHolderValueField
+                    .get(sampleSeqHolder);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        } catch (IllegalArgumentException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    @Override
+    public void setSampleSeq(Object sampleSeqHolder, Object[] samples) {
+        try {
+            this.sampleSeqHolderValueField.set(sampleSeqHolder, samples);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        } catch (IllegalArgumentException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    @Override
+    public Object getSample(Object sampleHolder) {
+        try {
+            return this.sampleHolderValueField.get(sampleHolder);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        } catch (IllegalArgumentException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    @Override
+    public void setSample(Object sampleHolder, Object sample) {
+        try {
+            this.sampleHolderValueField.set(sampleHolder, sample);
+        } catch (IllegalAccessException e) {
+            throw this.internalError(e);
+        } catch (IllegalArgumentException e) {
+            throw this.internalError(e);
+        }
+    }
+
+    @Override
+    public int read(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, int sample_states,
+            int view_states, int instance_states) {
+        return (Integer) this.invoke(this.read, reader, received_data,
+                info_seq, max_samples, sample_states, view_states,
+                instance_states);
+    }
+
+    @Override
+    public int take(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, int sample_states,
+            int view_states, int instance_states) {
+        return (Integer) this.invoke(this.take, reader, received_data,
+                info_seq, max_samples, sample_states, view_states,
+                instance_states);
+    }
+
+    @Override
+    public int read_w_condition(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples,
+            DDS.ReadCondition a_condition) {
+        return (Integer) this.invoke(this.readCondition, reader,
+                received_data, info_seq, max_samples, a_condition);
+    }
+
+    @Override
+    public int take_w_condition(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples,
+            DDS.ReadCondition a_condition) {
+        return (Integer) this.invoke(this.takeCondition, reader,
+                received_data, info_seq, max_samples, a_condition);
+    }
+
+    @Override
+    public int read_next_sample(DDS.DataReader reader, Object received_data,
+            SampleInfoHolder sample_info) {
+        return (Integer) this.invoke(this.readNextSample, reader,
+                received_data, sample_info);
+    }
+
+    @Override
+    public int take_next_sample(DDS.DataReader reader, Object received_data,
+            SampleInfoHolder sample_info) {
+        return (Integer) this.invoke(this.takeNextSample, reader,
+                received_data, sample_info);
+    }
+
+    @Override
+    public int read_instance(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        return (Integer) this.invoke(this.readInstance, reader,
+                received_data, info_seq, max_samples, a_handle,
+                sample_states, view_states, instance_states);
+    }
+
+    @Override
+    public int take_instance(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        return (Integer) this.invoke(this.takeInstance, reader,
+                received_data, info_seq, max_samples, a_handle,
+                sample_states, view_states, instance_states);
+    }
+
+    @Override
+    public int read_next_instance(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        return (Integer) this.invoke(this.readNextInstance, reader,
+                received_data, info_seq, max_samples, a_handle,
+                sample_states, view_states, instance_states);
+    }
+
+    @Override
+    public int take_next_instance(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq, int max_samples, long a_handle,
+            int sample_states, int view_states, int instance_states) {
+        return (Integer) this.invoke(this.takeNextInstance, reader,
+                received_data, info_seq, max_samples, a_handle,
+                sample_states, view_states, instance_states);
+    }
+
+    @Override
+    public int read_next_instance_w_condition(DDS.DataReader reader,
+            Object received_data, SampleInfoSeqHolder info_seq,
+            int max_samples, long a_handle, DDS.ReadCondition a_condition) {
+        return (Integer) this.invoke(this.readNextInstanceCondition, reader,
+                received_data, info_seq, max_samples, a_handle, a_condition);
+    }
+
+    @Override
+    public int take_next_instance_w_condition(DDS.DataReader reader,
+            Object received_data, SampleInfoSeqHolder info_seq,
+            int max_samples, long a_handle, DDS.ReadCondition a_condition) {
+        return (Integer) this.invoke(this.takeNextInstanceCondition, reader,
+                received_data, info_seq, max_samples, a_handle, a_condition);
+    }
+
+    @Override
+    public int return_loan(DDS.DataReader reader, Object received_data,
+            SampleInfoSeqHolder info_seq) {
+        return (Integer) this.invoke(this.returnLoan, reader, received_data,
+                info_seq);
+    }
+
+    @Override
+    public int get_key_value(DDS.DataReader reader, Object key_holder,
+            long handle) {
+        return (Integer) this.invoke(this.getKeyValue, reader, key_holder,
+                handle);
+    }
+
+    @Override
+    public long lookup_instance(DDS.DataReader reader, Object instance) {
+        return (Long) this.invoke(this.lookupInstance, reader, instance);
+    }
+}
@@ -43,4 +43,34 @@ public interface Sample<TYPE> extends org.omg.dds.sub.Sample<TYPE> {
      *         the data can be accessed.
      */
     public TYPE getKeyValue();
+
+    /**
+     * Returns the same value as
+     * {@code getSourceTimestamp().getTime(TimeUnit.NANOSECONDS)}, without
+     * creating a {@link org.omg.dds.core.Time}.
+     *
+     * @return The source timestamp of the Sample in nanoseconds, or
+     *         Long.MAX_VALUE if it is infinite.
+     */
+    public long getSourceTimestampNanos();
+
+    /**
+     * Returns the value of the handle returned by
+     * {@link #getInstanceHandle()}, without creating an
+     * {@link org.omg.dds.core.InstanceHandle}. The value can be compared with
+     * that of other samples to find out whether they belong to the same
+     * instance.
+     *
+     * @return The value of the instance handle of the Sample.
+     */
+    public long getInstanceHandleValue();
+
+    /**
+     * Returns the value of the handle returned by
+     * {@link #getPublicationHandle()}, without creating an
+     * {@link org.omg.dds.core.InstanceHandle}.
+     *
+     * @return The value of the publication handle of the Sample.
+     */
+    public long getPublicationHandleValue();
 }
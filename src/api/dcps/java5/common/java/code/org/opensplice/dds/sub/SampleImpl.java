@@ -26,16 +26,27 @@ import org.omg.dds.core.Time;
 import org.omg.dds.sub.InstanceState;
 import org.omg.dds.sub.SampleState;
 import org.omg.dds.sub.ViewState;
-import org.opensplice.dds.core.InstanceHandleImpl;
+import org.opensplice.dds.core.ModifiableTimeImpl;
 import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.core.TimeImpl;
 import org.opensplice.dds.core.UnsupportedOperationExceptionImpl;
 import org.opensplice.dds.core.Utilities;
+import org.opensplice.dds.dcps.SampleInfoColumns;
 
 public class SampleImpl<TYPE> implements org.opensplice.dds.sub.Sample<TYPE> {
     private static final long serialVersionUID = 1010323161410625511L;
     private transient OsplServiceEnvironment environment;
     private TYPE data;
     private DDS.SampleInfo info;
+    /*
+     * When the SampleInfo was delivered in packed form, info is null and the
+     * accessors read the row at index in columns. The SampleInfo object is
+     * only materialized when it is explicitly asked for.
+     */
+    private transient long[] columns;
+    private transient int index;
+    /* Lazily created on the first getSourceTimestamp() of this content. */
+    private transient Time sourceTimestamp;
 
     public SampleImpl(OsplServiceEnvironment environment, TYPE data,
             DDS.SampleInfo info) {
@@ -51,7 +62,7 @@ public class SampleImpl<TYPE> implements org.opensplice.dds.sub.Sample<TYPE> {
 
     @Override
     public TYPE getData() {
-        if (this.info.valid_data == false) {
+        if (this.isValidData() == false) {
             return null;
         }
         return this.data;
@@ -68,79 +79,178 @@ public class SampleImpl<TYPE> implements org.opensplice.dds.sub.Sample<TYPE> {
 
     public void setInfo(DDS.SampleInfo info){
         this.info = info;
+        this.columns = null;
+        this.sourceTimestamp = null;
     }
 
     public DDS.SampleInfo getInfo(){
+        if (this.columns != null) {
+            this.info = SampleInfoColumns.copy_out(this.columns, this.index,
+                    null);
+            this.columns = null;
+        }
         return this.info;
     }
 
     public void setContent(TYPE data, DDS.SampleInfo info){
         this.data = data;
         this.info = info;
+        this.columns = null;
+        this.sourceTimestamp = null;
+    }
+
+    public void setContent(TYPE data, long[] columns, int index){
+        this.data = data;
+        this.info = null;
+        this.columns = columns;
+        this.index = index;
+        this.sourceTimestamp = null;
+    }
+
+    private boolean isValidData() {
+        if (this.columns != null) {
+            return SampleInfoColumns.valid_data(this.columns, this.index);
+        }
+        return this.info.valid_data;
     }
 
     @Override
     public SampleState getSampleState() {
+        if (this.columns != null) {
+            return DataStateImpl.getSampleStateFromOld(this.environment,
+                    SampleInfoColumns.sample_state(this.columns, this.index));
+        }
         return DataStateImpl.getSampleStateFromOld(this.environment,
                 this.info.sample_state);
     }
 
     @Override
     public ViewState getViewState() {
+        if (this.columns != null) {
+            return DataStateImpl.getViewStateFromOld(this.environment,
+                    SampleInfoColumns.view_state(this.columns, this.index));
+        }
         return DataStateImpl.getViewStateFromOld(this.environment,
                 this.info.view_state);
     }
 
     @Override
     public InstanceState getInstanceState() {
+        if (this.columns != null) {
+            return DataStateImpl.getInstanceStateFromOld(this.environment,
+                    SampleInfoColumns.instance_state(this.columns, this.index));
+        }
         return DataStateImpl.getInstanceStateFromOld(this.environment,
                 this.info.instance_state);
     }
 
     @Override
     public Time getSourceTimestamp() {
-        return Utilities.convert(this.environment, this.info.source_timestamp);
+        if (this.sourceTimestamp == null) {
+            if (this.columns != null) {
+                int base = this.index * SampleInfoColumns.STRIDE;
+
+                this.sourceTimestamp = new TimeImpl(this.environment,
+                        this.columns[base + SampleInfoColumns.SOURCE_SEC],
+                        this.columns[base + SampleInfoColumns.SOURCE_NANOSEC]);
+            } else {
+                this.sourceTimestamp = Utilities.convert(this.environment,
+                        this.info.source_timestamp);
+            }
+        }
+        return this.sourceTimestamp;
+    }
+
+    @Override
+    public long getSourceTimestampNanos() {
+        if (this.columns != null) {
+            int base = this.index * SampleInfoColumns.STRIDE;
+
+            return ModifiableTimeImpl.toNanos(
+                    this.columns[base + SampleInfoColumns.SOURCE_SEC],
+                    this.columns[base + SampleInfoColumns.SOURCE_NANOSEC]);
+        }
+        return ModifiableTimeImpl.toNanos(this.info.source_timestamp.sec,
+                this.info.source_timestamp.nanosec);
     }
 
     @Override
     public InstanceHandle getInstanceHandle() {
-        return new InstanceHandleImpl(this.environment,
-                this.info.instance_handle);
+        return Utilities.convert(this.environment,
+                this.getInstanceHandleValue());
+    }
+
+    @Override
+    public long getInstanceHandleValue() {
+        if (this.columns != null) {
+            return this.columns[this.index * SampleInfoColumns.STRIDE
+                    + SampleInfoColumns.INSTANCE_HANDLE];
+        }
+        return this.info.instance_handle;
     }
 
     @Override
     public InstanceHandle getPublicationHandle() {
-        return new InstanceHandleImpl(this.environment,
-                this.info.publication_handle);
+        return Utilities.convert(this.environment,
+                this.getPublicationHandleValue());
+    }
+
+    @Override
+    public long getPublicationHandleValue() {
+        if (this.columns != null) {
+            return this.columns[this.index * SampleInfoColumns.STRIDE
+                    + SampleInfoColumns.PUBLICATION_HANDLE];
+        }
+        return this.info.publication_handle;
     }
 
     @Override
     public int getDisposedGenerationCount() {
+        if (this.columns != null) {
+            return SampleInfoColumns.disposed_generation_count(this.columns,
+                    this.index);
+        }
         return this.info.disposed_generation_count;
     }
 
     @Override
     public int getNoWritersGenerationCount() {
+        if (this.columns != null) {
+            return SampleInfoColumns.no_writers_generation_count(this.columns,
+                    this.index);
+        }
         return this.info.no_writers_generation_count;
     }
 
     @Override
     public int getSampleRank() {
+        if (this.columns != null) {
+            return SampleInfoColumns.sample_rank(this.columns, this.index);
+        }
         return this.info.sample_rank;
     }
 
     @Override
     public int getGenerationRank() {
+        if (this.columns != null) {
+            return SampleInfoColumns.generation_rank(this.columns, this.index);
+        }
         return this.info.generation_rank;
     }
 
     @Override
     public int getAbsoluteGenerationRank() {
+        if (this.columns != null) {
+            return (int) this.columns[this.index * SampleInfoColumns.STRIDE
+                    + SampleInfoColumns.ABSOLUTE_GENERATION_RANK];
+        }
         return this.info.absolute_generation_rank;
     }
 
     @Override
     public SampleImpl<TYPE> clone() {
+        /* The clone cannot share the packed columns, which are recycled */
+        this.getInfo();
         try {
             @SuppressWarnings("unchecked")
             SampleImpl<TYPE> cloned = (SampleImpl<TYPE>) super.clone();
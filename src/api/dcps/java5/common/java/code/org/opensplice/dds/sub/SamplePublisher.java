@@ -0,0 +1,285 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.omg.dds.core.AlreadyClosedException;
+import org.omg.dds.core.GuardCondition;
+import org.omg.dds.core.WaitSet;
+import org.omg.dds.sub.ReadCondition;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.sub.Subscriber.DataState;
+import org.opensplice.dds.core.IllegalArgumentExceptionImpl;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+
+/**
+ * Publishes the samples of a DataReader to subscribers that signal their
+ * demand, following the Reactive Streams protocol. A subscription only
+ * takes samples from the DataReader when its subscriber has requested them.
+ * Samples that have not been requested yet remain in the DataReader, where
+ * the History and ResourceLimits QosPolicies of the DataReader apply: with a
+ * KEEP_ALL reliable DataReader, a slow subscriber eventually blocks the
+ * DataWriters instead of causing unbounded growth of the heap.
+ * <p>
+ * The {@link Subscriber} and {@link Subscription} interfaces have the same
+ * operations as their java.util.concurrent.Flow counterparts, so adapting
+ * them to Flow or to another Reactive Streams implementation is trivial.
+ * <p>
+ * Every subscription has its own thread that waits for data by means of a
+ * WaitSet with a ReadCondition and delivers all signals to the subscriber.
+ * When the DataReader is closed, subscribers receive onComplete().
+ *
+ * @param <TYPE>
+ *            The concrete type of the data of the DataReader.
+ */
+public class SamplePublisher<TYPE> {
+    /* Maximum time a subscription waits before checking the DataReader. */
+    private static final long WAIT_SECONDS = 1;
+    private static final AtomicInteger threadCount = new AtomicInteger(0);
+
+    private final OsplServiceEnvironment environment;
+    private final AbstractDataReader<TYPE> reader;
+    private final DataState state;
+    private final int batchSize;
+
+    /**
+     * Receives the samples of a {@link SamplePublisher}.
+     *
+     * @param <T>
+     *            The type of the published items.
+     */
+    public interface Subscriber<T> {
+        public void onSubscribe(Subscription subscription);
+
+        public void onNext(T item);
+
+        public void onError(Throwable throwable);
+
+        public void onComplete();
+    }
+
+    /**
+     * Link between a {@link SamplePublisher} and one of its subscribers.
+     */
+    public interface Subscription {
+        /**
+         * Adds n samples to the demand of the subscriber. A demand of
+         * Long.MAX_VALUE or more is considered unbounded.
+         */
+        public void request(long n);
+
+        /**
+         * Stops the delivery of samples. Samples that have already been
+         * taken from the DataReader may still be delivered.
+         */
+        public void cancel();
+    }
+
+    SamplePublisher(OsplServiceEnvironment environment,
+            AbstractDataReader<TYPE> reader, DataState state, int batchSize) {
+        if (state == null) {
+            throw new IllegalArgumentExceptionImpl(environment,
+                    "Invalid DataState (null) provided.");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentExceptionImpl(environment,
+                    "Invalid batch size (" + batchSize + ") provided.");
+        }
+        this.environment = environment;
+        this.reader = reader;
+        this.state = state;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Subscribes the subscriber to the samples of the DataReader that match
+     * the DataState of this publisher. Every subscription takes its own
+     * samples, so multiple subscribers of the same publisher compete for the
+     * samples.
+     *
+     * @param subscriber
+     *            The subscriber.
+     * @throws IllegalArgumentException
+     *             The subscriber is null.
+     */
+    public void subscribe(Subscriber<? super Sample<TYPE>> subscriber) {
+        if (subscriber == null) {
+            throw new IllegalArgumentExceptionImpl(this.environment,
+                    "Invalid Subscriber (null) provided.");
+        }
+        SubscriptionImpl subscription = new SubscriptionImpl(subscriber);
+
+        subscriber.onSubscribe(subscription);
+        subscription.start();
+    }
+
+    private class SubscriptionImpl implements Subscription, Runnable {
+        private final Subscriber<? super Sample<TYPE>> subscriber;
+        private final AtomicLong demand;
+        private final GuardCondition wakeup;
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        public SubscriptionImpl(Subscriber<? super Sample<TYPE>> subscriber) {
+            this.subscriber = subscriber;
+            this.demand = new AtomicLong(0);
+            this.wakeup = environment.getSPI().newGuardCondition();
+            this.cancelled = false;
+            this.invalidRequest = null;
+        }
+
+        public void start() {
+            Thread thread = new Thread(this, "SamplePublisher-"
+                    + threadCount.incrementAndGet());
+
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        @Override
+        public void request(long n) {
+            long current, next;
+
+            if (n <= 0) {
+                this.invalidRequest = new IllegalArgumentExceptionImpl(
+                        environment, "Invalid request (" + n
+                                + "), must be positive.");
+            } else {
+                do {
+                    current = this.demand.get();
+                    next = current + n;
+                    if (next < 0) {
+                        next = Long.MAX_VALUE;
+                    }
+                } while (!this.demand.compareAndSet(current, next));
+            }
+            this.wakeup.setTriggerValue(true);
+        }
+
+        @Override
+        public void cancel() {
+            this.cancelled = true;
+            this.wakeup.setTriggerValue(true);
+        }
+
+        @Override
+        public void run() {
+            WaitSet idle = null;
+            WaitSet ready = null;
+            ReadCondition<TYPE> condition = null;
+
+            try {
+                condition = reader.createReadCondition(state);
+                idle = environment.getSPI().newWaitSet();
+                idle.attachCondition(this.wakeup);
+                ready = environment.getSPI().newWaitSet();
+                ready.attachCondition(this.wakeup);
+                ready.attachCondition(condition);
+
+                while (!this.cancelled && this.invalidRequest == null) {
+                    /* Only wait for data while there is demand for it. */
+                    this.await(this.demand.get() == 0 ? idle : ready);
+                    this.wakeup.setTriggerValue(false);
+
+                    if (this.cancelled || this.invalidRequest != null) {
+                        break;
+                    }
+                    long requested = this.demand.get();
+                    if (requested > 0) {
+                        this.deliver(requested);
+                    }
+                }
+                if (this.invalidRequest != null && !this.cancelled) {
+                    this.cancelled = true;
+                    this.subscriber.onError(this.invalidRequest);
+                }
+            } catch (AlreadyClosedException e) {
+                if (!this.cancelled) {
+                    this.cancelled = true;
+                    this.subscriber.onComplete();
+                }
+            } catch (RuntimeException e) {
+                if (!this.cancelled) {
+                    this.cancelled = true;
+                    this.subscriber.onError(e);
+                }
+            } finally {
+                this.cleanup(idle, ready, condition);
+            }
+        }
+
+        private void await(WaitSet waitSet) {
+            try {
+                waitSet.waitForConditions(WAIT_SECONDS, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                /* Check the DataReader and the demand again. */
+            }
+        }
+
+        /*
+         * Takes and delivers at most the requested number of samples.
+         * Taking into a new list gives every delivered sample its own
+         * storage, so subscribers may keep them.
+         */
+        private void deliver(long requested) {
+            int max = (int) Math.min(requested, batchSize);
+            List<Sample<TYPE>> samples = reader.take(
+                    new ArrayList<Sample<TYPE>>(max),
+                    reader.select().dataState(state).maxSamples(max));
+
+            for (Sample<TYPE> sample : samples) {
+                if (this.cancelled) {
+                    break;
+                }
+                if (this.demand.get() != Long.MAX_VALUE) {
+                    this.demand.decrementAndGet();
+                }
+                this.subscriber.onNext(sample);
+            }
+        }
+
+        private void cleanup(WaitSet idle, WaitSet ready,
+                ReadCondition<TYPE> condition) {
+            try {
+                if (ready != null) {
+                    ready.detachCondition(this.wakeup);
+                    if (condition != null) {
+                        ready.detachCondition(condition);
+                    }
+                }
+                if (idle != null) {
+                    idle.detachCondition(this.wakeup);
+                }
+                if (condition != null) {
+                    condition.close();
+                }
+            } catch (RuntimeException e) {
+                /* DataReader may have been closed concurrently. */
+            }
+        }
+    }
+}
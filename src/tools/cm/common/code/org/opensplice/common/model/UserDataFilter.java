@@ -128,11 +128,10 @@ public class UserDataFilter {
             if(!(val.equals(value))){
                 if(visibleContent != null){
                     synchronized(visibleContent){
-                        visibleContent.remove(i);
+                        visibleContent.remove(sorter.getModelRow(i));
                     }
                 }
                 sorter.removeRow(i);
-                sorter.resort();
                 i--;
                 rowCount--;
             }
@@ -111,7 +111,7 @@ public abstract class SampleModel extends ModelRegister{
     public void checkSize() throws SampleModelSizeException{
         int max = 2000;
 
-        if(userDataModel.getRowCount() >= max){
+        if((userDataModel.getMaxSamples() == 0) && (userDataModel.getRowCount() >= max)){
             throw new SampleModelSizeException("Maximum #samples in model reached(" + max + ").");
         }
     }
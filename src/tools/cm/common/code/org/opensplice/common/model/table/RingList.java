@@ -0,0 +1,135 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.common.model.table;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * List that stores its elements in a circular array, so that elements can be
+ * added at the tail and removed from the head in constant time while indexed
+ * access remains available. Used by the UserDataTableModel to drop the oldest
+ * samples when the model is bounded.
+ *
+ * @param <E> The type of the elements in the list.
+ */
+class RingList<E> extends AbstractList<E> implements RandomAccess {
+    private Object[] elements;
+    private int      head;
+    private int      size;
+
+    public RingList(){
+        elements = new Object[16];
+        head = 0;
+        size = 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index){
+        this.checkIndex(index, size);
+        return (E)elements[this.physical(index)];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element){
+        this.checkIndex(index, size);
+        int p = this.physical(index);
+        E old = (E)elements[p];
+        elements[p] = element;
+        return old;
+    }
+
+    @Override
+    public int size(){
+        return size;
+    }
+
+    @Override
+    public void add(int index, E element){
+        this.checkIndex(index, size + 1);
+
+        if(size == elements.length){
+            this.grow();
+        }
+        if(index == 0){
+            head = (head - 1 + elements.length) % elements.length;
+        } else {
+            for(int i=size; i>index; i--){
+                elements[this.physical(i)] = elements[this.physical(i - 1)];
+            }
+        }
+        elements[this.physical(index)] = element;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index){
+        this.checkIndex(index, size);
+        E old = (E)elements[this.physical(index)];
+
+        if(index == 0){
+            elements[head] = null;
+            head = (head + 1) % elements.length;
+        } else {
+            for(int i=index; i<size-1; i++){
+                elements[this.physical(i)] = elements[this.physical(i + 1)];
+            }
+            elements[this.physical(size - 1)] = null;
+        }
+        size--;
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public void clear(){
+        for(int i=0; i<size; i++){
+            elements[this.physical(i)] = null;
+        }
+        head = 0;
+        size = 0;
+        modCount++;
+    }
+
+    private int physical(int index){
+        return (head + index) % elements.length;
+    }
+
+    private void checkIndex(int index, int bound){
+        if((index < 0) || (index >= bound)){
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    private void grow(){
+        Object[] larger = new Object[elements.length * 2];
+
+        for(int i=0; i<size; i++){
+            larger[i] = elements[this.physical(i)];
+        }
+        elements = larger;
+        head = 0;
+    }
+}
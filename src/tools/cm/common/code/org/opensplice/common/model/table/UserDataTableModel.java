@@ -96,6 +96,12 @@ public class UserDataTableModel extends DefaultTableModel {
     protected String               structDetail = null;
     protected String[]             names        = null;
 
+    /**
+     * Maximum number of samples in the model. When exceeded, the oldest
+     * samples are removed. 0 means unbounded.
+     */
+    protected int                  maxSamples   = 0;
+
     /**
      * Constructs a new model that can hold UserData, which type matches the
      * supplied type. All fields are visible in the model by default.
@@ -109,8 +115,8 @@ public class UserDataTableModel extends DefaultTableModel {
             throw new CommonException("Data type is not valid.");
         }
         userDataType = _userDataType;
-        content = Collections.synchronizedList(new ArrayList<Sample>());
-        visibleContent = Collections.synchronizedList(new ArrayList<Sample>());
+        content = Collections.synchronizedList(new RingList<Sample>());
+        visibleContent = Collections.synchronizedList(new RingList<Sample>());
         filters = Collections.synchronizedList(new ArrayList<UserDataFilter>());
         visibleFieldNames = Collections.synchronizedList(new ArrayList<String>());
         invisibleFieldNames = Collections.synchronizedList(new ArrayList<String>());
@@ -146,8 +152,8 @@ public class UserDataTableModel extends DefaultTableModel {
         }
         structDetail = struct;
         userDataType = _userDataType;
-        content = Collections.synchronizedList(new ArrayList<Sample>());
-        visibleContent = Collections.synchronizedList(new ArrayList<Sample>());
+        content = Collections.synchronizedList(new RingList<Sample>());
+        visibleContent = Collections.synchronizedList(new RingList<Sample>());
         filters = Collections.synchronizedList(new ArrayList<UserDataFilter>());
         visibleFieldNames = Collections.synchronizedList(new ArrayList<String>());
         invisibleFieldNames = Collections.synchronizedList(new ArrayList<String>());
@@ -184,14 +190,12 @@ public class UserDataTableModel extends DefaultTableModel {
 
         try{
             /*Data might be sorted.*/
-            synchronized (visibleContent) {
-                synchronized (content) {
-                    synchronized (filters) {
-                        if (sorter != null) {
-                            index = sorter.getModelRow(index);
-                        }
-                        result = (visibleContent.get(index));
+            synchronized (content) {
+                synchronized (visibleContent) {
+                    if (sorter != null) {
+                        index = sorter.getModelRow(index);
                     }
+                    result = (visibleContent.get(index));
                 }
             }
         } catch(IndexOutOfBoundsException e){}
@@ -211,7 +215,6 @@ public class UserDataTableModel extends DefaultTableModel {
     }
 
     public boolean setDataAt(Sample sample, int index){
-        boolean match = true;
         String fieldName;
         UserData data = sample.getMessage().getUserData();
 
@@ -235,68 +238,11 @@ public class UserDataTableModel extends DefaultTableModel {
             }
         }
 
-        synchronized(content){
-            synchronized(visibleContent){
-                synchronized(filters){
-                    Iterator<UserDataFilter> iter = filters.iterator();
-                    UserDataFilter filter;
-
-                    content.add(sample);
-
-                    while(iter.hasNext() && match){
-                        filter = iter.next();
-
-                        if(!(filter.matches(temp))){
-                            match = false;
-                        }
-                    }
-                    if(match){
-                        this.insertRow(index,temp);
-                        visibleContent.add(sample);
-
-                        if(sorter != null){
-                            sorter.resort();
-                        }
-                    } else {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return this.addSample(sample, temp, index);
     }
 
     public boolean addNewSample(Object[] o, Sample sample, int index) {
-        boolean match = true;
-        synchronized(content){
-            synchronized(visibleContent){
-                synchronized(filters){
-                    Iterator<UserDataFilter> iter = filters.iterator();
-                    UserDataFilter filter;
-
-                    content.add(sample);
-
-                    while(iter.hasNext() && match){
-                        filter = iter.next();
-
-                        if(!(filter.matches(o))){
-                            match = false;
-                        }
-                    }
-                    if(match){
-                        this.insertRow(index,o);
-                        visibleContent.add(sample);
-
-                        if(sorter != null){
-                            sorter.resort();
-                        }
-                    } else {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return this.addSample(sample, o, index);
     }
 
     /**
@@ -308,7 +254,6 @@ public class UserDataTableModel extends DefaultTableModel {
      *         data does not match the type of the table or the data == null.
      */
     public boolean setData(Sample sample){
-        boolean match = true;
         String fieldName;
         UserData data = sample.getMessage().getUserData();
 
@@ -333,41 +278,11 @@ public class UserDataTableModel extends DefaultTableModel {
             }
         }
 
-        synchronized(content){
-            synchronized(visibleContent){
-                synchronized(filters){
-                    Iterator<UserDataFilter> iter = filters.iterator();
-                    UserDataFilter filter;
-
-                    content.add(sample);
-
-                    while(iter.hasNext() && match){
-                        filter = iter.next();
-
-                        if(!(filter.matches(temp))){
-                            match = false;
-                        }
-                    }
-                    if(match){
-                        this.addRow(temp);
-                        visibleContent.add(sample);
-
-                        if(sorter != null){
-                            sorter.resort();
-                        }
-                    } else {
-                        return false;
-                    }
-                }
-            }
-        }
-        return true;
+        return this.addSample(sample, temp, -1);
     }
 
     public boolean setData(Sample sample, String colName) {
         UserData data;
-        boolean match = true;
-
         boolean result = true;
         boolean res = false;
 
@@ -397,7 +312,7 @@ public class UserDataTableModel extends DefaultTableModel {
                 for (int k = 0; k < nrOfRows && result; k++) {
                     Object[] tmp = new Object[columnCount];
                     tmp[0] = k;
-                    LinkedHashSet<String> s = new LinkedHashSet<String>(data.getUserData().keySet());
+                    LinkedHashSet<String> s = data.getFieldNames();
                     for (int i = 1; i < columnCount; i++) {
                         columnName = this.getColumnName(i);
                             String name = columnName;
@@ -427,40 +342,13 @@ public class UserDataTableModel extends DefaultTableModel {
                                     if (value.length() != 0) {
                                         value.append(",");
                                     }
-                                    value.append(data.getUserData().get(key));
+                                    value.append(data.getData(key));
                                     s.remove(key);
                                 }
                             }
                             tmp[i] = value.toString();
                     }
-                    synchronized (content) {
-                        synchronized (visibleContent) {
-                            synchronized (filters) {
-                                Iterator<UserDataFilter> iter = filters
-                                        .iterator();
-                                UserDataFilter filter;
-
-                                content.add(sample);
-
-                                while (iter.hasNext() && match) {
-                                    filter = iter.next();
-
-                                    if (!(filter.matches(tmp))) {
-                                        match = false;
-                                    }
-                                }
-                                if (match) {
-                                    this.addRow(tmp);
-                                    visibleContent.add(sample);
-                                    if (sorter != null) {
-                                        sorter.resort();
-                                    }
-                                } else {
-                                    result = false;
-                                }
-                            }
-                        }
-                    }
+                    this.addSample(sample, tmp, -1);
                     result = true;
                 }
             }
@@ -649,15 +537,43 @@ public class UserDataTableModel extends DefaultTableModel {
      * @param _sorter The sorter to set.
      */
     public void setSorter(UserDataTableSorter _sorter){
-        synchronized (visibleContent) {
-            synchronized (content) {
-                synchronized (filters) {
-                    sorter = _sorter;
-                }
+        synchronized (content) {
+            synchronized (visibleContent) {
+                sorter = _sorter;
+            }
+        }
+    }
+
+    /**
+     * Sets the maximum number of samples in the model. When the model
+     * contains more samples, the oldest samples are removed until the
+     * maximum is reached, so the model keeps the most recent samples only.
+     *
+     * @param max The maximum number of samples, or 0 for no maximum.
+     */
+    public void setMaxSamples(int max){
+        if(max < 0){
+            throw new IllegalArgumentException("Maximum must be positive.");
+        }
+        synchronized (content) {
+            synchronized (visibleContent) {
+                maxSamples = max;
+                this.removeOldestSamples();
             }
         }
     }
 
+    /**
+     * Provides access to the maximum number of samples in the model.
+     *
+     * @return The maximum number of samples, or 0 if there is no maximum.
+     */
+    public int getMaxSamples(){
+        synchronized (content) {
+            return maxSamples;
+        }
+    }
+
     /**
      * Provides access to the type of UserData in the Sample objects that are
      * in this model.
@@ -805,6 +721,95 @@ public class UserDataTableModel extends DefaultTableModel {
         fireTableStructureChanged();
     }
 
+    /**
+     * Adds the supplied sample to the model and, when it matches all filters,
+     * adds the supplied row to the table. The filters are evaluated once
+     * before the content is locked.
+     *
+     * @param sample The sample to add.
+     * @param row The values of the row of the sample.
+     * @param index The index to insert the row at, or -1 to append it.
+     * @return true if the row has been added to the table, false if it has
+     *         been filtered out.
+     */
+    private boolean addSample(Sample sample, Object[] row, int index){
+        boolean match = this.matchesFilters(row);
+
+        synchronized(content){
+            synchronized(visibleContent){
+                content.add(sample);
+
+                if(match){
+                    if(index == -1){
+                        this.addRow(row);
+                    } else {
+                        this.insertRow(index, row);
+                    }
+                    visibleContent.add(sample);
+                }
+                this.removeOldestSamples();
+            }
+        }
+        return match;
+    }
+
+    private boolean matchesFilters(Object[] row){
+        synchronized(filters){
+            for(UserDataFilter filter : filters){
+                if(!(filter.matches(row))){
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes the oldest samples until the number of samples does not exceed
+     * maxSamples. Must be called with content and visibleContent locked.
+     */
+    private void removeOldestSamples(){
+        int leading = 0;
+
+        if(maxSamples > 0){
+            while(content.size() > maxSamples){
+                Sample oldest = content.remove(0);
+
+                if((leading < visibleContent.size()) && (visibleContent.get(leading) == oldest)){
+                    /* Oldest visible rows are removed from the table at once. */
+                    leading++;
+                } else {
+                    this.removeLeadingRows(leading);
+                    leading = 0;
+                    int row = visibleContent.indexOf(oldest);
+
+                    if(row != -1){
+                        visibleContent.remove(row);
+                        this.removeRow(row);
+                    }
+                }
+            }
+            this.removeLeadingRows(leading);
+        }
+    }
+
+    /**
+     * Removes the first count rows and visible samples from the model with
+     * one row shift and one table event. Must be called with content and
+     * visibleContent locked.
+     *
+     * @param count The number of rows to remove.
+     */
+    private void removeLeadingRows(int count){
+        if(count > 0){
+            for(int i=0; i<count; i++){
+                visibleContent.remove(0);
+            }
+            dataVector.subList(0, count).clear();
+            this.fireTableRowsDeleted(0, count - 1);
+        }
+    }
+
     /**
      * Checks if the supplied string is in the supplied list.
      *
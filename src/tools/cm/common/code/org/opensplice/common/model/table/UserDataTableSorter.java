@@ -48,8 +48,10 @@ package org.opensplice.common.model.table;
  */
 import java.util.Date;
 import java.util.Vector;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.JTable;
+import javax.swing.SwingUtilities;
 import javax.swing.event.TableModelEvent;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableColumn;
@@ -63,10 +65,15 @@ import org.opensplice.common.view.table.UserDataTable;
 public class UserDataTableSorter extends TableMap {
     /**
      * Contains the mapping between actual index of the rows in the model and
-     * the sorted index.
+     * the sorted index. Only the first indexCount elements are valid.
      */
     protected int indexes[];
 
+    /**
+     * The number of valid elements in indexes.
+     */
+    protected int indexCount;
+
     /**
      * The list of currently sorted columns.
      */
@@ -87,11 +94,18 @@ public class UserDataTableSorter extends TableMap {
      */
     protected int lastSortColumn = -1;
 
+    /**
+     * Whether a (coalesced) table changed notification has been scheduled
+     * but not fired yet.
+     */
+    private final AtomicBoolean changePending = new AtomicBoolean(false);
+
     /**
      * Constructs a new sorter.
      */
     public UserDataTableSorter() {
         indexes = new int[0]; // for consistency
+        indexCount = 0;
     }
 
     /**
@@ -118,11 +132,56 @@ public class UserDataTableSorter extends TableMap {
         }
     }
 
+    /**
+     * Keeps the mapping up-to-date with the model. When the model is sorted,
+     * inserted rows are put in place by a binary search and deleted rows are
+     * removed from the mapping, instead of sorting all rows again. The
+     * resulting notifications are coalesced into one table changed
+     * notification on the event dispatch thread.
+     */
     @Override
     public void tableChanged(TableModelEvent e) {
-        reallocateIndexes();
+        boolean incremental = false;
+
+        synchronized (this) {
+            if ((lastSortColumn != -1) && (this.isRowEvent(e))) {
+                int first = e.getFirstRow();
+                int last = e.getLastRow();
+                int rowCount = model.getRowCount();
+
+                if ((e.getType() == TableModelEvent.INSERT) &&
+                        (indexCount + (last - first + 1) == rowCount)) {
+                    insertIndexes(first, last);
+                    incremental = true;
+                } else if ((e.getType() == TableModelEvent.DELETE) &&
+                        (indexCount - (last - first + 1) == rowCount)) {
+                    deleteIndexes(first, last);
+                    incremental = true;
+                }
+            }
+            if (!incremental) {
+                reallocateIndexes();
+
+                if (lastSortColumn != -1) {
+                    sort(this);
+                }
+            }
+        }
+        if (incremental) {
+            fireTableChangedLater();
+        } else {
+            super.tableChanged(e);
+        }
+    }
 
-        super.tableChanged(e);
+    /**
+     * Provides access to the number of rows in the mapping. This only differs
+     * from the number of rows in the model while the model is notifying a
+     * change.
+     */
+    @Override
+    public synchronized int getRowCount() {
+        return indexCount;
     }
 
     /*
@@ -131,7 +190,7 @@ public class UserDataTableSorter extends TableMap {
      */
     @Override
     public Object getValueAt(int aRow, int aColumn) {
-        return model.getValueAt(indexes[aRow], aColumn);
+        return model.getValueAt(getModelRow(aRow), aColumn);
     }
 
     /**
@@ -141,7 +200,7 @@ public class UserDataTableSorter extends TableMap {
      */
     public void removeRow(int row) {
         if(model instanceof DefaultTableModel){
-            ((DefaultTableModel)model).removeRow(indexes[row]);
+            ((DefaultTableModel)model).removeRow(getModelRow(row));
         }
     }
 
@@ -152,13 +211,16 @@ public class UserDataTableSorter extends TableMap {
      * @param sorterRow The sorter row.
      * @return The row index in the actual model.
      */
-    public int getModelRow(int sorterRow){
+    public synchronized int getModelRow(int sorterRow){
+        if(sorterRow >= indexCount){
+            throw new ArrayIndexOutOfBoundsException(sorterRow);
+        }
         return indexes[sorterRow];
     }
 
     @Override
     public void setValueAt(Object aValue, int aRow, int aColumn) {
-          model.setValueAt(aValue, indexes[aRow], aColumn);
+          model.setValueAt(aValue, getModelRow(aRow), aColumn);
     }
 
     /**
@@ -178,11 +240,13 @@ public class UserDataTableSorter extends TableMap {
      * @param asc If true, sort ascending, or else sort descending.
      */
     public void sortByColumn(int column, boolean asc) {
-        this.ascending = asc;
-        sortingColumns.removeAllElements();
-        sortingColumns.addElement(new Integer(column));
-        sort(this);
-        lastSortColumn = column;
+        synchronized (this) {
+            this.ascending = asc;
+            sortingColumns.removeAllElements();
+            sortingColumns.addElement(new Integer(column));
+            sort(this);
+            lastSortColumn = column;
+        }
         super.tableChanged(new TableModelEvent(this));
     }
 
@@ -421,7 +485,10 @@ public class UserDataTableSorter extends TableMap {
 
         // Set up a new array of indexes with the right number of elements
         // for the new data model.
-        indexes = new int[rowCount];
+        if (indexes == null || indexes.length < rowCount) {
+            indexes = new int[rowCount];
+        }
+        indexCount = rowCount;
 
         // Initialize with the identity mapping.
         for (int row = 0; row < rowCount; row++) {
@@ -429,9 +496,96 @@ public class UserDataTableSorter extends TableMap {
         }
     }
 
+    /**
+     * Adds the model rows first until last, which have just been inserted in
+     * the model, to the sorted mapping. Rows that compare equal to existing
+     * rows are put after them, like the (stable) full sort would do.
+     */
+    private void insertIndexes(int first, int last) {
+        int count = last - first + 1;
+
+        if (indexCount + count > indexes.length) {
+            int[] grown = new int[Math.max(indexes.length * 2, indexCount + count)];
+            System.arraycopy(indexes, 0, grown, 0, indexCount);
+            indexes = grown;
+        }
+        // Rows after the inserted ones have moved in the model.
+        if (first < indexCount) {
+            for (int i = 0; i < indexCount; i++) {
+                if (indexes[i] >= first) {
+                    indexes[i] += count;
+                }
+            }
+        }
+        for (int row = first; row <= last; row++) {
+            int low = 0;
+            int high = indexCount;
+
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+
+                if (compare(indexes[middle], row) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            System.arraycopy(indexes, low, indexes, low + 1, indexCount - low);
+            indexes[low] = row;
+            indexCount++;
+        }
+    }
+
+    /**
+     * Removes the model rows first until last, which have just been deleted
+     * from the model, from the sorted mapping.
+     */
+    private void deleteIndexes(int first, int last) {
+        int count = last - first + 1;
+        int kept = 0;
+
+        for (int i = 0; i < indexCount; i++) {
+            int row = indexes[i];
+
+            if (row < first) {
+                indexes[kept++] = row;
+            } else if (row > last) {
+                indexes[kept++] = row - count;
+            }
+        }
+        indexCount = kept;
+    }
+
+    private boolean isRowEvent(TableModelEvent e) {
+        return (e.getColumn() == TableModelEvent.ALL_COLUMNS) &&
+               (e.getFirstRow() >= 0) &&
+               (e.getLastRow() >= e.getFirstRow()) &&
+               (e.getLastRow() != Integer.MAX_VALUE);
+    }
+
+    /**
+     * Notifies the listeners that the table has changed on the event dispatch
+     * thread. Calls that are done before the notification has been fired are
+     * coalesced into that notification.
+     */
+    private void fireTableChangedLater() {
+        if (changePending.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(new Runnable() {
+                @Override
+                public void run() {
+                    changePending.set(false);
+                    fireTableDataChanged();
+                }
+            });
+        }
+    }
+
     private void sort(Object sender) {
+        int[] from = new int[indexCount];
+
         compares = 0;
-        shuttlesort(indexes.clone(), indexes, 0, indexes.length);
+        System.arraycopy(indexes, 0, from, 0, indexCount);
+        shuttlesort(from, indexes, 0, indexCount);
     }
 }
 
@@ -30,6 +30,9 @@
 #include "os_heap.h"
 #include "os_stdlib.h"
 #include "c_typebase.h"
+#include "c_misc.h"
+#include "c_metabase.h"
+#include "c_stringSupport.h"
 
 static idl_macroAttrib idlpp_macroAttrib;
 static idl_streamIn idlpp_inStream;
@@ -327,68 +330,294 @@ err_exit:
     return result;
 }
 
+/* Expands the template tmplName (relative to $OSPL_TMPL_PATH/$OSPL_ORB_PATH)
+ * with the macros in macroSet into the Java class pname in the supplied
+ * scope. The macroSet is freed.
+ */
 static int
-idl_genTypeSeqHolder(
+idl_genJavaFromTemplate(
     idl_scope scope,
-    const char *name,
-    idl_typeSpec typeSpec)
+    const char *pname,
+    const char *tmplName,
+    idl_macroSet macroSet)
 {
     idl_tmplExp te;
+    idl_macroAttrib macroAttrib;
+    idl_streamIn inStream;
     c_char tmplFileName[1024];
-    c_char pname[1024];
     c_char *tmplPath;
     c_char *orbPath;
+    c_char *template;
     int tmplFile;
     struct os_stat_s tmplStat;
     unsigned int nRead;
+    int result = 0;
 
     tmplPath = os_getenv("OSPL_TMPL_PATH");
     orbPath = os_getenv("OSPL_ORB_PATH");
     if (tmplPath == NULL) {
         printf("OSPL_TMPL_PATH not defined\n");
-        return -1;
-    }
-    if (orbPath == NULL) {
+        result = -1;
+    } else if (orbPath == NULL) {
         printf("OSPL_ORB_PATH not defined\n");
-        return -1;
+        result = -1;
+    }
+    if (result == 0) {
+        snprintf(tmplFileName, sizeof(tmplFileName), "%s%c%s%c%s", tmplPath, OS_FILESEPCHAR, orbPath, OS_FILESEPCHAR, tmplName);
+        /* QAC EXPECT 3416; No side effects here */
+        if ((os_stat(tmplFileName, &tmplStat) != os_resultSuccess) ||
+            (os_access(tmplFileName, OS_ROK) != os_resultSuccess)) {
+            printf("No template found or protection violation (%s)\n", tmplFileName);
+            result = -1;
+        }
     }
+    if (result == 0) {
+        tmplFile = open(tmplFileName, O_RDONLY);
+        if (tmplFile < 0) {
+            printf("Template could not be opened (%s)\n", tmplFileName);
+            result = -1;
+        }
+    }
+    if (result == 0) {
+        /* QAC EXPECT 5007; will not use wrapper */
+        template = os_malloc(tmplStat.stat_size+1);
+        nRead = (unsigned int)read(tmplFile, template, tmplStat.stat_size);
+        memset(&template[nRead], 0, tmplStat.stat_size+1-nRead);
+        close(tmplFile);
 
-    idlpp_macroSet = idl_macroSetNew();
-    idl_macroSetAdd(idlpp_macroSet, idl_macroNew("type-name", idl_javaId(name)));
-    idl_macroSetAdd(idlpp_macroSet, idl_macroNew("actual-type-name", idl_typeSpecName(typeSpec)));
-    idl_macroSetAdd(idlpp_macroSet, idl_macroNew("scoped-type-name", idl_scopeStackJava(scope, ".", name)));
-    idl_macroSetAdd(idlpp_macroSet, idl_macroNew("scoped-actual-type-name", idl_corbaJavaTypeFromTypeSpec(typeSpec)));
+        idl_openJavaPackage(scope, pname);
+        if (idl_fileCur() == NULL) {
+            result = -1;
+        } else {
+            macroAttrib = idl_macroAttribNew(IDL_TOKEN_START, IDL_TOKEN_OPEN, IDL_TOKEN_CLOSE);
+            inStream = idl_streamInNew(template, macroAttrib);
+            te = idl_tmplExpNew(macroSet);
+            idl_tmplExpProcessTmpl(te, inStream, idl_fileCur());
+            idl_streamInFree(inStream);
+            idl_tmplExpFree(te);
+            idl_macroAttribFree(macroAttrib);
+            idl_closeJavaPackage();
+        }
+        os_free(template);
+    }
+    idl_macroSetFree(macroSet);
 
-    snprintf(pname, sizeof (pname), "%sSeqHolder", idl_javaId(name));
-    idl_openJavaPackage(scope, pname);
-    if (idl_fileCur() == NULL) {
-        return -1;
+    return result;
+}
+
+/* Creates the macros that are shared by the SeqHolder and Accessor templates */
+static idl_macroSet
+idl_genTypeMacroSet(
+    idl_scope scope,
+    const char *name,
+    idl_typeSpec typeSpec)
+{
+    idl_macroSet macroSet;
+    char *javaId = idl_javaId(name);
+    char *scopeStackJavaDot = idl_scopeStackJava(scope, ".", name);
+    char *corbaJavaType = idl_corbaJavaTypeFromTypeSpec(typeSpec);
+
+    macroSet = idl_macroSetNew();
+    idl_macroSetAdd(macroSet, idl_macroNew("type-name", javaId));
+    idl_macroSetAdd(macroSet, idl_macroNew("actual-type-name", idl_typeSpecName(typeSpec)));
+    idl_macroSetAdd(macroSet, idl_macroNew("scoped-type-name", scopeStackJavaDot));
+    idl_macroSetAdd(macroSet, idl_macroNew("scoped-actual-type-name", corbaJavaType));
+
+    os_free(corbaJavaType);
+    os_free(scopeStackJavaDot);
+    os_free(javaId);
+
+    return macroSet;
+}
+
+static int
+idl_genTypeSeqHolder(
+    idl_scope scope,
+    const char *name,
+    idl_typeSpec typeSpec)
+{
+    c_char pname[1024];
+    char *javaId = idl_javaId(name);
+
+    snprintf(pname, sizeof (pname), "%sSeqHolder", javaId);
+    os_free(javaId);
+
+    return idl_genJavaFromTemplate(scope, pname, "tmplSeqHolder.java",
+            idl_genTypeMacroSet(scope, name, typeSpec));
+}
+
+static void
+idl_javaKeyAppend(
+    char **str,
+    const char *tail)
+{
+    size_t len = (*str == NULL) ? 0 : strlen(*str);
+    size_t tailLen = strlen(tail);
+
+    *str = os_realloc(*str, len + tailLen + 1);
+    memcpy(*str + len, tail, tailLen + 1);
+}
+
+/* Returns the Java expression that reads the key field at the dot-separated
+ * path from a sample named "sample", or NULL when the path does not end in a
+ * primitive, string, enumeration or array of primitives. Arrays are cloned,
+ * so the value does not change with the sample.
+ */
+static char *
+idl_javaKeyExpression(
+    c_type type,
+    const char *path)
+{
+    c_iter members = c_splitString(path, ".");
+    char *memberName;
+    char *javaId;
+    char *expr = NULL;
+    c_type subType;
+    c_ulong i, count;
+    c_bool found;
+    c_bool valid = TRUE;
+
+    idl_javaKeyAppend(&expr, "sample");
+    while ((memberName = c_iterTakeFirst(members)) != NULL) {
+        type = c_typeActualType(type);
+        found = FALSE;
+        if (valid && (c_baseObjectKind(type) == M_STRUCTURE)) {
+            count = c_structureMemberCount(type);
+            for (i = 0; (i < count) && !found; i++) {
+                if (strcmp(c_specifierName(c_structureMember(type, i)), memberName) == 0) {
+                    type = c_memberType(c_structureMember(type, i));
+                    found = TRUE;
+                }
+            }
+        }
+        if (found) {
+            javaId = idl_javaId(memberName);
+            idl_javaKeyAppend(&expr, ".");
+            idl_javaKeyAppend(&expr, javaId);
+            os_free(javaId);
+        } else {
+            valid = FALSE;
+        }
+        os_free(memberName);
+    }
+    c_iterFree(members);
+
+    if (valid) {
+        type = c_typeActualType(type);
+        switch (c_baseObjectKind(type)) {
+        case M_PRIMITIVE:
+            break;
+        case M_ENUMERATION:
+            idl_javaKeyAppend(&expr, ".value()");
+            break;
+        case M_COLLECTION:
+            switch (c_collectionTypeKind(type)) {
+            case OSPL_C_STRING:
+                break;
+            case OSPL_C_ARRAY:
+            case OSPL_C_SEQUENCE:
+                subType = c_typeActualType(c_collectionTypeSubType(type));
+                if (c_baseObjectKind(subType) == M_PRIMITIVE) {
+                    idl_javaKeyAppend(&expr, ".clone()");
+                } else {
+                    valid = FALSE;
+                }
+                break;
+            default:
+                valid = FALSE;
+                break;
+            }
+            break;
+        default:
+            valid = FALSE;
+            break;
+        }
     }
+    if (!valid) {
+        os_free(expr);
+        expr = NULL;
+    }
+    return expr;
+}
 
-    /* Prepare typeSupport class */
-    snprintf(tmplFileName, sizeof(tmplFileName), "%s%c%s%ctmplSeqHolder.java", tmplPath, OS_FILESEPCHAR, orbPath, OS_FILESEPCHAR);
-    /* QAC EXPECT 3416; No side effects here */
-    if ((os_stat(tmplFileName, &tmplStat) != os_resultSuccess) ||
-        (os_access(tmplFileName, OS_ROK) != os_resultSuccess)) {
-        printf("No template found or protection violation (%s)\n", tmplFileName);
-        return -1;
+/* Returns the comma-separated Java expressions that read all key fields of
+ * a sample, in key list order, or "null" when one of them cannot be read by
+ * plain field access and the Java5 API has to fall back to reflection.
+ */
+static char *
+idl_javaKeyValues(
+    idl_scope scope,
+    const char *name,
+    idl_typeSpec typeSpec)
+{
+    const char *keyList = idl_keyResolve(idl_keyDefDefGet(), scope, name);
+    char *scopedMetaTypeName = idl_scopeStack(scope, "::", name);
+    c_iter keys;
+    char *key;
+    char *expr;
+    char *values = NULL;
+    c_bool valid = TRUE;
+
+    if ((strlen(idl_internalTypeNameForBuiltinTopic(scopedMetaTypeName)) != 0) &&
+        ((keyList == NULL) ||
+         (strcmp(keyList,"key") == 0))) {
+        keyList = "key.localId,key.systemId";
     }
-    /* QAC EXPECT 5007; will not use wrapper */
-    idlpp_template = os_malloc(tmplStat.stat_size+1);
-    tmplFile = open(tmplFileName, O_RDONLY);
-    nRead = (unsigned int)read(tmplFile, idlpp_template, tmplStat.stat_size);
-    memset(&idlpp_template[nRead], 0, tmplStat.stat_size+1-nRead);
-    close(tmplFile);
-    idlpp_macroAttrib = idl_macroAttribNew(IDL_TOKEN_START, IDL_TOKEN_OPEN, IDL_TOKEN_CLOSE);
-    idlpp_inStream = idl_streamInNew(idlpp_template, idlpp_macroAttrib);
+    os_free(scopedMetaTypeName);
 
-    te = idl_tmplExpNew(idlpp_macroSet);
-    idl_tmplExpProcessTmpl(te, idlpp_inStream, idl_fileCur());
-    idl_streamInFree(idlpp_inStream);
-    idl_tmplExpFree(te);
-    idl_closeJavaPackage();
+    if ((keyList == NULL) || (idl_typeSpecDef(typeSpec) == NULL)) {
+        return os_strdup("null");
+    }
+    keys = c_splitString(keyList, ",");
+    while ((key = c_iterTakeFirst(keys)) != NULL) {
+        if (valid) {
+            expr = idl_javaKeyExpression(idl_typeSpecDef(typeSpec), key);
+            if (expr != NULL) {
+                idl_javaKeyAppend(&values, (values == NULL) ? "new java.lang.Object[] { " : ", ");
+                idl_javaKeyAppend(&values, expr);
+                os_free(expr);
+            } else {
+                valid = FALSE;
+            }
+        }
+        os_free(key);
+    }
+    c_iterFree(keys);
+
+    if (!valid || (values == NULL)) {
+        os_free(values);
+        return os_strdup("null");
+    }
+    idl_javaKeyAppend(&values, " }");
+    return values;
+}
+
+/* Generates the typed accessor class, used by the Java5 API to bypass
+ * reflection.
+ */
+static int
+idl_genAccessor(
+    idl_scope scope,
+    const char *name,
+    char *class_base,
+    idl_typeSpec typeSpec)
+{
+    c_char pname[1024];
+    c_char tmplName[256];
+    char *javaId = idl_javaId(name);
+    idl_macroSet macroSet;
+    char *keyValues;
+
+    snprintf(pname, sizeof (pname), "%s%sAccessor", javaId, class_base);
+    snprintf(tmplName, sizeof (tmplName), "tmpl%sAccessor.java", class_base);
+    os_free(javaId);
+
+    macroSet = idl_genTypeMacroSet(scope, name, typeSpec);
+    keyValues = idl_javaKeyValues(scope, name, typeSpec);
+    idl_macroSetAdd(macroSet, idl_macroNew("key-values", keyValues));
+    os_free(keyValues);
 
-    return 0;
+    return idl_genJavaFromTemplate(scope, pname, tmplName, macroSet);
 }
 
 static idl_action
@@ -429,8 +658,10 @@ idl_structureOpen(
     if (idl_keyResolve(idl_keyDefDefGet(), scope, name) != NULL) {
         idl_genInterface(scope, name, "TypeSupport", idl_typeSpec(structSpec), FALSE);
         idl_genInterface(scope, name, "DataReader", idl_typeSpec(structSpec), TRUE);
+        idl_genAccessor(scope, name, "DataReader", idl_typeSpec(structSpec));
         idl_genInterface(scope, name, "DataReaderView", idl_typeSpec(structSpec), TRUE);
         idl_genInterface(scope, name, "DataWriter", idl_typeSpec(structSpec), TRUE);
+        idl_genAccessor(scope, name, "DataWriter", idl_typeSpec(structSpec));
         if (idl_getCorbaMode() == IDL_MODE_STANDALONE) {
             idl_genTypeSeqHolder(scope, name, idl_typeSpec(structSpec));
         }
@@ -450,8 +681,10 @@ idl_unionOpen(
     if (idl_keyResolve(idl_keyDefDefGet(), scope, name) != NULL) {
         idl_genInterface(scope, name, "TypeSupport", idl_typeSpec(unionSpec), FALSE);
         idl_genInterface(scope, name, "DataReader", idl_typeSpec(unionSpec), TRUE);
+        idl_genAccessor(scope, name, "DataReader", idl_typeSpec(unionSpec));
         idl_genInterface(scope, name, "DataReaderView", idl_typeSpec(unionSpec), TRUE);
         idl_genInterface(scope, name, "DataWriter", idl_typeSpec(unionSpec), TRUE);
+        idl_genAccessor(scope, name, "DataWriter", idl_typeSpec(unionSpec));
         if (idl_getCorbaMode() == IDL_MODE_STANDALONE) {
             idl_genTypeSeqHolder(scope, name, idl_typeSpec(unionSpec));
         }
@@ -473,8 +706,10 @@ idl_typedefOpenClose(
         if (idl_keyResolve(idl_keyDefDefGet(), scope, name) != NULL) {
             idl_genInterface(scope, name, "TypeSupport", idl_typeSpec(defSpec), FALSE);
             idl_genInterface(scope, name, "DataReader", idl_typeSpec(defSpec), TRUE);
+            idl_genAccessor(scope, name, "DataReader", idl_typeSpec(defSpec));
             idl_genInterface(scope, name, "DataReaderView", idl_typeSpec(defSpec), TRUE);
             idl_genInterface(scope, name, "DataWriter", idl_typeSpec(defSpec), TRUE);
+            idl_genAccessor(scope, name, "DataWriter", idl_typeSpec(defSpec));
             if (idl_getCorbaMode() == IDL_MODE_STANDALONE) {
                 idl_genTypeSeqHolder(scope, name, idl_typeDefActual(defSpec));
             }
@@ -0,0 +1,41 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.cm.com;
+
+/**
+ * Gives the SOAP tests access to the body of responses, which are only
+ * visible inside this package.
+ *
+ * @date Oct 17, 2026
+ */
+public class SOAPTestClient {
+
+    public static String call(SOAPConnection connection, String url,
+            String method, String value) throws SOAPException {
+        SOAPRequest request = new SOAPRequest();
+
+        request.setMethod(method);
+        request.addBodyParameter("value", value);
+        request.saveChanges();
+
+        return connection.call(request, url).getBodyContent();
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import org.opensplice.cm.com.SOAPConnection;
+import org.opensplice.cm.com.SOAPConnectionPool;
+import org.opensplice.cm.com.SOAPException;
+import org.opensplice.cm.com.SOAPTestClient;
+
+/**
+ * Checks that consecutive calls reuse one connection to the SOAP service
+ * and that responses are parsed correctly.
+ *
+ * @date Oct 17, 2026
+ */
+public class SOAP1 extends test.framework.TestCase {
+    private static final int CALLS = 200;
+
+    public SOAP1() {
+        super("cm_soap_tc1", "cm_soap", "call",
+                "SOAP connection reuse",
+                "check that consecutive calls share one keep-alive connection and that responses are parsed",
+                null);
+        this.addPreItem(new SOAPInit());
+        this.addPostItem(new SOAPDeinit());
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "SOAP calls reuse one connection.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        SOAPServer server = (SOAPServer) this.resolveObject("server");
+        String[] values = new String[] { "plain", "<entity>&amp;</entity>",
+                "quote\" and 'apostrophe'", "multi\nline" };
+        SOAPConnectionPool pool;
+        SOAPConnection connection;
+        String response;
+        long start;
+
+        try {
+            pool = SOAPConnectionPool.getInstance();
+            start = System.nanoTime();
+
+            for (int i = 0; i < CALLS; i++) {
+                String value = values[i % values.length] + i;
+
+                connection = pool.acquireConnection();
+                try {
+                    response = SOAPTestClient.call(connection, server.getUrl(), "echo", value);
+                } finally {
+                    pool.releaseConnection(connection);
+                }
+                if (!value.equals(response)) {
+                    result.setResult("Response '" + response + "' does not match request '"
+                            + value + "'.");
+                    return result;
+                }
+            }
+            this.testFramework.testMessage(test.framework.TestMessage.NOTE, CALLS
+                    + " calls took " + (System.nanoTime() - start) / 1000000 + " ms.");
+            pool.closeConnections();
+        } catch (SOAPException e) {
+            result.setResult("SOAP call failed: " + e.getMessage());
+            return result;
+        }
+        if (server.requests.get() != CALLS) {
+            result.setResult("Service received " + server.requests.get()
+                    + " requests instead of " + CALLS + ".");
+            return result;
+        }
+        if (server.connections.get() != 1) {
+            result.setResult("Calls used " + server.connections.get()
+                    + " connections instead of 1.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
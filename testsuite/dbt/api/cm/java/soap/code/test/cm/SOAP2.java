@@ -0,0 +1,137 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import org.opensplice.cm.com.SOAPConnection;
+import org.opensplice.cm.com.SOAPException;
+import org.opensplice.cm.com.SOAPTestClient;
+
+/**
+ * Checks that a keep-alive connection recovers when the SOAP service closes
+ * it, with and without announcing it, and that chunked responses and SOAP
+ * faults are handled.
+ *
+ * @date Oct 17, 2026
+ */
+public class SOAP2 extends test.framework.TestCase {
+    private static final int CALLS = 50;
+
+    public SOAP2() {
+        super("cm_soap_tc2", "cm_soap", "call",
+                "SOAP connection closed by service",
+                "check reconnection after the service closes the connection, chunked responses and faults",
+                null);
+        this.addPreItem(new SOAPInit());
+        this.addPostItem(new SOAPDeinit());
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "SOAP connection recovers from closed connections.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        SOAPServer server = (SOAPServer) this.resolveObject("server");
+        SOAPConnection connection = null;
+        String error;
+
+        try {
+            connection = new SOAPConnection();
+
+            server.closeAfter = 10;
+            server.closeHeader = true;
+            server.chunked = true;
+            error = this.echo(connection, server, "announced");
+
+            if (error != null) {
+                result.setResult(error);
+                return result;
+            }
+            if (server.connections.get() != CALLS / 10) {
+                result.setResult("Announced close: calls used " + server.connections.get()
+                        + " connections instead of " + CALLS / 10 + ".");
+                return result;
+            }
+            server.reset();
+            server.closeAfter = 10;
+            error = this.echo(connection, server, "silent");
+
+            if (error != null) {
+                result.setResult(error);
+                return result;
+            }
+            if (server.requests.get() < CALLS) {
+                result.setResult("Silent close: service received only "
+                        + server.requests.get() + " requests.");
+                return result;
+            }
+            server.reset();
+
+            try {
+                SOAPTestClient.call(connection, server.getUrl(), "fault", "fault");
+                result.setResult("SOAP fault not reported.");
+                return result;
+            } catch (SOAPException e) {
+                if ((e.getFaultCode() != SOAPException.SOAP_Client)
+                        || (e.getFaultString() == null)
+                        || !e.getFaultString().contains("not implemented")) {
+                    result.setResult("SOAP fault not parsed: " + e.getMessage());
+                    return result;
+                }
+            }
+            error = this.echo(connection, server, "after fault");
+
+            if (error != null) {
+                result.setResult(error);
+                return result;
+            }
+            if (server.connections.get() != 1) {
+                result.setResult("Connection not reused after SOAP fault.");
+                return result;
+            }
+        } catch (SOAPException e) {
+            result.setResult("SOAP call failed: " + e.getMessage());
+            return result;
+        } finally {
+            if (connection != null) {
+                connection.close();
+            }
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    private String echo(SOAPConnection connection, SOAPServer server,
+            String prefix) throws SOAPException {
+        for (int i = 0; i < CALLS; i++) {
+            String value = prefix + " " + i;
+            String response = SOAPTestClient.call(connection, server.getUrl(),
+                    "echo", value);
+
+            if (!value.equals(response)) {
+                return "Response '" + response + "' does not match request '"
+                        + value + "'.";
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opensplice.cm.com.SOAPConnection;
+import org.opensplice.cm.com.SOAPException;
+import org.opensplice.cm.com.SOAPTestClient;
+
+/**
+ * Checks that concurrent callers that share a pipelining connection each
+ * receive the response to their own request, also when the service closes
+ * the connection while requests are outstanding. Requests that were not
+ * served are sent again when the close was announced and fail when it was
+ * not.
+ *
+ * @date Oct 17, 2026
+ */
+public class SOAP3 extends test.framework.TestCase {
+    private static final int THREADS = 8;
+    private static final int CALLS = 50;
+
+    public SOAP3() {
+        super("cm_soap_tc3", "cm_soap", "call",
+                "SOAP request pipelining",
+                "check that pipelined responses are delivered to the callers that sent the requests",
+                null);
+        this.addPreItem(new SOAPInit());
+        this.addPostItem(new SOAPDeinit());
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Pipelined SOAP calls receive their own responses.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        SOAPServer server = (SOAPServer) this.resolveObject("server");
+        SOAPConnection connection = null;
+        String property = "org.opensplice.cm.com.soap.pipelining";
+        String old = System.getProperty(property);
+        AtomicInteger answered = new AtomicInteger();
+        String error;
+
+        try {
+            System.setProperty(property, "true");
+            connection = new SOAPConnection();
+        } catch (SOAPException e) {
+            result.setResult("SOAPConnection could not be created: " + e.getMessage());
+            return result;
+        } finally {
+            if (old == null) {
+                System.clearProperty(property);
+            } else {
+                System.setProperty(property, old);
+            }
+        }
+        try {
+            if (!connection.isPipelining()) {
+                result.setResult("Connection does not pipeline requests.");
+                return result;
+            }
+            server.delay = 1;
+            error = this.callConcurrently(connection, server, null);
+
+            if (error != null) {
+                result.setResult(error);
+                return result;
+            }
+            if (server.connections.get() != 1) {
+                result.setResult("Pipelined calls used " + server.connections.get()
+                        + " connections instead of 1.");
+                return result;
+            }
+            if (server.pipelined.get() == 0) {
+                result.setResult("No requests were pipelined.");
+                return result;
+            }
+            this.testFramework.testMessage(test.framework.TestMessage.NOTE,
+                    server.pipelined.get() + " of " + server.requests.get()
+                    + " requests were pipelined.");
+            server.reset();
+            server.delay = 1;
+            server.closeAfter = 7;
+            server.closeHeader = true;
+            error = this.callConcurrently(connection, server, null);
+
+            if (error != null) {
+                result.setResult("Announced close: " + error);
+                return result;
+            }
+            server.reset();
+            server.delay = 1;
+            server.closeAfter = 7;
+            error = this.callConcurrently(connection, server, answered);
+
+            if (error != null) {
+                result.setResult("Silent close: " + error);
+                return result;
+            }
+            if (server.requests.get() != answered.get()) {
+                result.setResult("Silent close: service executed " + server.requests.get()
+                        + " requests but " + answered.get() + " were answered.");
+                return result;
+            }
+            this.testFramework.testMessage(test.framework.TestMessage.NOTE,
+                    (THREADS * CALLS - answered.get())
+                    + " requests failed after a silent close.");
+        } finally {
+            connection.close();
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    /**
+     * Lets THREADS callers each make CALLS calls. When answered is not null,
+     * failed calls are tolerated and answered counts the successful ones.
+     */
+    private String callConcurrently(final SOAPConnection connection,
+            final SOAPServer server, final AtomicInteger answered) {
+        final List<String> errors = Collections.synchronizedList(new ArrayList<String>());
+        Thread[] threads = new Thread[THREADS];
+
+        for (int t = 0; t < THREADS; t++) {
+            final int id = t;
+
+            threads[t] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = 0; i < CALLS; i++) {
+                        String value = "caller " + id + " call " + i;
+
+                        try {
+                            String response = SOAPTestClient.call(connection,
+                                    server.getUrl(), "echo", value);
+
+                            if (!value.equals(response)) {
+                                errors.add("Response '" + response
+                                        + "' does not match request '" + value + "'.");
+                                return;
+                            }
+                            if (answered != null) {
+                                answered.incrementAndGet();
+                            }
+                        } catch (SOAPException e) {
+                            if (answered == null) {
+                                errors.add("SOAP call failed: " + e.getMessage());
+                                return;
+                            }
+                        }
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (int t = 0; t < THREADS; t++) {
+            try {
+                threads[t].join();
+            } catch (InterruptedException e) {
+                return "Interrupted while waiting for callers.";
+            }
+        }
+        if (!errors.isEmpty()) {
+            return errors.get(0);
+        }
+        return null;
+    }
+}
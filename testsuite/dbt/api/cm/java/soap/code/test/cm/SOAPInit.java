@@ -0,0 +1,50 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+/**
+ * @date Oct 17, 2026
+ */
+public class SOAPInit extends test.framework.TestItem {
+
+    public SOAPInit() {
+        super("Initialize SOAP service");
+    }
+
+    @Override
+    public test.framework.TestResult run(test.framework.TestCase testCase) {
+        test.framework.TestResult result = new test.framework.TestResult(
+                "Initialization success", "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        SOAPServer server;
+
+        try {
+            server = new SOAPServer();
+        } catch (java.io.IOException e) {
+            result.setResult("SOAP service could not be started: " + e.getMessage());
+            return result;
+        }
+        testCase.registerObject("server", server);
+        result.setResult("Initialization success");
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
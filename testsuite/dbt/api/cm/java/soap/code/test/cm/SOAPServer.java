@@ -0,0 +1,270 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Local stand-in for the SOAP service of a node. It answers the "echo"
+ * method with the value of the request and the "fault" method with a SOAP
+ * fault, and counts connections and requests so that tests can check how
+ * the client uses its connections.
+ *
+ * @date Oct 17, 2026
+ */
+public class SOAPServer implements Runnable {
+    private final ServerSocket serverSocket;
+    private final Thread acceptor;
+
+    public final AtomicInteger connections = new AtomicInteger();
+    public final AtomicInteger requests = new AtomicInteger();
+    /* Requests that were already received before the previous response was sent. */
+    public final AtomicInteger pipelined = new AtomicInteger();
+
+    /* Closes a connection after this many responses; 0 keeps it open. */
+    public volatile int closeAfter = 0;
+    /* Announces the close with a Connection: close header. */
+    public volatile boolean closeHeader = false;
+    public volatile boolean chunked = false;
+    public volatile int delay = 0;
+
+    public SOAPServer() throws IOException {
+        this.serverSocket = new ServerSocket(0, 50, InetAddress.getByName("127.0.0.1"));
+        this.acceptor = new Thread(this, "SOAPServer");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + this.serverSocket.getLocalPort() + "/";
+    }
+
+    public void reset() {
+        this.connections.set(0);
+        this.requests.set(0);
+        this.pipelined.set(0);
+        this.closeAfter = 0;
+        this.closeHeader = false;
+        this.chunked = false;
+        this.delay = 0;
+    }
+
+    public void close() {
+        try {
+            this.serverSocket.close();
+        } catch (IOException e) {
+            /* Closing anyway. */
+        }
+    }
+
+    @Override
+    public void run() {
+        while (!this.serverSocket.isClosed()) {
+            try {
+                final Socket socket = this.serverSocket.accept();
+                Thread handler = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                }, "SOAPServerConnection");
+
+                this.connections.incrementAndGet();
+                handler.setDaemon(true);
+                handler.start();
+            } catch (IOException e) {
+                /* Server socket closed. */
+            }
+        }
+    }
+
+    private void serve(Socket socket) {
+        try {
+            InputStream in = new BufferedInputStream(socket.getInputStream());
+            OutputStream out = socket.getOutputStream();
+            int served = 0;
+            String request;
+
+            while ((request = this.readRequest(in)) != null) {
+                boolean close;
+
+                this.requests.incrementAndGet();
+                if (in.available() > 0) {
+                    this.pipelined.incrementAndGet();
+                }
+                if (this.delay > 0) {
+                    Thread.sleep(this.delay);
+                }
+                served++;
+                close = (this.closeAfter > 0) && (served % this.closeAfter == 0);
+                this.writeResponse(out, request, close && this.closeHeader);
+
+                if (close) {
+                    this.lingeringClose(socket, in);
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            /* Connection closed by the client. */
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                /* Closing anyway. */
+            }
+        }
+    }
+
+    /**
+     * Closes the connection like HTTP services do: requests that the client
+     * already sent are discarded instead of being answered with a reset,
+     * which could destroy the responses the client has not read yet.
+     */
+    private void lingeringClose(Socket socket, InputStream in) throws IOException {
+        byte[] discard = new byte[4096];
+
+        socket.shutdownOutput();
+        socket.setSoTimeout(1000);
+
+        try {
+            while (in.read(discard) != -1) {
+                /* Discard. */
+            }
+        } catch (java.net.SocketTimeoutException e) {
+            /* Client keeps the connection open; close it anyway. */
+        }
+    }
+
+    private String readRequest(InputStream in) throws IOException {
+        String line = this.readLine(in);
+        int length = 0;
+
+        if (line == null) {
+            return null;
+        }
+        while ((line = this.readLine(in)) != null && line.length() > 0) {
+            if (line.toLowerCase().startsWith("content-length:")) {
+                length = Integer.parseInt(line.substring(15).trim());
+            }
+        }
+        byte[] body = new byte[length];
+        int offset = 0;
+
+        while (offset < length) {
+            int n = in.read(body, offset, length - offset);
+
+            if (n < 0) {
+                return null;
+            }
+            offset += n;
+        }
+        return new String(body, "UTF-8");
+    }
+
+    private String readLine(InputStream in) throws IOException {
+        StringBuilder line = new StringBuilder();
+        int c;
+
+        while ((c = in.read()) != -1) {
+            if (c == '\n') {
+                return line.toString().trim();
+            }
+            line.append((char) c);
+        }
+        return (line.length() == 0) ? null : line.toString();
+    }
+
+    private void writeResponse(OutputStream out, String request, boolean close) throws IOException {
+        int start = request.indexOf("<cms:") + 5;
+        String method = request.substring(start, request.indexOf('>', start));
+        String value = request.substring(request.indexOf("<value>") + 7,
+                request.indexOf("</value>"));
+        String status;
+        String xml;
+
+        if ("fault".equals(method)) {
+            status = "500 Internal Server Error";
+            xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+                + "<SOAP-ENV:Body><SOAP-ENV:Fault>"
+                + "<faultcode>SOAP-ENV:Client</faultcode>"
+                + "<faultstring>Method '" + value + "' not implemented</faultstring>"
+                + "</SOAP-ENV:Fault></SOAP-ENV:Body></SOAP-ENV:Envelope>";
+        } else {
+            int half = value.indexOf('&');
+
+            status = "200 OK";
+            /* The value is split, before its first entity, over a CDATA
+             * section, an ignored child element and escaped text, which the
+             * parser must coalesce. */
+            if (half < 0) {
+                half = value.length() / 2;
+            }
+            xml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+                + "<SOAP-ENV:Envelope xmlns:SOAP-ENV=\"http://schemas.xmlsoap.org/soap/envelope/\""
+                + " xmlns:cms=\"http://127.0.0.1/cms.wsdl\">\n"
+                + "  <SOAP-ENV:Body>\n"
+                + "    <cms:" + method + "Response><result><![CDATA["
+                + value.substring(0, half) + "]]><ignored>x</ignored>"
+                + value.substring(half) + "</result></cms:" + method + "Response>\n"
+                + "  </SOAP-ENV:Body>\n"
+                + "</SOAP-ENV:Envelope>\n";
+        }
+        byte[] body = xml.getBytes("UTF-8");
+        ByteArrayOutputStream response = new ByteArrayOutputStream();
+        StringBuilder header = new StringBuilder();
+
+        header.append("HTTP/1.1 ").append(status).append("\r\n");
+        header.append("Content-Type: text/xml; charset=utf-8\r\n");
+        if (close) {
+            header.append("Connection: close\r\n");
+        }
+        if (this.chunked) {
+            header.append("Transfer-Encoding: chunked\r\n\r\n");
+            response.write(header.toString().getBytes("ISO-8859-1"));
+
+            for (int offset = 0; offset < body.length; offset += 100) {
+                int size = Math.min(100, body.length - offset);
+
+                response.write((Integer.toHexString(size) + "\r\n").getBytes("ISO-8859-1"));
+                response.write(body, offset, size);
+                response.write("\r\n".getBytes("ISO-8859-1"));
+            }
+            response.write("0\r\n\r\n".getBytes("ISO-8859-1"));
+        } else {
+            header.append("Content-Length: ").append(body.length).append("\r\n\r\n");
+            response.write(header.toString().getBytes("ISO-8859-1"));
+            response.write(body);
+        }
+        out.write(response.toByteArray());
+        out.flush();
+    }
+}
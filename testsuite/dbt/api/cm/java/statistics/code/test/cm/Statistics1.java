@@ -0,0 +1,112 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.statistics.Statistics;
+import org.opensplice.cm.transform.binary.StatisticsDeserializerBinary;
+import org.opensplice.cm.transform.xml.StatisticsDeserializerXML;
+
+/**
+ * Checks that the binary statistics of an entity deserialize to the same
+ * Statistics as the equivalent XML statistics.
+ *
+ * @date Oct 17, 2026
+ */
+public class Statistics1 extends test.framework.TestCase {
+    private static final String XML =
+        "<object>" +
+            "<lastReset>1500000000</lastReset>" +
+            "<numberOfSamplesRead>12</numberOfSamplesRead>" +
+            "<numberOfReads><lastUpdate>2000000001</lastUpdate><value>7</value></numberOfReads>" +
+            "<readLatency><count>4</count><value>2.5</value></readLatency>" +
+            "<numberOfSamplesWaiting>" +
+                "<value>3</value>" +
+                "<min><lastUpdate>1600000000</lastUpdate><value>1</value></min>" +
+                "<max><lastUpdate>1700000000</lastUpdate><value>9</value></max>" +
+                "<avg><count>6</count><value>2.25</value></avg>" +
+            "</numberOfSamplesWaiting>" +
+            "<channels>" +
+                "<element>" +
+                    "<name>ch1</name>" +
+                    "<numberOfMessagesSent>9</numberOfMessagesSent>" +
+                    "<numberOfBytesSent>4096</numberOfBytesSent>" +
+                "</element>" +
+            "</channels>" +
+        "</object>";
+
+    public Statistics1() {
+        super("cm_statistics_tc1", "cm_statistics", "deserializeStatistics",
+                "binary statistics round-trip",
+                "check that binary statistics match the equivalent XML statistics",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Binary statistics match XML statistics.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        Entity entity = StatisticsComparer.createEntity("reader");
+        Statistics fromXml, fromBinary;
+        String diff;
+
+        try {
+            StatisticsWriter writer = new StatisticsWriter(1);
+
+            writer.begin(1500000000L);
+            writer.value("", "numberOfSamplesRead", 12);
+            writer.timed("", "numberOfReads", 7, 2000000001L);
+            writer.avg("", "readLatency", 4, 2.5f);
+            writer.full("", "numberOfSamplesWaiting", 3, 1, 1600000000L, 9,
+                    1700000000L, 6, 2.25f);
+            writer.value("channels.[ch1].", "numberOfMessagesSent", 9);
+            writer.value("channels.[ch1].", "numberOfBytesSent", 4096);
+            writer.end();
+
+            fromXml = new StatisticsDeserializerXML().deserializeStatistics(XML, entity);
+            fromBinary = new StatisticsDeserializerBinary().deserializeStatistics(
+                    writer.toByteArray(), entity);
+        } catch (Exception e) {
+            result.setResult("Statistics could not be deserialized: " + e);
+            return result;
+        }
+        if (fromXml.getCounters().length != 6) {
+            result.setResult("XML statistics hold " + fromXml.getCounters().length
+                    + " counters instead of 6.");
+            return result;
+        }
+        diff = StatisticsComparer.compare(fromXml, fromBinary);
+
+        if (diff != null) {
+            result.setResult("Binary statistics differ from XML statistics: " + diff);
+            return result;
+        }
+        if (fromBinary.getCounter("channels.[ch1].numberOfMessagesSent") == null) {
+            result.setResult("Channel counter could not be resolved by name.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.Time;
+import org.opensplice.cm.statistics.Statistics;
+import org.opensplice.cm.statistics.Value;
+import org.opensplice.cm.transform.TransformationException;
+import org.opensplice.cm.transform.binary.StatisticsDeserializerBinary;
+
+/**
+ * Checks the binary statistics of a list of entities, including entities
+ * without statistics and names that are not ASCII, and the rejection of
+ * invalid binary statistics.
+ *
+ * @date Oct 17, 2026
+ */
+public class Statistics2 extends test.framework.TestCase {
+
+    public Statistics2() {
+        super("cm_statistics_tc2", "cm_statistics", "deserializeStatistics",
+                "binary statistics of multiple entities",
+                "check entities without statistics and invalid binary statistics",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Binary statistics list deserialized correctly.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        StatisticsDeserializerBinary deserializer = new StatisticsDeserializerBinary();
+        Entity[] entities = new Entity[] {
+                StatisticsComparer.createEntity("reader1"),
+                StatisticsComparer.createEntity("participant"),
+                StatisticsComparer.createEntity("reader2") };
+        /* NUL and supplementary characters differ in modified UTF-8. */
+        String prefix = "channels.[k\u00e9\u20ac\u0000\ud83d\ude00].";
+        Statistics[] statistics;
+        byte[] serialized;
+
+        try {
+            StatisticsWriter writer = new StatisticsWriter(entities.length);
+
+            writer.begin(100);
+            writer.value("", "numberOfSamplesRead", 1);
+            writer.end();
+            writer.absent();
+            writer.begin(300);
+            writer.value("", "numberOfSamplesRead", 3);
+            writer.value(prefix, "numberOfBytesSent", 4096);
+            writer.end();
+            serialized = writer.toByteArray();
+            statistics = deserializer.deserializeStatistics(serialized, entities);
+        } catch (Exception e) {
+            result.setResult("Statistics could not be deserialized: " + e);
+            return result;
+        }
+        if (statistics.length != entities.length) {
+            result.setResult("Number of statistics " + statistics.length
+                    + " does not match number of entities.");
+            return result;
+        }
+        if ((statistics[1].getCounters().length != 0)
+                || !statistics[1].getLastReset().equals(new Time(0, 0))) {
+            result.setResult("Entity without statistics has counters.");
+            return result;
+        }
+        if (!statistics[2].getLastReset().equals(new Time(300))
+                || (((Value) statistics[2].getCounter("numberOfSamplesRead")).getValue() != 3)) {
+            result.setResult("Statistics after entity without statistics are not valid.");
+            return result;
+        }
+        if ((statistics[2].getCounter(prefix + "numberOfBytesSent") == null)
+                || (((Value) statistics[2].getCounter(prefix + "numberOfBytesSent")).getValue() != 4096)) {
+            result.setResult("Counter with a non-ASCII name could not be resolved.");
+            return result;
+        }
+        if (this.isAccepted(deserializer, serialized, new Entity[] { entities[0] })) {
+            result.setResult("Statistics for a different number of entities accepted.");
+            return result;
+        }
+        serialized[0] = (byte) (StatisticsDeserializerBinary.VERSION + 1);
+
+        if (this.isAccepted(deserializer, serialized, entities)) {
+            result.setResult("Statistics with unsupported version accepted.");
+            return result;
+        }
+        if (this.isAccepted(deserializer, "<object/>", entities)) {
+            result.setResult("XML statistics accepted by binary deserializer.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    private boolean isAccepted(StatisticsDeserializerBinary deserializer,
+            Object serialized, Entity[] entities) {
+        try {
+            deserializer.deserializeStatistics(serialized, entities);
+        } catch (TransformationException e) {
+            return false;
+        }
+        return true;
+    }
+}
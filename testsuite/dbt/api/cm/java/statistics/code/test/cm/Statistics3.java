@@ -0,0 +1,179 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.Time;
+import org.opensplice.cm.statistics.AvgValue;
+import org.opensplice.cm.statistics.Statistics;
+import org.opensplice.cm.statistics.StatisticsHolder;
+import org.opensplice.cm.statistics.StatisticsTestAccess;
+import org.opensplice.cm.statistics.StringValue;
+import org.opensplice.cm.statistics.Value;
+import org.opensplice.cm.transform.TransformationException;
+import org.opensplice.cm.transform.xml.StatisticsDeserializerXML;
+
+/**
+ * Checks that a StatisticsHolder reports the difference with the previous
+ * poll and detects changes, and that batched statistics that do not match
+ * the requested entities are rejected.
+ *
+ * @date Oct 17, 2026
+ */
+public class Statistics3 extends test.framework.TestCase {
+    private final Entity entity = StatisticsComparer.createEntity("writer");
+
+    public Statistics3() {
+        super("cm_statistics_tc3", "cm_statistics", "update",
+                "statistics holder updates",
+                "check that statistics holders report deltas and changes",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Statistics holders report deltas and changes.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        String error = this.checkNamedCounters();
+
+        if (error == null) {
+            error = this.checkDiscoveredCounters();
+        }
+        if (error == null) {
+            error = this.checkBatchLength();
+        }
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    private String checkNamedCounters() {
+        StatisticsHolder holder = StatisticsTestAccess.createHolder(entity,
+                new String[] { "numberOfWrites", "numberOfDisposes" });
+        int writes = holder.getCounterIndex("numberOfWrites");
+        int disposes = holder.getCounterIndex("numberOfDisposes");
+
+        if (writes != 0 || disposes != 1 || holder.getCounterIndex("unknown") != -1) {
+            return "Counter indices do not follow the supplied names.";
+        }
+        if (!StatisticsTestAccess.update(holder, this.statistics(1, 10, 5))) {
+            return "First update is not reported as a change.";
+        }
+        if (!holder.isValid() || holder.getValue(writes) != 10 || holder.getDelta(writes) != 0) {
+            return "First update: value " + holder.getValue(writes) + ", delta "
+                    + holder.getDelta(writes) + " instead of 10 and 0.";
+        }
+        if (!StatisticsTestAccess.update(holder, this.statistics(1, 15, 5))) {
+            return "Changed counter is not reported as a change.";
+        }
+        if (holder.getDelta(writes) != 5 || holder.getDelta(disposes) != 0) {
+            return "Deltas " + holder.getDelta(writes) + " and "
+                    + holder.getDelta(disposes) + " instead of 5 and 0.";
+        }
+        if (StatisticsTestAccess.update(holder, this.statistics(1, 15, 5))
+                || holder.isChanged() || holder.getDelta(writes) != 0) {
+            return "Unchanged statistics are reported as a change.";
+        }
+        if (!StatisticsTestAccess.update(holder, this.statistics(2, 15, 5))
+                || holder.getLastReset() != 2) {
+            return "Reset is not reported as a change.";
+        }
+        Statistics partial = this.statistics(2, 15, 5);
+
+        partial.removeCounter(partial.getCounter("numberOfDisposes"));
+
+        if (!StatisticsTestAccess.update(holder, partial)
+                || holder.isAvailable(disposes) || !holder.isAvailable(writes)) {
+            return "Missing counter is not reported as unavailable.";
+        }
+        if (!StatisticsTestAccess.update(holder, this.statistics(2, 20, 7))
+                || holder.getDelta(disposes) != 0 || holder.getDelta(writes) != 5) {
+            return "Counter that became available again has delta "
+                    + holder.getDelta(disposes) + " instead of 0.";
+        }
+        if (!StatisticsTestAccess.update(holder, null) || holder.isValid()) {
+            return "Statistics that are no longer available are not reported as a change.";
+        }
+        if (StatisticsTestAccess.update(holder, null)) {
+            return "Statistics that remain unavailable are reported as a change.";
+        }
+        if (!StatisticsTestAccess.update(holder, this.statistics(2, 30, 7))
+                || !holder.isValid() || holder.getDelta(writes) != 0
+                || holder.getValue(writes) != 30) {
+            return "Statistics that are available again report delta "
+                    + holder.getDelta(writes) + " instead of 0.";
+        }
+        return null;
+    }
+
+    private String checkDiscoveredCounters() {
+        StatisticsHolder holder = StatisticsTestAccess.createHolder(entity, null);
+        Statistics statistics = this.statistics(1, 3, 4);
+
+        if (holder.getCounterCount() != 0) {
+            return "Holder without names has " + holder.getCounterCount() + " counters.";
+        }
+        statistics.addCounter(new AvgValue("writeLatency", 4, 2.5f), "");
+        statistics.addString(new StringValue("name", "ch1"), "channels.[0]");
+        StatisticsTestAccess.update(holder, statistics);
+
+        if (holder.getCounterCount() != 3) {
+            return "Holder discovered " + holder.getCounterCount()
+                    + " numeric counters instead of 3.";
+        }
+        int latency = holder.getCounterIndex("writeLatency");
+
+        if (latency < 0 || holder.getValue(latency) != 2.5) {
+            return "Average counter is not held by its average.";
+        }
+        return null;
+    }
+
+    private String checkBatchLength() {
+        Entity[] entities = new Entity[] { entity, StatisticsComparer.createEntity("reader") };
+
+        try {
+            new StatisticsDeserializerXML().deserializeStatistics(
+                    "<statistics><object></object></statistics>", entities);
+        } catch (TransformationException e) {
+            return null;
+        } catch (ParserConfigurationException e) {
+            return "XML deserializer could not be created: " + e.getMessage();
+        }
+        return "Statistics of 1 entity were accepted for 2 entities.";
+    }
+
+    private Statistics statistics(long lastReset, long writes, long disposes) {
+        Statistics statistics = new Statistics(entity, new Time(lastReset));
+
+        statistics.addCounter(new Value("numberOfWrites", writes), "");
+        statistics.addCounter(new Value("numberOfDisposes", disposes), "");
+        return statistics;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.opensplice.cm.Entity;
+import org.opensplice.cm.statistics.AbstractValue;
+import org.opensplice.cm.statistics.AvgValue;
+import org.opensplice.cm.statistics.FullCounter;
+import org.opensplice.cm.statistics.Statistics;
+import org.opensplice.cm.statistics.StringValue;
+import org.opensplice.cm.statistics.TimedValue;
+import org.opensplice.cm.statistics.Value;
+
+/**
+ * Compares Statistics by value and provides Entity stand-ins, so that
+ * deserializers can be tested without a running domain.
+ *
+ * @date Oct 17, 2026
+ */
+public class StatisticsComparer {
+
+    public static Entity createEntity(final String name) {
+        return (Entity) Proxy.newProxyInstance(Entity.class.getClassLoader(),
+                new Class<?>[] { Entity.class }, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method,
+                            Object[] args) {
+                        if ("getName".equals(method.getName())
+                                || "toString".equals(method.getName())) {
+                            return name;
+                        }
+                        if ("equals".equals(method.getName())) {
+                            return Boolean.valueOf(proxy == args[0]);
+                        }
+                        if ("hashCode".equals(method.getName())) {
+                            return Integer.valueOf(name.hashCode());
+                        }
+                        return null;
+                    }
+                });
+    }
+
+    /**
+     * Compares two Statistics objects.
+     *
+     * @return null if the Statistics are equal, a description of the first
+     *         difference otherwise.
+     */
+    public static String compare(Statistics expected, Statistics actual) {
+        if (!expected.getLastReset().equals(actual.getLastReset())) {
+            return "lastReset differs: " + expected.getLastReset() + " != "
+                    + actual.getLastReset();
+        }
+        AbstractValue[] exp = expected.getCounters();
+        AbstractValue[] act = actual.getCounters();
+
+        if (exp.length != act.length) {
+            return "number of counters differs: " + exp.length + " != "
+                    + act.length;
+        }
+        for (int i = 0; i < exp.length; i++) {
+            String diff = compare(exp[i], act[i]);
+
+            if (diff != null) {
+                return diff;
+            }
+        }
+        return null;
+    }
+
+    private static String compare(AbstractValue expected, AbstractValue actual) {
+        String name = expected.getName();
+
+        if (!name.equals(actual.getName())) {
+            return "counter name differs: " + name + " != " + actual.getName();
+        }
+        if (expected.getClass() != actual.getClass()) {
+            return "counter " + name + " differs in kind: "
+                    + expected.getClass().getSimpleName() + " != "
+                    + actual.getClass().getSimpleName();
+        }
+        if (expected instanceof StringValue) {
+            if (!((StringValue) expected).getValue().equals(((StringValue) actual).getValue())) {
+                return "counter " + name + " differs in value";
+            }
+        } else if (expected instanceof AvgValue) {
+            AvgValue e = (AvgValue) expected;
+            AvgValue a = (AvgValue) actual;
+
+            if ((e.getCount() != a.getCount()) || (e.getValue() != a.getValue())) {
+                return "counter " + name + " differs in average";
+            }
+        } else if (expected instanceof Value) {
+            if (((Value) expected).getValue() != ((Value) actual).getValue()) {
+                return "counter " + name + " differs in value";
+            }
+            if (expected instanceof TimedValue) {
+                if (!((TimedValue) expected).getLastUpdate().equals(
+                        ((TimedValue) actual).getLastUpdate())) {
+                    return "counter " + name + " differs in lastUpdate";
+                }
+            }
+            if (expected instanceof FullCounter) {
+                FullCounter e = (FullCounter) expected;
+                FullCounter a = (FullCounter) actual;
+                String diff = compare(e.getMin(), a.getMin());
+
+                if (diff == null) {
+                    diff = compare(e.getMax(), a.getMax());
+                }
+                if (diff == null) {
+                    diff = compare(e.getAvg(), a.getAvg());
+                }
+                if (diff != null) {
+                    return "counter " + name + ": " + diff;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import org.opensplice.cm.transform.binary.StatisticsDeserializerBinary;
+
+/**
+ * Writes statistics in the binary representation that is read by
+ * StatisticsDeserializerBinary. This mirrors the encoder of the CM XML layer
+ * (cmx_binary* in cmx_entity.c) but does not exercise it; that encoder only
+ * runs inside a domain, so the tests check the format, not the C code.
+ *
+ * @date Oct 17, 2026
+ */
+public class StatisticsWriter {
+    private final ByteArrayOutputStream bytes;
+    private final DataOutputStream out;
+    private ByteArrayOutputStream counterBytes;
+    private DataOutputStream counters;
+    private int counterCount;
+
+    public StatisticsWriter(int entities) throws IOException {
+        this.bytes = new ByteArrayOutputStream();
+        this.out = new DataOutputStream(this.bytes);
+        this.out.writeByte(StatisticsDeserializerBinary.VERSION);
+        this.out.writeInt(entities);
+    }
+
+    public void absent() throws IOException {
+        this.out.writeByte(0);
+    }
+
+    public void begin(long lastReset) throws IOException {
+        this.out.writeByte(1);
+        this.out.writeLong(lastReset);
+        this.counterBytes = new ByteArrayOutputStream();
+        this.counters = new DataOutputStream(this.counterBytes);
+        this.counterCount = 0;
+    }
+
+    public void value(String prefix, String name, long value) throws IOException {
+        this.counter(prefix, name, StatisticsDeserializerBinary.VALUE);
+        this.counters.writeLong(value);
+    }
+
+    public void avg(String prefix, String name, long count, float value) throws IOException {
+        this.counter(prefix, name, StatisticsDeserializerBinary.AVG);
+        this.counters.writeLong(count);
+        this.counters.writeFloat(value);
+    }
+
+    public void timed(String prefix, String name, long value, long lastUpdate) throws IOException {
+        this.counter(prefix, name, StatisticsDeserializerBinary.TIMED);
+        this.counters.writeLong(value);
+        this.counters.writeLong(lastUpdate);
+    }
+
+    public void full(String prefix, String name, long value, long min,
+            long minUpdate, long max, long maxUpdate, long avgCount,
+            float avg) throws IOException {
+        this.counter(prefix, name, StatisticsDeserializerBinary.FULL);
+        this.counters.writeLong(value);
+        this.counters.writeLong(min);
+        this.counters.writeLong(minUpdate);
+        this.counters.writeLong(max);
+        this.counters.writeLong(maxUpdate);
+        this.counters.writeLong(avgCount);
+        this.counters.writeFloat(avg);
+    }
+
+    public void end() throws IOException {
+        this.counters.flush();
+        this.out.writeInt(this.counterCount);
+        this.out.write(this.counterBytes.toByteArray());
+        this.counters = null;
+    }
+
+    public byte[] toByteArray() throws IOException {
+        this.out.flush();
+        return this.bytes.toByteArray();
+    }
+
+    /* Standard UTF-8 with an unsigned short length, not writeUTF(). */
+    private void writeString(String s) throws IOException {
+        byte[] bytes = s.getBytes("UTF-8");
+
+        this.counters.writeShort(bytes.length);
+        this.counters.write(bytes);
+    }
+
+    private void counter(String prefix, String name, byte kind) throws IOException {
+        this.writeString(prefix);
+        this.writeString(name);
+        this.counters.writeByte(kind);
+        this.counterCount++;
+    }
+}
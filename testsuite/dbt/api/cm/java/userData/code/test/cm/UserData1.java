@@ -0,0 +1,140 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.util.Iterator;
+
+import org.opensplice.cm.data.UserData;
+
+/**
+ * Checks that every value assigned to a UserData is returned exactly as it
+ * has been assigned, whether it is stored as a number, a symbol or text.
+ *
+ * @date Oct 17, 2026
+ */
+public class UserData1 extends test.framework.TestCase {
+    private static final String[][] FIELDS = new String[][] {
+        { "id", "42" },
+        { "temperature", "21.5" },
+        { "name", "sensor 0012" },
+        { "color", "GREEN" },
+        { "flag", "TRUE" },
+        { "values[0]", "-7" },
+        { "values[1]", "007" },
+        { "values[2]", "+5" },
+        { "values[3]", "123456789012345678901234567890" },
+        { "values[4]", "-0" },
+    };
+
+    public UserData1() {
+        super("cm_userData_tc1", "cm_userData", "setData",
+                "values of one UserData",
+                "check that numbers, symbols and text are returned exactly as assigned",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "All values returned as assigned.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        String[] doubles = new String[] { "0.10", "1e10", "1.0", "-2.5", "1.2.3" };
+        UserData data;
+
+        try {
+            data = new UserData(UserDataType.create());
+        } catch (Exception e) {
+            result.setResult("Type could not be created: " + e);
+            return result;
+        }
+        for (int i = 0; i < FIELDS.length; i++) {
+            data.setData(FIELDS[i][0], FIELDS[i][1]);
+        }
+        String error = check(data, FIELDS);
+
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        for (int i = 0; i < doubles.length; i++) {
+            data.setData("temperature", doubles[i]);
+
+            if (!doubles[i].equals(data.getData("temperature"))) {
+                result.setResult("Double '" + doubles[i] + "' returned as '"
+                        + data.getData("temperature") + "'.");
+                return result;
+            }
+        }
+        data.setData("temperature", FIELDS[1][1]);
+        data.setData("name", null);
+
+        if (data.getData("name") != null) {
+            result.setResult("Field assigned null returned '" + data.getData("name") + "'.");
+            return result;
+        }
+        data.setData("name", FIELDS[2][1]);
+        data.setData("flag", "FALSE");
+        data.setData("flag", FIELDS[4][1]);
+        error = check(data, FIELDS);
+
+        if (error != null) {
+            result.setResult("After reassignment: " + error);
+            return result;
+        }
+        if ((data.getData("unknown") != null) || (data.getData("values[5]") != null)) {
+            result.setResult("Field that has not been assigned has a value.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    /**
+     * Checks the values, the number of fields and the order in which the
+     * fields are returned.
+     *
+     * @return null if the data matches the fields or a description of the
+     *         difference.
+     */
+    static String check(UserData data, String[][] fields) {
+        if (data.getFieldCount() != fields.length) {
+            return "Number of fields " + data.getFieldCount() + " instead of "
+                    + fields.length + ".";
+        }
+        Iterator<String> names = data.getFieldNames().iterator();
+
+        for (int i = 0; i < fields.length; i++) {
+            String name = names.next();
+
+            if (!fields[i][0].equals(name)) {
+                return "Field " + i + " is '" + name + "' instead of '"
+                        + fields[i][0] + "'.";
+            }
+            if (!fields[i][1].equals(data.getData(name))) {
+                return "Field '" + name + "' is '" + data.getData(name)
+                        + "' instead of '" + fields[i][1] + "'.";
+            }
+        }
+        return null;
+    }
+}
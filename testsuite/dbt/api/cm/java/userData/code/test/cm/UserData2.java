@@ -0,0 +1,144 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.opensplice.cm.data.UserData;
+
+/**
+ * Checks that UserData of the same type share the field names while their
+ * values, number of fields and field order remain independent, and that
+ * the map representation matches the compact one.
+ *
+ * @date Oct 17, 2026
+ */
+public class UserData2 extends test.framework.TestCase {
+
+    public UserData2() {
+        super("cm_userData_tc2", "cm_userData", "getUserData",
+                "multiple UserData of one type",
+                "check independent values, sequence sizes and the map representation",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "UserData of one type are independent.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        String[][] first = new String[][] {
+                { "id", "1" }, { "color", "RED" }, { "values[0]", "10" },
+                { "values[1]", "11" }, { "values[2]", "12" } };
+        String[][] second = new String[][] {
+                { "values[0]", "20" }, { "color", "BLUE" }, { "id", "2" } };
+        String[][] third = new String[300][];
+        UserData data1, data2, data3;
+
+        try {
+            data1 = new UserData(UserDataType.create());
+            data2 = new UserData(UserDataType.create());
+            data3 = new UserData(UserDataType.create());
+        } catch (Exception e) {
+            result.setResult("Type could not be created: " + e);
+            return result;
+        }
+        for (int i = 0; i < first.length; i++) {
+            data1.setData(first[i][0], first[i][1]);
+        }
+        for (int i = 0; i < second.length; i++) {
+            data2.setData(second[i][0], second[i][1]);
+        }
+        /* More distinct values of an enumeration field than fit in the
+         * symbol table of its slot.
+         */
+        for (int i = 0; i < third.length; i++) {
+            third[i] = new String[] { "values[" + i + "]", Integer.toString(i) };
+            data3.setData(third[i][0], third[i][1]);
+        }
+        for (int i = 0; i < 300; i++) {
+            data3.setData("color", "LABEL" + i);
+
+            if (!("LABEL" + i).equals(data3.getData("color"))) {
+                result.setResult("Symbol " + i + " returned as '"
+                        + data3.getData("color") + "'.");
+                return result;
+            }
+        }
+        String error = UserData1.check(data1, first);
+
+        if (error == null) {
+            error = UserData1.check(data2, second);
+        }
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        if (data3.getFieldCount() != third.length + 1) {
+            result.setResult("Number of fields of large UserData is "
+                    + data3.getFieldCount() + ".");
+            return result;
+        }
+        if ((data1.getCollectionRealSize("values") != 3)
+                || (data2.getCollectionRealSize("values") != 1)
+                || (data3.getCollectionRealSize("values") != third.length)) {
+            result.setResult("Sequence sizes are " + data1.getCollectionRealSize("values")
+                    + ", " + data2.getCollectionRealSize("values") + " and "
+                    + data3.getCollectionRealSize("values") + ".");
+            return result;
+        }
+        LinkedHashMap<String, String> map = data1.getUserData();
+
+        if (map.size() != first.length) {
+            result.setResult("Map has " + map.size() + " fields instead of "
+                    + first.length + ".");
+            return result;
+        }
+        Iterator<Map.Entry<String, String>> entries = map.entrySet().iterator();
+
+        for (int i = 0; i < first.length; i++) {
+            Map.Entry<String, String> entry = entries.next();
+
+            if (!first[i][0].equals(entry.getKey()) || !first[i][1].equals(entry.getValue())) {
+                result.setResult("Map entry " + i + " is " + entry + ".");
+                return result;
+            }
+        }
+        map.put("id", "100");
+        data1.setData("color", "BLUE");
+
+        if (!"100".equals(data1.getData("id")) || !"BLUE".equals(map.get("color"))) {
+            result.setResult("Map is not the live representation of the UserData.");
+            return result;
+        }
+        if (!"2".equals(data2.getData("id")) || !"BLUE".equals(data2.getData("color"))
+                || (data2.getData("values[1]") != null)) {
+            result.setResult("Changes to one UserData are visible in another.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
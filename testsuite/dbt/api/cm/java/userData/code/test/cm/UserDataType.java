@@ -0,0 +1,68 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.cm;
+
+import org.opensplice.cm.meta.MetaType;
+import org.opensplice.cm.transform.xml.MetaTypeDeserializerXML;
+
+/**
+ * Provides the type that is used by the UserData tests.
+ *
+ * @verbatim IDL: enum Color { RED, GREEN, BLUE };
+ *           struct Sample { long id; double temperature; string name;
+ *                           Color color; boolean flag;
+ *                           sequence<long> values; };
+ * @endverbatim
+ *
+ * @date Oct 17, 2026
+ */
+public class UserDataType {
+    private static final String PRIMITIVE =
+        "<type><name>%s</name><kind>M_PRIMITIVE</kind></type>";
+
+    private static final String XML =
+        "<MetaData version=\"1.0.0\"><name>Sample</name><kind>M_STRUCTURE</kind><members>"
+        + member("id", String.format(PRIMITIVE, "c_long"))
+        + member("temperature", String.format(PRIMITIVE, "c_double"))
+        + member("name", "<type><name>c_string</name><kind>M_COLLECTION</kind>"
+                + "<maxSize>0</maxSize><subType><name>c_char</name>"
+                + "<kind>M_PRIMITIVE</kind></subType></type>")
+        + member("color", "<type><name>Color</name><kind>M_ENUMERATION</kind>"
+                + "<elements><size>3</size><element>RED</element>"
+                + "<element>GREEN</element><element>BLUE</element></elements></type>")
+        + member("flag", String.format(PRIMITIVE, "c_bool"))
+        + member("values", "<type><name>C_SEQUENCE&lt;c_long&gt;</name>"
+                + "<kind>M_COLLECTION</kind><maxSize>0</maxSize><subType>"
+                + "<name>c_long</name><kind>M_PRIMITIVE</kind></subType></type>")
+        + "</members></MetaData>";
+
+    private static String member(String name, String type) {
+        return "<element><name>" + name + "</name>" + type + "</element>";
+    }
+
+    /**
+     * Deserializes a new instance of the type. Every instance is equal to
+     * the others, so all of them share the same UserData layout.
+     */
+    public static MetaType create() throws Exception {
+        return new MetaTypeDeserializerXML().deserializeMetaType(XML);
+    }
+}
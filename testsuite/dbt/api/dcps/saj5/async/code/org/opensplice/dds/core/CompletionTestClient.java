@@ -0,0 +1,43 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.core;
+
+/**
+ * Gives the asynchronous wait tests access to the operations of
+ * CompletionFuture that are only visible inside this package.
+ *
+ * @date Oct 17, 2026
+ */
+public class CompletionTestClient {
+    public static <T> CompletionFuture<T> create(
+            OsplServiceEnvironment environment, Runnable canceller) {
+        return new CompletionFuture<T>(environment, canceller);
+    }
+
+    public static <T> boolean complete(CompletionFuture<T> future, T value) {
+        return future.complete(value);
+    }
+
+    public static boolean completeExceptionally(CompletionFuture<?> future,
+            Throwable cause) {
+        return future.completeExceptionally(cause);
+    }
+}
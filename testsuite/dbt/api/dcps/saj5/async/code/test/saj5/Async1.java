@@ -0,0 +1,185 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.opensplice.dds.core.CompletionFuture;
+import org.opensplice.dds.core.CompletionTestClient;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+
+/**
+ * Checks that a CompletionFuture completes only once, invokes its callbacks
+ * exactly once and reports a failure or cancellation through get().
+ *
+ * @date Oct 17, 2026
+ */
+public class Async1 extends test.framework.TestCase {
+
+    public Async1() {
+        super("saj5_async_tc1", "saj5_async", "CompletionFuture",
+                "complete, fail and cancel a CompletionFuture",
+                "check the results and callbacks of a CompletionFuture",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "CompletionFuture completes once.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        OsplServiceEnvironment env = new OsplServiceEnvironment();
+        final AtomicInteger cancels = new AtomicInteger(0);
+        Runnable canceller = new Runnable() {
+            @Override
+            public void run() {
+                cancels.incrementAndGet();
+            }
+        };
+        final CompletionFuture<String> future = CompletionTestClient.create(env,
+                canceller);
+        CompletionRecorder<String> early = new CompletionRecorder<String>();
+        CompletionRecorder<String> late = new CompletionRecorder<String>();
+        RuntimeException cause = new RuntimeException("failed");
+
+        try {
+            future.whenComplete(null);
+            result.setResult("Callback null has been accepted.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected. */
+        }
+        future.whenComplete(new CompletionFuture.Callback<String>() {
+            @Override
+            public void onCompletion(String value, Throwable failure) {
+                throw new RuntimeException("failing callback");
+            }
+        });
+        future.whenComplete(early);
+
+        try {
+            future.get(100, TimeUnit.MILLISECONDS);
+            result.setResult("Pending future returned a result.");
+            return result;
+        } catch (TimeoutException e) {
+            /* Expected. */
+        } catch (Exception e) {
+            result.setResult("Pending future failed: " + e);
+            return result;
+        }
+        if (future.isDone() || early.getInvocations() != 0) {
+            result.setResult("Pending future is done.");
+            return result;
+        }
+        /* A blocked get() returns once another thread completes it. */
+        new Thread(new Runnable() {
+            @Override
+            public void run() {
+                CompletionRecorder.pause(200);
+                CompletionTestClient.complete(future, "done");
+            }
+        }).start();
+
+        try {
+            if (!"done".equals(future.get())) {
+                result.setResult("Future did not return its result.");
+                return result;
+            }
+        } catch (Exception e) {
+            result.setResult("Completed future failed: " + e);
+            return result;
+        }
+        future.whenComplete(late);
+
+        if (early.getInvocations() != 1 || !"done".equals(early.getResult())
+                || early.getFailure() != null) {
+            result.setResult("Callback has not been invoked once after a failing callback.");
+            return result;
+        }
+        if (late.getInvocations() != 1 || !"done".equals(late.getResult())) {
+            result.setResult("Callback registered after completion has not been invoked.");
+            return result;
+        }
+        if (CompletionTestClient.complete(future, "again")
+                || CompletionTestClient.completeExceptionally(future, cause)
+                || future.cancel(true) || future.isCancelled()
+                || cancels.get() != 0 || early.getInvocations() != 1) {
+            result.setResult("Completed future completed again.");
+            return result;
+        }
+        CompletionFuture<String> failed = CompletionTestClient.create(env,
+                canceller);
+        CompletionRecorder<String> failure = new CompletionRecorder<String>();
+
+        failed.whenComplete(failure);
+        CompletionTestClient.completeExceptionally(failed, cause);
+
+        try {
+            failed.get();
+            result.setResult("Failed future returned a result.");
+            return result;
+        } catch (ExecutionException e) {
+            if (e.getCause() != cause || failure.getFailure() != cause
+                    || failure.getResult() != null) {
+                result.setResult("Failure has not been reported: " + e.getCause());
+                return result;
+            }
+        } catch (Exception e) {
+            result.setResult("Failed future threw " + e + ".");
+            return result;
+        }
+        CompletionFuture<String> cancelled = CompletionTestClient.create(env,
+                canceller);
+        CompletionRecorder<String> cancellation = new CompletionRecorder<String>();
+
+        cancelled.whenComplete(cancellation);
+
+        if (!cancelled.cancel(false) || !cancelled.isCancelled()
+                || !cancelled.isDone() || cancels.get() != 1
+                || !(cancellation.getFailure() instanceof CancellationException)) {
+            result.setResult("Future has not been cancelled.");
+            return result;
+        }
+        if (cancelled.cancel(true) || cancels.get() != 1
+                || CompletionTestClient.complete(cancelled, "late")) {
+            result.setResult("Cancelled future completed again.");
+            return result;
+        }
+        try {
+            cancelled.get(0, TimeUnit.MILLISECONDS);
+            result.setResult("Cancelled future returned a result.");
+            return result;
+        } catch (CancellationException e) {
+            /* Expected. */
+        } catch (Exception e) {
+            result.setResult("Cancelled future threw " + e + ".");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.omg.dds.core.DDSException;
+import org.omg.dds.core.Duration;
+import org.opensplice.dds.core.AsyncWaiter;
+import org.opensplice.dds.core.CompletionFuture;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+
+/**
+ * Checks that the AsyncWaiter retries a polled operation until it completes,
+ * fails or times out, and stops retrying it once its future is cancelled.
+ *
+ * @date Oct 17, 2026
+ */
+public class Async2 extends test.framework.TestCase {
+
+    public Async2() {
+        super("saj5_async_tc2", "saj5_async", "poll",
+                "poll operations asynchronously",
+                "check completion, failure, timeout and cancellation of polled operations",
+                null);
+    }
+
+    /**
+     * Operation that times out a number of times before it returns a code.
+     */
+    private static class Attempts implements AsyncWaiter.Operation {
+        private final AtomicInteger attempts = new AtomicInteger(0);
+        private final int timeouts;
+        private final int code;
+
+        public Attempts(int timeouts, int code) {
+            this.timeouts = timeouts;
+            this.code = code;
+        }
+
+        @Override
+        public int attempt(DDS.Duration_t zero) {
+            if (zero.sec != 0 || zero.nanosec != 0) {
+                throw new IllegalStateException("Attempt with a non-zero timeout.");
+            }
+            if (this.attempts.incrementAndGet() <= this.timeouts) {
+                return DDS.RETCODE_TIMEOUT.value;
+            }
+            return this.code;
+        }
+
+        public int get() {
+            return this.attempts.get();
+        }
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Polled operations complete as expected.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        OsplServiceEnvironment env = new OsplServiceEnvironment();
+        AsyncWaiter waiter;
+        Duration infinite = env.getSPI().infiniteDuration();
+        Attempts succeeding = new Attempts(3, DDS.RETCODE_OK.value);
+        Attempts failing = new Attempts(0, DDS.RETCODE_ERROR.value);
+        Attempts pending = new Attempts(Integer.MAX_VALUE, DDS.RETCODE_OK.value);
+        CompletionRecorder<Void> recorder = new CompletionRecorder<Void>();
+        CompletionFuture<Void> future;
+        Throwable failure;
+        long start;
+        int attempts;
+
+        try {
+            waiter = AsyncWaiter.getInstance();
+        } catch (Throwable e) {
+            result.setResult("AsyncWaiter could not be created: " + e);
+            return result;
+        }
+        future = waiter.poll(env, succeeding, infinite, "succeeding");
+        future.whenComplete(recorder);
+
+        try {
+            future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            result.setResult("Succeeding operation failed: " + e);
+            return result;
+        }
+        if (succeeding.get() != 4 || !recorder.await(1000)
+                || recorder.getFailure() != null) {
+            result.setResult("Succeeding operation has been attempted "
+                    + succeeding.get() + " times.");
+            return result;
+        }
+        failure = CompletionRecorder.failure(waiter.poll(env, failing,
+                infinite, "failing"), 10000);
+
+        if (!(failure instanceof DDSException) || failing.get() != 1) {
+            result.setResult("Failing operation has not been reported: " + failure);
+            return result;
+        }
+        failure = CompletionRecorder.failure(waiter.poll(env,
+                new AsyncWaiter.Operation() {
+                    @Override
+                    public int attempt(DDS.Duration_t zero) {
+                        throw new IllegalStateException("thrown");
+                    }
+                }, infinite, "throwing"), 10000);
+
+        if (!(failure instanceof IllegalStateException)) {
+            result.setResult("Exception of the operation has not been reported: " + failure);
+            return result;
+        }
+        start = System.nanoTime();
+        failure = CompletionRecorder.failure(waiter.poll(env, pending,
+                env.getSPI().newDuration(200, TimeUnit.MILLISECONDS),
+                "timing out"), 10000);
+
+        if (!(failure instanceof TimeoutException)
+                || System.nanoTime() - start < TimeUnit.MILLISECONDS.toNanos(200)) {
+            result.setResult("Operation did not time out after 200ms: " + failure);
+            return result;
+        }
+        pending = new Attempts(Integer.MAX_VALUE, DDS.RETCODE_OK.value);
+        future = waiter.poll(env, pending, infinite, "cancelled");
+        CompletionRecorder.pause(300);
+
+        if (future.isDone() || pending.get() == 0) {
+            result.setResult("Pending operation has not been retried.");
+            return result;
+        }
+        if (!future.cancel(true)
+                || !(CompletionRecorder.failure(future, 0) instanceof CancellationException)) {
+            result.setResult("Pending operation could not be cancelled.");
+            return result;
+        }
+        /* At most an attempt that was in progress completes. */
+        CompletionRecorder.pause(300);
+        attempts = pending.get();
+        CompletionRecorder.pause(500);
+
+        if (pending.get() != attempts) {
+            result.setResult("Cancelled operation is still retried.");
+            return result;
+        }
+        try {
+            waiter.poll(env, succeeding, null, "null");
+            result.setResult("Timeout null has been accepted.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected. */
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.core.Duration;
+import org.omg.dds.core.GuardCondition;
+import org.opensplice.dds.core.AsyncWaiter;
+import org.opensplice.dds.core.CompletionFuture;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+
+/**
+ * Checks that asynchronous waits for conditions that share the WaitSet of
+ * the AsyncWaiter complete with the triggered conditions, time out and can
+ * be cancelled without affecting other waits for the same condition.
+ *
+ * @date Oct 17, 2026
+ */
+public class Async3 extends test.framework.TestCase {
+
+    public Async3() {
+        super("saj5_async_tc3", "saj5_async", "waitForConditions",
+                "wait for conditions asynchronously",
+                "check completion, timeout and cancellation of waits for conditions",
+                null);
+    }
+
+    private static HashMap<DDS.Condition, org.omg.dds.core.Condition> map(
+            GuardCondition... guards) {
+        HashMap<DDS.Condition, org.omg.dds.core.Condition> result =
+            new HashMap<DDS.Condition, org.omg.dds.core.Condition>();
+
+        for (GuardCondition guard : guards) {
+            result.put(((org.opensplice.dds.core.Condition<?>) guard)
+                    .getOldCondition(), guard);
+        }
+        return result;
+    }
+
+    private static Collection<org.omg.dds.core.Condition> triggered(
+            CompletionFuture<Collection<org.omg.dds.core.Condition>> future) {
+        try {
+            return future.get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Waits for conditions complete as expected.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        OsplServiceEnvironment env = new OsplServiceEnvironment();
+        Duration infinite = env.getSPI().infiniteDuration();
+        AsyncWaiter waiter;
+        GuardCondition first;
+        GuardCondition second;
+        CompletionFuture<Collection<org.omg.dds.core.Condition>> both;
+        CompletionFuture<Collection<org.omg.dds.core.Condition>> timed;
+        CompletionFuture<Collection<org.omg.dds.core.Condition>> cancelled;
+        CompletionFuture<Collection<org.omg.dds.core.Condition>> remaining;
+        Collection<org.omg.dds.core.Condition> conditions;
+
+        try {
+            waiter = AsyncWaiter.getInstance();
+            first = env.getSPI().newGuardCondition();
+            second = env.getSPI().newGuardCondition();
+        } catch (Throwable e) {
+            result.setResult("Conditions could not be created: " + e);
+            return result;
+        }
+        both = waiter.waitForConditions(env, map(first, second), infinite);
+        CompletionRecorder.pause(200);
+
+        if (both.isDone()) {
+            result.setResult("Wait completed without a triggered condition.");
+            return result;
+        }
+        second.setTriggerValue(true);
+        conditions = triggered(both);
+
+        if (conditions == null || conditions.size() != 1
+                || !conditions.contains(second)) {
+            result.setResult("Wait completed with " + conditions
+                    + " instead of the triggered condition.");
+            return result;
+        }
+        second.setTriggerValue(false);
+        timed = waiter.waitForConditions(env, map(first),
+                env.getSPI().newDuration(200, TimeUnit.MILLISECONDS));
+        cancelled = waiter.waitForConditions(env, map(first), infinite);
+        remaining = waiter.waitForConditions(env, map(first, second), infinite);
+
+        if (!(CompletionRecorder.failure(timed, 10000) instanceof TimeoutException)) {
+            result.setResult("Wait did not time out after 200ms.");
+            return result;
+        }
+        if (!cancelled.cancel(true)
+                || !(CompletionRecorder.failure(cancelled, 0) instanceof CancellationException)) {
+            result.setResult("Wait could not be cancelled.");
+            return result;
+        }
+        /* The condition stays attached for the remaining wait. */
+        CompletionRecorder.pause(200);
+        first.setTriggerValue(true);
+        conditions = triggered(remaining);
+
+        if (conditions == null || conditions.size() != 1
+                || !conditions.contains(first)) {
+            result.setResult("Remaining wait completed with " + conditions + ".");
+            return result;
+        }
+        /* A condition that has already been triggered completes at once. */
+        conditions = triggered(waiter.waitForConditions(env, map(first),
+                infinite));
+
+        if (conditions == null || !conditions.contains(first)) {
+            result.setResult("Wait for a triggered condition completed with "
+                    + conditions + ".");
+            return result;
+        }
+        first.setTriggerValue(false);
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
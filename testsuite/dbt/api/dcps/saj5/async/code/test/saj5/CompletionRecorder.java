@@ -0,0 +1,110 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.opensplice.dds.core.CompletionFuture;
+
+/**
+ * Callback that records how a CompletionFuture completed.
+ *
+ * @date Oct 17, 2026
+ */
+public class CompletionRecorder<T> implements CompletionFuture.Callback<T> {
+    private int invocations = 0;
+    private T result = null;
+    private Throwable failure = null;
+
+    @Override
+    public synchronized void onCompletion(T result, Throwable failure) {
+        this.invocations++;
+        this.result = result;
+        this.failure = failure;
+        this.notifyAll();
+    }
+
+    public synchronized int getInvocations() {
+        return this.invocations;
+    }
+
+    public synchronized T getResult() {
+        return this.result;
+    }
+
+    public synchronized Throwable getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Waits until the callback has been invoked.
+     *
+     * @return true if the callback has been invoked before the timeout.
+     */
+    public synchronized boolean await(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        long remaining = timeoutMillis;
+
+        while (this.invocations == 0 && remaining > 0) {
+            try {
+                this.wait(remaining);
+            } catch (InterruptedException e) {
+                return false;
+            }
+            remaining = deadline - System.currentTimeMillis();
+        }
+        return this.invocations > 0;
+    }
+
+    /**
+     * Waits for the future and describes the way it failed.
+     *
+     * @return the cause of the failure, the CancellationException if the
+     *         future has been cancelled, or null if it succeeded or did not
+     *         complete within the timeout.
+     */
+    public static Throwable failure(CompletionFuture<?> future,
+            long timeoutMillis) {
+        try {
+            future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (CancellationException e) {
+            return e;
+        } catch (TimeoutException e) {
+            return null;
+        } catch (InterruptedException e) {
+            return null;
+        }
+        return null;
+    }
+
+    public static void pause(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            /* Check what happened so far. */
+        }
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.sub;
+
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.CdrSampleSeq;
+
+/**
+ * Gives the CDR tests access to the pooled CdrSamples, which are only
+ * visible inside this package. The samples are not associated with a
+ * DataReader, so their loan can only be ended by means of free().
+ *
+ * @date Oct 17, 2026
+ */
+public class CdrTestClient {
+
+    public static CdrSamples create(OsplServiceEnvironment environment) {
+        return new CdrSamplesImpl(environment, null);
+    }
+
+    public static CdrSampleSeq getSeq(CdrSamples samples) {
+        return ((CdrSamplesImpl) samples).getSeq();
+    }
+
+    /**
+     * Loans the contents of the sequence in the same way the DataReader
+     * does after the native layer filled it.
+     */
+    public static void loan(CdrSamples samples) {
+        ((CdrSamplesImpl) samples).reset();
+    }
+
+    public static void free(CdrSamples samples) {
+        ((CdrSamplesImpl) samples).free();
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.nio.ByteBuffer;
+
+import org.omg.dds.sub.Sample;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.CdrSampleSeq;
+import org.opensplice.dds.sub.CdrSamples;
+import org.opensplice.dds.sub.CdrTestClient;
+
+/**
+ * Checks that consecutive loans of pooled CdrSamples deliver exactly the
+ * serialized samples, while the views and Sample objects are reused for
+ * buffers that have not been replaced.
+ *
+ * @date Oct 17, 2026
+ */
+public class Cdr1 extends test.framework.TestCase {
+
+    public Cdr1() {
+        super("saj5_cdr_tc1", "saj5_cdr", "readCdr",
+                "consecutive loans of CdrSamples",
+                "check the contents and the reuse of views on pooled CDR buffers",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "CdrSamples deliver the serialized samples.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        CdrSamples samples = CdrTestClient.create(new OsplServiceEnvironment());
+        CdrSampleSeq seq = CdrTestClient.getSeq(samples);
+        int[] first = new int[] { 1, 22, 333 };
+        int[] second = new int[] { 4444, 5, 66 };
+        String error;
+
+        CdrFiller.fill(seq, first, false);
+        CdrTestClient.loan(samples);
+        error = CdrFiller.check(samples, first);
+
+        if (error != null) {
+            result.setResult("First loan: " + error);
+            return result;
+        }
+        Sample<ByteBuffer> sample0 = samples.get(0);
+        ByteBuffer view0 = sample0.getData();
+        ByteBuffer view1 = samples.get(1).getData();
+
+        /* The application may consume the views. */
+        view0.position(view0.limit());
+        view1.position(2);
+
+        CdrFiller.fill(seq, second, false);
+        seq.value[1] = ByteBuffer.allocateDirect(64);
+        seq.value[1].put(CdrFiller.serialize(second[1]));
+        CdrTestClient.loan(samples);
+        error = CdrFiller.check(samples, second);
+
+        if (error != null) {
+            result.setResult("Second loan: " + error);
+            return result;
+        }
+        if ((samples.get(0) != sample0) || (samples.get(0).getData() != view0)) {
+            result.setResult("Sample or view of a buffer that was kept has been recreated.");
+            return result;
+        }
+        if (samples.get(1).getData() == view1) {
+            result.setResult("View of a replaced buffer has been kept.");
+            return result;
+        }
+        CdrFiller.fill(seq, new int[] { 7 }, false);
+        CdrTestClient.loan(samples);
+        error = CdrFiller.check(samples, new int[] { 7 });
+
+        if (error != null) {
+            result.setResult("Smaller loan: " + error);
+            return result;
+        }
+        CdrTestClient.free(samples);
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+
+import org.omg.dds.core.PreconditionNotMetException;
+import org.omg.dds.sub.Sample;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.CdrSampleSeq;
+import org.opensplice.dds.sub.CdrSamples;
+import org.opensplice.dds.sub.CdrTestClient;
+
+/**
+ * Checks that CdrSamples grow with the number of samples, reject invalid
+ * indices and cannot be accessed once their buffers have been freed.
+ *
+ * @date Oct 17, 2026
+ */
+public class Cdr2 extends test.framework.TestCase {
+
+    public Cdr2() {
+        super("saj5_cdr_tc2", "saj5_cdr", "returnLoan",
+                "growing and freeing CdrSamples",
+                "check growth, index checks and access after the buffers have been freed",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "CdrSamples grow and are freed correctly.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        CdrSamples samples = CdrTestClient.create(new OsplServiceEnvironment());
+        CdrSampleSeq seq = CdrTestClient.getSeq(samples);
+        int[] ids = new int[100];
+        String error;
+        int count;
+
+        if (this.isAccessible(samples)) {
+            result.setResult("CdrSamples accessible before they have been loaned.");
+            return result;
+        }
+        for (int round = 1; round <= 3; round++) {
+            int[] loaned = new int[round * round];
+
+            for (int i = 0; i < loaned.length; i++) {
+                loaned[i] = round * 1000 + i;
+            }
+            CdrFiller.fill(seq, loaned, false);
+            CdrTestClient.loan(samples);
+            error = CdrFiller.check(samples, loaned);
+
+            if (error != null) {
+                result.setResult("Loan " + round + ": " + error);
+                return result;
+            }
+        }
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = i;
+        }
+        CdrFiller.fill(seq, ids, true);
+        CdrTestClient.loan(samples);
+        error = CdrFiller.check(samples, ids);
+
+        if (error != null) {
+            result.setResult("Loan of replaced buffers: " + error);
+            return result;
+        }
+        count = 0;
+
+        for (Iterator<Sample<ByteBuffer>> it = samples.iterator(); it.hasNext();) {
+            if (it.next() != samples.get(count++)) {
+                result.setResult("Iterator does not return the samples in order.");
+                return result;
+            }
+        }
+        if (count != ids.length) {
+            result.setResult("Iterator returned " + count + " samples.");
+            return result;
+        }
+        try {
+            samples.get(ids.length);
+            result.setResult("Sample beyond the loan accessible.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected */
+        }
+        try {
+            Iterator<Sample<ByteBuffer>> it = samples.iterator();
+            it.next();
+            it.remove();
+            result.setResult("Sample removed from CdrSamples.");
+            return result;
+        } catch (UnsupportedOperationException e) {
+            /* Expected */
+        }
+        CdrTestClient.free(samples);
+
+        if (this.isAccessible(samples)) {
+            result.setResult("CdrSamples accessible after they have been freed.");
+            return result;
+        }
+        if ((seq.count != 0) || (seq.value.length != 0)) {
+            result.setResult("Freed CdrSamples still reference " + seq.value.length
+                    + " buffers.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    private boolean isAccessible(CdrSamples samples) {
+        try {
+            samples.size();
+        } catch (PreconditionNotMetException e) {
+            return false;
+        }
+        return true;
+    }
+}
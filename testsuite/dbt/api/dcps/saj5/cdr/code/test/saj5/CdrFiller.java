@@ -0,0 +1,138 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.opensplice.dds.dcps.CdrSampleSeq;
+import org.opensplice.dds.sub.CdrSamples;
+import org.opensplice.dds.sub.Sample;
+
+/**
+ * Provides the CDR contents and the native side of the CDR tests: fills a
+ * CdrSampleSeq the way the native layer does after a readCdr or takeCdr.
+ *
+ * @date Oct 17, 2026
+ */
+public class CdrFiller {
+
+    /**
+     * Creates the serialized form of sample <code>id</code>, which consists
+     * of a big-endian CDR encapsulation header followed by a long and a
+     * string of a length that depends on the id.
+     */
+    public static byte[] serialize(int id) {
+        byte[] text = ("sample" + id).getBytes();
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 4 + 4 + text.length + 1);
+
+        buffer.put((byte) 0).put((byte) 0).put((byte) 0).put((byte) 0);
+        buffer.putInt(id);
+        buffer.putInt(text.length + 1);
+        buffer.put(text);
+        buffer.put((byte) 0);
+
+        return buffer.array();
+    }
+
+    /**
+     * Stores the serialized samples in the sequence. A buffer that is
+     * large enough is reused, like the native layer does, unless replace
+     * is set.
+     */
+    public static void fill(CdrSampleSeq seq, int[] ids, boolean replace) {
+        if (seq.value.length < ids.length) {
+            ByteBuffer[] value = new ByteBuffer[ids.length];
+            int[] length = new int[ids.length];
+            DDS.SampleInfo[] info = new DDS.SampleInfo[ids.length];
+
+            System.arraycopy(seq.value, 0, value, 0, seq.value.length);
+            System.arraycopy(seq.info, 0, info, 0, seq.info.length);
+            seq.value = value;
+            seq.length = length;
+            seq.info = info;
+        }
+        for (int i = 0; i < ids.length; i++) {
+            byte[] cdr = serialize(ids[i]);
+
+            if (replace || (seq.value[i] == null) || (seq.value[i].capacity() < cdr.length)) {
+                seq.value[i] = ByteBuffer.allocateDirect(Math.max(cdr.length, 64));
+            }
+            seq.value[i].clear();
+            seq.value[i].put(cdr);
+            seq.length[i] = cdr.length;
+
+            if (seq.info[i] == null) {
+                seq.info[i] = new DDS.SampleInfo();
+                seq.info[i].source_timestamp = new DDS.Time_t();
+                seq.info[i].reception_timestamp = new DDS.Time_t();
+            }
+            seq.info[i].valid_data = true;
+            seq.info[i].sample_state = DDS.NOT_READ_SAMPLE_STATE.value;
+            seq.info[i].view_state = DDS.NEW_VIEW_STATE.value;
+            seq.info[i].instance_state = DDS.ALIVE_INSTANCE_STATE.value;
+            seq.info[i].instance_handle = ids[i];
+        }
+        seq.count = ids.length;
+    }
+
+    /**
+     * Checks that the loaned samples contain exactly the serialized form
+     * of the supplied ids.
+     *
+     * @return null if the samples match the ids or a description of the
+     *         difference.
+     */
+    @SuppressWarnings("unchecked")
+    public static String check(CdrSamples samples, int[] ids) {
+        if (samples.size() != ids.length) {
+            return "Number of samples " + samples.size() + " instead of "
+                    + ids.length + ".";
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Sample<ByteBuffer> sample = (Sample<ByteBuffer>) samples.get(i);
+            ByteBuffer data = sample.getData();
+            byte[] expected = serialize(ids[i]);
+            byte[] actual;
+
+            if (!data.isReadOnly()) {
+                return "Sample " + i + " is not read-only.";
+            }
+            if ((data.position() != 0) || (data.remaining() != expected.length)) {
+                return "Sample " + i + " has " + data.remaining()
+                        + " bytes from position " + data.position()
+                        + " instead of " + expected.length + ".";
+            }
+            if (sample.getInstanceHandleValue() != ids[i]) {
+                return "Sample " + i + " has the SampleInfo of instance "
+                        + sample.getInstanceHandleValue() + ".";
+            }
+            actual = new byte[data.remaining()];
+            data.duplicate().get(actual);
+
+            if (!Arrays.equals(expected, actual)) {
+                return "Sample " + i + " does not contain the serialized form of "
+                        + ids[i] + ".";
+            }
+        }
+        return null;
+    }
+}
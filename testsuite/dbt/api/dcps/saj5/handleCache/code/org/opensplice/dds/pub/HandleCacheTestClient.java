@@ -0,0 +1,111 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package org.opensplice.dds.pub;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.FooDataWriterAccessor;
+
+/**
+ * Gives the instance handle cache tests access to the cache, which is only
+ * visible inside this package. The generated DataWriter accessor is
+ * replaced by a proxy that only implements get_key.
+ *
+ * @date Oct 17, 2026
+ */
+public class HandleCacheTestClient {
+    /**
+     * Provides the keys that the generated accessor would return.
+     */
+    public interface KeyReader {
+        /**
+         * @return the key values of the sample or null if they cannot be
+         *         read without reflection.
+         */
+        Object[] getKey(Object sample);
+    }
+
+    private final InstanceHandleCache cache;
+
+    public HandleCacheTestClient(OsplServiceEnvironment environment,
+            Class<?> typeClz, String keyList, int capacity,
+            final KeyReader reader) {
+        FooDataWriterAccessor accessor = (FooDataWriterAccessor) Proxy
+                .newProxyInstance(FooDataWriterAccessor.class.getClassLoader(),
+                        new Class<?>[] { FooDataWriterAccessor.class },
+                        new InvocationHandler() {
+                            @Override
+                            public Object invoke(Object proxy, Method method,
+                                    Object[] args) {
+                                if ("get_key".equals(method.getName())) {
+                                    return reader.getKey(args[0]);
+                                }
+                                throw new UnsupportedOperationException(
+                                        method.getName());
+                            }
+                        });
+        this.cache = new InstanceHandleCache(environment, accessor, typeClz,
+                keyList, capacity);
+    }
+
+    public boolean isEnabled() {
+        return this.cache.isEnabled();
+    }
+
+    public Object key(Object sample) {
+        return this.cache.key(sample);
+    }
+
+    public long acquire(Object key) {
+        return this.cache.acquire(key);
+    }
+
+    public long pin(Object key) {
+        return this.cache.pin(key);
+    }
+
+    public long[] put(Object key, long handle) {
+        return this.cache.put(key, handle);
+    }
+
+    public long[] release(long handle) {
+        return this.cache.release(handle);
+    }
+
+    public void remove(long handle) {
+        this.cache.remove(handle);
+    }
+
+    public void removeKey(Object key) {
+        this.cache.removeKey(key);
+    }
+
+    public long[] setCapacity(int capacity) {
+        return this.cache.setCapacity(capacity);
+    }
+
+    public InstanceHandleCacheStatistics getStatistics() {
+        return this.cache.getStatistics();
+    }
+}
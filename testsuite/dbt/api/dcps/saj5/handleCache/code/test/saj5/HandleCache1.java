@@ -0,0 +1,144 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.omg.dds.core.PreconditionNotMetException;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.pub.HandleCacheTestClient;
+
+/**
+ * Checks that the instance handle cache derives equal keys for samples with
+ * equal key values, both from the generated accessor and by reflection.
+ *
+ * @date Oct 17, 2026
+ */
+public class HandleCache1 extends test.framework.TestCase {
+
+    /** Makes the cache read every key by reflection. */
+    static final HandleCacheTestClient.KeyReader REFLECTION = new HandleCacheTestClient.KeyReader() {
+        @Override
+        public Object[] getKey(Object sample) {
+            return null;
+        }
+    };
+
+    public HandleCache1() {
+        super("saj5_handleCache_tc1", "saj5_handleCache", "key",
+                "keys of the instance handle cache",
+                "check that samples with equal key values map onto equal keys",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Equal key values result in equal keys.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        OsplServiceEnvironment env = new OsplServiceEnvironment();
+        HandleCacheTestClient cache = new HandleCacheTestClient(env,
+                Track.class, Track.KEY_LIST, 4, REFLECTION);
+        Track track = Track.create(1, 10L, Track.Color.GREEN, (byte) 5, 7);
+        Object key = cache.key(track);
+        Track other = Track.create(1, 10L, Track.Color.GREEN, (byte) 5, 7);
+
+        other.name = "not a key";
+
+        if (!key.equals(cache.key(other))
+                || key.hashCode() != cache.key(other).hashCode()) {
+            result.setResult("Samples with equal key values have different keys.");
+            return result;
+        }
+        /* The key must not change along with the array in the sample. */
+        track.tag[0] = 6;
+
+        if (!key.equals(cache.key(other)) || key.equals(cache.key(track))) {
+            result.setResult("Array key value has not been copied.");
+            return result;
+        }
+        if (key.equals(cache.key(Track.create(1, 11L, Track.Color.GREEN,
+                (byte) 5, 7)))) {
+            result.setResult("Nested key value is ignored.");
+            return result;
+        }
+        if (key.equals(cache.key(Track.create(1, 10L, Track.Color.RED,
+                (byte) 5, 7)))) {
+            result.setResult("Enumeration key value is ignored.");
+            return result;
+        }
+        if (key.equals(cache.key(Track.create(1, 10L, Track.Color.GREEN,
+                (byte) 5, 8)))) {
+            result.setResult("Escaped key value is ignored.");
+            return result;
+        }
+        other.color = null;
+
+        if (key.equals(cache.key(other))) {
+            result.setResult("Null key value results in the same key.");
+            return result;
+        }
+        /* Keys of the generated accessor are used when it supports them. */
+        cache = new HandleCacheTestClient(env, Track.class, Track.KEY_LIST, 4,
+                new HandleCacheTestClient.KeyReader() {
+                    @Override
+                    public Object[] getKey(Object sample) {
+                        return new Object[] { Integer.valueOf(((Track) sample).id) };
+                    }
+                });
+        if (!cache.key(Track.create(2, 1L, Track.Color.RED, (byte) 1, 1)).equals(
+                cache.key(Track.create(2, 9L, Track.Color.GREEN, (byte) 9, 9)))) {
+            result.setResult("Key of the accessor has not been used.");
+            return result;
+        }
+        /* An accessor that trips over a null member falls back to reflection. */
+        cache = new HandleCacheTestClient(env, Track.class, Track.KEY_LIST, 4,
+                new HandleCacheTestClient.KeyReader() {
+                    @Override
+                    public Object[] getKey(Object sample) {
+                        throw new NullPointerException();
+                    }
+                });
+        if (!key.equals(cache.key(Track.create(1, 10L, Track.Color.GREEN,
+                (byte) 5, 7)))) {
+            result.setResult("Key has not been read by reflection after a NullPointerException.");
+            return result;
+        }
+        try {
+            new HandleCacheTestClient(env, Track.class, "id,unknown", 4,
+                    REFLECTION);
+            result.setResult("Unresolvable key has been accepted.");
+            return result;
+        } catch (PreconditionNotMetException e) {
+            /* Expected. */
+        }
+        try {
+            new HandleCacheTestClient(env, Track.class, "position", 4,
+                    REFLECTION);
+            result.setResult("Key of a struct type has been accepted.");
+            return result;
+        } catch (PreconditionNotMetException e) {
+            /* Expected. */
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
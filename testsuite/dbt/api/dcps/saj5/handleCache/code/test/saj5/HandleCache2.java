@@ -0,0 +1,188 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.Arrays;
+
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.pub.HandleCacheTestClient;
+import org.opensplice.dds.pub.InstanceHandleCacheStatistics;
+
+/**
+ * Checks that the instance handle cache evicts the least recently used
+ * handles and only hands out pinned handles for unregistration once they
+ * have been released.
+ *
+ * @date Oct 17, 2026
+ */
+public class HandleCache2 extends test.framework.TestCase {
+    private static final long[] NONE = new long[0];
+    private static final long NIL = DDS.HANDLE_NIL.value;
+
+    public HandleCache2() {
+        super("saj5_handleCache_tc2", "saj5_handleCache", "put",
+                "eviction and pinning of cached instance handles",
+                "check that evicted handles are only unregistered when no longer in use",
+                null);
+    }
+
+    private static String check(String what, long[] expected, long[] actual) {
+        if (!Arrays.equals(expected, actual)) {
+            return what + " returned " + Arrays.toString(actual)
+                    + " instead of " + Arrays.toString(expected) + ".";
+        }
+        return null;
+    }
+
+    private static String check(String what, long expected, long actual) {
+        if (expected != actual) {
+            return what + " returned " + actual + " instead of " + expected
+                    + ".";
+        }
+        return null;
+    }
+
+    private static String check(InstanceHandleCacheStatistics statistics,
+            int capacity, int size, long hits, long misses, long evictions) {
+        if (statistics.getCapacity() != capacity
+                || statistics.getSize() != size
+                || statistics.getHits() != hits
+                || statistics.getMisses() != misses
+                || statistics.getEvictions() != evictions) {
+            return "Statistics are (" + statistics.getCapacity() + ", "
+                    + statistics.getSize() + ", " + statistics.getHits() + ", "
+                    + statistics.getMisses() + ", "
+                    + statistics.getEvictions() + ") instead of (" + capacity
+                    + ", " + size + ", " + hits + ", " + misses + ", "
+                    + evictions + ").";
+        }
+        return null;
+    }
+
+    private static String first(String... errors) {
+        for (String error : errors) {
+            if (error != null) {
+                return error;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Handles are evicted and released as expected.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        HandleCacheTestClient cache = new HandleCacheTestClient(
+                new OsplServiceEnvironment(), Track.class, Track.KEY_LIST, 2,
+                HandleCache1.REFLECTION);
+        Object[] k = new Object[6];
+        String error;
+
+        for (int i = 1; i < k.length; i++) {
+            k[i] = cache.key(Track.create(i, i, Track.Color.RED, (byte) i, i));
+        }
+        if (!cache.isEnabled()) {
+            result.setResult("Cache with capacity 2 is disabled.");
+            return result;
+        }
+        error = first(
+                check("put(k1)", NONE, cache.put(k[1], 1)),
+                check("release(1)", NONE, cache.release(1)),
+                check("put(k2)", NONE, cache.put(k[2], 2)),
+                check("release(2)", NONE, cache.release(2)),
+                /* k1 becomes the most recently used key and stays pinned. */
+                check("acquire(k1)", 1, cache.acquire(k[1])),
+                check("put(k3)", new long[] { 2 }, cache.put(k[3], 3)),
+                check("release(3)", NONE, cache.release(3)));
+
+        if (error != null) {
+            result.setResult("Unpinned eviction: " + error);
+            return result;
+        }
+        error = first(
+                check("put(k4)", NONE, cache.put(k[4], 4)),
+                check("release(4)", NONE, cache.release(4)),
+                check("acquire(k1)", NIL, cache.acquire(k[1])),
+                check("release(1)", new long[] { 1 }, cache.release(1)),
+                check("release(1)", NONE, cache.release(1)));
+
+        if (error != null) {
+            result.setResult("Pinned eviction: " + error);
+            return result;
+        }
+        /* The service hands out the handle of an evicted instance again
+         * before it has been unregistered. */
+        error = first(
+                check("acquire(k3)", 3, cache.acquire(k[3])),
+                check("acquire(k4)", 4, cache.acquire(k[4])),
+                check("put(k5)", NONE, cache.put(k[5], 5)),
+                check("put(k3)", NONE, cache.put(k[3], 3)),
+                check("release(3)", NONE, cache.release(3)),
+                check("release(3)", NONE, cache.release(3)),
+                check("release(4)", new long[] { 4 }, cache.release(4)),
+                check("release(5)", NONE, cache.release(5)),
+                check(cache.getStatistics(), 2, 2, 3, 1, 4));
+
+        if (error != null) {
+            result.setResult("Handle in use again: " + error);
+            return result;
+        }
+        error = first(
+                check("pin(k5)", 5, cache.pin(k[5])),
+                check("release(5)", NONE, cache.release(5)),
+                check("pin(k1)", NIL, cache.pin(k[1])),
+                check(cache.getStatistics(), 2, 2, 3, 1, 4),
+                check("setCapacity(1)", new long[] { 3 }, cache.setCapacity(1)),
+                check("setCapacity(0)", new long[] { 5 }, cache.setCapacity(0)),
+                check(cache.getStatistics(), 0, 0, 3, 1, 6));
+
+        if (error != null) {
+            result.setResult("Capacity: " + error);
+            return result;
+        }
+        if (cache.isEnabled()) {
+            result.setResult("Cache with capacity 0 is enabled.");
+            return result;
+        }
+        cache.setCapacity(2);
+        cache.put(k[1], 1);
+        cache.release(1);
+        cache.put(k[2], 2);
+        cache.release(2);
+        cache.remove(1);
+        cache.removeKey(k[2]);
+
+        error = first(
+                check("acquire(k1)", NIL, cache.acquire(k[1])),
+                check("acquire(k2)", NIL, cache.acquire(k[2])),
+                check(cache.getStatistics(), 2, 0, 3, 3, 6));
+
+        if (error != null) {
+            result.setResult("Removal: " + error);
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+/**
+ * Topic type used by the instance handle cache tests, shaped like the
+ * classes the IDL pre-processor generates.
+ *
+ * @verbatim IDL: enum Color { RED, GREEN };
+ *           struct Position { long long x; };
+ *           struct Track { long id; string name; Color color;
+ *                          octet tag[4]; Position position;
+ *                          long default; };
+ *           #pragma keylist Track id position.x color tag default
+ * @endverbatim
+ *
+ * @date Oct 17, 2026
+ */
+public final class Track {
+    public static final String KEY_LIST = "id,position.x,color,tag,default";
+
+    public static final class Color {
+        public static final Color RED = new Color(0);
+        public static final Color GREEN = new Color(1);
+        private final int value;
+
+        private Color(int value) {
+            this.value = value;
+        }
+
+        public int value() {
+            return this.value;
+        }
+
+        public static Color from_int(int value) {
+            return (value == 0) ? RED : GREEN;
+        }
+    }
+
+    public static final class Position {
+        public long x;
+    }
+
+    public int id;
+    public String name = "";
+    public Color color = Color.RED;
+    public byte[] tag = new byte[4];
+    public Position position = new Position();
+    public int _default;
+
+    public static Track create(int id, long x, Color color, byte tag,
+            int def) {
+        Track track = new Track();
+
+        track.id = id;
+        track.position.x = x;
+        track.color = color;
+        track.tag[0] = tag;
+        track._default = def;
+        return track;
+    }
+}
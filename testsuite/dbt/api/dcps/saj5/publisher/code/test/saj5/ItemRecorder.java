@@ -0,0 +1,166 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.omg.dds.sub.Sample;
+import org.opensplice.dds.sub.SamplePublisher;
+
+import PublisherData.Item;
+
+/**
+ * Subscriber that records the signals it receives from a SamplePublisher.
+ *
+ * @date Oct 17, 2026
+ */
+public class ItemRecorder implements SamplePublisher.Subscriber<Sample<Item>> {
+    private final List<Integer> ids = new ArrayList<Integer>();
+    private SamplePublisher.Subscription subscription = null;
+    private int subscriptions = 0;
+    private int completions = 0;
+    private Throwable error = null;
+
+    @Override
+    public synchronized void onSubscribe(
+            SamplePublisher.Subscription subscription) {
+        this.subscription = subscription;
+        this.subscriptions++;
+        this.notifyAll();
+    }
+
+    @Override
+    public synchronized void onNext(Sample<Item> item) {
+        this.ids.add(Integer.valueOf(item.getData().id));
+        this.notifyAll();
+    }
+
+    @Override
+    public synchronized void onError(Throwable throwable) {
+        this.error = throwable;
+        this.notifyAll();
+    }
+
+    @Override
+    public synchronized void onComplete() {
+        this.completions++;
+        this.notifyAll();
+    }
+
+    public synchronized SamplePublisher.Subscription getSubscription() {
+        return this.subscription;
+    }
+
+    public synchronized int getSubscriptions() {
+        return this.subscriptions;
+    }
+
+    public synchronized int getCompletions() {
+        return this.completions;
+    }
+
+    public synchronized Throwable getError() {
+        return this.error;
+    }
+
+    /**
+     * @return the ids of the received items in ascending order.
+     */
+    public synchronized List<Integer> getIds() {
+        List<Integer> result = new ArrayList<Integer>(this.ids);
+
+        Collections.sort(result);
+        return result;
+    }
+
+    /**
+     * Waits until at least count items have been received.
+     *
+     * @return true if the items have been received before the timeout.
+     */
+    public synchronized boolean awaitItems(int count, long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (this.ids.size() < count) {
+            if (!this.await(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until onError or onComplete has been received.
+     *
+     * @return true if the subscription terminated before the timeout.
+     */
+    public synchronized boolean awaitTermination(long timeoutMillis) {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+
+        while (this.error == null && this.completions == 0) {
+            if (!this.await(deadline)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean await(long deadline) {
+        long remaining = deadline - System.currentTimeMillis();
+
+        if (remaining <= 0) {
+            return false;
+        }
+        try {
+            this.wait(remaining);
+        } catch (InterruptedException e) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Gives the subscription time to deliver items that it should not
+     * deliver; longer than the time a subscription waits before checking
+     * the DataReader again.
+     */
+    public static void pause() {
+        try {
+            Thread.sleep(2000);
+        } catch (InterruptedException e) {
+            /* Check what has been delivered so far. */
+        }
+    }
+
+    /**
+     * @return the list of ids from first up to (but not including) last.
+     */
+    public static List<Integer> range(int first, int last) {
+        List<Integer> result = new ArrayList<Integer>();
+
+        for (int i = first; i < last; i++) {
+            result.add(Integer.valueOf(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+
+import org.omg.dds.pub.DataWriter;
+import org.omg.dds.sub.Sample;
+import org.omg.dds.sub.Subscriber.DataState;
+import org.opensplice.dds.sub.SamplePublisher;
+
+import PublisherData.Item;
+
+/**
+ * Checks that a SamplePublisher only takes samples from the DataReader when
+ * its subscriber has requested them, and stops taking them once the
+ * subscription is cancelled.
+ *
+ * @date Oct 17, 2026
+ */
+public class Publisher1 extends test.framework.TestCase {
+
+    public Publisher1() {
+        super("saj5_publisher_tc1", "saj5_publisher", "request",
+                "deliver samples on demand",
+                "check that samples that have not been requested remain in the DataReader",
+                null);
+        this.addPreItem(new test.saj5.PublisherInit());
+        this.addPostItem(new test.saj5.PublisherDeinit());
+    }
+
+    static void write(DataWriter<Item> writer, int first, int last)
+            throws TimeoutException {
+        for (int i = first; i < last; i++) {
+            writer.write(new Item(i));
+        }
+    }
+
+    static int available(org.omg.dds.sub.DataReader<Item> reader) {
+        return reader.read(new ArrayList<Sample<Item>>()).size();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public test.framework.TestResult run() {
+        String expResult = "Samples delivered on demand.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        DataWriter<Item> writer = (DataWriter<Item>) this.resolveObject("datawriter");
+        org.opensplice.dds.sub.DataReader<Item> reader =
+            (org.opensplice.dds.sub.DataReader<Item>) this.resolveObject("datareader");
+        DataState state = reader.getParent().createDataState()
+                .withAnySampleState().withAnyViewState().withAnyInstanceState();
+        SamplePublisher<Item> publisher = reader.createSamplePublisher(state, 2);
+        ItemRecorder recorder = new ItemRecorder();
+        List<Integer> ids;
+
+        try {
+            write(writer, 0, 5);
+            publisher.subscribe(recorder);
+        } catch (Exception e) {
+            result.setResult("Subscription failed: " + e);
+            return result;
+        }
+        if (recorder.getSubscriptions() != 1 || recorder.getSubscription() == null) {
+            result.setResult("onSubscribe has not been called once during subscribe.");
+            return result;
+        }
+        ItemRecorder.pause();
+
+        if (!recorder.getIds().isEmpty() || available(reader) != 5) {
+            result.setResult("Samples have been taken without demand.");
+            return result;
+        }
+        /* The demand exceeds the batch size. */
+        recorder.getSubscription().request(3);
+
+        if (!recorder.awaitItems(3, 10000)) {
+            result.setResult("Requested samples have not been delivered.");
+            return result;
+        }
+        ItemRecorder.pause();
+        ids = recorder.getIds();
+
+        if (ids.size() != 3 || available(reader) != 2) {
+            result.setResult(ids.size() + " samples have been delivered for a demand of 3.");
+            return result;
+        }
+        recorder.getSubscription().request(Long.MAX_VALUE);
+        recorder.getSubscription().request(1);
+
+        try {
+            write(writer, 5, 8);
+        } catch (Exception e) {
+            result.setResult("Samples could not be written: " + e);
+            return result;
+        }
+        if (!recorder.awaitItems(8, 10000)
+                || !recorder.getIds().equals(ItemRecorder.range(0, 8))) {
+            result.setResult("Unbounded demand delivered " + recorder.getIds() + ".");
+            return result;
+        }
+        recorder.getSubscription().cancel();
+        ItemRecorder.pause();
+
+        try {
+            write(writer, 8, 9);
+        } catch (Exception e) {
+            result.setResult("Sample could not be written: " + e);
+            return result;
+        }
+        ItemRecorder.pause();
+
+        if (recorder.getIds().size() != 8 || available(reader) != 1) {
+            result.setResult("Samples have been taken after cancel.");
+            return result;
+        }
+        if (recorder.getError() != null || recorder.getCompletions() != 0) {
+            result.setResult("Subscription terminated unexpectedly: "
+                    + recorder.getError());
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.omg.dds.sub.Subscriber.DataState;
+import org.opensplice.dds.sub.SamplePublisher;
+
+import PublisherData.Item;
+
+/**
+ * Checks that a SamplePublisher rejects invalid arguments, signals an
+ * invalid request with onError and completes its subscriptions when the
+ * DataReader is closed.
+ *
+ * @date Oct 17, 2026
+ */
+public class Publisher2 extends test.framework.TestCase {
+
+    public Publisher2() {
+        super("saj5_publisher_tc2", "saj5_publisher", "subscribe",
+                "terminate subscriptions",
+                "check onError for an invalid request and onComplete when the DataReader is closed",
+                null);
+        this.addPreItem(new test.saj5.PublisherInit());
+        this.addPostItem(new test.saj5.PublisherDeinit());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public test.framework.TestResult run() {
+        String expResult = "Subscriptions terminated as expected.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        org.omg.dds.pub.DataWriter<Item> writer =
+            (org.omg.dds.pub.DataWriter<Item>) this.resolveObject("datawriter");
+        org.opensplice.dds.sub.DataReader<Item> reader =
+            (org.opensplice.dds.sub.DataReader<Item>) this.resolveObject("datareader");
+        DataState state = reader.getParent().createDataState()
+                .withAnySampleState().withAnyViewState().withAnyInstanceState();
+        SamplePublisher<Item> publisher = reader.createSamplePublisher();
+        ItemRecorder invalid = new ItemRecorder();
+        ItemRecorder closed = new ItemRecorder();
+
+        try {
+            reader.createSamplePublisher(null, 1);
+            result.setResult("DataState null has been accepted.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected. */
+        }
+        try {
+            reader.createSamplePublisher(state, 0);
+            result.setResult("Batch size 0 has been accepted.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected. */
+        }
+        try {
+            publisher.subscribe(null);
+            result.setResult("Subscriber null has been accepted.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected. */
+        }
+        try {
+            Publisher1.write(writer, 0, 2);
+            publisher.subscribe(invalid);
+            publisher.subscribe(closed);
+        } catch (Exception e) {
+            result.setResult("Subscription failed: " + e);
+            return result;
+        }
+        invalid.getSubscription().request(0);
+
+        if (!invalid.awaitTermination(10000)
+                || !(invalid.getError() instanceof IllegalArgumentException)
+                || invalid.getCompletions() != 0) {
+            result.setResult("Request of 0 samples has not been signalled with onError: "
+                    + invalid.getError());
+            return result;
+        }
+        /* Both samples are taken by the remaining subscription. */
+        closed.getSubscription().request(5);
+
+        if (!closed.awaitItems(2, 10000)
+                || !closed.getIds().equals(ItemRecorder.range(0, 2))
+                || !invalid.getIds().isEmpty()) {
+            result.setResult("Remaining subscription delivered " + closed.getIds() + ".");
+            return result;
+        }
+        try {
+            reader.close();
+        } catch (Exception e) {
+            result.setResult("DataReader could not be closed: " + e);
+            return result;
+        }
+        if (!closed.awaitTermination(10000) || closed.getError() != null
+                || closed.getCompletions() != 1) {
+            result.setResult("Closing the DataReader has not been signalled with onComplete: "
+                    + closed.getError());
+            return result;
+        }
+        ItemRecorder.pause();
+
+        if (closed.getCompletions() != 1 || invalid.getCompletions() != 0) {
+            result.setResult("Subscription has been terminated more than once.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
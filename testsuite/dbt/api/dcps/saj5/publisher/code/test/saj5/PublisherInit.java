@@ -0,0 +1,99 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.omg.dds.core.ServiceEnvironment;
+import org.omg.dds.core.policy.PolicyFactory;
+import org.omg.dds.domain.DomainParticipant;
+import org.omg.dds.domain.DomainParticipantFactory;
+import org.omg.dds.pub.DataWriterQos;
+import org.omg.dds.pub.Publisher;
+import org.omg.dds.sub.DataReaderQos;
+import org.omg.dds.sub.Subscriber;
+import org.omg.dds.topic.Topic;
+
+import PublisherData.Item;
+
+/**
+ * Creates a reliable DataWriter and DataReader that keep all samples of the
+ * Item topic.
+ *
+ * @date Oct 17, 2026
+ */
+public class PublisherInit extends test.framework.TestItem {
+
+    public PublisherInit() {
+        super("Initialize publisher");
+    }
+
+    @Override
+    public test.framework.TestResult run(test.framework.TestCase testCase) {
+        test.framework.TestResult result = new test.framework.TestResult(
+                "Initialization success", "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        ServiceEnvironment env;
+        PolicyFactory policyFactory;
+        DomainParticipant participant;
+        Topic<Item> topic;
+        Publisher publisher;
+        Subscriber subscriber;
+        DataWriterQos writerQos;
+        DataReaderQos readerQos;
+        org.omg.dds.pub.DataWriter<Item> writer;
+        org.omg.dds.sub.DataReader<Item> reader;
+
+        System.setProperty(ServiceEnvironment.IMPLEMENTATION_CLASS_NAME_PROPERTY,
+                "org.opensplice.dds.core.OsplServiceEnvironment");
+
+        try {
+            env = ServiceEnvironment.createInstance(PublisherInit.class.getClassLoader());
+            policyFactory = PolicyFactory.getPolicyFactory(env);
+            participant = DomainParticipantFactory.getInstance(env).createParticipant();
+        } catch (Exception e) {
+            result.setResult("DomainParticipant could not be created: " + e.getMessage());
+            return result;
+        }
+        testCase.registerObject("participant", participant);
+
+        try {
+            topic = participant.createTopic("SAJ5Publisher", Item.class);
+            publisher = participant.createPublisher();
+            subscriber = participant.createSubscriber();
+            writerQos = publisher.getDefaultDataWriterQos().withPolicies(
+                    policyFactory.Reliability().withReliable(),
+                    policyFactory.History().withKeepAll());
+            readerQos = subscriber.getDefaultDataReaderQos().withPolicies(
+                    policyFactory.Reliability().withReliable(),
+                    policyFactory.History().withKeepAll());
+            writer = publisher.createDataWriter(topic, writerQos);
+            reader = subscriber.createDataReader(topic, readerQos);
+        } catch (Exception e) {
+            result.setResult("Entities could not be created: " + e.getMessage());
+            return result;
+        }
+        testCase.registerObject("environment", env);
+        testCase.registerObject("datawriter", writer);
+        testCase.registerObject("datareader", reader);
+        result.setResult("Initialization success");
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.opensplice.dds.dcps.SampleInfoColumns;
+
+/**
+ * Checks that every field of packed SampleInfo rows is decoded, and
+ * materialized by copy_out, exactly as it was packed by the native layer.
+ *
+ * @date Oct 17, 2026
+ */
+public class SampleInfo1 extends test.framework.TestCase {
+
+    public SampleInfo1() {
+        super("saj5_sampleInfo_tc1", "saj5_sampleInfo", "copy_out",
+                "decode packed SampleInfo columns",
+                "check all fields of multiple rows, including full 32-bit counts and 64-bit handles",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Packed SampleInfo decoded correctly.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        long[] columns = new long[3 * SampleInfoColumns.STRIDE];
+        DDS.SampleInfo info = new DDS.SampleInfo();
+        String error;
+
+        SampleInfoPacker.pack(columns, 0, DDS.READ_SAMPLE_STATE.value,
+                DDS.NOT_NEW_VIEW_STATE.value,
+                DDS.NOT_ALIVE_NO_WRITERS_INSTANCE_STATE.value, false,
+                1, 2, 3, 4, 5L, 6L, 7, 8, 9, 10, 11);
+        SampleInfoPacker.pack(columns, 1, DDS.NOT_READ_SAMPLE_STATE.value,
+                DDS.NEW_VIEW_STATE.value, DDS.ALIVE_INSTANCE_STATE.value, true,
+                SampleInfoPacker.Y2038_SECONDS, 999999999,
+                SampleInfoPacker.Y2038_SECONDS + 1, 0,
+                0x8000000100000002L, 0x7fffffff00000001L,
+                Integer.MAX_VALUE, Integer.MAX_VALUE - 1,
+                Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 3,
+                Integer.MAX_VALUE - 4);
+        SampleInfoPacker.pack(columns, 2, DDS.NOT_READ_SAMPLE_STATE.value,
+                DDS.NEW_VIEW_STATE.value,
+                DDS.NOT_ALIVE_DISPOSED_INSTANCE_STATE.value, true,
+                0, 0, 0, 0, 0L, 0L, 0, 0, 0, 0, 0);
+
+        error = this.check(columns, 0, DDS.READ_SAMPLE_STATE.value,
+                DDS.NOT_NEW_VIEW_STATE.value,
+                DDS.NOT_ALIVE_NO_WRITERS_INSTANCE_STATE.value, false,
+                1, 2, 3, 4, 5L, 6L, 7, 8, 9, 10, 11, null);
+
+        if (error == null) {
+            error = this.check(columns, 1, DDS.NOT_READ_SAMPLE_STATE.value,
+                    DDS.NEW_VIEW_STATE.value, DDS.ALIVE_INSTANCE_STATE.value,
+                    true, SampleInfoPacker.Y2038_SECONDS, 999999999,
+                    SampleInfoPacker.Y2038_SECONDS + 1, 0,
+                    0x8000000100000002L, 0x7fffffff00000001L,
+                    Integer.MAX_VALUE, Integer.MAX_VALUE - 1,
+                    Integer.MAX_VALUE - 2, Integer.MAX_VALUE - 3,
+                    Integer.MAX_VALUE - 4, info);
+        }
+        if (error == null) {
+            error = this.check(columns, 2, DDS.NOT_READ_SAMPLE_STATE.value,
+                    DDS.NEW_VIEW_STATE.value,
+                    DDS.NOT_ALIVE_DISPOSED_INSTANCE_STATE.value, true,
+                    0, 0, 0, 0, 0L, 0L, 0, 0, 0, 0, 0, info);
+        }
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    private String check(long[] columns, int index, int sampleState,
+            int viewState, int instanceState, boolean validData,
+            long sourceSec, int sourceNanosec, long receptionSec,
+            int receptionNanosec, long instanceHandle, long publicationHandle,
+            int disposedGenerationCount, int noWritersGenerationCount,
+            int sampleRank, int generationRank, int absoluteGenerationRank,
+            DDS.SampleInfo reused) {
+        String row = "Row " + index + ": ";
+        DDS.SampleInfo info;
+
+        if ((SampleInfoColumns.sample_state(columns, index) != sampleState)
+                || (SampleInfoColumns.view_state(columns, index) != viewState)
+                || (SampleInfoColumns.instance_state(columns, index) != instanceState)
+                || (SampleInfoColumns.valid_data(columns, index) != validData)) {
+            return row + "states decoded incorrectly.";
+        }
+        if ((SampleInfoColumns.disposed_generation_count(columns, index) != disposedGenerationCount)
+                || (SampleInfoColumns.no_writers_generation_count(columns, index) != noWritersGenerationCount)
+                || (SampleInfoColumns.sample_rank(columns, index) != sampleRank)
+                || (SampleInfoColumns.generation_rank(columns, index) != generationRank)) {
+            return row + "generation counts or ranks decoded incorrectly.";
+        }
+        info = SampleInfoColumns.copy_out(columns, index, reused);
+
+        if ((reused != null) && (info != reused)) {
+            return row + "SampleInfo not reused.";
+        }
+        if ((info.sample_state != sampleState) || (info.view_state != viewState)
+                || (info.instance_state != instanceState)
+                || (info.valid_data != validData)) {
+            return row + "states copied incorrectly.";
+        }
+        if ((info.source_timestamp.sec != SampleInfoPacker.timeSeconds(sourceSec))
+                || (info.source_timestamp.nanosec != sourceNanosec)
+                || (info.reception_timestamp.sec != SampleInfoPacker.timeSeconds(receptionSec))
+                || (info.reception_timestamp.nanosec != receptionNanosec)) {
+            return row + "timestamps copied incorrectly: "
+                    + info.source_timestamp.sec + "." + info.source_timestamp.nanosec
+                    + " and " + info.reception_timestamp.sec + "."
+                    + info.reception_timestamp.nanosec + ".";
+        }
+        if ((info.instance_handle != instanceHandle)
+                || (info.publication_handle != publicationHandle)) {
+            return row + "handles copied incorrectly.";
+        }
+        if ((info.disposed_generation_count != disposedGenerationCount)
+                || (info.no_writers_generation_count != noWritersGenerationCount)
+                || (info.sample_rank != sampleRank)
+                || (info.generation_rank != generationRank)
+                || (info.absolute_generation_rank != absoluteGenerationRank)) {
+            return row + "generation counts or ranks copied incorrectly.";
+        }
+        return null;
+    }
+}
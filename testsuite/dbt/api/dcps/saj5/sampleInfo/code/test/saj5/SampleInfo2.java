@@ -0,0 +1,148 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.concurrent.TimeUnit;
+
+import org.omg.dds.sub.InstanceState;
+import org.omg.dds.sub.SampleState;
+import org.omg.dds.sub.ViewState;
+import org.opensplice.dds.core.OsplServiceEnvironment;
+import org.opensplice.dds.dcps.SampleInfoColumns;
+import org.opensplice.dds.sub.SampleImpl;
+
+/**
+ * Checks the Sample accessors on packed SampleInfo, including source
+ * timestamps beyond 2038, and that samples no longer depend on the columns
+ * once their SampleInfo has been materialized or they have been cloned.
+ *
+ * @date Oct 17, 2026
+ */
+public class SampleInfo2 extends test.framework.TestCase {
+
+    public SampleInfo2() {
+        super("saj5_sampleInfo_tc2", "saj5_sampleInfo", "getSourceTimestamp",
+                "Samples on packed SampleInfo",
+                "check the accessors, Y2038 timestamps and detaching from recycled columns",
+                null);
+    }
+
+    @Override
+    public test.framework.TestResult run() {
+        String expResult = "Samples on packed SampleInfo are correct.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        OsplServiceEnvironment env = new OsplServiceEnvironment();
+        long[] columns = new long[2 * SampleInfoColumns.STRIDE];
+        SampleImpl<String> sample = new SampleImpl<String>(env, null, null);
+        SampleImpl<String> cloned;
+        DDS.SampleInfo info;
+        long sec = SampleInfoPacker.Y2038_SECONDS;
+
+        SampleInfoPacker.pack(columns, 0, DDS.READ_SAMPLE_STATE.value,
+                DDS.NOT_NEW_VIEW_STATE.value,
+                DDS.NOT_ALIVE_DISPOSED_INSTANCE_STATE.value, false,
+                1, 0, 1, 0, 1L, 1L, 0, 0, 0, 0, 0);
+        SampleInfoPacker.pack(columns, 1, DDS.NOT_READ_SAMPLE_STATE.value,
+                DDS.NEW_VIEW_STATE.value, DDS.ALIVE_INSTANCE_STATE.value, true,
+                sec, 123456789, sec, 0, 0x100000001L, 42L, 1, 2, 3, 4, 5);
+
+        sample.setContent("key", columns, 0);
+
+        if ((sample.getData() != null) || !"key".equals(sample.getKeyValue())) {
+            result.setResult("Data of invalid sample accessible.");
+            return result;
+        }
+        if ((sample.getSampleState() != SampleState.READ)
+                || (sample.getViewState() != ViewState.NOT_NEW)
+                || (sample.getInstanceState() != InstanceState.NOT_ALIVE_DISPOSED)) {
+            result.setResult("States of invalid sample are not correct.");
+            return result;
+        }
+        sample.setContent("data", columns, 1);
+
+        if (!"data".equals(sample.getData())
+                || (sample.getSampleState() != SampleState.NOT_READ)
+                || (sample.getViewState() != ViewState.NEW)
+                || (sample.getInstanceState() != InstanceState.ALIVE)) {
+            result.setResult("Data or states of valid sample are not correct.");
+            return result;
+        }
+        if ((sample.getSourceTimestamp().getTime(TimeUnit.SECONDS) != sec)
+                || (sample.getSourceTimestamp().getRemainder(TimeUnit.SECONDS,
+                        TimeUnit.NANOSECONDS) != 123456789)
+                || (sample.getSourceTimestampNanos() != sec * 1000000000L + 123456789)) {
+            result.setResult("Source timestamp beyond 2038 is "
+                    + sample.getSourceTimestamp().getTime(TimeUnit.SECONDS) + " s ("
+                    + sample.getSourceTimestampNanos() + " ns).");
+            return result;
+        }
+        if ((sample.getInstanceHandleValue() != 0x100000001L)
+                || (sample.getPublicationHandleValue() != 42L)
+                || (sample.getDisposedGenerationCount() != 1)
+                || (sample.getNoWritersGenerationCount() != 2)
+                || (sample.getSampleRank() != 3)
+                || (sample.getGenerationRank() != 4)
+                || (sample.getAbsoluteGenerationRank() != 5)) {
+            result.setResult("Handles, generation counts or ranks are not correct.");
+            return result;
+        }
+        cloned = sample.clone();
+        info = sample.getInfo();
+
+        /* The columns are recycled by the next read. */
+        SampleInfoPacker.pack(columns, 1, DDS.READ_SAMPLE_STATE.value,
+                DDS.NOT_NEW_VIEW_STATE.value,
+                DDS.NOT_ALIVE_NO_WRITERS_INSTANCE_STATE.value, false,
+                7, 7, 7, 7, 7L, 7L, 7, 7, 7, 7, 7);
+
+        if ((info.instance_handle != 0x100000001L)
+                || (info.source_timestamp.sec != SampleInfoPacker.timeSeconds(sec))
+                || (info.source_timestamp.nanosec != 123456789)) {
+            result.setResult("Materialized SampleInfo is not correct.");
+            return result;
+        }
+        if ((sample.getSampleState() != SampleState.NOT_READ)
+                || (sample.getInstanceHandleValue() != 0x100000001L)
+                || (sample.getSourceTimestamp().getTime(TimeUnit.SECONDS) != sec)) {
+            result.setResult("Sample depends on recycled columns after getInfo().");
+            return result;
+        }
+        if (!"data".equals(cloned.getData())
+                || (cloned.getSampleState() != SampleState.NOT_READ)
+                || (cloned.getInstanceHandleValue() != 0x100000001L)
+                || (cloned.getAbsoluteGenerationRank() != 5)) {
+            result.setResult("Clone depends on recycled columns.");
+            return result;
+        }
+        sample.setContent("data", columns, 1);
+
+        if ((sample.getData() != null) || (sample.getInstanceHandleValue() != 7L)
+                || (sample.getSourceTimestampNanos() != 7000000007L)) {
+            result.setResult("Sample does not follow its new row.");
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
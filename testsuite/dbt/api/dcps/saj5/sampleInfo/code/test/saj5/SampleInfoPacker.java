@@ -0,0 +1,72 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.opensplice.dds.dcps.SampleInfoColumns;
+
+/**
+ * Packs SampleInfo rows in the same way the native layer does in
+ * saj_sampleInfoPack.
+ *
+ * @date Oct 17, 2026
+ */
+public class SampleInfoPacker {
+    /** 2100-01-01T00:00:00Z, which does not fit in a 32-bit time. */
+    public static final long Y2038_SECONDS = 4102444800L;
+
+    public static void pack(long[] columns, int index, int sampleState,
+            int viewState, int instanceState, boolean validData,
+            long sourceSec, int sourceNanosec, long receptionSec,
+            int receptionNanosec, long instanceHandle, long publicationHandle,
+            int disposedGenerationCount, int noWritersGenerationCount,
+            int sampleRank, int generationRank, int absoluteGenerationRank) {
+        int base = index * SampleInfoColumns.STRIDE;
+
+        columns[base + SampleInfoColumns.STATES] = (sampleState & 0xff)
+                | ((long) (viewState & 0xff) << 8)
+                | ((long) (instanceState & 0xff) << 16)
+                | ((long) (validData ? 1 : 0) << 24);
+        columns[base + SampleInfoColumns.SOURCE_SEC] = sourceSec;
+        columns[base + SampleInfoColumns.SOURCE_NANOSEC] = sourceNanosec;
+        columns[base + SampleInfoColumns.RECEPTION_SEC] = receptionSec;
+        columns[base + SampleInfoColumns.RECEPTION_NANOSEC] = receptionNanosec;
+        columns[base + SampleInfoColumns.INSTANCE_HANDLE] = instanceHandle;
+        columns[base + SampleInfoColumns.PUBLICATION_HANDLE] = publicationHandle;
+        columns[base + SampleInfoColumns.GENERATION_COUNTS] =
+            (disposedGenerationCount & 0xffffffffL)
+                | ((noWritersGenerationCount & 0xffffffffL) << 32);
+        columns[base + SampleInfoColumns.RANKS] = (sampleRank & 0xffffffffL)
+                | ((generationRank & 0xffffffffL) << 32);
+        columns[base + SampleInfoColumns.ABSOLUTE_GENERATION_RANK] =
+            absoluteGenerationRank;
+    }
+
+    /**
+     * @return The value a DDS.Time_t holds for the supplied seconds, which
+     *         are truncated unless the build is Y2038 ready.
+     */
+    public static long timeSeconds(long sec) {
+        DDS.Time_t time = new DDS.Time_t();
+
+        time.sec += sec;
+        return time.sec;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.omg.dds.sub.DataReader;
+import org.omg.dds.sub.Sample;
+
+import BatchData.Batch;
+
+/**
+ * Checks that a batch of samples is written completely with the result of
+ * every sample, and that a results array that cannot hold all results is
+ * rejected before anything is written.
+ *
+ * @date Oct 17, 2026
+ */
+public class Writer1 extends test.framework.TestCase {
+
+    public Writer1() {
+        super("saj5_writer_tc1", "saj5_writer", "write",
+                "write a batch with per-sample results",
+                "check the results of a batch that is written completely",
+                null);
+        this.addPreItem(new test.saj5.WriterInit());
+        this.addPostItem(new test.saj5.WriterDeinit());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public test.framework.TestResult run() {
+        String expResult = "Batch written with per-sample results.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        org.opensplice.dds.pub.DataWriter<Batch> writer =
+            (org.opensplice.dds.pub.DataWriter<Batch>) this.resolveObject("datawriter");
+        DataReader<Batch> reader = (DataReader<Batch>) this.resolveObject("datareader");
+        Batch[] samples = createSamples(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+        int[] results = new int[samples.length];
+        String error;
+
+        Arrays.fill(results, -1);
+
+        try {
+            writer.write(samples, null, results);
+        } catch (Exception e) {
+            result.setResult("Batch could not be written: " + e);
+            return result;
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != DDS.RETCODE_OK.value) {
+                result.setResult("Result of sample " + i + " is " + results[i] + ".");
+                return result;
+            }
+        }
+        error = checkReceived(reader, new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 });
+
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        try {
+            writer.write(createSamples(new int[] { 10, 11 }), null, new int[1]);
+            result.setResult("Batch written with a results array that is too small.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected */
+        } catch (Exception e) {
+            result.setResult("Unexpected exception for a small results array: " + e);
+            return result;
+        }
+        try {
+            writer.write(createSamples(new int[] { 12 }), null, null);
+            result.setResult("Batch written without a results array.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected */
+        } catch (Exception e) {
+            result.setResult("Unexpected exception for a missing results array: " + e);
+            return result;
+        }
+        error = checkReceived(reader, new int[0]);
+
+        if (error != null) {
+            result.setResult("After rejected batches: " + error);
+            return result;
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+
+    static Batch[] createSamples(int[] ids) {
+        Batch[] samples = new Batch[ids.length];
+
+        for (int i = 0; i < ids.length; i++) {
+            samples[i] = new Batch();
+            samples[i].id = ids[i];
+            samples[i].name = "batch" + ids[i];
+        }
+        return samples;
+    }
+
+    /**
+     * Takes the samples that arrive at the reader within a few seconds.
+     *
+     * @return null if exactly the samples with the supplied ids have been
+     *         received in order or a description of the difference.
+     */
+    static String checkReceived(DataReader<Batch> reader, int[] ids) {
+        List<Batch> received = new ArrayList<Batch>();
+        long deadline = System.currentTimeMillis() + 5000;
+
+        try {
+            do {
+                Sample.Iterator<Batch> it = reader.take();
+
+                try {
+                    while (it.hasNext()) {
+                        Batch data = it.next().getData();
+
+                        if (data != null) {
+                            received.add(data);
+                        }
+                    }
+                } finally {
+                    it.close();
+                }
+                if (received.size() < ids.length) {
+                    Thread.sleep(100);
+                } else if (ids.length == 0) {
+                    /* Give unexpected samples time to arrive. */
+                    Thread.sleep(500);
+                    break;
+                }
+            } while ((received.size() < ids.length)
+                    && (System.currentTimeMillis() < deadline));
+        } catch (Exception e) {
+            return "Samples could not be taken: " + e;
+        }
+        if (received.size() != ids.length) {
+            return "Received " + received.size() + " samples instead of "
+                    + ids.length + ".";
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Batch data = received.get(i);
+
+            if ((data.id != ids[i]) || !("batch" + ids[i]).equals(data.name)) {
+                return "Received sample " + data.id + " (" + data.name
+                        + ") instead of " + ids[i] + ".";
+            }
+        }
+        return null;
+    }
+}
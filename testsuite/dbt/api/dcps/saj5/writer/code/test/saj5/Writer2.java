@@ -0,0 +1,112 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import java.util.Arrays;
+
+import org.omg.dds.core.AlreadyClosedException;
+import org.omg.dds.sub.DataReader;
+
+import BatchData.Batch;
+
+/**
+ * Checks that the results of a batch that is written partially, or not at
+ * all, identify the samples that have not been written before the
+ * exception is thrown.
+ *
+ * @date Oct 17, 2026
+ */
+public class Writer2 extends test.framework.TestCase {
+
+    public Writer2() {
+        super("saj5_writer_tc2", "saj5_writer", "write",
+                "write a batch that fails",
+                "check the results of a batch with an invalid sample and of a closed writer",
+                null);
+        this.addPreItem(new test.saj5.WriterInit());
+        this.addPostItem(new test.saj5.WriterDeinit());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public test.framework.TestResult run() {
+        String expResult = "Results identify the samples that were not written.";
+        test.framework.TestResult result = new test.framework.TestResult(
+                expResult, "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        org.opensplice.dds.pub.DataWriter<Batch> writer =
+            (org.opensplice.dds.pub.DataWriter<Batch>) this.resolveObject("datawriter");
+        DataReader<Batch> reader = (DataReader<Batch>) this.resolveObject("datareader");
+        Batch[] samples = Writer1.createSamples(new int[] { 100, 101, 102 });
+        int[] results = new int[samples.length];
+        String error;
+
+        samples[1] = null;
+
+        try {
+            writer.write(samples, null, results);
+            result.setResult("Batch with a null sample written without exception.");
+            return result;
+        } catch (IllegalArgumentException e) {
+            /* Expected */
+        } catch (Exception e) {
+            result.setResult("Unexpected exception for a null sample: " + e);
+            return result;
+        }
+        if ((results[0] != DDS.RETCODE_OK.value)
+                || (results[1] != DDS.RETCODE_BAD_PARAMETER.value)
+                || (results[2] != DDS.RETCODE_OK.value)) {
+            result.setResult("Results of batch with a null sample are "
+                    + Arrays.toString(results) + ".");
+            return result;
+        }
+        error = Writer1.checkReceived(reader, new int[] { 100, 102 });
+
+        if (error != null) {
+            result.setResult(error);
+            return result;
+        }
+        samples = Writer1.createSamples(new int[] { 200, 201 });
+        results = new int[samples.length];
+
+        try {
+            writer.close();
+            writer.write(samples, null, results);
+            result.setResult("Batch written by a closed DataWriter.");
+            return result;
+        } catch (AlreadyClosedException e) {
+            /* Expected */
+        } catch (Exception e) {
+            result.setResult("Unexpected exception for a closed DataWriter: " + e);
+            return result;
+        }
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != DDS.RETCODE_ALREADY_DELETED.value) {
+                result.setResult("Result of sample " + i
+                        + " of a closed DataWriter is " + results[i] + ".");
+                return result;
+            }
+        }
+        result.setResult(expResult);
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.saj5;
+
+import org.omg.dds.domain.DomainParticipant;
+
+/**
+ * @date Oct 17, 2026
+ */
+public class WriterDeinit extends test.framework.TestItem {
+
+    public WriterDeinit() {
+        super("Deinitialize writer");
+    }
+
+    @Override
+    public test.framework.TestResult run(test.framework.TestCase testCase) {
+        test.framework.TestResult result = new test.framework.TestResult(
+                "Deinitialization success", "", test.framework.TestVerdict.PASS,
+                test.framework.TestVerdict.FAIL);
+        DomainParticipant participant = (DomainParticipant) testCase
+                .resolveObject("participant");
+
+        if (participant == null) {
+            result.setResult("DomainParticipant could not be found.");
+            return result;
+        }
+        try {
+            participant.close();
+        } catch (Exception e) {
+            result.setResult("DomainParticipant could not be closed: " + e.getMessage());
+            return result;
+        }
+        testCase.unregisterObject("participant");
+        testCase.unregisterObject("environment");
+        testCase.unregisterObject("datawriter");
+        testCase.unregisterObject("datareader");
+        result.setResult("Deinitialization success");
+        result.setVerdict(test.framework.TestVerdict.PASS);
+        return result;
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base class of all test cases. A test case runs its pre items, its own
+ * test and its post items, and reports the results to the framework.
+ *
+ * @date Jun 16, 2004
+ */
+public abstract class TestCase {
+    protected String testcaseId;
+    protected String component;
+    protected String function;
+    protected String title;
+    protected String purpose;
+    protected String input;
+    protected TestFramework testFramework;
+    private final List<TestItem> preItems = new ArrayList<TestItem>();
+    private final List<TestItem> postItems = new ArrayList<TestItem>();
+    private final Map<String, Object> registered = new HashMap<String, Object>();
+
+    public TestCase(String testcaseId, String component, String function,
+            String title, String purpose, String input) {
+        this.testcaseId = testcaseId;
+        this.component = component;
+        this.function = function;
+        this.title = title;
+        this.purpose = purpose;
+        this.input = input;
+    }
+
+    public String getFunction() {
+        return this.function;
+    }
+
+    public String getInput() {
+        return this.input;
+    }
+
+    public String getPurpose() {
+        return this.purpose;
+    }
+
+    public String getTestcaseId() {
+        return this.testcaseId;
+    }
+
+    public String getTitle() {
+        return this.title;
+    }
+
+    public String getComponent() {
+        return this.component;
+    }
+
+    public void addPreItem(TestItem item) {
+        this.preItems.add(item);
+    }
+
+    public void addPostItem(TestItem item) {
+        this.postItems.add(item);
+    }
+
+    public TestResult execute(TestFramework fw) {
+        TestItem item;
+        TestResult result = null;
+        TestResult itemResult;
+        boolean proceed = true;
+        int i;
+
+        this.testFramework = fw;
+
+        for (i = 0; i < this.preItems.size() && proceed; i++) {
+            item = this.preItems.get(i);
+            fw.testItem(item.title);
+            try {
+                itemResult = item.run(this);
+                fw.itemComposeVerdict(itemResult.getExpectedVerdict(),
+                        itemResult.getVerdict());
+                proceed = item.mayProceed(itemResult);
+            } catch (Exception exc) {
+                fw.testMessage(TestMessage.ERROR, this.getExceptionReport(exc));
+                fw.itemComposeVerdict(TestVerdict.PASS, TestVerdict.FAIL);
+                proceed = false;
+            }
+        }
+        while (i < this.preItems.size()) {
+            item = this.preItems.get(i);
+            fw.testItem(item.title);
+            fw.itemComposeVerdict(TestVerdict.UNRESOLVED, TestVerdict.UNRESOLVED);
+            i++;
+        }
+        if (proceed) {
+            try {
+                result = this.run();
+            } catch (Exception exc) {
+                fw.testMessage(TestMessage.ERROR, this.getExceptionReport(exc));
+                result = new TestResult("UNKNOWN", exc.getMessage(),
+                        TestVerdict.PASS, TestVerdict.FAIL);
+            }
+        } else {
+            result = new TestResult("Test succeeded",
+                    "Test could not be initialized", TestVerdict.UNRESOLVED,
+                    TestVerdict.UNRESOLVED);
+        }
+        proceed = true;
+
+        for (i = 0; i < this.postItems.size() && proceed; i++) {
+            item = this.postItems.get(i);
+            fw.testItem(item.title);
+            try {
+                itemResult = item.run(this);
+                fw.itemComposeVerdict(itemResult.getExpectedVerdict(),
+                        itemResult.getVerdict());
+                proceed = item.mayProceed(itemResult);
+            } catch (Exception exc) {
+                fw.testMessage(TestMessage.ERROR, this.getExceptionReport(exc));
+                fw.itemComposeVerdict(TestVerdict.PASS, TestVerdict.FAIL);
+                proceed = false;
+            }
+        }
+        if (i < this.postItems.size()) {
+            result.setVerdict(TestVerdict.UNRESOLVED);
+        }
+        while (i < this.postItems.size()) {
+            item = this.postItems.get(i);
+            fw.testItem(item.title);
+            fw.itemComposeVerdict(TestVerdict.UNRESOLVED, TestVerdict.UNRESOLVED);
+            i++;
+        }
+        return result;
+    }
+
+    public Object resolveObject(String name) {
+        return this.registered.get(name);
+    }
+
+    public void registerObject(String name, Object obj) {
+        this.registered.put(name, obj);
+    }
+
+    public boolean unregisterObject(String name) {
+        if (this.registered.containsKey(name)) {
+            this.registered.remove(name);
+            return true;
+        }
+        return false;
+    }
+
+    public abstract TestResult run();
+
+    private String getExceptionReport(Exception exc) {
+        StringWriter writer = new StringWriter();
+
+        exc.printStackTrace(new PrintWriter(writer));
+
+        return "Unhandled exception occurred: " + writer.toString();
+    }
+}
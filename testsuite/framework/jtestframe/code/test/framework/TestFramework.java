@@ -0,0 +1,222 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * Writes the results of test cases to the console and to a
+ * &lt;component&gt;.dbt file in the current directory.
+ *
+ * @date Jun 15, 2004
+ */
+public class TestFramework {
+    private PrintWriter tcWriter;
+
+    public TestFramework() {
+        this.tcWriter = null;
+    }
+
+    private void writeLine(String txt) throws IOException {
+        this.tcWriter.println(txt);
+        System.out.println(txt);
+
+        if (this.tcWriter.checkError()) {
+            throw new IOException("Could not write test case file.");
+        }
+    }
+
+    private TestVerdict testComposeVerdict(TestVerdict expVerdict,
+            TestVerdict verdict) {
+        TestVerdict result;
+
+        switch (expVerdict) {
+        case PASS:
+            if (verdict == TestVerdict.PASS || verdict == TestVerdict.FAIL) {
+                result = verdict;
+            } else {
+                result = TestVerdict.UNRESOLVED;
+            }
+            break;
+        case FAIL:
+            if (verdict == TestVerdict.PASS) {
+                result = TestVerdict.XPASS;
+            } else if (verdict == TestVerdict.FAIL) {
+                result = TestVerdict.XFAIL;
+            } else {
+                result = TestVerdict.UNRESOLVED;
+            }
+            break;
+        case UNTESTED:
+        case UNSUPPORTED:
+            if (verdict == expVerdict) {
+                result = verdict;
+            } else {
+                result = TestVerdict.UNRESOLVED;
+            }
+            break;
+        default:
+            result = TestVerdict.UNRESOLVED;
+            break;
+        }
+        return result;
+    }
+
+    public boolean testStart(String tcId, String component, String function) {
+        if ((component == null) || (tcId == null) || (function == null)
+                || (this.tcWriter != null)) {
+            return false;
+        }
+        StackTraceElement[] frames = new Throwable().getStackTrace();
+        StackTraceElement frame;
+
+        if (frames.length > 3) {
+            frame = frames[3];
+        } else {
+            frame = frames[frames.length - 1];
+        }
+        String file = frame.getFileName() + ":" + frame.getLineNumber();
+
+        try {
+            this.tcWriter = new PrintWriter(new FileWriter(component + ".dbt", true));
+        } catch (IOException e) {
+            return false;
+        }
+        Date time = new Date();
+
+        try {
+            this.writeLine("################");
+            this.writeLine("TESTCASE ID\t: " + tcId);
+            this.writeLine("COMPONENT\t: " + component);
+            this.writeLine("FUNCTION\t: " + function);
+            this.writeLine("FILE\t\t: " + file);
+            this.writeLine("USER\t\t: " + System.getProperty("user.name"));
+            this.writeLine("PLATFORM\t: " + System.getProperty("os.name") + " "
+                    + System.getProperty("os.version") + " "
+                    + System.getProperty("os.arch"));
+            this.writeLine("DATE\t\t: " + new SimpleDateFormat("yyyy/MM/dd").format(time));
+            this.writeLine("TIME\t\t: " + new SimpleDateFormat("HH:mm:ss").format(time));
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public boolean testTitle(String title) {
+        try {
+            this.writeLine("TITLE\t\t: " + title);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public boolean testPurpose(String purpose) {
+        try {
+            this.writeLine("PURPOSE\t\t: " + purpose);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public boolean testInput(String input) {
+        try {
+            this.writeLine("INPUT\t\t: " + input);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public boolean testMessage(TestMessage messageType, String messageText) {
+        try {
+            this.writeLine("MESSAGE\t\t: " + messageType.getValue() + ": "
+                    + messageText);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public TestVerdict testResult(String expResult, String result,
+            TestVerdict expVerdict, TestVerdict verdict) {
+        try {
+            TestVerdict realVerdict = this.testComposeVerdict(expVerdict, verdict);
+
+            this.writeLine("EXPECTED RESULT\t: " + expResult);
+            this.writeLine("RESULT\t\t: " + result);
+            this.writeLine("EXPECTED VERDICT: " + expVerdict.getValue());
+            this.writeLine("TEST VERDICT\t: " + verdict.getValue());
+            this.writeLine("VERDICT\t\t: " + realVerdict.getValue());
+            return realVerdict;
+        } catch (IOException e) {
+            return TestVerdict.UNTESTED;
+        }
+    }
+
+    public boolean testProblemList(String problemReportNumbers) {
+        try {
+            this.writeLine("PROBLEM REPORT:\t: " + problemReportNumbers);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public boolean testFinish() {
+        if (this.tcWriter == null) {
+            return false;
+        }
+        this.tcWriter.flush();
+        this.tcWriter.close();
+        this.tcWriter = null;
+
+        return true;
+    }
+
+    public boolean testItem(String name) {
+        try {
+            this.writeLine("TEST ITEM\t: " + name);
+        } catch (IOException e) {
+            return false;
+        }
+        return true;
+    }
+
+    public TestVerdict itemComposeVerdict(TestVerdict expVerdict,
+            TestVerdict verdict) {
+        try {
+            TestVerdict realVerdict = this.testComposeVerdict(expVerdict, verdict);
+
+            this.writeLine("EXP ITEM RESULT\t: " + expVerdict.getValue());
+            this.writeLine("ITEM RESULT\t: " + verdict.getValue());
+            this.writeLine("ITEM VERDICT\t: " + realVerdict.getValue());
+            return realVerdict;
+        } catch (IOException e) {
+            return TestVerdict.UNTESTED;
+        }
+    }
+}
@@ -0,0 +1,47 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+/**
+ * Step that is executed before or after a test case, typically to create or
+ * delete the entities the test case depends on.
+ *
+ * @date May 30, 2005
+ */
+public abstract class TestItem {
+    public final String title;
+
+    public TestItem(String title) {
+        this.title = title;
+    }
+
+    public boolean mayProceed(TestResult result) {
+        TestVerdict vd = result.getVerdict();
+
+        if (vd == TestVerdict.PASS || vd == TestVerdict.XPASS
+                || vd == TestVerdict.XFAIL) {
+            return true;
+        }
+        return false;
+    }
+
+    public abstract TestResult run(TestCase testCase);
+}
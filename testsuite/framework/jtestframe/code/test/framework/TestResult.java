@@ -0,0 +1,69 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+/**
+ * Expected and actual result of a test case or test item.
+ *
+ * @date Jun 16, 2004
+ */
+public class TestResult {
+    private String expectedResult;
+    private String actualResult;
+    private TestVerdict expectedVerdict;
+    private TestVerdict actualVerdict;
+
+    public TestResult(String expectedResult, String actualResult,
+            TestVerdict expectedVerdict, TestVerdict actualVerdict) {
+        this.expectedResult = expectedResult;
+        this.actualResult = actualResult;
+        this.expectedVerdict = expectedVerdict;
+        this.actualVerdict = actualVerdict;
+    }
+
+    public String getExpectedResult() {
+        return this.expectedResult;
+    }
+
+    public TestVerdict getExpectedVerdict() {
+        return this.expectedVerdict;
+    }
+
+    public void setExpectedVerdict(TestVerdict expectedVerdict) {
+        this.expectedVerdict = expectedVerdict;
+    }
+
+    public String getResult() {
+        return this.actualResult;
+    }
+
+    public void setResult(String actualResult) {
+        this.actualResult = actualResult;
+    }
+
+    public TestVerdict getVerdict() {
+        return this.actualVerdict;
+    }
+
+    public void setVerdict(TestVerdict actualVerdict) {
+        this.actualVerdict = actualVerdict;
+    }
+}
@@ -0,0 +1,208 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Runs a list of test cases and milestones, and reports the duration and
+ * verdict of each test case to the console and to performance.log.
+ *
+ * @date Jun 16, 2004
+ */
+public class TestSuite {
+    private static final String dashLine = "-----------------------------------------------------------------------------------------------";
+    private static final String starLine = "***********************************************************************************************";
+
+    private final List<Object> testCases = new ArrayList<Object>();
+    private final List<MileStone> timers = new ArrayList<MileStone>();
+    private final TestFramework framework = new TestFramework();
+    private Date startTime;
+    private StringWriter testBuffer;
+    private PrintWriter testWriter;
+
+    public TestSuite() {
+        this.testBuffer = new StringWriter();
+        this.testWriter = new PrintWriter(this.testBuffer);
+        this.testWriter.println("TestCase report");
+        this.testWriter.println(dashLine);
+        this.testWriter.println("TestCases");
+        this.testWriter.println(dashLine);
+        this.testWriter.println("Start time\t\t| Stop time\t\t| dt(ms)\t| Verdict\t| Testcase");
+        this.testWriter.println(dashLine);
+    }
+
+    public void addTest(TestCase tc) {
+        if (tc != null) {
+            this.testCases.add(tc);
+        }
+    }
+
+    public void addMilestone(String description) {
+        MileStone tp = new MileStone(description);
+        this.testCases.add(tp);
+        this.timers.add(tp);
+    }
+
+    public void printReport() {
+        System.out.println(this.getReport());
+    }
+
+    public String getReport() {
+        StringWriter buffer = new StringWriter();
+        PrintWriter builder = new PrintWriter(buffer);
+
+        this.testWriter.flush();
+        builder.print(this.testBuffer.toString());
+        builder.println();
+        builder.println();
+        builder.println(dashLine);
+        builder.println("Milestones");
+        builder.println(dashLine);
+        builder.println("Time\t\t\t| dt start (ms)\t| dt prev (ms)\t| Description");
+        builder.println(dashLine);
+
+        Date prevTime = this.startTime;
+
+        for (MileStone tp : this.timers) {
+            Date time = tp.getTime();
+
+            if (time == null || prevTime == null) {
+                continue;
+            }
+            long totalMilliseconds = time.getTime() - this.startTime.getTime();
+            long prevMilliseconds = time.getTime() - prevTime.getTime();
+
+            builder.print(this.getDateString(time) + "\t| " + totalMilliseconds);
+            builder.print(totalMilliseconds < 100000 ? "\t\t| " : "\t| ");
+            builder.print(prevMilliseconds);
+            builder.print(prevMilliseconds < 100000 ? "\t\t| " : "\t| ");
+            builder.println(tp.getDescription());
+            prevTime = time;
+        }
+        builder.println(dashLine);
+        builder.flush();
+
+        return buffer.toString();
+    }
+
+    public TestVerdict[] runTests() {
+        if (this.testCases.isEmpty()) {
+            return null;
+        }
+        TestVerdict[] results = new TestVerdict[this.testCases.size()];
+
+        this.startTime = new Date();
+
+        for (int i = 0; i < this.testCases.size(); i++) {
+            Object obj = this.testCases.get(i);
+
+            if (obj instanceof TestCase) {
+                TestCase tc = (TestCase) obj;
+                Date start = new Date();
+                results[i] = this.runTest(tc);
+                Date stop = new Date();
+                long milliseconds = stop.getTime() - start.getTime();
+
+                this.testWriter.print(this.getDateString(start) + "\t| "
+                        + this.getDateString(stop) + "\t| " + milliseconds);
+                this.testWriter.print(milliseconds > 100000 ? "\t| " : "\t\t| ");
+
+                String result = results[i].getValue();
+                this.testWriter.print(result + (result.length() > 5 ? "\t| " : "\t\t| "));
+                this.testWriter.println(tc.getTestcaseId());
+            } else if (obj instanceof MileStone) {
+                ((MileStone) obj).setTime();
+            }
+        }
+        try {
+            PrintWriter writer = new PrintWriter(new FileWriter("performance.log", true));
+
+            writer.println(starLine);
+            writer.println("TEST TIME: " + this.getDateString(this.startTime)
+                    + " - " + this.getDateString(new Date()));
+            writer.println("USER     : " + System.getProperty("user.name"));
+            writer.println("PLATFORM : " + System.getProperty("os.name") + " "
+                    + System.getProperty("os.version") + " "
+                    + System.getProperty("os.arch"));
+            writer.println(this.getReport());
+            writer.flush();
+            writer.close();
+        } catch (IOException e) {
+            /* The report is also printed to the console. */
+        }
+        return results;
+    }
+
+    private String getDateString(Date date) {
+        return new SimpleDateFormat("yyyy/MM/dd HH:mm:ss").format(date);
+    }
+
+    private synchronized TestVerdict runTest(TestCase tc) {
+        this.framework.testStart(tc.getTestcaseId(), tc.getComponent(),
+                tc.getFunction());
+
+        if (tc.getTitle() != null) {
+            this.framework.testTitle(tc.getTitle());
+        }
+        if (tc.getPurpose() != null) {
+            this.framework.testPurpose(tc.getPurpose());
+        }
+        if (tc.getInput() != null) {
+            this.framework.testInput(tc.getInput());
+        }
+        TestResult result = tc.execute(this.framework);
+        TestVerdict verdict = this.framework.testResult(
+                result.getExpectedResult(), result.getResult(),
+                result.getExpectedVerdict(), result.getVerdict());
+        this.framework.testFinish();
+
+        return verdict;
+    }
+
+    private static class MileStone {
+        private final String description;
+        private Date time = null;
+
+        public MileStone(String description) {
+            this.description = description;
+        }
+
+        public void setTime() {
+            this.time = new Date();
+        }
+
+        public Date getTime() {
+            return this.time;
+        }
+
+        public String getDescription() {
+            return this.description;
+        }
+    }
+}
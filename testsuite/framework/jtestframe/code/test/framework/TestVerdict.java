@@ -0,0 +1,46 @@
+/*
+ *                         Vortex OpenSplice
+ *
+ *   This software and documentation are Copyright 2006 to TO_YEAR ADLINK
+ *   Technology Limited, its affiliated companies and licensors. All rights
+ *   reserved.
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ *
+ */
+package test.framework;
+
+/**
+ * Verdict of a test case or test item.
+ *
+ * @date Jun 16, 2004
+ */
+public enum TestVerdict {
+    PASS("PASS"),
+    XPASS("XPASS"),
+    FAIL("FAIL"),
+    XFAIL("XFAIL"),
+    UNRESOLVED("UNRESOLVED"),
+    UNTESTED("UNTESTED"),
+    UNSUPPORTED("Unsupported");
+
+    private final String value;
+
+    private TestVerdict(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return this.value;
+    }
+}